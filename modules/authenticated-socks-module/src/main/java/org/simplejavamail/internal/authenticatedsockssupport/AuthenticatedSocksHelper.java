@@ -14,6 +14,8 @@ public class AuthenticatedSocksHelper implements AuthenticatedSocksModule {
 	@Override
 	public AnonymousSocks5Server createAnonymousSocks5Server(@NotNull ProxyConfig socksProxyConfig) {
 		final Integer proxyBridgePort = checkNonEmptyArgument(socksProxyConfig.getProxyBridgePort(), "proxyBridgePort");
-		return new AnonymousSocks5ServerImpl(new AuthenticatingSocks5Bridge(socksProxyConfig), proxyBridgePort);
+		final Integer proxyBridgeBufferSize = checkNonEmptyArgument(socksProxyConfig.getProxyBridgeBufferSize(), "proxyBridgeBufferSize");
+		final Integer proxyBridgeMaxConnections = checkNonEmptyArgument(socksProxyConfig.getProxyBridgeMaxConnections(), "proxyBridgeMaxConnections");
+		return new AnonymousSocks5ServerImpl(new AuthenticatingSocks5Bridge(socksProxyConfig), proxyBridgePort, proxyBridgeBufferSize, proxyBridgeMaxConnections);
 	}
 }
\ No newline at end of file
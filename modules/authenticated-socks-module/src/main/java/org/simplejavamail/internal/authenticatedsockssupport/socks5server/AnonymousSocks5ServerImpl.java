@@ -3,6 +3,7 @@ package org.simplejavamail.internal.authenticatedsockssupport.socks5server;
 import org.simplejavamail.api.internal.authenticatedsockssupport.common.Socks5Bridge;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.internal.authenticatedsockssupport.common.SocksException;
+import org.simplejavamail.internal.authenticatedsockssupport.socks5server.io.BufferPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,10 +11,22 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
+ * Relays each connection on two threads, one per direction, with buffers taken from a shared {@link BufferPool}. The number of connections relayed
+ * at the same time is limited; further connections wait in the server socket's backlog until a relayed connection closes. The thread pool is
+ * bounded accordingly, at two threads per connection, and lets its threads go when idle.
+ *
  * @see AnonymousSocks5Server
  */
 public class AnonymousSocks5ServerImpl implements AnonymousSocks5Server {
@@ -22,15 +35,22 @@ public class AnonymousSocks5ServerImpl implements AnonymousSocks5Server {
 	
 	private final Socks5Bridge socks5Bridge;
 	private final int proxyBridgePort;
+	private final BufferPool bufferPool;
+	private final int maxConnections;
+	private final Semaphore connectionPermits;
+	private final Set<SocksSession> activeSessions = ConcurrentHashMap.newKeySet();
 	
 	private ExecutorService threadPool;
 	private ServerSocket serverSocket;
-	private boolean stopping = false;
-	private boolean running = false;
+	private volatile boolean stopping = false;
+	private volatile boolean running = false;
 	
-	public AnonymousSocks5ServerImpl(final Socks5Bridge socks5Bridge, final int proxyBridgePort) {
+	public AnonymousSocks5ServerImpl(final Socks5Bridge socks5Bridge, final int proxyBridgePort, final int bufferSize, final int maxConnections) {
 		this.socks5Bridge = socks5Bridge;
 		this.proxyBridgePort = proxyBridgePort;
+		this.bufferPool = new BufferPool(bufferSize, 2 * maxConnections);
+		this.maxConnections = maxConnections;
+		this.connectionPermits = new Semaphore(maxConnections);
 	}
 	
 	/**
@@ -43,7 +63,7 @@ public class AnonymousSocks5ServerImpl implements AnonymousSocks5Server {
 		}
 		running = true;
 		try {
-			this.threadPool = Executors.newFixedThreadPool(100);
+			this.threadPool = createThreadPool(2 * maxConnections);
 			this.serverSocket = new ServerSocket();
 			this.serverSocket.setReuseAddress(true);
 			this.serverSocket.bind(new InetSocketAddress(proxyBridgePort));
@@ -67,22 +87,76 @@ public class AnonymousSocks5ServerImpl implements AnonymousSocks5Server {
 	public void run() {
 		LOGGER.info("Starting proxy server at port {}", serverSocket.getLocalPort());
 		while (!stopping) {
+			if (!acquireConnectionPermit()) {
+				break;
+			}
 			try {
 				LOGGER.info("waiting for new connection...");
 				@SuppressWarnings("SocketOpenedButNotSafelyClosed") // socket is closed elsewhere
 				final Socket socket = serverSocket.accept();
 				socket.setSoTimeout(10000);
-				threadPool.execute(new Socks5Handler(new SocksSession(socket), socks5Bridge));
+				handle(new SocksSession(socket));
 			} catch (final IOException e) {
+				connectionPermits.release();
 				checkIoException(e);
 			}
 		}
 		LOGGER.debug("shutting down...");
 		threadPool.shutdownNow();
+		for (final SocksSession session : activeSessions) {
+			session.close(); // ends the pipes blocked reading the session
+		}
 		running = false;
 		stopping = false;
 	}
 	
+	/**
+	 * The connection limit already bounds the number of tasks, so tasks never need to queue in practice. The queue just covers the moment between a
+	 * pipe finishing and its thread becoming available again.
+	 */
+	private static ExecutorService createThreadPool(final int maxThreads) {
+		final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, SECONDS, new LinkedBlockingQueue<>());
+		threadPool.allowCoreThreadTimeOut(true);
+		return threadPool;
+	}
+
+	/**
+	 * Waits for a relayed connection to close if the maximum number of connections is being relayed.
+	 *
+	 * @return {@code false} if the server is stopping in the meantime.
+	 */
+	private boolean acquireConnectionPermit() {
+		try {
+			while (!connectionPermits.tryAcquire(500, MILLISECONDS)) {
+				if (stopping) {
+					return false;
+				}
+			}
+			return true;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	private void handle(final SocksSession session) {
+		activeSessions.add(session);
+		try {
+			threadPool.execute(() -> {
+				try {
+					new Socks5Handler(session, socks5Bridge, threadPool, bufferPool).run();
+				} finally {
+					activeSessions.remove(session);
+					connectionPermits.release();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			activeSessions.remove(session);
+			connectionPermits.release();
+			session.close();
+		}
+	}
+	
 	private void checkIoException(final Exception e) {
 		if (e.getMessage().equalsIgnoreCase("socket closed")) {
 			LOGGER.debug("socket closed");
@@ -2,6 +2,7 @@ package org.simplejavamail.internal.authenticatedsockssupport.socks5server;
 
 import org.simplejavamail.api.internal.authenticatedsockssupport.common.Socks5Bridge;
 import org.simplejavamail.internal.authenticatedsockssupport.common.SocksException;
+import org.simplejavamail.internal.authenticatedsockssupport.socks5server.io.BufferPool;
 import org.simplejavamail.internal.authenticatedsockssupport.socks5server.io.SocketPipe;
 import org.simplejavamail.internal.authenticatedsockssupport.socks5server.msg.CommandMessage;
 import org.simplejavamail.internal.authenticatedsockssupport.socks5server.msg.CommandResponseMessage;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.concurrent.Executor;
 
 public class Socks5Handler implements Runnable {
 
@@ -26,10 +28,14 @@ public class Socks5Handler implements Runnable {
 
 	private final SocksSession session;
 	private final Socks5Bridge socks5Bridge;
+	private final Executor pipeExecutor;
+	private final BufferPool bufferPool;
 
-	public Socks5Handler(final SocksSession session, final Socks5Bridge socks5Bridge) {
+	public Socks5Handler(final SocksSession session, final Socks5Bridge socks5Bridge, final Executor pipeExecutor, final BufferPool bufferPool) {
 		this.session = session;
 		this.socks5Bridge = socks5Bridge;
+		this.pipeExecutor = pipeExecutor;
+		this.bufferPool = bufferPool;
 	}
 
 	@Override
@@ -117,19 +123,9 @@ public class Socks5Handler implements Runnable {
 			return;
 		}
 
-		final SocketPipe pipe = new SocketPipe(session.getSocket(), socket);
+		final SocketPipe pipe = new SocketPipe(session.getSocket(), socket, bufferPool);
 		pipe.setName("SESSION[" + session.getId() + "]");
-		pipe.start(); // This method will build tow thread to run tow internal pipes.
-
-		// wait for pipe exit.
-		while (pipe.isRunning()) {
-			try {
-				Thread.sleep(500);
-			} catch (final InterruptedException e) {
-				pipe.stop();
-				session.close();
-				LOGGER.info("SESSION[{}] closed from {}", session.getId(), session.getClientAddress());
-			}
-		}
+		pipe.run(pipeExecutor); // relays one direction on this thread and the other on the executor, until the connection closes
+		LOGGER.info("SESSION[{}] closed from {}", session.getId(), session.getClientAddress());
 	}
 }
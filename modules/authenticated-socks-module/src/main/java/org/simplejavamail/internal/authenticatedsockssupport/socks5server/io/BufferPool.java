@@ -0,0 +1,43 @@
+package org.simplejavamail.internal.authenticatedsockssupport.socks5server.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands out relay buffers of a fixed size and takes them back when a pipe stops, so relayed connections reuse buffers rather than allocating new
+ * ones for every connection. At most the given number of buffers is kept for reuse; buffers returned beyond that are left to the garbage
+ * collector.
+ * <p>
+ * The buffers are heap arrays rather than direct buffers: both sockets of a relayed connection are stream based (the upstream SOCKS socket has no
+ * channel), and streams read into and write from arrays, so a direct buffer would only add a copy on every read and write.
+ */
+public class BufferPool {
+
+	private final int bufferSize;
+	private final BlockingQueue<byte[]> idleBuffers;
+
+	public BufferPool(final int bufferSize, final int maxIdleBuffers) {
+		if (bufferSize <= 0 || maxIdleBuffers <= 0) {
+			throw new IllegalArgumentException("bufferSize and maxIdleBuffers must be positive");
+		}
+		this.bufferSize = bufferSize;
+		this.idleBuffers = new ArrayBlockingQueue<>(maxIdleBuffers);
+	}
+
+	@NotNull
+	byte[] acquire() {
+		final byte[] buffer = idleBuffers.poll();
+		return buffer != null ? buffer : new byte[bufferSize];
+	}
+
+	void release(@NotNull final byte[] buffer) {
+		//noinspection ResultOfMethodCallIgnored
+		idleBuffers.offer(buffer);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+}
@@ -5,10 +5,14 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.concurrent.Executor;
 
 /**
  * The class <code>SocketPipe</code> represents pipe that can transfer data from one socket to another socket. The tow socket should be
  * connected sockets. If any error occurred, the pipe will close all of them.
+ * <p>
+ * One direction is relayed on the thread that runs the pipe and the other on a thread of the given executor, so a relayed connection takes two
+ * threads, each with a pooled buffer.
  */
 public class SocketPipe {
 
@@ -27,26 +31,43 @@ public class SocketPipe {
 
 	private String name;
 
-	private boolean running = false;
+	private volatile boolean running = false;
 
 	private final PipeListener listener = new PipeListener();
 
 	/**
 	 * Constructs SocketPipe instance by tow connected sockets.
 	 */
-	public SocketPipe(final Socket socket1, final Socket socket2)
+	public SocketPipe(final Socket socket1, final Socket socket2, final BufferPool bufferPool)
 			throws IOException {
 		this.socket1 = socket1;
 		this.socket2 = socket2;
-		pipe1 = new StreamPipe(socket1.getInputStream(), socket2.getOutputStream(), OUTPUT_PIPE_NAME);
-		pipe2 = new StreamPipe(socket2.getInputStream(), socket1.getOutputStream(), INPUT_PIPE_NAME);
+		pipe1 = new StreamPipe(socket1.getInputStream(), socket2.getOutputStream(), OUTPUT_PIPE_NAME, bufferPool);
+		pipe2 = new StreamPipe(socket2.getInputStream(), socket1.getOutputStream(), INPUT_PIPE_NAME, bufferPool);
 
 		pipe1.addPipeListener(listener);
 		pipe2.addPipeListener(listener);
 	}
 
-	public void start() {
-		running = pipe1.start() && pipe2.start();
+	/**
+	 * Relays between the sockets until either side closes or fails, after which both sockets are closed.
+	 */
+	public void run(final Executor executor) {
+		running = true;
+		try {
+			pipe1.start(executor);
+		} catch (final RuntimeException e) {
+			LOGGER.debug("Pipe[{}] could not be started: {}", name, e.getMessage());
+			close();
+			return;
+		}
+		pipe2.startOnCurrentThread();
+		try {
+			pipe1.awaitFinished();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+		}
 	}
 
 	public void stop() {
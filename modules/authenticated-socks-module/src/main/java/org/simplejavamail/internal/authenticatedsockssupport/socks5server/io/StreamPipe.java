@@ -8,69 +8,95 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 
 /**
  * The class <code>StreamPipe</code> represents a pipe the can transfer data source an input stream destination an output stream.
+ * <p>
+ * The pipe borrows its buffer from a {@link BufferPool} for as long as it runs.
  */
 class StreamPipe implements Runnable {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(StreamPipe.class);
 
-	private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024 * 5;
-
 	private final List<SocketPipe.PipeListener> pipeListeners;
 
 	private final InputStream source;
 
 	private final OutputStream destination;
 
-	private Thread runningThread;
+	private final BufferPool bufferPool;
+
+	private final CountDownLatch finished = new CountDownLatch(1);
 
-	private boolean running = false;
+	private volatile boolean running = false;
 
 	private final String name;
 
-	public StreamPipe(final InputStream source, final OutputStream destination, final String name) {
+	public StreamPipe(final InputStream source, final OutputStream destination, final String name, final BufferPool bufferPool) {
 		this.source = source;
 		this.destination = destination;
 		pipeListeners = new ArrayList<>();
 		this.name = name;
+		this.bufferPool = bufferPool;
 	}
 
-	public boolean start() {
+	/**
+	 * Runs the pipe on the given executor.
+	 */
+	public boolean start(final Executor executor) {
 		if (!running) { // If the pipe is not running, run it.
 			running = true;
-			runningThread = new Thread(this);
-			runningThread.setDaemon(false);
-			runningThread.start();
+			executor.execute(this);
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Stops the pipe. A pipe blocked reading its source only notices once the source is closed, which the listeners take care of.
+	 */
 	public void stop() {
 		if (running) { // if the pipe is working, stop it.
 			running = false;
-			if (runningThread != null) {
-				runningThread.interrupt();
-			}
 			for (final SocketPipe.PipeListener listener : new ArrayList<>(pipeListeners)) {
 				listener.onStop(this);
 			}
 		}
 	}
 
+	/**
+	 * Runs the pipe on the current thread, which is the same as starting it on an executor that runs tasks on the calling thread.
+	 */
+	boolean startOnCurrentThread() {
+		return start(Runnable::run);
+	}
+
 	@Override
 	public void run() {
-		final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-		while (running) {
-			final int size = doTransfer(buffer);
-			if (size == -1) {
-				stop();
+		final byte[] buffer = bufferPool.acquire();
+		try {
+			while (running) {
+				final int size = doTransfer(buffer);
+				if (size == -1) {
+					stop();
+				}
 			}
+		} finally {
+			bufferPool.release(buffer);
+			finished.countDown();
 		}
 	}
 
+	/**
+	 * Waits until the pipe has stopped transferring and returned its buffer.
+	 */
+	void awaitFinished()
+			throws InterruptedException {
+		finished.await();
+	}
+
 	private int doTransfer(final byte[] buffer) {
 		int length = -1;
 		try {
@@ -8,9 +8,13 @@ import org.bbottema.genericobjectpool.PoolableObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.internal.batchsupport.MailSpool;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.internal.batchsupport.concurrent.NonJvmBlockingThreadPoolExecutor;
+import org.simplejavamail.internal.batchsupport.concurrent.VirtualThreadExecutorFactory;
+import org.simplejavamail.internal.batchsupport.spool.FileMailSpool;
 import org.simplejavamail.internal.modules.BatchModule;
 import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
 import org.simplejavamail.smtpconnectionpool.SessionTransport;
@@ -19,6 +23,8 @@ import org.simplejavamail.smtpconnectionpool.SmtpConnectionPoolClustered;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -60,12 +66,31 @@ public class BatchSupport implements BatchModule {
 	}
 
 	/**
-	 * @see BatchModule#createDefaultExecutorService(int, int)
+	 * @see BatchModule#createDefaultExecutorService(int, int, int, ThreadPoolOverflowPolicy, boolean)
 	 */
 	@NotNull
 	@Override
-	public ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime) {
-		return new NonJvmBlockingThreadPoolExecutor(threadPoolSize, keepAliveTime);
+	public ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime, final int queueCapacity,
+			@NotNull final ThreadPoolOverflowPolicy overflowPolicy, final boolean virtualThreads) {
+		if (virtualThreads) {
+			final ExecutorService virtualThreadExecutor = VirtualThreadExecutorFactory.createVirtualThreadPerTaskExecutor();
+			if (virtualThreadExecutor != null) {
+				return virtualThreadExecutor;
+			}
+			LOGGER.warn("Virtual threads requested, but not supported by this Java runtime (requires Java 21+), falling back to the default thread pool");
+		}
+		return new NonJvmBlockingThreadPoolExecutor(threadPoolSize, keepAliveTime, queueCapacity, overflowPolicy);
+	}
+
+	/**
+	 * @see BatchModule#openSpool(File, int, int, long, MailSpool.Deliverer)
+	 */
+	@NotNull
+	@Override
+	public MailSpool openSpool(@NotNull final File directory, final int deliveryThreadCount, final int deliveryRetries, final long retryDelayMillis,
+			@NotNull final MailSpool.Deliverer deliverer)
+			throws IOException {
+		return new FileMailSpool(directory, deliveryThreadCount, deliveryRetries, retryDelayMillis, deliverer);
 	}
 
 	/**
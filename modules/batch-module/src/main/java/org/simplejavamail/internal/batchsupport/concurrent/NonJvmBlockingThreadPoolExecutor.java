@@ -1,16 +1,24 @@
 package org.simplejavamail.internal.batchsupport.concurrent;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
+import org.simplejavamail.internal.util.concurrent.NonBlockingSubmitterThread;
 
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
 /**
- * Unbounded ThreadPoolExecutor that won't block the JVM from shutting down,
+ * ThreadPoolExecutor that won't block the JVM from shutting down,
  * unless the keepAliveTime is explicitly set to zero by user config.
+ * <p>
+ * The work queue is unbounded, unless a queue capacity greater than zero is given, in which case the {@link ThreadPoolOverflowPolicy}
+ * determines what happens to tasks that don't fit in the queue anymore.
  *
  * @see ThreadPoolExecutor
  * @see LinkedBlockingQueue
@@ -20,18 +28,78 @@ public class NonJvmBlockingThreadPoolExecutor extends ThreadPoolExecutor {
 
 	private static int counter = 1;
 
-	@SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
 	public NonJvmBlockingThreadPoolExecutor(int threadPoolSize, int threadPoolKeepAliveTime) {
+		this(threadPoolSize, threadPoolKeepAliveTime, 0, ThreadPoolOverflowPolicy.BLOCK);
+	}
+
+	@SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+	public NonJvmBlockingThreadPoolExecutor(int threadPoolSize, int threadPoolKeepAliveTime, int queueCapacity, @NotNull ThreadPoolOverflowPolicy overflowPolicy) {
 		super(threadPoolSize,
 				threadPoolSize,
 				threadPoolKeepAliveTime,
 				TimeUnit.MILLISECONDS,
-				new LinkedBlockingQueue<>(),
-				new NamedThreadFactory(format("Simple Java Mail async mail sender, executor %s / thread", counter++)));
+				queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>(),
+				new NamedThreadFactory(format("Simple Java Mail async mail sender, executor %s / thread", counter++)),
+				overflowPolicy == ThreadPoolOverflowPolicy.BLOCK ? new BlockCallerPolicy() : new FailPolicy(queueCapacity));
 		// if a timeout is configured, the user wants threads to die off automatically,
 		// so they won't block the JVM from shutting down
 		if (threadPoolKeepAliveTime > 0) {
 			allowCoreThreadTimeOut(true);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Makes the submitting thread wait until there is room in the queue again, unless that thread is a {@link NonBlockingSubmitterThread}, which
+	 * gets the task back to submit again later.
+	 */
+	private static class BlockCallerPolicy implements RejectedExecutionHandler {
+		@Override
+		public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("executor has been shut down");
+			}
+			if (Thread.currentThread() instanceof NonBlockingSubmitterThread) {
+				if (!executor.getQueue().offer(task)) {
+					((NonBlockingSubmitterThread) Thread.currentThread()).deferSubmission(() -> executor.execute(task));
+					return;
+				}
+			} else {
+				try {
+					executor.getQueue().put(task);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RejectedExecutionException("interrupted while waiting for room in the work queue", e);
+				}
+			}
+			ensureWorkerFor(executor);
+		}
+
+		/**
+		 * Queueing the task directly bypasses the executor's own check for a worker to run it, and all workers may have timed out while the
+		 * submitting thread was waiting for room in the queue.
+		 */
+		private static void ensureWorkerFor(final ThreadPoolExecutor executor) {
+			if (executor.getPoolSize() == 0) {
+				executor.prestartCoreThread();
+			}
+		}
+	}
+
+	/**
+	 * Refuses the task, so the submitting thread can decide for itself what to do.
+	 */
+	private static class FailPolicy implements RejectedExecutionHandler {
+		private final int queueCapacity;
+
+		FailPolicy(final int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		@Override
+		public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+			throw new RejectedExecutionException(executor.isShutdown()
+					? "executor has been shut down"
+					: format("work queue is full (capacity %s)", queueCapacity));
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package org.simplejavamail.internal.batchsupport.concurrent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Creates an ExecutorService that starts a new virtual thread for each task, if the runtime supports virtual threads (Java 21+).
+ * <p>
+ * Since this library is compiled against Java 8, the virtual thread API is accessed through reflection.
+ *
+ * @see Executors#newThreadPerTaskExecutor(ThreadFactory)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VirtualThreadExecutorFactory {
+
+	private static final Logger LOGGER = getLogger(VirtualThreadExecutorFactory.class);
+
+	private static int counter = 1;
+
+	/**
+	 * @return A thread-per-task executor producing named virtual threads, or {@code null} if the runtime doesn't support virtual threads.
+	 */
+	@Nullable
+	public static synchronized ExecutorService createVirtualThreadPerTaskExecutor() {
+		try {
+			final Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+			final Object virtualThreadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+			final String threadName = format("Simple Java Mail async mail sender, executor %s / virtual thread ", counter);
+			final Object namedVirtualThreadBuilder = threadBuilderClass.getMethod("name", String.class, long.class).invoke(virtualThreadBuilder, threadName, 1L);
+			final ThreadFactory threadFactory = (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(namedVirtualThreadBuilder);
+			final ExecutorService executorService = (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+			counter++;
+			return executorService;
+		} catch (@NotNull final ReflectiveOperationException | RuntimeException e) {
+			// older runtime, or virtual threads still in preview and not enabled (Java 19 and 20)
+			LOGGER.debug("virtual threads not supported by this runtime", e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,423 @@
+package org.simplejavamail.internal.batchsupport.spool;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.internal.batchsupport.MailSpool;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * {@link MailSpool} that stores entries in a directory as a sequence of append-only {@link SpoolSegment segment files}. Entries are appended to the
+ * newest segment until it exceeds {@value #MAX_SEGMENT_SIZE} bytes, after which a new segment is started. Delivery threads read the entries back
+ * in order, and once every entry in a full segment has been processed, the segment's files are deleted.
+ * <p>
+ * The spooled emails themselves stay on disk. The heap only holds a small, fixed-size record per pending entry (its read cursor into the segment
+ * files, plus the future of entries enqueued in this run), so heap use grows with the number of pending entries, but not with the size of the
+ * spooled emails.
+ * <p>
+ * An entry is only acknowledged once it was delivered. When delivery fails, the entry stays pending and is retried with exponential backoff;
+ * after the last retry it is moved to the {@value #DEAD_LETTER_DIRECTORY} subdirectory (one file per entry) before it is acknowledged, so
+ * undeliverable entries are never simply dropped.
+ * <p>
+ * The delivery threads are daemon threads, so they don't block the JVM from shutting down: an entry that was being delivered (or waiting to be
+ * retried) at that moment is simply delivered again by the next spool opened on the directory.
+ */
+public class FileMailSpool implements MailSpool {
+
+	private static final Logger LOGGER = getLogger(FileMailSpool.class);
+
+	static final long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+
+	private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("segment-(\\d{16})\\.log");
+
+	private static int counter = 1;
+
+	@NotNull private final File directory;
+	@NotNull private final Deliverer deliverer;
+	private final int deliveryRetries;
+	private final long retryDelayMillis;
+	@NotNull private final RandomAccessFile lockFile;
+	@NotNull private final FileLock lock;
+	@NotNull private final List<Thread> deliveryThreads = new ArrayList<>();
+
+	/**
+	 * Oldest first; the last segment is the one being appended to.
+	 */
+	@NotNull private final List<SpoolSegment> segments = new ArrayList<>();
+	/**
+	 * Index of the oldest segment that still has unread entries.
+	 */
+	private int readSegmentIndex;
+	/**
+	 * Futures for entries enqueued in this run, by entry key. Entries recovered from a previous run don't have one.
+	 */
+	@NotNull private final Map<EntryKey, CompletableFuture<Void>> pendingResults = new HashMap<>();
+	/**
+	 * Entries that failed to deliver and are waiting for their next attempt, earliest retry first.
+	 */
+	@NotNull private final PriorityQueue<EntryKey> scheduledRetries = new PriorityQueue<>(Comparator.comparingLong(entryKey -> entryKey.retryAtMillis));
+	private boolean closed;
+
+	/**
+	 * Creates a spool that moves entries to the dead-letter directory right after their first failed delivery.
+	 */
+	public FileMailSpool(@NotNull final File directory, final int deliveryThreadCount, @NotNull final Deliverer deliverer)
+			throws IOException {
+		this(directory, deliveryThreadCount, 0, 0, deliverer);
+	}
+
+	/**
+	 * @param deliveryRetries  The number of times a failed delivery is retried before the entry is moved to the dead-letter directory.
+	 * @param retryDelayMillis The delay before the first retry, which doubles with every next retry.
+	 */
+	public FileMailSpool(@NotNull final File directory, final int deliveryThreadCount, final int deliveryRetries, final long retryDelayMillis,
+			@NotNull final Deliverer deliverer)
+			throws IOException {
+		this.directory = directory;
+		this.deliverer = deliverer;
+		this.deliveryRetries = Math.max(0, deliveryRetries);
+		this.retryDelayMillis = Math.max(0, retryDelayMillis);
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("unable to create spool directory " + directory);
+		}
+		this.lockFile = new RandomAccessFile(new File(directory, "spool.lock"), "rw");
+		this.lock = acquireLock();
+		recoverSegments();
+		startDeliveryThreads(deliveryThreadCount);
+	}
+
+	@NotNull
+	private FileLock acquireLock()
+			throws IOException {
+		FileLock acquiredLock;
+		try {
+			acquiredLock = lockFile.getChannel().tryLock();
+		} catch (final OverlappingFileLockException e) {
+			acquiredLock = null;
+		}
+		if (acquiredLock == null) {
+			lockFile.close();
+			throw new IOException(format("spool directory %s is already in use by another mailer", directory));
+		}
+		return acquiredLock;
+	}
+
+	private void recoverSegments()
+			throws IOException {
+		final List<Long> segmentNumbers = new ArrayList<>();
+		for (final String fileName : listFileNames()) {
+			final Matcher matcher = SEGMENT_FILE_NAME.matcher(fileName);
+			if (matcher.matches()) {
+				segmentNumbers.add(Long.parseLong(matcher.group(1)));
+			}
+		}
+		segmentNumbers.sort(null);
+
+		long nextSegmentNumber = 1;
+		int recoveredEntries = 0;
+		for (final Long segmentNumber : segmentNumbers) {
+			final SpoolSegment segment = SpoolSegment.recover(segmentNumber, directory);
+			if (segment.isDone()) {
+				segment.closeAndDelete();
+			} else {
+				segments.add(segment);
+				recoveredEntries += segment.pendingCount();
+			}
+			nextSegmentNumber = segmentNumber + 1;
+		}
+		if (recoveredEntries > 0) {
+			LOGGER.info("recovered {} undelivered entries from spool directory {}", recoveredEntries, directory);
+		}
+		segments.add(SpoolSegment.create(nextSegmentNumber, directory));
+	}
+
+	@NotNull
+	private List<String> listFileNames() {
+		final String[] fileNames = directory.list();
+		return fileNames != null ? Arrays.asList(fileNames) : new ArrayList<>();
+	}
+
+	private void startDeliveryThreads(final int deliveryThreadCount) {
+		final int spoolNumber = nextSpoolNumber();
+		for (int i = 1; i <= Math.max(1, deliveryThreadCount); i++) {
+			final Thread thread = new Thread(this::deliverEntries, format("Simple Java Mail spool delivery, spool %s / thread %d", spoolNumber, i));
+			thread.setDaemon(true);
+			deliveryThreads.add(thread);
+			thread.start();
+		}
+	}
+
+	private static synchronized int nextSpoolNumber() {
+		return counter++;
+	}
+
+	/**
+	 * @see MailSpool#enqueue(byte[])
+	 */
+	@NotNull
+	@Override
+	public CompletableFuture<Void> enqueue(@NotNull final byte[] entry)
+			throws IOException {
+		final SpoolSegment segment;
+		final long entryEnd;
+		final CompletableFuture<Void> result = new CompletableFuture<>();
+		synchronized (this) {
+			if (closed) {
+				throw new IOException("spool is closed");
+			}
+			SpoolSegment lastSegment = segments.get(segments.size() - 1);
+			if (lastSegment.size() > 0 && lastSegment.size() + SpoolSegment.HEADER_SIZE + entry.length > MAX_SEGMENT_SIZE) {
+				lastSegment.seal();
+				lastSegment = SpoolSegment.create(lastSegment.getNumber() + 1, directory);
+				segments.add(lastSegment);
+			}
+			segment = lastSegment;
+			final long offset = segment.append(entry);
+			entryEnd = segment.size();
+			pendingResults.put(new EntryKey(segment, offset), result);
+			notifyAll();
+		}
+		// outside the lock, so that concurrently enqueued entries are forced to disk together
+		segment.force(entryEnd);
+		return result;
+	}
+
+	/**
+	 * @see MailSpool#size()
+	 */
+	@Override
+	public synchronized int size() {
+		int size = 0;
+		for (final SpoolSegment segment : segments) {
+			size += segment.pendingCount();
+		}
+		return size;
+	}
+
+	private void deliverEntries() {
+		EntryKey entryKey;
+		while ((entryKey = takeNextEntry()) != null) {
+			final byte[] entry;
+			try {
+				entry = entryKey.segment.read(entryKey.offset);
+			} catch (final IOException e) {
+				LOGGER.error("unable to read spooled entry, it will be delivered again by the next spool opened on {}", directory, e);
+				final CompletableFuture<Void> result = removePendingResult(entryKey);
+				if (result != null) {
+					result.completeExceptionally(e);
+				}
+				continue;
+			}
+			try {
+				deliverer.deliver(entry);
+			} catch (final Exception e) {
+				if (entryKey.failedAttempts++ < deliveryRetries) {
+					LOGGER.warn("failed to deliver spooled entry, retrying (retry {} of {})", entryKey.failedAttempts, deliveryRetries, e);
+					scheduleRetry(entryKey);
+				} else {
+					failEntry(entryKey, entry, e);
+				}
+				continue;
+			}
+			final CompletableFuture<Void> result = acknowledge(entryKey);
+			if (result != null) {
+				result.complete(null);
+			}
+		}
+	}
+
+	private synchronized void scheduleRetry(@NotNull final EntryKey entryKey) {
+		entryKey.retryAtMillis = System.currentTimeMillis() + (retryDelayMillis << Math.min(entryKey.failedAttempts - 1, 20));
+		scheduledRetries.add(entryKey);
+		notifyAll();
+	}
+
+	/**
+	 * Moves the entry to the dead-letter directory and only then acknowledges it, so it doesn't get lost. If that fails, the entry stays pending
+	 * and is delivered again by the next spool opened on the directory.
+	 */
+	private void failEntry(@NotNull final EntryKey entryKey, @NotNull final byte[] entry, @NotNull final Exception failure) {
+		final File deadLetterFile = new File(new File(directory, DEAD_LETTER_DIRECTORY),
+				format("segment-%016d-%d.entry", entryKey.segment.getNumber(), entryKey.offset));
+		CompletableFuture<Void> result;
+		try {
+			writeDurably(deadLetterFile, entry);
+			LOGGER.error("failed to deliver spooled entry, moved it to {}", deadLetterFile, failure);
+			result = acknowledge(entryKey);
+		} catch (final IOException e) {
+			LOGGER.error("failed to deliver spooled entry and unable to move it to {}, it will be delivered again by the next spool opened on {}",
+					deadLetterFile, directory, e);
+			result = removePendingResult(entryKey);
+		}
+		if (result != null) {
+			result.completeExceptionally(failure);
+		}
+	}
+
+	@Nullable
+	private synchronized CompletableFuture<Void> removePendingResult(@NotNull final EntryKey entryKey) {
+		return pendingResults.remove(entryKey);
+	}
+
+	private static void writeDurably(@NotNull final File file, @NotNull final byte[] data)
+			throws IOException {
+		final File parent = file.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("unable to create directory " + parent);
+		}
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(data);
+			out.getFD().sync();
+		}
+	}
+
+	/**
+	 * Blocks until an entry is due for a retry or an unread entry is available, in that order.
+	 *
+	 * @return The next entry to deliver, or {@code null} if the spool was closed.
+	 */
+	@Nullable
+	private synchronized EntryKey takeNextEntry() {
+		while (!closed) {
+			try {
+				long millisUntilNextRetry = 0;
+				final EntryKey nextRetry = scheduledRetries.peek();
+				if (nextRetry != null) {
+					millisUntilNextRetry = nextRetry.retryAtMillis - System.currentTimeMillis();
+					if (millisUntilNextRetry <= 0) {
+						return scheduledRetries.poll();
+					}
+				}
+				while (readSegmentIndex < segments.size()) {
+					final SpoolSegment segment = segments.get(readSegmentIndex);
+					final long offset = segment.nextUnread();
+					if (offset >= 0) {
+						return new EntryKey(segment, offset);
+					} else if (readSegmentIndex == segments.size() - 1) {
+						break;
+					}
+					readSegmentIndex++;
+				}
+				wait(millisUntilNextRetry);
+			} catch (final IOException e) {
+				LOGGER.error("unable to read from spool directory {}, stopping delivery thread", directory, e);
+				return null;
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Marks the entry as processed, deleting its segment if that was the segment's last pending entry.
+	 *
+	 * @return The future of the entry, if it was enqueued in this run.
+	 */
+	@Nullable
+	private synchronized CompletableFuture<Void> acknowledge(@NotNull final EntryKey entryKey) {
+		try {
+			entryKey.segment.acknowledge(entryKey.offset);
+			if (entryKey.segment.isDone()) {
+				final int segmentIndex = segments.indexOf(entryKey.segment);
+				segments.remove(segmentIndex);
+				if (segmentIndex < readSegmentIndex) {
+					readSegmentIndex--;
+				}
+				entryKey.segment.closeAndDelete();
+			}
+		} catch (final IOException e) {
+			LOGGER.error("unable to acknowledge spooled entry, it will be delivered again by the next spool opened on {}", directory, e);
+		}
+		return pendingResults.remove(entryKey);
+	}
+
+	/**
+	 * @see MailSpool#close()
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			notifyAll();
+		}
+		for (final Thread deliveryThread : deliveryThreads) {
+			try {
+				deliveryThread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		synchronized (this) {
+			for (final CompletableFuture<Void> result : pendingResults.values()) {
+				result.completeExceptionally(new IllegalStateException("spool closed before the entry was delivered, it remains spooled in " + directory));
+			}
+			pendingResults.clear();
+			scheduledRetries.clear();
+			for (final SpoolSegment segment : segments) {
+				try {
+					segment.close();
+				} catch (final IOException e) {
+					LOGGER.warn("unable to close spool segment {}", segment.getNumber(), e);
+				}
+			}
+			try {
+				lock.release();
+				lockFile.close();
+			} catch (final IOException e) {
+				LOGGER.warn("unable to release lock on spool directory {}", directory, e);
+			}
+		}
+	}
+
+	private static class EntryKey {
+		@NotNull private final SpoolSegment segment;
+		private final long offset;
+		/**
+		 * Delivery bookkeeping, not part of the entry's identity.
+		 */
+		private int failedAttempts;
+		private long retryAtMillis;
+
+		EntryKey(@NotNull final SpoolSegment segment, final long offset) {
+			this.segment = segment;
+			this.offset = offset;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o instanceof EntryKey && ((EntryKey) o).segment == segment && ((EntryKey) o).offset == offset;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(segment.getNumber()) + Long.hashCode(offset);
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package org.simplejavamail.internal.batchsupport.spool;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * One append-only file of the spool, with a companion file in which the offsets of processed entries are recorded.
+ * <p>
+ * Each entry is stored as {@code [int length][int crc32][payload]}. An entry that was only partially written when the JVM stopped fails the length
+ * or checksum check when the segment is recovered, and is truncated along with anything after it. Likewise, a partially written ack is truncated,
+ * in which case the entry is delivered again (delivery is at-least-once).
+ * <p>
+ * Not thread-safe, except for {@link #read(long)} and {@link #force(long)}; {@link FileMailSpool} synchronizes access.
+ */
+class SpoolSegment {
+
+	private static final Logger LOGGER = getLogger(SpoolSegment.class);
+
+	static final int HEADER_SIZE = 8;
+	private static final int ACK_SIZE = 8;
+
+	private final long number;
+	@NotNull private final File logFile;
+	@NotNull private final File ackFile;
+	@NotNull private final FileChannel log;
+	@NotNull private final FileChannel ack;
+
+	/**
+	 * Offsets that were already processed in a previous run, so they can be skipped while reading. Empty for segments created in this run.
+	 */
+	@NotNull private final Set<Long> ackedInPreviousRun;
+
+	/**
+	 * Volatile for {@link #force(long)}, which is called without holding the spool's lock.
+	 */
+	private volatile long writeOffset;
+	/**
+	 * Everything before this offset is known to be on disk. Guarded by {@link #forceLock}.
+	 */
+	private long forcedOffset;
+	@NotNull private final Object forceLock = new Object();
+	private long readOffset;
+	private int entryCount;
+	private int ackCount;
+	private boolean sealed;
+
+	private SpoolSegment(final long number, @NotNull final File directory, @NotNull final Set<Long> ackedInPreviousRun)
+			throws IOException {
+		this.number = number;
+		this.logFile = new File(directory, format("segment-%016d.log", number));
+		this.ackFile = new File(directory, format("segment-%016d.ack", number));
+		this.log = FileChannel.open(logFile.toPath(), CREATE, READ, WRITE);
+		this.ack = FileChannel.open(ackFile.toPath(), CREATE, WRITE, APPEND);
+		this.ackedInPreviousRun = ackedInPreviousRun;
+	}
+
+	@NotNull
+	static SpoolSegment create(final long number, @NotNull final File directory)
+			throws IOException {
+		return new SpoolSegment(number, directory, new HashSet<>());
+	}
+
+	/**
+	 * Opens an existing segment left behind by a previous run, which is sealed right away: new entries always go into a new segment.
+	 */
+	@NotNull
+	static SpoolSegment recover(final long number, @NotNull final File directory)
+			throws IOException {
+		final SpoolSegment segment = new SpoolSegment(number, directory, new HashSet<>());
+		segment.readAcks();
+		segment.scanEntries();
+		segment.sealed = true;
+		return segment;
+	}
+
+	private void readAcks()
+			throws IOException {
+		final long completeAcksSize = ack.size() - ack.size() % ACK_SIZE;
+		if (completeAcksSize < ack.size()) {
+			// acks are appended, so an incomplete trailing ack would misalign every ack written after it
+			LOGGER.warn("discarding incomplete acknowledgement at the end of {}", ackFile);
+			ack.truncate(completeAcksSize);
+		}
+		try (FileChannel ackReader = FileChannel.open(ackFile.toPath(), READ)) {
+			final ByteBuffer buffer = ByteBuffer.allocate(ACK_SIZE);
+			while (readFully(ackReader, buffer, ackReader.position())) {
+				ackReader.position(ackReader.position() + ACK_SIZE);
+				ackedInPreviousRun.add(buffer.getLong(0));
+			}
+		}
+	}
+
+	private void scanEntries()
+			throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		long offset = 0;
+		while (readFully(log, header, offset)) {
+			final int length = header.getInt(0);
+			if (length <= 0 || offset + HEADER_SIZE + length > log.size() || !checksumMatches(offset, length, header.getInt(4))) {
+				break;
+			}
+			entryCount++;
+			if (ackedInPreviousRun.contains(offset)) {
+				ackCount++;
+			}
+			offset += HEADER_SIZE + length;
+		}
+		if (offset < log.size()) {
+			LOGGER.warn("discarding {} bytes of incomplete spool entry at the end of {}", log.size() - offset, logFile);
+			log.truncate(offset);
+		}
+		writeOffset = offset;
+		forcedOffset = offset;
+	}
+
+	private boolean checksumMatches(final long offset, final int length, final int expectedChecksum)
+			throws IOException {
+		final ByteBuffer payload = ByteBuffer.allocate(length);
+		return readFully(log, payload, offset + HEADER_SIZE) && checksum(payload.array()) == expectedChecksum;
+	}
+
+	/**
+	 * Writes the entry, without forcing it to disk yet.
+	 *
+	 * @return The offset of the new entry.
+	 * @see #force(long)
+	 */
+	long append(@NotNull final byte[] payload)
+			throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+		buffer.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+		final long offset = writeOffset;
+		while (buffer.hasRemaining()) {
+			log.write(buffer, writeOffset + buffer.position());
+		}
+		writeOffset += HEADER_SIZE + payload.length;
+		entryCount++;
+		return offset;
+	}
+
+	/**
+	 * Forces the segment to disk up to the given offset, unless a force for a later offset already covered it. Threads appending at the same time
+	 * queue up here, and the first one forces all their entries in one go (group commit), rather than each entry taking its own trip to the disk.
+	 */
+	void force(final long upToOffset)
+			throws IOException {
+		synchronized (forceLock) {
+			if (forcedOffset >= upToOffset || !log.isOpen()) {
+				// a closed segment was either fully processed or forced when the spool was closed
+				return;
+			}
+			final long appendedOffset = writeOffset;
+			log.force(false);
+			forcedOffset = appendedOffset;
+		}
+	}
+
+	/**
+	 * Advances the read cursor past the next entry that hasn't been processed yet.
+	 *
+	 * @return The offset of that entry, or {@code -1} if there are no more unread entries (yet).
+	 */
+	long nextUnread()
+			throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while (readOffset < writeOffset) {
+			final long offset = readOffset;
+			readFully(log, header, offset);
+			readOffset += HEADER_SIZE + header.getInt(0);
+			if (!ackedInPreviousRun.contains(offset)) {
+				return offset;
+			}
+		}
+		return -1;
+	}
+
+	@NotNull
+	byte[] read(final long offset)
+			throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(log, header, offset);
+		final ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+		readFully(log, payload, offset + HEADER_SIZE);
+		return payload.array();
+	}
+
+	/**
+	 * Records the entry as processed and forces the record to disk.
+	 */
+	void acknowledge(final long offset)
+			throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(ACK_SIZE);
+		buffer.putLong(offset).flip();
+		while (buffer.hasRemaining()) {
+			ack.write(buffer);
+		}
+		ack.force(false);
+		ackCount++;
+	}
+
+	void seal() {
+		sealed = true;
+	}
+
+	/**
+	 * @return Whether all entries have been processed and no more entries will be added.
+	 */
+	boolean isDone() {
+		return sealed && ackCount == entryCount;
+	}
+
+	int pendingCount() {
+		return entryCount - ackCount;
+	}
+
+	long size() {
+		return writeOffset;
+	}
+
+	long getNumber() {
+		return number;
+	}
+
+	void close()
+			throws IOException {
+		synchronized (forceLock) {
+			try {
+				if (log.isOpen()) {
+					log.force(false);
+				}
+			} finally {
+				closeChannels();
+			}
+		}
+	}
+
+	void closeAndDelete()
+			throws IOException {
+		synchronized (forceLock) {
+			closeChannels();
+		}
+		if (!logFile.delete() || !ackFile.delete()) {
+			LOGGER.warn("unable to delete processed spool segment {}", logFile);
+		}
+	}
+
+	private void closeChannels()
+			throws IOException {
+		try {
+			log.close();
+		} finally {
+			ack.close();
+		}
+	}
+
+	private static boolean readFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer, final long offset)
+			throws IOException {
+		buffer.clear();
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, offset + buffer.position()) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int checksum(@NotNull final byte[] payload) {
+		final CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,141 @@
+package org.simplejavamail.internal.batchsupport.spool;
+
+import jakarta.mail.MessagingException;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileMailSpoolTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testDeliversEntriesLeftBehindByPreviousRun()
+			throws Exception {
+		val spoolDirectory = temporaryFolder.newFolder("spool");
+
+		// first run: the spool is closed while delivering "a", so "b" is left behind
+		val leftBehind = closeSpoolWhileDelivering(spoolDirectory, "a", "a", "b");
+		assertThat(leftBehind).isCompletedExceptionally();
+
+		// second run
+		val deliveredEntries = new CopyOnWriteArrayList<String>();
+		val spool = new FileMailSpool(spoolDirectory, 1, entry -> deliveredEntries.add(new String(entry, UTF_8)));
+		try {
+			awaitEmpty(spool);
+		} finally {
+			spool.close();
+		}
+		assertThat(deliveredEntries).containsExactly("b");
+	}
+
+	@Test
+	public void testRetriesFailedDeliveriesAndSetsAsideUndeliverableEntries()
+			throws Exception {
+		val spoolDirectory = temporaryFolder.newFolder("spool");
+		val attempts = new CopyOnWriteArrayList<String>();
+		val spool = new FileMailSpool(spoolDirectory, 1, 1, 10, entry -> {
+			val payload = new String(entry, UTF_8);
+			attempts.add(payload);
+			if (payload.equals("undeliverable") || attempts.indexOf(payload) == attempts.lastIndexOf(payload)) {
+				throw new MessagingException("transport failed for " + payload);
+			}
+		});
+		try {
+			val undeliverable = spool.enqueue("undeliverable".getBytes(UTF_8));
+			val deliveredOnRetry = spool.enqueue("delivered on retry".getBytes(UTF_8));
+
+			assertThatThrownBy(undeliverable::get).hasRootCauseInstanceOf(MessagingException.class);
+			deliveredOnRetry.get();
+			assertThat(attempts).containsExactlyInAnyOrder("undeliverable", "undeliverable", "delivered on retry", "delivered on retry");
+			assertThat(spool.size()).isZero();
+		} finally {
+			spool.close();
+		}
+
+		val deadLetters = new File(spoolDirectory, FileMailSpool.DEAD_LETTER_DIRECTORY).listFiles();
+		assertThat(deadLetters).hasSize(1);
+		assertThat(new String(Files.readAllBytes(deadLetters[0].toPath()), UTF_8)).isEqualTo("undeliverable");
+
+		// both entries were acknowledged, so nothing is delivered again
+		val reopenedSpool = new FileMailSpool(spoolDirectory, 1, entry -> attempts.add("redelivered"));
+		reopenedSpool.close();
+		assertThat(attempts).doesNotContain("redelivered");
+	}
+
+	@Test
+	public void testTruncatesIncompleteAcknowledgementLeftBehindByPreviousRun()
+			throws Exception {
+		val spoolDirectory = temporaryFolder.newFolder("spool");
+
+		// first run: only "a" is processed, after which a partially written ack is left behind
+		closeSpoolWhileDelivering(spoolDirectory, "a", "a", "b", "c", "d");
+		try (val ackFile = new FileOutputStream(new File(spoolDirectory, "segment-0000000000000001.ack"), true)) {
+			ackFile.write(new byte[] { 1, 2, 3 });
+		}
+		// second run: only "b" is processed, and its ack must line up with the complete ack before it
+		closeSpoolWhileDelivering(spoolDirectory, "b");
+
+		// third run
+		val deliveredEntries = new CopyOnWriteArrayList<String>();
+		val thirdSpool = new FileMailSpool(spoolDirectory, 1, entry -> deliveredEntries.add(new String(entry, UTF_8)));
+		try {
+			awaitEmpty(thirdSpool);
+		} finally {
+			thirdSpool.close();
+		}
+		assertThat(deliveredEntries).containsExactly("c", "d");
+	}
+
+	/**
+	 * Closes the spool while it is delivering the given entry, which is still processed, leaving the entries after it undelivered.
+	 *
+	 * @return The result of the last new entry.
+	 */
+	private static CompletableFuture<Void> closeSpoolWhileDelivering(@NotNull final File spoolDirectory, @NotNull final String blockingEntry,
+			@NotNull final String... newEntries)
+			throws Exception {
+		val delivering = new CountDownLatch(1);
+		val releaseDelivery = new CountDownLatch(1);
+		val spool = new FileMailSpool(spoolDirectory, 1, entry -> {
+			if (new String(entry, UTF_8).equals(blockingEntry)) {
+				delivering.countDown();
+				releaseDelivery.await();
+			}
+		});
+		CompletableFuture<Void> lastResult = null;
+		for (final String newEntry : newEntries) {
+			lastResult = spool.enqueue(newEntry.getBytes(UTF_8));
+		}
+		delivering.await();
+		val closingThread = new Thread(spool::close);
+		closingThread.start();
+		while (closingThread.getState() != Thread.State.WAITING) {
+			Thread.sleep(10);
+		}
+		releaseDelivery.countDown();
+		closingThread.join();
+		return lastResult;
+	}
+
+	private static void awaitEmpty(@NotNull final FileMailSpool spool)
+			throws InterruptedException {
+		for (int i = 0; i < 100 && spool.size() > 0; i++) {
+			Thread.sleep(50);
+		}
+	}
+}
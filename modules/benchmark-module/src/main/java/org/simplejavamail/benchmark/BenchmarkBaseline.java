@@ -0,0 +1,149 @@
+package org.simplejavamail.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Benchmark scores stored as a tab separated file, one line per benchmark and parameter combination, so that runs can be compared with an earlier
+ * run (and the file can be diffed as well).
+ */
+final class BenchmarkBaseline {
+
+	private static final String HEADER = "# benchmark\tmode\tscore\terror\tunit";
+
+	@NotNull private final Map<String, Score> scores;
+
+	private BenchmarkBaseline(@NotNull final Map<String, Score> scores) {
+		this.scores = scores;
+	}
+
+	@NotNull
+	static BenchmarkBaseline fromResults(@NotNull final Collection<RunResult> results) {
+		final Map<String, Score> scores = new LinkedHashMap<>();
+		for (final RunResult result : results) {
+			final BenchmarkParams params = result.getParams();
+			final Result<?> primaryResult = result.getPrimaryResult();
+			scores.put(determineKey(params), new Score(params.getMode().shortLabel(), primaryResult.getScore(), primaryResult.getScoreError(),
+					primaryResult.getScoreUnit()));
+		}
+		return new BenchmarkBaseline(scores);
+	}
+
+	@NotNull
+	static BenchmarkBaseline read(@NotNull final Path file)
+			throws IOException {
+		final Map<String, Score> scores = new LinkedHashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					final String[] columns = line.split("\t");
+					scores.put(columns[0], new Score(columns[1], Double.parseDouble(columns[2]), Double.parseDouble(columns[3]), columns[4]));
+				}
+			}
+		}
+		return new BenchmarkBaseline(scores);
+	}
+
+	void write(@NotNull final Path file)
+			throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(HEADER);
+			writer.newLine();
+			for (final Map.Entry<String, Score> entry : scores.entrySet()) {
+				final Score score = entry.getValue();
+				writer.write(format(Locale.ROOT, "%s\t%s\t%s\t%s\t%s", entry.getKey(), score.mode, score.score, score.error, score.unit));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Prints how each score compares to the baseline. A score counts as a regression if it is worse than the baseline by more than the given
+	 * percentage, and by more than the error margins of both scores combined (so noise alone doesn't count).
+	 *
+	 * @return The number of regressions.
+	 */
+	int compareTo(@NotNull final BenchmarkBaseline baseline, final double regressionThresholdPercent, @NotNull final PrintStream out) {
+		final Collection<String> regressions = new ArrayList<>();
+		int keyWidth = "Benchmark".length();
+		for (final String key : scores.keySet()) {
+			keyWidth = Math.max(keyWidth, key.length());
+		}
+		out.println(format(Locale.ROOT, "%-" + keyWidth + "s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+		for (final Map.Entry<String, Score> entry : scores.entrySet()) {
+			final Score current = entry.getValue();
+			final Score previous = baseline.scores.get(entry.getKey());
+			if (previous == null || !previous.unit.equals(current.unit)) {
+				out.println(format(Locale.ROOT, "%-" + keyWidth + "s %14s %14.3f %9s", entry.getKey(), "-", current.score, "new"));
+				continue;
+			}
+			final double changePercent = (current.score - previous.score) / previous.score * 100;
+			// for throughput higher is better, for the time based modes lower is better
+			final double worsening = current.isThroughput() ? previous.score - current.score : current.score - previous.score;
+			final boolean regression = worsening > Math.abs(previous.score) * regressionThresholdPercent / 100
+					&& worsening > errorOrZero(previous.error) + errorOrZero(current.error);
+			out.println(format(Locale.ROOT, "%-" + keyWidth + "s %14.3f %14.3f %+8.1f%%%s", entry.getKey(), previous.score, current.score, changePercent,
+					regression ? "  REGRESSION" : ""));
+			if (regression) {
+				regressions.add(entry.getKey());
+			}
+		}
+		out.println(format("%s regression(s) beyond %s%%", regressions.size(), regressionThresholdPercent));
+		return regressions.size();
+	}
+
+	@NotNull
+	private static String determineKey(@NotNull final BenchmarkParams params) {
+		final StringBuilder key = new StringBuilder(params.getBenchmark());
+		if (!params.getParamsKeys().isEmpty()) {
+			String separator = "(";
+			for (final String paramKey : params.getParamsKeys()) {
+				key.append(separator).append(paramKey).append('=').append(params.getParam(paramKey));
+				separator = ",";
+			}
+			key.append(')');
+		}
+		return key.toString();
+	}
+
+	private static double errorOrZero(final double error) {
+		// JMH reports NaN when there were too few iterations to determine the error
+		return Double.isNaN(error) ? 0 : error;
+	}
+
+	private static final class Score {
+		@NotNull private final String mode;
+		private final double score;
+		private final double error;
+		@NotNull private final String unit;
+
+		Score(@NotNull final String mode, final double score, final double error, @NotNull final String unit) {
+			this.mode = mode;
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+
+		boolean isThroughput() {
+			return mode.equals("thrpt");
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package org.simplejavamail.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the benchmarks and compares the results with a baseline from an earlier run, for example from before upgrading a dependency:
+ * <pre>
+ * mvn -pl modules/benchmark-module -am package -DskipTests
+ * java -jar modules/benchmark-module/target/benchmarks.jar --save-baseline
+ * (make changes, build again)
+ * java -jar modules/benchmark-module/target/benchmarks.jar
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>{@code --baseline <file>}: the baseline to compare with or save to (default {@value #DEFAULT_BASELINE})</li>
+ *     <li>{@code --save-baseline}: saves the results as the new baseline, rather than comparing them</li>
+ *     <li>{@code --regression-threshold <percent>}: how much worse a score may get before it counts as a regression (default
+ *     {@value #DEFAULT_REGRESSION_THRESHOLD_PERCENT})</li>
+ * </ul>
+ * Any other arguments are passed on to JMH, so {@code java -jar benchmarks.jar Parsing -f 2} only runs the parsing benchmarks, with two forks.
+ * <p>
+ * Exits with status 1 if any benchmark regressed.
+ */
+public class BenchmarkRunner {
+
+	private static final String DEFAULT_BASELINE = "benchmark-baseline.tsv";
+	private static final double DEFAULT_REGRESSION_THRESHOLD_PERCENT = 10;
+
+	public static void main(final String[] args)
+			throws CommandLineOptionException, RunnerException, IOException {
+		Path baselineFile = Paths.get(DEFAULT_BASELINE);
+		boolean saveBaseline = false;
+		double regressionThresholdPercent = DEFAULT_REGRESSION_THRESHOLD_PERCENT;
+		final List<String> jmhArgs = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--baseline":
+					baselineFile = Paths.get(args[++i]);
+					break;
+				case "--save-baseline":
+					saveBaseline = true;
+					break;
+				case "--regression-threshold":
+					regressionThresholdPercent = Double.parseDouble(args[++i]);
+					break;
+				default:
+					jmhArgs.add(args[i]);
+			}
+		}
+
+		final CommandLineOptions jmhOptions = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+		final Collection<RunResult> results = new Runner(new OptionsBuilder().parent(jmhOptions).build()).run();
+		final BenchmarkBaseline current = BenchmarkBaseline.fromResults(results);
+
+		if (saveBaseline) {
+			current.write(baselineFile);
+			System.out.println("Saved baseline to " + baselineFile.toAbsolutePath());
+		} else if (!Files.exists(baselineFile)) {
+			System.out.println("No baseline found at " + baselineFile.toAbsolutePath() + ", run with --save-baseline to create one");
+		} else if (current.compareTo(BenchmarkBaseline.read(baselineFile), regressionThresholdPercent, System.out) > 0) {
+			System.exit(1);
+		}
+	}
+}
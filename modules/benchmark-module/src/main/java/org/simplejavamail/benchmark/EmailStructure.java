@@ -0,0 +1,78 @@
+package org.simplejavamail.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.util.Random;
+
+/**
+ * The MIME structures Simple Java Mail produces, one for each {@code SpecializedMimeMessageProducer}, which is picked based on whether the email
+ * has alternative content (multiple texts), related content (embedded images) and mixed content (attachments).
+ */
+public enum EmailStructure {
+	SIMPLE(false, false, false),
+	ALTERNATIVE(true, false, false),
+	RELATED(false, true, false),
+	MIXED(false, false, true),
+	RELATED_ALTERNATIVE(true, true, false),
+	MIXED_ALTERNATIVE(true, false, true),
+	MIXED_RELATED(false, true, true),
+	MIXED_RELATED_ALTERNATIVE(true, true, true);
+
+	private static final String PLAIN_TEXT = repeat("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore.\n", 40);
+	private static final String HTML_TEXT = "<html><body><p>" + repeat("Lorem ipsum <b>dolor</b> sit amet, consectetur adipiscing elit.<br/>", 40)
+			+ "</p><img src=\"cid:logo\"/></body></html>";
+
+	private final boolean alternative;
+	private final boolean related;
+	private final boolean mixed;
+
+	EmailStructure(final boolean alternative, final boolean related, final boolean mixed) {
+		this.alternative = alternative;
+		this.related = related;
+		this.mixed = mixed;
+	}
+
+	/**
+	 * @param binarySize The size of the embedded image and the attachment, if the structure has them. The content is random, so it doesn't
+	 *                   compress or encode any better than real attachments would.
+	 */
+	@NotNull
+	public Email buildEmail(final int binarySize) {
+		final EmailPopulatingBuilder builder = EmailBuilder.startingBlank()
+				.from("Benchmark", "benchmark@candyshop.org")
+				.to("Recipient", "recipient@candyshop.org")
+				.withSubject("Benchmark " + name().toLowerCase() + " email");
+		if (alternative || !related) {
+			builder.withPlainText(PLAIN_TEXT);
+		}
+		if (alternative || related) {
+			builder.withHTMLText(HTML_TEXT);
+		}
+		if (related) {
+			builder.withEmbeddedImage("logo", randomBytes(binarySize, 1), "image/png");
+		}
+		if (mixed) {
+			builder.withAttachment("report.pdf", randomBytes(binarySize, 2), "application/pdf");
+		}
+		return builder.buildEmail();
+	}
+
+	@NotNull
+	private static byte[] randomBytes(final int size, final long seed) {
+		final byte[] bytes = new byte[size];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+
+	@NotNull
+	private static String repeat(@NotNull final String text, final int times) {
+		final StringBuilder result = new StringBuilder(text.length() * times);
+		for (int i = 0; i < times; i++) {
+			result.append(text);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,66 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser.ParsedMimeMessageComponents;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing EMLs of increasing complexity, both the low level parsing into MIME components and the complete conversion to an email. The
+ * EMLs are produced by Simple Java Mail itself during setup, so their complexity follows the {@link EmailStructure}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MimeMessageParsingBenchmark {
+
+	@Param
+	public EmailStructure structure;
+
+	@Param({ "1024", "102400", "1048576" })
+	public int attachmentSize;
+
+	private Session session;
+	private String eml;
+	private byte[] emlBytes;
+
+	@Setup
+	public void setUp() {
+		session = Session.getInstance(new Properties());
+		eml = EmailConverter.emailToEML(structure.buildEmail(attachmentSize));
+		emlBytes = eml.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public ParsedMimeMessageComponents parseMimeMessage()
+			throws MessagingException {
+		return MimeMessageParser.parseMimeMessage(new MimeMessage(session, new ByteArrayInputStream(emlBytes)));
+	}
+
+	@Benchmark
+	public Email emlToEmail() {
+		return EmailConverter.emlToEmail(eml);
+	}
+}
@@ -0,0 +1,83 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures producing a MIME message from an email, for each of the MIME structures and several attachment sizes. Producing the message only
+ * builds the MIME tree, the content is encoded when the message is written, which is why writing is measured separately.
+ * <p>
+ * Note that the attachment size doesn't apply to {@link EmailStructure#SIMPLE} and {@link EmailStructure#ALTERNATIVE}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MimeMessageProductionBenchmark {
+
+	@Param
+	public EmailStructure structure;
+
+	@Param({ "1024", "102400", "1048576" })
+	public int attachmentSize;
+
+	private Session session;
+	private Email email;
+
+	@Setup
+	public void setUp() {
+		session = Session.getInstance(new Properties());
+		email = structure.buildEmail(attachmentSize);
+	}
+
+	@Benchmark
+	public MimeMessage produceMimeMessage()
+			throws UnsupportedEncodingException, MessagingException {
+		return MimeMessageProducerHelper.produceMimeMessage(email, EmailGovernance.NO_GOVERNANCE, session);
+	}
+
+	@Benchmark
+	public long produceAndWriteMimeMessage()
+			throws IOException, MessagingException {
+		final ByteCountingOutputStream out = new ByteCountingOutputStream();
+		MimeMessageProducerHelper.produceMimeMessage(email, EmailGovernance.NO_GOVERNANCE, session).writeTo(out);
+		return out.count;
+	}
+
+	private static class ByteCountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(final int b) {
+			count++;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			count += len;
+		}
+	}
+}
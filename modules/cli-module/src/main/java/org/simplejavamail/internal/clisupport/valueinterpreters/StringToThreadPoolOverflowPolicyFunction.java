@@ -0,0 +1,27 @@
+package org.simplejavamail.internal.clisupport.valueinterpreters;
+
+import org.bbottema.javareflection.valueconverter.IncompatibleTypeException;
+import org.bbottema.javareflection.valueconverter.ValueFunction;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
+
+public class StringToThreadPoolOverflowPolicyFunction implements ValueFunction<String, ThreadPoolOverflowPolicy> {
+	
+	@Override
+	public Class<String> getFromType() {
+		return String.class;
+	}
+	
+	@Override
+	public Class<ThreadPoolOverflowPolicy> getTargetType() {
+		return ThreadPoolOverflowPolicy.class;
+	}
+	
+	@Override
+	public final ThreadPoolOverflowPolicy convertValue(String value) {
+		try {
+			return ThreadPoolOverflowPolicy.valueOf(value);
+		} catch (IllegalArgumentException e) {
+			throw new IncompatibleTypeException(value, String.class, ThreadPoolOverflowPolicy.class, e);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package org.simplejavamail.api.internal.batchsupport;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durable outbound queue managed by the batch module. Entries are persisted to disk before {@link #enqueue(byte[])} returns and are only removed
+ * once the {@link Deliverer} has processed them, so entries that were pending when the JVM stopped are delivered again by the next spool opened
+ * on the same directory.
+ * <p>
+ * The spool doesn't know what the entries are; to Simple Java Mail they are produced MIME messages.
+ */
+public interface MailSpool {
+
+	/**
+	 * Persists the entry and schedules it for delivery.
+	 *
+	 * @return A future that completes when the entry is delivered, or completes exceptionally when delivery failed.
+	 */
+	@NotNull
+	CompletableFuture<Void> enqueue(@NotNull byte[] entry) throws IOException;
+
+	/**
+	 * @return The number of entries not delivered yet, including entries recovered from a previous run.
+	 */
+	int size();
+
+	/**
+	 * Stops the delivery threads and closes the spool files. Pending entries remain on disk.
+	 */
+	void close();
+
+	/**
+	 * Processes entries taken from the spool, either successfully or by throwing an exception. An entry is only removed from the spool once it was
+	 * processed successfully, or once it was set aside as undeliverable after its last retry.
+	 */
+	interface Deliverer {
+		void deliver(@NotNull byte[] entry) throws Exception;
+	}
+}
@@ -13,8 +13,11 @@ import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.ServerConfig;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * Mailing tool created exclusively using {@link MailerRegularBuilder}. This class is the facade to most Simple Java Mail functionality
@@ -76,6 +79,9 @@ public interface Mailer {
 	 * <p>
 	 * If the email should go through an authenticated proxy server, then the SOCKS proxy bridge is started if not already running. When the last
 	 * email in a batch has finished, the proxy bridging server is shut down.
+	 * <p>
+	 * Failed sends are only retried when sending asynchronously (see {@link MailerGenericBuilder#withSendRetries(Integer)}). When not <em>async</em>,
+	 * a failure is thrown right away, leaving it to the caller to try again.
 	 *
 	 * @param email The information for the email to be sent.
 	 * @param async If false, this method blocks until the mail has been processed completely by the SMTP server. If true, a new thread is started to
@@ -86,6 +92,52 @@ public interface Mailer {
 	 * @see #validate(Email)
 	 */
 	@NotNull CompletableFuture<Void> sendMail(Email email, @SuppressWarnings("SameParameterValue") boolean async);
+
+	/**
+	 * Sends a (large) number of emails, reusing a single claimed {@link Transport} connection for several consecutive emails, rather than
+	 * claiming and releasing a connection for every individual email as {@link #sendMail(Email)} does.
+	 * <p>
+	 * Emails are sent in batches of {@link MailerGenericBuilder#withBulkSendBatchSize(Integer)}, asynchronously or not depending on the
+	 * mailer's {@link MailerGenericBuilder#async()} setting. When sending asynchronously, at most
+	 * {@link MailerGenericBuilder#withBulkSendMaxInFlight(Integer)} emails are in-flight at any time; this method blocks until earlier emails
+	 * are processed to stay below this limit.
+	 * <p>
+	 * Unlike {@link #sendMail(Email)}, an email that doesn't validate doesn't result in a {@link MailException} being thrown from this method,
+	 * but in a failed {@link CompletableFuture} for that email, so one faulty email doesn't abort the entire bulk.
+	 * <p>
+	 * <strong>Note</strong> that the returned list is built up while sending and only returned once every email was handed off, so it holds a
+	 * future for every email and memory use grows with the number of emails. This makes it unsuitable for unbounded input; use
+	 * {@link #sendMails(Iterable, BiConsumer)} for that instead.
+	 *
+	 * @param emails The emails to send. The {@link Iterable} is consumed lazily, but see the note on memory use above.
+	 * @return A {@link CompletableFuture} per email, in the same order as the provided emails.
+	 * @see MailerGenericBuilder#withBulkSendBatchSize(Integer)
+	 * @see MailerGenericBuilder#withBulkSendMaxInFlight(Integer)
+	 */
+	@NotNull List<CompletableFuture<Void>> sendMails(@NotNull Iterable<Email> emails);
+
+	/**
+	 * Delegates to {@link #sendMails(Iterable)}, so the note on memory use applies here as well: for an unbounded stream, use
+	 * {@link #sendMails(Stream, BiConsumer)} instead.
+	 */
+	@NotNull List<CompletableFuture<Void>> sendMails(@NotNull Stream<Email> emails);
+
+	/**
+	 * Same as {@link #sendMails(Iterable)}, but rather than returning a {@link CompletableFuture} per email, which are all kept around until this
+	 * method returns, each email's outcome is streamed to the given handler as soon as the email is processed. This keeps memory use flat no
+	 * matter how many emails are sent.
+	 * <p>
+	 * When sending asynchronously, the handler is invoked from the threads sending the emails.
+	 *
+	 * @param emails        The emails to send. The {@link Iterable} is consumed lazily, so it can be backed by a large data source.
+	 * @param resultHandler Receives every email along with the reason it failed, or {@code null} if it was sent successfully.
+	 */
+	void sendMails(@NotNull Iterable<Email> emails, @NotNull BiConsumer<Email, Throwable> resultHandler);
+
+	/**
+	 * Delegates to {@link #sendMails(Iterable, BiConsumer)}.
+	 */
+	void sendMails(@NotNull Stream<Email> emails, @NotNull BiConsumer<Email, Throwable> resultHandler);
 	
 	/**
 	 * Validates an {@link Email} instance. Validation fails if the subject is missing, content is missing, or no recipients are defined or that
@@ -120,6 +172,15 @@ public interface Mailer {
 	 */
 	Future<?> shutdownConnectionPool();
 
+	/**
+	 * @return The number of async sends currently waiting in the executor's work queue for a free thread, or {@code -1} if the executor doesn't
+	 * expose its queue (for example when sending on virtual threads, or with a custom executor that isn't a {@link java.util.concurrent.ThreadPoolExecutor}).
+	 * When a spool is used, this is the number of spooled emails that haven't been processed yet.
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 * @see MailerGenericBuilder#withSpoolDirectory(java.io.File)
+	 */
+	int getAsyncQueueDepth();
+
 	/**
 	 * @return The server connection details. Will be {@code null} in case a custom fixed {@link Session} instance is used.
 	 * @see MailerRegularBuilder#withSMTPServer(String, Integer, String, String)
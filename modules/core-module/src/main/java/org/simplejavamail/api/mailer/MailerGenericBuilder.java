@@ -8,7 +8,9 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.clisupport.model.Cli;
 import org.simplejavamail.api.internal.clisupport.model.CliBuilderApiType;
+import org.simplejavamail.api.mailer.config.DomainLimits;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 
@@ -59,6 +61,24 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * @see #withThreadPoolKeepAliveTime(Integer)
 	 */
 	int DEFAULT_POOL_KEEP_ALIVE_TIME = 1;
+	/**
+	 * {@value}, meaning the work queue is unbounded.
+	 *
+	 * @see #withThreadPoolQueueCapacity(Integer)
+	 */
+	int DEFAULT_POOL_QUEUE_CAPACITY = 0;
+	/**
+	 * {@value}
+	 *
+	 * @see #withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)
+	 */
+	String DEFAULT_POOL_OVERFLOW_POLICY = ThreadPoolOverflowPolicy.BLOCK_REF;
+	/**
+	 * {@value}
+	 *
+	 * @see #withVirtualThreads(Boolean)
+	 */
+	boolean DEFAULT_VIRTUAL_THREADS = false;
 	/**
 	 * {@value}
 	 *
@@ -89,6 +109,54 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * @see #withConnectionPoolLoadBalancingStrategy(LoadBalancingStrategy)
 	 */
 	String DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY = LoadBalancingStrategy.ROUND_ROBIN_REF;
+	/**
+	 * {@value}
+	 *
+	 * @see #withBulkSendBatchSize(Integer)
+	 */
+	int DEFAULT_BULK_SEND_BATCH_SIZE = 10;
+	/**
+	 * {@value}
+	 *
+	 * @see #withBulkSendMaxInFlight(Integer)
+	 */
+	int DEFAULT_BULK_SEND_MAX_IN_FLIGHT = 1000;
+	/**
+	 * {@value}
+	 *
+	 * @see #withSendRetries(Integer)
+	 */
+	int DEFAULT_SEND_RETRIES = 0;
+	/**
+	 * {@value}
+	 *
+	 * @see #withSendRetryDelayMillis(Integer)
+	 */
+	int DEFAULT_SEND_RETRY_DELAY_MILLIS = 1000;
+	/**
+	 * {@value}
+	 *
+	 * @see #withMaxConnectionsPerDomain(Integer)
+	 */
+	int DEFAULT_MAX_CONNECTIONS_PER_DOMAIN = 0;
+	/**
+	 * {@value}
+	 *
+	 * @see #withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	int DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN = 0;
+	/**
+	 * {@value}
+	 *
+	 * @see #withMaxMessagesPerSecond(Integer)
+	 */
+	int DEFAULT_MAX_MESSAGES_PER_SECOND = 0;
+	/**
+	 * {@value}
+	 *
+	 * @see #withClusterMaxMessagesPerSecond(Integer)
+	 */
+	int DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND = 0;
 	/**
 	 * Default port is <code>{@value}</code>.
 	 */
@@ -98,10 +166,30 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * Default port is <code>{@value}</code>.
 	 */
 	int DEFAULT_PROXY_BRIDGE_PORT = 1081;
+	/**
+	 * The buffer each direction of a connection relayed by the SOCKS5 relay server bridge uses. Default size is <code>{@value}</code> bytes.
+	 */
+	int DEFAULT_PROXY_BRIDGE_BUFFER_SIZE = 16 * 1024;
+	/**
+	 * The number of connections the SOCKS5 relay server bridge relays at the same time. Default is <code>{@value}</code>.
+	 */
+	int DEFAULT_PROXY_BRIDGE_MAX_CONNECTIONS = 100;
 	/**
 	 * Defaults to <code>{@value}</code>, sending mails rather than just only logging the mails.
 	 */
 	boolean DEFAULT_TRANSPORT_MODE_LOGGING_ONLY = false;
+	/**
+	 * Defaults to <code>{@value}</code>, sending the SMTP envelope one command at a time, as JavaMail does natively.
+	 */
+	boolean DEFAULT_SMTP_PIPELINING = false;
+	/**
+	 * Defaults to <code>{@value}</code>, producing emails as a JavaMail MimeMessage object graph.
+	 */
+	boolean DEFAULT_DIRECT_MIME_WRITING = false;
+	/**
+	 * Defaults to <code>{@value}</code>, encoding attachments anew for every email.
+	 */
+	int DEFAULT_ATTACHMENT_ENCODING_CACHE_SIZE = 0;
 	/**
 	 * Defaults to <code>{@value}</code>, sending mails rather than just only logging the mails.
 	 */
@@ -200,6 +288,38 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withProxyBridgePort(@NotNull Integer proxyBridgePort);
 
+	/**
+	 * Relevant only when using username authentication with a proxy.
+	 * <p>
+	 * Sets the size of the buffer the intermediary SOCKS5 relay server bridge uses for each direction of a relayed connection. Buffers are pooled
+	 * and reused between connections.
+	 * <p>
+	 * Defaults to {@value DEFAULT_PROXY_BRIDGE_BUFFER_SIZE} if no custom default property was configured.
+	 * <p>
+	 * <strong>Note:</strong> this is only works in combination with the {@value org.simplejavamail.internal.modules.AuthenticatedSocksModule#NAME}.
+	 *
+	 * @param proxyBridgeBufferSize The buffer size in bytes.
+	 *
+	 * @see #withProxyBridgePort(Integer)
+	 */
+	T withProxyBridgeBufferSize(@NotNull Integer proxyBridgeBufferSize);
+
+	/**
+	 * Relevant only when using username authentication with a proxy.
+	 * <p>
+	 * Limits the number of connections the intermediary SOCKS5 relay server bridge relays at the same time. Further connections wait until a
+	 * relayed connection is closed.
+	 * <p>
+	 * Defaults to {@value DEFAULT_PROXY_BRIDGE_MAX_CONNECTIONS} if no custom default property was configured.
+	 * <p>
+	 * <strong>Note:</strong> this is only works in combination with the {@value org.simplejavamail.internal.modules.AuthenticatedSocksModule#NAME}.
+	 *
+	 * @param proxyBridgeMaxConnections The maximum number of concurrently relayed connections.
+	 *
+	 * @see #withProxyBridgePort(Integer)
+	 */
+	T withProxyBridgeMaxConnections(@NotNull Integer proxyBridgeMaxConnections);
+
 	/**
 	 * This flag is set on the Session instance through {@link Session#setDebug(boolean)} so that it generates debug information. To get more
 	 * information out of the underlying JavaMail framework or out of Simple Java Mail, increase logging config of your chosen logging-framework.
@@ -317,7 +437,7 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * <ul>
 	 *     <li>with max threads fixed to the given pool size (default is {@value #DEFAULT_POOL_SIZE})</li>
 	 *     <li>with keepAliveTime as specified (if greater than zero, core threads will also time out and die off), default is {@value #DEFAULT_POOL_KEEP_ALIVE_TIME}</li>
-	 *     <li>A {@link LinkedBlockingQueue}</li>
+	 *     <li>A {@link LinkedBlockingQueue}, bounded to the given queue capacity if greater than zero (default is {@value #DEFAULT_POOL_QUEUE_CAPACITY}, unbounded)</li>
 	 *     <li>The {@code NamedThreadFactory}, which creates named non-daemon threads</li>
 	 * </ul>
 	 * <p>
@@ -363,6 +483,85 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withThreadPoolKeepAliveTime(@NotNull Integer threadPoolKeepAliveTime);
 
+	/**
+	 * Bounds the number of async sends that can wait in the default executor's work queue for a free thread. Every queued send holds on to its
+	 * complete {@link org.simplejavamail.api.email.Email} (including attachments), so when the mail server slows down an unbounded queue keeps
+	 * growing until the heap runs out. With a capacity, memory use under burst load is bounded and predictable; what happens to a send that
+	 * doesn't fit in the queue is determined by {@link #withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)}.
+	 * <p>
+	 * Zero or less means the queue is unbounded. Defaults to {@value #DEFAULT_POOL_QUEUE_CAPACITY}.
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME} and is ignored
+	 * when a custom executor is provided with {@link #withExecutorService(ExecutorService)}, or when sending on virtual threads (which don't queue).
+	 *
+	 * @param threadPoolQueueCapacity The maximum number of async sends waiting for a thread, or zero for unbounded.
+	 *
+	 * @see #resetThreadPoolQueueCapacity()
+	 * @see Mailer#getAsyncQueueDepth()
+	 */
+	T withThreadPoolQueueCapacity(@NotNull Integer threadPoolQueueCapacity);
+
+	/**
+	 * Determines what happens to an async send when the default executor's work queue is full: either the calling thread waits for room
+	 * ({@link ThreadPoolOverflowPolicy#BLOCK}), or the send is refused right away with a {@code MailQueueFullException}
+	 * ({@link ThreadPoolOverflowPolicy#FAIL}).
+	 * <p>
+	 * Defaults to {@value #DEFAULT_POOL_OVERFLOW_POLICY}.
+	 * <p>
+	 * <strong>Note:</strong> this is only relevant in combination with {@link #withThreadPoolQueueCapacity(Integer)}.
+	 *
+	 * @param threadPoolOverflowPolicy See main description.
+	 *
+	 * @see #resetThreadPoolOverflowPolicy()
+	 */
+	T withThreadPoolOverflowPolicy(@NotNull ThreadPoolOverflowPolicy threadPoolOverflowPolicy);
+
+	/**
+	 * When enabled, the default executor runs each async send on a new virtual thread instead of on the fixed size thread pool. Since sending is
+	 * almost entirely spent waiting on socket I/O, this lets the connection pool limit concurrency rather than the number of threads. The thread
+	 * pool size and keepAliveTime are ignored in this mode.
+	 * <p>
+	 * Virtual threads require Java 21+. On older runtimes this setting falls back to the regular thread pool (with a warning logged).
+	 * <p>
+	 * Defaults to {@value #DEFAULT_VIRTUAL_THREADS}.
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME} and is ignored
+	 * when a custom executor is provided with {@link #withExecutorService(ExecutorService)}.
+	 *
+	 * @param virtualThreads Flag {@code true} or {@code false} that enables or disables the use of virtual threads.
+	 *
+	 * @see #resetVirtualThreads()
+	 */
+	T withVirtualThreads(@NotNull Boolean virtualThreads);
+
+	/**
+	 * Makes async sending durable: rather than keeping emails in the executor's in-memory queue, each email is converted to its MIME message
+	 * right away and written to an append-only log in the given directory, before {@link Mailer#sendMail(Email)} returns. Dedicated delivery
+	 * threads (as many as the thread pool size) send the spooled messages and remove them from the log once processed.
+	 * <p>
+	 * Messages that were still spooled when the JVM stopped (or crashed) are sent as soon as a mailer opens the same directory again. Since
+	 * spooled emails live on disk rather than on the heap, this also keeps memory use flat when emails are produced faster than they can be sent.
+	 * <p>
+	 * Delivery is at-least-once: an email that was being sent at the moment the JVM stopped is sent again. A failed delivery stays in the spool
+	 * and is retried as configured with {@link #withSendRetries(Integer)} and {@link #withSendRetryDelayMillis(Integer)} (regardless of the kind
+	 * of failure). After the last retry, the message is moved to a {@code dead-letter} subdirectory of the spool directory, and the failure is
+	 * reported through the returned {@link java.util.concurrent.CompletableFuture} like regular async sends (or logged, for messages recovered
+	 * from a previous run).
+	 * <p>
+	 * New messages are forced to disk before {@link Mailer#sendMail(Email)} returns. Messages spooled by concurrent threads are forced together,
+	 * so the cost of syncing the disk is shared rather than paid for every message.
+	 * <p>
+	 * A directory can only be used by one mailer at a time. The spool is closed along with the connection pool.
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, and only when
+	 * sending async. It is ignored in combination with {@link #withTransportModeLoggingOnly(Boolean)} or a {@link CustomMailer}.
+	 *
+	 * @param spoolDirectory The directory to keep the spool in, which is created if it doesn't exist.
+	 *
+	 * @see #resetSpoolDirectory()
+	 */
+	T withSpoolDirectory(@NotNull File spoolDirectory);
+
 	/**
 	 * By defining a clusterKey, you can form clusters where other {@link Mailer} instances represent
 	 * individual connection pools within the same cluster. Having multiple mailers using the same clusterKey
@@ -438,6 +637,146 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withConnectionPoolLoadBalancingStrategy(@NotNull LoadBalancingStrategy loadBalancingStrategy);
 
+	/**
+	 * Configures how many consecutive emails are sent over a single claimed {@link jakarta.mail.Transport} connection when sending in bulk
+	 * (default {@value DEFAULT_BULK_SEND_BATCH_SIZE}). Bigger batches means less claiming and releasing of connections from the connection pool,
+	 * but also less spreading of the load over the connections in the pool / cluster.
+	 * <p>
+	 * If an email fails to send, the connection is discarded and the remaining emails of the batch continue on a fresh connection.
+	 *
+	 * @param bulkSendBatchSize See main description.
+	 *
+	 * @see Mailer#sendMails(Iterable)
+	 * @see #resetBulkSendBatchSize()
+	 */
+	T withBulkSendBatchSize(@NotNull Integer bulkSendBatchSize);
+
+	/**
+	 * Configures how many emails can be in-flight at the same time when sending in bulk (default {@value DEFAULT_BULK_SEND_MAX_IN_FLIGHT}). When
+	 * sending asynchronously and this limit is reached, {@link Mailer#sendMails(Iterable)} blocks until earlier emails have been processed, so that
+	 * the executor's work queue can't grow unchecked.
+	 * <p>
+	 * If this limit is smaller than the {@link #withBulkSendBatchSize(Integer) batch size}, it is used as the batch size instead.
+	 *
+	 * @param bulkSendMaxInFlight See main description.
+	 *
+	 * @see Mailer#sendMails(Iterable)
+	 * @see #resetBulkSendMaxInFlight()
+	 */
+	T withBulkSendMaxInFlight(@NotNull Integer bulkSendMaxInFlight);
+
+	/**
+	 * Configures how many times an async send is retried when it failed for a reason that is likely to go away by itself (default
+	 * {@value DEFAULT_SEND_RETRIES}, meaning no retries). Transient failures are SMTP replies in the 4xx range (such as greylisting or a
+	 * temporarily full mailbox) and connections that could not be made or were dropped. Permanent failures, such as 5xx replies and failed
+	 * authentication, are never retried, and neither are emails that were already accepted for some of the recipients.
+	 * <p>
+	 * Retries are scheduled with exponential backoff and jitter, starting at {@link #withSendRetryDelayMillis(Integer)}. The connection used for
+	 * the failed attempt is released in the meantime. The {@link java.util.concurrent.CompletableFuture} returned by {@link Mailer#sendMail(Email)}
+	 * completes when the email is sent, or when it failed after the last retry.
+	 * <p>
+	 * <strong>Note:</strong> only async sends (including those of {@link Mailer#sendMails(Iterable)}) are retried. Sending synchronously
+	 * reports failures right away. Emails sent through a {@link #withSpoolDirectory(File) spool} are retried by the spool, which keeps them on
+	 * disk in the meantime.
+	 *
+	 * @param sendRetries The maximum number of retries per email.
+	 *
+	 * @see #resetSendRetries()
+	 */
+	T withSendRetries(@NotNull Integer sendRetries);
+
+	/**
+	 * Configures the delay before the first retry of a failed send (default {@value DEFAULT_SEND_RETRY_DELAY_MILLIS}). Every next retry waits
+	 * twice as long as the one before it, where each delay is randomized between half and the full delay, so that emails that failed together
+	 * don't all hit the server again at the same moment.
+	 *
+	 * @param sendRetryDelayMillis The delay in milliseconds before the first retry.
+	 *
+	 * @see #withSendRetries(Integer)
+	 * @see #resetSendRetryDelayMillis()
+	 */
+	T withSendRetryDelayMillis(@NotNull Integer sendRetryDelayMillis);
+
+	/**
+	 * Limits how many connections can be sending to the same recipient domain at the same time (default {@value DEFAULT_MAX_CONNECTIONS_PER_DOMAIN},
+	 * meaning no limit). Useful when relaying to big providers that respond with 421 when too many connections deliver to them at once.
+	 * <p>
+	 * When any per-domain limit is configured, an email counts toward the limits of each of its recipient domains. A sending thread waits until all
+	 * the email's domains are below their limits before it claims a connection, after which the message is transferred once to all its recipients.
+	 * {@link Mailer#sendMails(Iterable)} releases its connection rather than holding on to it while waiting.
+	 * <p>
+	 * The limits are shared by all mailers in the same {@link #withClusterKey(UUID) cluster}, where the first mailer of the cluster determines the
+	 * limits. They are discarded once all mailers of the cluster have shut down their connection pool.
+	 *
+	 * @param maxConnectionsPerDomain The maximum number of concurrent connections per domain, or zero for no limit.
+	 *
+	 * @see #withDomainLimits(String, Integer, Integer)
+	 * @see #resetMaxConnectionsPerDomain()
+	 */
+	T withMaxConnectionsPerDomain(@NotNull Integer maxConnectionsPerDomain);
+
+	/**
+	 * Limits how many messages per second are sent to the same recipient domain (default {@value DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN}, meaning
+	 * no limit). A second's worth of messages can be sent in a burst, after which messages are spaced out evenly.
+	 * <p>
+	 * See {@link #withMaxConnectionsPerDomain(Integer)} for how emails count toward the limits of their domains and how limits are shared.
+	 *
+	 * @param maxMessagesPerSecondPerDomain The maximum number of messages per second per domain, or zero for no limit.
+	 *
+	 * @see #withDomainLimits(String, Integer, Integer)
+	 * @see #resetMaxMessagesPerSecondPerDomain()
+	 */
+	T withMaxMessagesPerSecondPerDomain(@NotNull Integer maxMessagesPerSecondPerDomain);
+
+	/**
+	 * Overrides the per-domain limits for a specific recipient domain, for example to allow more traffic to a domain you have an agreement with,
+	 * or to slow down for a domain that throttles harder than others.
+	 *
+	 * @param domain               The recipient domain (case-insensitive), such as <em>gmail.com</em>.
+	 * @param maxConnections       The maximum number of concurrent connections to the domain, or zero for no limit.
+	 * @param maxMessagesPerSecond The maximum number of messages per second to the domain, or zero for no limit.
+	 *
+	 * @see #withMaxConnectionsPerDomain(Integer)
+	 * @see #withMaxMessagesPerSecondPerDomain(Integer)
+	 * @see #clearDomainLimits()
+	 */
+	T withDomainLimits(@NotNull String domain, @NotNull Integer maxConnections, @NotNull Integer maxMessagesPerSecond);
+
+	/**
+	 * Caps the number of messages this mailer sends per second (default {@value DEFAULT_MAX_MESSAGES_PER_SECOND}, meaning no limit), for example to
+	 * stay within the rate agreed upon with an email service provider. A second's worth of messages can be sent in a burst, after which messages
+	 * are spaced out evenly.
+	 * <p>
+	 * Emails over the limit are delayed rather than rejected: synchronous sends wait in the calling thread, async sends wait in the executor's
+	 * thread that picked them up, and a {@link #withSpoolDirectory(File) spool} waits in its delivery threads. So async sends go through the
+	 * executor's {@link #withThreadPoolQueueCapacity(Integer) bounded queue} and count toward {@link Mailer#getAsyncQueueDepth()} like any other
+	 * async send. As a waiting send occupies a thread, a mailer that is held back by its limit slows down other mailers sharing the same
+	 * {@link #withExecutorService(ExecutorService) custom executor}.
+	 * <p>
+	 * The limit is checked before a connection is claimed from the connection pool, and {@link Mailer#sendMails(Iterable)} releases its connection
+	 * rather than keeping it while waiting for the limit. Retries count toward the limit as well.
+	 *
+	 * @param maxMessagesPerSecond The maximum number of messages per second for this mailer, or zero for no limit.
+	 *
+	 * @see #withClusterMaxMessagesPerSecond(Integer)
+	 * @see #resetMaxMessagesPerSecond()
+	 */
+	T withMaxMessagesPerSecond(@NotNull Integer maxMessagesPerSecond);
+
+	/**
+	 * Like {@link #withMaxMessagesPerSecond(Integer)}, but the limit is shared by all mailers in the same {@link #withClusterKey(UUID) cluster}
+	 * (default {@value DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND}, meaning no limit). The first mailer of the cluster that configures this limit
+	 * determines it, and the limit applies to all mailers in the cluster, including those that didn't configure it themselves. The limit is lifted
+	 * once the mailer that configured it and all mailers that joined the cluster after it have {@link Mailer#shutdownConnectionPool() shut down}.
+	 * <p>
+	 * When both limits are set, a message waits for whichever of the two allows it last.
+	 *
+	 * @param clusterMaxMessagesPerSecond The maximum number of messages per second for the whole cluster, or zero for no limit.
+	 *
+	 * @see #resetClusterMaxMessagesPerSecond()
+	 */
+	T withClusterMaxMessagesPerSecond(@NotNull Integer clusterMaxMessagesPerSecond);
+
 	/**
 	 * Determines whether at the very last moment an email is sent out using JavaMail's native API or whether the email is simply only logged.
 	 *
@@ -447,6 +786,23 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withTransportModeLoggingOnly(@NotNull Boolean transportModeLoggingOnly);
 
+	/**
+	 * Enables SMTP pipelining (RFC 2920) of the envelope's recipients, for servers that advertise the PIPELINING extension. Instead of waiting for the
+	 * server's response to each RCPT TO command before sending the next, all recipients are sent in one go and the responses are read afterwards. This
+	 * saves a network round trip per recipient, which adds up for emails with many recipients sent to remote relays.
+	 * <p>
+	 * Servers that don't advertise pipelining are addressed the regular way. If the server rejects any of the pipelined recipients, the envelope is
+	 * replayed without pipelining, so JavaMail's usual error reporting for failed recipients applies.
+	 * <p>
+	 * <strong>Note:</strong> this works by installing a custom JavaMail transport class through the <em>mail.smtp.class</em> and
+	 * <em>mail.smtps.class</em> Session properties.
+	 *
+	 * @param smtpPipelining Flag {@code true} or {@code false} that enables or disables pipelining when sending emails.
+	 *
+	 * @see #resetSmtpPipelining()
+	 */
+	T withSmtpPipelining(@NotNull Boolean smtpPipelining);
+
 	/**
 	 * Configures the new session to only accept server certificates issued to one of the provided hostnames. Note that verifying server identity
 	 * can be turned on and off with {@link #verifyingServerIdentity(boolean)}.
@@ -528,6 +884,46 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withCustomMailer(@NotNull CustomMailer customMailer);
 
+	/**
+	 * Sets the {@link MailerMetrics} that receive timings, sizes and outcomes of the emails sent by this mailer (default {@link NoOpMailerMetrics}).
+	 * <p>
+	 * If Micrometer is on the classpath, {@code new MicrometerMailerMetrics(meterRegistry)} publishes these to the given registry.
+	 *
+	 * @see #resetMailerMetrics()
+	 */
+	T withMailerMetrics(@NotNull MailerMetrics mailerMetrics);
+
+	/**
+	 * Enables writing emails directly to the SMTP transport. Normally every email is produced as a JavaMail MimeMessage with a MimeMultipart /
+	 * MimeBodyPart structure, after which JavaMail serializes that structure when sending. With direct writing, the message only holds the email's
+	 * headers, texts and attachment data sources, and writes the MIME structure for them straight to the transport's output stream, encoding texts
+	 * and attachments on the fly with reused buffers. This saves most of the allocations per email, which adds up for bulk sending.
+	 * <p>
+	 * Emails that are signed or encrypted with S/MIME, signed with DKIM or that forward another email are produced the regular way, since their
+	 * content is processed further after producing it. Attachments without an explicit transfer encoding are always encoded as base64, rather than
+	 * analysing their data for the best encoding first.
+	 *
+	 * @param directMimeWriting Flag {@code true} or {@code false} that enables or disables direct writing of emails.
+	 *
+	 * @see #resetDirectMimeWriting()
+	 */
+	T withDirectMimeWriting(@NotNull Boolean directMimeWriting);
+
+	/**
+	 * Keeps attachments and embedded images in their transfer encoded form, so that attachments sent with many emails, such as a brochure attached
+	 * to every email of a campaign, are encoded once rather than for every email. Attachments are recognized by their content, so they don't need
+	 * to share the same data source: an attachment added as a byte array is recognized just the same. The cache belongs to this mailer, and the
+	 * least recently used attachments are evicted when the encoded attachments together exceed the given size.
+	 * <p>
+	 * Attachments larger than the cache are not encoded in advance. Their data is still read once more to recognize them, unless their size is
+	 * known up front, as with file attachments.
+	 *
+	 * @param attachmentEncodingCacheSize The total size in bytes of the encoded attachments the cache may hold, or 0 to disable the cache.
+	 *
+	 * @see #resetAttachmentEncodingCacheSize()
+	 */
+	T withAttachmentEncodingCacheSize(@NotNull Integer attachmentEncodingCacheSize);
+
 	/**
 	 * Reverts to default value '{@value #DEFAULT_VERIFY_SERVER_IDENTITY}' for the behaviour of disabling client-sided
 	 * validations (email addresses and CRLF injection scanning).
@@ -581,6 +977,40 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T resetThreadPoolKeepAliveTime();
 
+	/**
+	 * Resets thread pool queue capacity to its default ({@value #DEFAULT_POOL_QUEUE_CAPACITY}, unbounded).
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 *
+	 * @see #withThreadPoolQueueCapacity(Integer)
+	 */
+	T resetThreadPoolQueueCapacity();
+
+	/**
+	 * Resets thread pool overflow policy to its default ({@value #DEFAULT_POOL_OVERFLOW_POLICY}).
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 *
+	 * @see #withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)
+	 */
+	T resetThreadPoolOverflowPolicy();
+
+	/**
+	 * Resets the use of virtual threads to its default ({@value #DEFAULT_VIRTUAL_THREADS}).
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}.
+	 *
+	 * @see #withVirtualThreads(Boolean)
+	 */
+	T resetVirtualThreads();
+
+	/**
+	 * Removes the spool directory, so that async sends are kept in the executor's in-memory queue.
+	 *
+	 * @see #withSpoolDirectory(File)
+	 */
+	T resetSpoolDirectory();
+
 	/**
 	 * Reset trusting any host; trust all hosts is set to {@value #DEFAULT_TRUST_ALL_HOSTS}.
 	 *
@@ -651,6 +1081,69 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T resetConnectionPoolLoadBalancingStrategy();
 
+	/**
+	 * Resets the bulk send batch size to its default ({@value #DEFAULT_BULK_SEND_BATCH_SIZE}).
+	 *
+	 * @see #withBulkSendBatchSize(Integer)
+	 */
+	T resetBulkSendBatchSize();
+
+	/**
+	 * Resets the maximum number of in-flight emails when sending in bulk to its default ({@value #DEFAULT_BULK_SEND_MAX_IN_FLIGHT}).
+	 *
+	 * @see #withBulkSendMaxInFlight(Integer)
+	 */
+	T resetBulkSendMaxInFlight();
+
+	/**
+	 * Resets the number of retries of failed sends to its default ({@value #DEFAULT_SEND_RETRIES}).
+	 *
+	 * @see #withSendRetries(Integer)
+	 */
+	T resetSendRetries();
+
+	/**
+	 * Resets the delay before the first retry of a failed send to its default ({@value #DEFAULT_SEND_RETRY_DELAY_MILLIS}).
+	 *
+	 * @see #withSendRetryDelayMillis(Integer)
+	 */
+	T resetSendRetryDelayMillis();
+
+	/**
+	 * Resets the maximum number of concurrent connections per recipient domain to its default ({@value #DEFAULT_MAX_CONNECTIONS_PER_DOMAIN}).
+	 *
+	 * @see #withMaxConnectionsPerDomain(Integer)
+	 */
+	T resetMaxConnectionsPerDomain();
+
+	/**
+	 * Resets the maximum number of messages per second per recipient domain to its default ({@value #DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN}).
+	 *
+	 * @see #withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	T resetMaxMessagesPerSecondPerDomain();
+
+	/**
+	 * Resets the maximum number of messages per second for this mailer to its default ({@value #DEFAULT_MAX_MESSAGES_PER_SECOND}).
+	 *
+	 * @see #withMaxMessagesPerSecond(Integer)
+	 */
+	T resetMaxMessagesPerSecond();
+
+	/**
+	 * Resets the maximum number of messages per second for the cluster to its default ({@value #DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND}).
+	 *
+	 * @see #withClusterMaxMessagesPerSecond(Integer)
+	 */
+	T resetClusterMaxMessagesPerSecond();
+
+	/**
+	 * Resets the mailer metrics to {@link NoOpMailerMetrics}, which doesn't record anything.
+	 *
+	 * @see #withMailerMetrics(MailerMetrics)
+	 */
+	T resetMailerMetrics();
+
 	/**
 	 * Resets transportModeLoggingOnly to {@value #DEFAULT_TRANSPORT_MODE_LOGGING_ONLY}.
 	 *
@@ -658,6 +1151,27 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T resetTransportModeLoggingOnly();
 
+	/**
+	 * Resets smtpPipelining to {@value #DEFAULT_SMTP_PIPELINING}.
+	 *
+	 * @see #withSmtpPipelining(Boolean)
+	 */
+	T resetSmtpPipelining();
+
+	/**
+	 * Resets directMimeWriting to {@value #DEFAULT_DIRECT_MIME_WRITING}.
+	 *
+	 * @see #withDirectMimeWriting(Boolean)
+	 */
+	T resetDirectMimeWriting();
+
+	/**
+	 * Resets attachmentEncodingCacheSize to {@value #DEFAULT_ATTACHMENT_ENCODING_CACHE_SIZE}.
+	 *
+	 * @see #withAttachmentEncodingCacheSize(Integer)
+	 */
+	T resetAttachmentEncodingCacheSize();
+
 	/**
 	 * Empties all proxy configuration.
 	 */
@@ -701,6 +1215,13 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T clearTrustedSSLHosts();
 
+	/**
+	 * Removes all domain specific limits.
+	 *
+	 * @see #withDomainLimits(String, Integer, Integer)
+	 */
+	T clearDomainLimits();
+
 	/**
 	 * Removes all properties.
 	 *
@@ -746,6 +1267,18 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@Nullable
 	Integer getProxyBridgePort();
 
+	/**
+	 * @see #withProxyBridgeBufferSize(Integer)
+	 */
+	@Nullable
+	Integer getProxyBridgeBufferSize();
+
+	/**
+	 * @see #withProxyBridgeMaxConnections(Integer)
+	 */
+	@Nullable
+	Integer getProxyBridgeMaxConnections();
+
 	/**
 	 * @see #withDebugLogging(Boolean)
 	 */
@@ -808,6 +1341,29 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@NotNull
 	Integer getThreadPoolKeepAliveTime();
 
+	/**
+	 * @see #withThreadPoolQueueCapacity(Integer)
+	 */
+	@NotNull
+	Integer getThreadPoolQueueCapacity();
+
+	/**
+	 * @see #withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)
+	 */
+	@NotNull
+	ThreadPoolOverflowPolicy getThreadPoolOverflowPolicy();
+
+	/**
+	 * @see #withVirtualThreads(Boolean)
+	 */
+	boolean isVirtualThreads();
+
+	/**
+	 * @see #withSpoolDirectory(File)
+	 */
+	@Nullable
+	File getSpoolDirectory();
+
 	/**
 	 * @see #withClusterKey(UUID)
 	 */
@@ -844,6 +1400,60 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	@NotNull
 	LoadBalancingStrategy getConnectionPoolLoadBalancingStrategy();
 
+	/**
+	 * @see #withBulkSendBatchSize(Integer)
+	 */
+	@NotNull
+	Integer getBulkSendBatchSize();
+
+	/**
+	 * @see #withBulkSendMaxInFlight(Integer)
+	 */
+	@NotNull
+	Integer getBulkSendMaxInFlight();
+
+	/**
+	 * @see #withSendRetries(Integer)
+	 */
+	@NotNull
+	Integer getSendRetries();
+
+	/**
+	 * @see #withSendRetryDelayMillis(Integer)
+	 */
+	@NotNull
+	Integer getSendRetryDelayMillis();
+
+	/**
+	 * @see #withMaxConnectionsPerDomain(Integer)
+	 */
+	@NotNull
+	Integer getMaxConnectionsPerDomain();
+
+	/**
+	 * @see #withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	@NotNull
+	Integer getMaxMessagesPerSecondPerDomain();
+
+	/**
+	 * @see #withDomainLimits(String, Integer, Integer)
+	 */
+	@NotNull
+	Map<String, DomainLimits> getDomainLimits();
+
+	/**
+	 * @see #withMaxMessagesPerSecond(Integer)
+	 */
+	@NotNull
+	Integer getMaxMessagesPerSecond();
+
+	/**
+	 * @see #withClusterMaxMessagesPerSecond(Integer)
+	 */
+	@NotNull
+	Integer getClusterMaxMessagesPerSecond();
+
 	/**
 	 * @see #trustingSSLHosts(String...)
 	 */
@@ -865,6 +1475,22 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	boolean isTransportModeLoggingOnly();
 
+	/**
+	 * @see #withSmtpPipelining(Boolean)
+	 */
+	boolean isSmtpPipelining();
+
+	/**
+	 * @see #withDirectMimeWriting(Boolean)
+	 */
+	boolean isDirectMimeWriting();
+
+	/**
+	 * @see #withAttachmentEncodingCacheSize(Integer)
+	 */
+	@NotNull
+	Integer getAttachmentEncodingCacheSize();
+
 	/**
 	 * @see #withProperties(Properties)
 	 */
@@ -876,4 +1502,10 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	@Nullable
 	CustomMailer getCustomMailer();
+
+	/**
+	 * @see #withMailerMetrics(MailerMetrics)
+	 */
+	@NotNull
+	MailerMetrics getMailerMetrics();
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives timings, sizes and outcomes from the send pipeline, so they can be published to a metrics library of choice. By default, a
+ * {@link NoOpMailerMetrics} is used, which discards everything. If Micrometer is on the classpath, {@code MicrometerMailerMetrics} from the
+ * simple-java-mail artifact can be used.
+ * <p>
+ * Implementations are called from the sending threads (including the executor's threads when sending async), so they need to be thread-safe
+ * and should return quickly.
+ *
+ * @see MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+ */
+public interface MailerMetrics {
+
+	/**
+	 * @param durationNanos How long it took to validate an email before sending it.
+	 * @see Mailer#validate(org.simplejavamail.api.email.Email)
+	 */
+	void recordValidation(long durationNanos);
+
+	/**
+	 * @param durationNanos How long it took to produce the MIME message for an email, including signing and encryption if applicable.
+	 */
+	void recordMimeMessageProduction(long durationNanos);
+
+	/**
+	 * @param durationNanos How long it took to obtain an SMTP connection: the wait for a connection from the batch-module's connection pool, or the
+	 *                      time to connect a new one if the batch-module isn't used.
+	 */
+	void recordTransportClaim(long durationNanos);
+
+	/**
+	 * @param durationNanos How long it took to transfer a message to the SMTP server.
+	 */
+	void recordSmtpTransfer(long durationNanos);
+
+	/**
+	 * Only called for implementations other than {@link NoOpMailerMetrics}, because determining the size means counting the bytes while the message is
+	 * written to the transport. Not called if the transport didn't actually write the message.
+	 *
+	 * @param sizeBytes The size of a message transferred to the SMTP server.
+	 */
+	void recordMessageSize(long sizeBytes);
+
+	/**
+	 * Called for every email that was sent successfully, or logged in case of {@link MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)}.
+	 */
+	void emailSent();
+
+	/**
+	 * Called for every email that could not be sent (including failed attempts that are retried).
+	 *
+	 * @param cause The reason the email was not sent, which is typically a {@code jakarta.mail.MessagingException}.
+	 */
+	void emailFailed(@NotNull Throwable cause);
+
+	/**
+	 * Called once for every mailer created with these metrics, so that its {@link Mailer#getAsyncQueueDepth() async queue depth} can be monitored.
+	 */
+	void monitorAsyncQueueDepth(@NotNull Mailer mailer);
+}
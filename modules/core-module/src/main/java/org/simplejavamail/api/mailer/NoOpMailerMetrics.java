@@ -0,0 +1,51 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The default {@link MailerMetrics}, which doesn't record anything.
+ */
+public final class NoOpMailerMetrics implements MailerMetrics {
+
+	public static final NoOpMailerMetrics INSTANCE = new NoOpMailerMetrics();
+
+	private NoOpMailerMetrics() {
+	}
+
+	@Override
+	public void recordValidation(final long durationNanos) {
+	}
+
+	@Override
+	public void recordMimeMessageProduction(final long durationNanos) {
+	}
+
+	@Override
+	public void recordTransportClaim(final long durationNanos) {
+	}
+
+	@Override
+	public void recordSmtpTransfer(final long durationNanos) {
+	}
+
+	@Override
+	public void recordMessageSize(final long sizeBytes) {
+	}
+
+	@Override
+	public void emailSent() {
+	}
+
+	@Override
+	public void emailFailed(@NotNull final Throwable cause) {
+	}
+
+	@Override
+	public void monitorAsyncQueueDepth(@NotNull final Mailer mailer) {
+	}
+
+	@Override
+	public String toString() {
+		return "NoOpMailerMetrics";
+	}
+}
@@ -0,0 +1,32 @@
+package org.simplejavamail.api.mailer.config;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.simplejavamail.api.mailer.MailerGenericBuilder;
+
+/**
+ * Limits that apply to sending to a single recipient domain, so that big providers that throttle per domain aren't overwhelmed. A limit of zero
+ * (or less) means no limit.
+ *
+ * @see MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+ * @see MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+ * @see MailerGenericBuilder#withMaxMessagesPerSecondPerDomain(Integer)
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@ToString
+public final class DomainLimits {
+
+	/**
+	 * The maximum number of connections sending to the domain at the same time.
+	 */
+	private final int maxConnections;
+
+	/**
+	 * The maximum number of messages sent to the domain per second.
+	 */
+	private final int maxMessagesPerSecond;
+}
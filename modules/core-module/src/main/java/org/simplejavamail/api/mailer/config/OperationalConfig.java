@@ -3,11 +3,14 @@ package org.simplejavamail.api.mailer.config;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.MailerMetrics;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
 import org.simplejavamail.api.mailer.MailerRegularBuilder;
 
+import java.io.File;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -70,6 +73,27 @@ public interface OperationalConfig {
 	 */
 	boolean isTransportModeLoggingOnly();
 
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	boolean isSmtpPipelining();
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeWriting(Boolean)
+	 */
+	boolean isDirectMimeWriting();
+
+	/**
+	 * @see MailerGenericBuilder#withAttachmentEncodingCacheSize(Integer)
+	 */
+	int getAttachmentEncodingCacheSize();
+
+	/**
+	 * @see MailerGenericBuilder#withSpoolDirectory(java.io.File)
+	 */
+	@Nullable
+	File getSpoolDirectory();
+
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
 	 */
@@ -125,4 +149,58 @@ public interface OperationalConfig {
 	 */
 	@Nullable
 	CustomMailer getCustomMailer();
+
+	/**
+	 * @see MailerGenericBuilder#withBulkSendBatchSize(Integer)
+	 */
+	int getBulkSendBatchSize();
+
+	/**
+	 * @see MailerGenericBuilder#withBulkSendMaxInFlight(Integer)
+	 */
+	int getBulkSendMaxInFlight();
+
+	/**
+	 * @return The maximum number of retries of a failed async send. Sync sends are never retried.
+	 * @see MailerGenericBuilder#withSendRetries(Integer)
+	 */
+	int getSendRetries();
+
+	/**
+	 * @see MailerGenericBuilder#withSendRetryDelayMillis(Integer)
+	 */
+	int getSendRetryDelayMillis();
+
+	/**
+	 * @see MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+	 */
+	int getMaxConnectionsPerDomain();
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	int getMaxMessagesPerSecondPerDomain();
+
+	/**
+	 * @return Domain specific limits by lowercase domain.
+	 * @see MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+	 */
+	@NotNull
+	Map<String, DomainLimits> getDomainLimits();
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+	 */
+	int getMaxMessagesPerSecond();
+
+	/**
+	 * @see MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+	 */
+	int getClusterMaxMessagesPerSecond();
+
+	/**
+	 * @see MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+	 */
+	@NotNull
+	MailerMetrics getMailerMetrics();
 }
@@ -34,6 +34,18 @@ public interface ProxyConfig {
 	@Nullable
 	Integer getProxyBridgePort();
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerRegularBuilder#withProxyBridgeBufferSize(Integer)
+	 */
+	@Nullable
+	Integer getProxyBridgeBufferSize();
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerRegularBuilder#withProxyBridgeMaxConnections(Integer)
+	 */
+	@Nullable
+	Integer getProxyBridgeMaxConnections();
+
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerRegularBuilder#withProxyHost(String)
 	 */
@@ -0,0 +1,22 @@
+package org.simplejavamail.api.mailer.config;
+
+/**
+ * Defines what the default executor in the <a href="https://www.simplejavamail.org/configuration.html#section-batch-and-clustering">batch-module</a>
+ * does with a new async send when its work queue is full.
+ * <p>
+ * This is only relevant if the work queue is bounded, see {@link org.simplejavamail.api.mailer.MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)}.
+ */
+@SuppressWarnings("unused")
+public enum ThreadPoolOverflowPolicy {
+	/**
+	 * The calling thread waits until there is room in the queue again, throttling the producer to the pace of the mail server(s).
+	 */
+	BLOCK,
+	/**
+	 * The send is refused immediately with a {@code MailQueueFullException}, leaving it to the caller to back off or retry later.
+	 */
+	FAIL;
+
+	public static final String BLOCK_REF = "BLOCK";
+	public static final String FAIL_REF = "FAIL";
+}
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.ContentTransferEncoding;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.internal.util.SimpleConversions;
 import org.slf4j.Logger;
@@ -46,6 +47,8 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
  * <li>simplejavamail.proxy.username</li>
  * <li>simplejavamail.proxy.password</li>
  * <li>simplejavamail.proxy.socks5bridge.port</li>
+ * <li>simplejavamail.proxy.socks5bridge.buffersize</li>
+ * <li>simplejavamail.proxy.socks5bridge.maxconnections</li>
  * <li>simplejavamail.defaults.content.transfer.encoding</li>
  * <li>simplejavamail.defaults.subject</li>
  * <li>simplejavamail.defaults.from.name</li>
@@ -62,17 +65,32 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
  * <li>simplejavamail.defaults.bcc.address</li>
  * <li>simplejavamail.defaults.poolsize</li>
  * <li>simplejavamail.defaults.poolsize.keepalivetime</li>
+ * <li>simplejavamail.defaults.poolsize.queuecapacity</li>
+ * <li>simplejavamail.defaults.poolsize.overflowpolicy</li>
+ * <li>simplejavamail.defaults.virtualthreads</li>
+ * <li>simplejavamail.defaults.spool.directory</li>
  * <li>simplejavamail.defaults.connectionpool.clusterkey.uuid</li>
  * <li>simplejavamail.defaults.connectionpool.coresize</li>
  * <li>simplejavamail.defaults.connectionpool.maxsize</li>
  * <li>simplejavamail.defaults.connectionpool.claimtimeout.millis</li>
  * <li>simplejavamail.defaults.connectionpool.expireafter.millis</li>
  * <li>simplejavamail.defaults.connectionpool.loadbalancing.strategy</li>
+ * <li>simplejavamail.defaults.bulksend.batchsize</li>
+ * <li>simplejavamail.defaults.bulksend.maxinflight</li>
+ * <li>simplejavamail.defaults.sendretries</li>
+ * <li>simplejavamail.defaults.sendretries.delaymillis</li>
+ * <li>simplejavamail.defaults.domainrouting.maxconnections</li>
+ * <li>simplejavamail.defaults.domainrouting.maxmessagespersecond</li>
+ * <li>simplejavamail.defaults.ratelimit.maxmessagespersecond</li>
+ * <li>simplejavamail.defaults.ratelimit.cluster.maxmessagespersecond</li>
  * <li>simplejavamail.defaults.sessiontimeoutmillis</li>
  * <li>simplejavamail.defaults.trustallhosts</li>
  * <li>simplejavamail.defaults.trustedhosts</li>
  * <li>simplejavamail.defaults.verifyserveridentity</li>
  * <li>simplejavamail.transport.mode.logging.only</li>
+ * <li>simplejavamail.smtp.pipelining</li>
+ * <li>simplejavamail.mime.directwriting</li>
+ * <li>simplejavamail.mime.attachmentencodingcachesize</li>
  * <li>simplejavamail.opportunistic.tls</li>
  * <li>simplejavamail.smime.signing.keystore</li>
  * <li>simplejavamail.smime.signing.keystore_password</li>
@@ -139,6 +157,8 @@ public final class ConfigLoader {
 		PROXY_USERNAME("simplejavamail.proxy.username"),
 		PROXY_PASSWORD("simplejavamail.proxy.password"),
 		PROXY_SOCKS5BRIDGE_PORT("simplejavamail.proxy.socks5bridge.port"),
+		PROXY_SOCKS5BRIDGE_BUFFER_SIZE("simplejavamail.proxy.socks5bridge.buffersize"),
+		PROXY_SOCKS5BRIDGE_MAX_CONNECTIONS("simplejavamail.proxy.socks5bridge.maxconnections"),
 		DEFAULT_SUBJECT("simplejavamail.defaults.subject"),
 		DEFAULT_CONTENT_TRANSFER_ENCODING("simplejavamail.defaults.content.transfer.encoding"),
 		DEFAULT_FROM_NAME("simplejavamail.defaults.from.name"),
@@ -161,11 +181,26 @@ public final class ConfigLoader {
 		DEFAULT_CONNECTIONPOOL_EXPIREAFTER_MILLIS("simplejavamail.defaults.connectionpool.expireafter.millis"),
 		DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY("simplejavamail.defaults.connectionpool.loadbalancing.strategy"),
 		DEFAULT_POOL_KEEP_ALIVE_TIME("simplejavamail.defaults.poolsize.keepalivetime"),
+		DEFAULT_POOL_QUEUE_CAPACITY("simplejavamail.defaults.poolsize.queuecapacity"),
+		DEFAULT_POOL_OVERFLOW_POLICY("simplejavamail.defaults.poolsize.overflowpolicy"),
+		DEFAULT_VIRTUAL_THREADS("simplejavamail.defaults.virtualthreads"),
+		DEFAULT_SPOOL_DIRECTORY("simplejavamail.defaults.spool.directory"),
+		DEFAULT_BULK_SEND_BATCH_SIZE("simplejavamail.defaults.bulksend.batchsize"),
+		DEFAULT_BULK_SEND_MAX_IN_FLIGHT("simplejavamail.defaults.bulksend.maxinflight"),
+		DEFAULT_SEND_RETRIES("simplejavamail.defaults.sendretries"),
+		DEFAULT_SEND_RETRY_DELAY_MILLIS("simplejavamail.defaults.sendretries.delaymillis"),
+		DEFAULT_MAX_CONNECTIONS_PER_DOMAIN("simplejavamail.defaults.domainrouting.maxconnections"),
+		DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN("simplejavamail.defaults.domainrouting.maxmessagespersecond"),
+		DEFAULT_MAX_MESSAGES_PER_SECOND("simplejavamail.defaults.ratelimit.maxmessagespersecond"),
+		DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND("simplejavamail.defaults.ratelimit.cluster.maxmessagespersecond"),
 		DEFAULT_SESSION_TIMEOUT_MILLIS("simplejavamail.defaults.sessiontimeoutmillis"),
 		DEFAULT_TRUST_ALL_HOSTS("simplejavamail.defaults.trustallhosts"),
 		DEFAULT_TRUSTED_HOSTS("simplejavamail.defaults.trustedhosts"),
 		DEFAULT_VERIFY_SERVER_IDENTITY("simplejavamail.defaults.verifyserveridentity"),
 		TRANSPORT_MODE_LOGGING_ONLY("simplejavamail.transport.mode.logging.only"),
+		SMTP_PIPELINING("simplejavamail.smtp.pipelining"),
+		DIRECT_MIME_WRITING("simplejavamail.mime.directwriting"),
+		ATTACHMENT_ENCODING_CACHE_SIZE("simplejavamail.mime.attachmentencodingcachesize"),
 		OPPORTUNISTIC_TLS("simplejavamail.opportunistic.tls"),
 		SMIME_SIGNING_KEYSTORE("simplejavamail.smime.signing.keystore"),
 		SMIME_SIGNING_KEYSTORE_PASSWORD("simplejavamail.smime.signing.keystore_password"),
@@ -463,6 +498,12 @@ public final class ConfigLoader {
 		} catch (final IllegalArgumentException nfe) {
 			// ok, so not a TransportStrategy either
 		}
+		// read ThreadPoolOverflowPolicy value
+		try {
+			return ThreadPoolOverflowPolicy.valueOf(propertyValue);
+		} catch (final IllegalArgumentException nfe) {
+			// ok, so not a ThreadPoolOverflowPolicy either
+		}
 		// return value as is (which should be string)
 		return propertyValue;
 	}
@@ -4,8 +4,12 @@ import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import org.jetbrains.annotations.NotNull;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.internal.batchsupport.MailSpool;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -33,10 +37,25 @@ public interface BatchModule {
 
 	/**
 	 * @return A NonJvmBlockingThreadPoolExecutor instance that by default doesn't block the JVM from exiting
-	 * and produces properly named thread.
+	 * and produces properly named thread. Its work queue is bounded if queueCapacity is greater than zero, in which case
+	 * the overflowPolicy determines what happens to tasks that don't fit. When virtual threads are requested and supported
+	 * by the runtime, an executor that runs each task on a new virtual thread is returned instead.
 	 */
 	@NotNull
-	ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime);
+	ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime, final int queueCapacity,
+			@NotNull final ThreadPoolOverflowPolicy overflowPolicy, final boolean virtualThreads);
+
+	/**
+	 * Opens a durable on-disk spool in the given directory, recovering entries left behind by a previous run. Entries are delivered by their own
+	 * delivery threads, independent of the executor service.
+	 *
+	 * @param deliveryThreadCount The number of threads taking entries from the spool and handing them to the deliverer.
+	 * @param deliveryRetries     The number of times a failed delivery is retried before the entry is set aside as undeliverable.
+	 * @param retryDelayMillis    The delay before the first retry, which doubles with every next retry.
+	 */
+	@NotNull
+	MailSpool openSpool(@NotNull File directory, int deliveryThreadCount, int deliveryRetries, long retryDelayMillis, @NotNull MailSpool.Deliverer deliverer)
+			throws IOException;
 
 	/**
 	 * Initializes the connection pool cluster if not initialized yet.
@@ -12,8 +12,8 @@ public interface DKIMModule {
 
 	/**
 	 * Primes the {@link MimeMessage} instance for signing with DKIM. The signing itself is performed by
-	 * {@code org.simplejavamail.utils.mail.dkim.DkimMessage} and {@code org.simplejavamail.utils.mail.dkim.DkimSigner}
-	 * during the physical sending of the message.
+	 * {@code org.simplejavamail.internal.dkimsupport.StreamingDkimMessage} during the physical sending of the message, without buffering the
+	 * message body.
 	 *
 	 * @param messageToSign                 The message to be signed when sent.
 	 * @param emailContainingSigningDetails The {@link Email} that contains the relevant signing information
@@ -15,7 +15,9 @@ import org.simplejavamail.api.internal.smimesupport.model.SmimeDetails;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
 
 import java.security.cert.X509Certificate;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * This interface only serves to hide the S/MIME implementation behind an easy-to-load-with-reflection class.
@@ -45,6 +47,12 @@ public interface SMIMEModule {
 	 */
 	boolean isSmimeAttachment(@NotNull AttachmentResource attachment);
 
+	/**
+	 * Sets the executor on which the S/MIME attachments of a parsed message are decrypted and verified, in parallel when there are several. With
+	 * {@code null} (the default), they are processed one after another on the thread that parses the message.
+	 */
+	void setAttachmentDecryptionExecutor(@Nullable Executor executor);
+
 	/**
 	 * @return The S/MIME mime type and signed who signed the attachment.
 	 * <br>
@@ -78,4 +86,26 @@ public interface SMIMEModule {
 
 	@NotNull
 	MimeMessage encryptMessage(@Nullable Session session, @NotNull MimeMessage message, @NotNull X509Certificate certificate);
+
+	/**
+	 * Encrypts the message once for all the given recipients: the content is encrypted a single time, and only the key to decrypt it is encrypted
+	 * for each recipient's certificate. Any of the recipients can decrypt the result.
+	 */
+	@NotNull
+	MimeMessage encryptMessage(@Nullable Session session, @NotNull MimeMessage message, @NotNull Collection<X509Certificate> certificates);
+
+	/**
+	 * Decrypts the private key from the keystore and caches it, so signing messages with this keystore doesn't have to do it while sending.
+	 */
+	void preloadSmimeKey(@NotNull Pkcs12Config pkcs12Config);
+
+	/**
+	 * @return The number of times signing a message found the decrypted private key of its keystore in the cache.
+	 */
+	long getSmimeKeyCacheHits();
+
+	/**
+	 * @return The number of times signing a message had to decrypt the private key of its keystore.
+	 */
+	long getSmimeKeyCacheMisses();
 }
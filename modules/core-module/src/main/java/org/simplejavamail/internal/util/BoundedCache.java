@@ -0,0 +1,141 @@
+package org.simplejavamail.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe cache holding at most a fixed number of entries, evicting the least recently used entry when full. Optionally, entries also
+ * expire when they haven't been used for a while. Meant for values that are expensive to create from their key, such as parsed keys and
+ * certificates.
+ * <p>
+ * Values are created outside the lock, so a slow load doesn't block lookups of other keys. Concurrent misses for the same key may create the value
+ * more than once, in which case the first value stored wins.
+ */
+public final class BoundedCache<K, V> {
+
+	private final Map<K, CachedValue<V>> entries;
+	private final long maxIdleNanos;
+	@NotNull private final LongSupplier nanoClock;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public BoundedCache(final int maxEntries) {
+		this(maxEntries, 0);
+	}
+
+	/**
+	 * @param maxIdleMillis How long an entry stays cached without being used, or 0 to keep entries until they are evicted to make room.
+	 */
+	public BoundedCache(final int maxEntries, final long maxIdleMillis) {
+		this(maxEntries, maxIdleMillis, System::nanoTime);
+	}
+
+	BoundedCache(final int maxEntries, final long maxIdleMillis, @NotNull final LongSupplier nanoClock) {
+		Preconditions.assumeTrue(maxEntries > 0, "maxEntries must be positive");
+		Preconditions.assumeTrue(maxIdleMillis >= 0, "maxIdleMillis must not be negative");
+		this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+		this.nanoClock = nanoClock;
+		this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, CachedValue<V>> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	@NotNull
+	public <E extends Exception> V computeIfAbsent(@NotNull final K key, @NotNull final Loader<K, V, E> loader)
+			throws E {
+		synchronized (entries) {
+			final CachedValue<V> cached = getIfNotExpired(key);
+			if (cached != null) {
+				hits.incrementAndGet();
+				return cached.value;
+			}
+		}
+		misses.incrementAndGet();
+		final V loaded = loader.load(key);
+		synchronized (entries) {
+			final CachedValue<V> raced = getIfNotExpired(key);
+			if (raced != null) {
+				return raced.value;
+			}
+			entries.put(key, new CachedValue<>(loaded, nanoClock.getAsLong()));
+			return loaded;
+		}
+	}
+
+	/**
+	 * Stores the value ahead of time, replacing any value already cached for the key, so a later lookup doesn't have to load it.
+	 */
+	public void put(@NotNull final K key, @NotNull final V value) {
+		synchronized (entries) {
+			entries.put(key, new CachedValue<>(value, nanoClock.getAsLong()));
+		}
+	}
+
+	@Nullable
+	private CachedValue<V> getIfNotExpired(@NotNull final K key) {
+		final CachedValue<V> cached = entries.get(key);
+		if (cached != null) {
+			final long now = nanoClock.getAsLong();
+			if (maxIdleNanos > 0 && now - cached.lastUsedNanos > maxIdleNanos) {
+				entries.remove(key);
+				return null;
+			}
+			cached.lastUsedNanos = now;
+		}
+		return cached;
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return The number of lookups that were answered from the cache.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return The number of lookups that had to load the value (including ones that turned out to be raced by another thread).
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Like {@link java.util.function.Function}, but allowed to throw a checked exception.
+	 */
+	@FunctionalInterface
+	public interface Loader<K, V, E extends Exception> {
+		@NotNull V load(@NotNull K key)
+				throws E;
+	}
+
+	private static final class CachedValue<V> {
+		@NotNull private final V value;
+		private long lastUsedNanos;
+
+		private CachedValue(@NotNull final V value, final long lastUsedNanos) {
+			this.value = value;
+			this.lastUsedNanos = lastUsedNanos;
+		}
+	}
+}
@@ -1,4 +1,4 @@
-package org.simplejavamail.converter.internal.mimemessage;
+package org.simplejavamail.internal.util;
 
 import com.sun.mail.smtp.SMTPMessage;
 import jakarta.activation.DataHandler;
@@ -40,7 +40,7 @@ public class ImmutableDelegatingSMTPMessage extends SMTPMessage {
 	@NotNull
 	private final MimeMessage delegate;
 
-	ImmutableDelegatingSMTPMessage(@NotNull final MimeMessage delegate, @Nullable final String envelopeFrom) {
+	public ImmutableDelegatingSMTPMessage(@NotNull final MimeMessage delegate, @Nullable final String envelopeFrom) {
 		super((Session) null);
 		this.delegate = delegate;
 		super.setEnvelopeFrom(envelopeFrom);
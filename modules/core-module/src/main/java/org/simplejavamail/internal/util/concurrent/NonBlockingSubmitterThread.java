@@ -0,0 +1,19 @@
+package org.simplejavamail.internal.util.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thread that must never wait for room in an executor's work queue, such as a thread shared by all mailers. An executor that would otherwise make
+ * the submitting thread wait hands the submission back to {@link #deferSubmission(Runnable)} instead, to be tried again later.
+ */
+public abstract class NonBlockingSubmitterThread extends Thread {
+
+	protected NonBlockingSubmitterThread(@NotNull final Runnable target, @NotNull final String name) {
+		super(target, name);
+	}
+
+	/**
+	 * @param submission Submits the refused work to the executor again when run.
+	 */
+	public abstract void deferSubmission(@NotNull Runnable submission);
+}
@@ -1,21 +1,24 @@
 package org.simplejavamail.internal.dkimsupport;
 
-import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.internal.modules.DKIMModule;
-import org.simplejavamail.utils.mail.dkim.Canonicalization;
-import org.simplejavamail.utils.mail.dkim.DkimMessage;
+import org.simplejavamail.internal.util.BoundedCache;
 import org.simplejavamail.utils.mail.dkim.DkimSigner;
-import org.simplejavamail.utils.mail.dkim.SigningAlgorithm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
 import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
 
+import static java.lang.String.format;
 import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
 
 /**
@@ -26,6 +29,11 @@ public class DKIMSigner implements DKIMModule {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DKIMSigner.class);
 
+	/**
+	 * Parsed private keys by signing domain, selector and key fingerprint, so the PKCS#8 key isn't parsed again for every message.
+	 */
+	private static final BoundedCache<String, RSAPrivateKey> PRIVATE_KEY_CACHE = new BoundedCache<>(100);
+
 	/**
 	 * @see DKIMModule#signMessageWithDKIM(MimeMessage, Email)
 	 */
@@ -33,18 +41,28 @@ public class DKIMSigner implements DKIMModule {
 		LOGGER.debug("signing MimeMessage with DKIM...");
 		try {
 			final String dkimSelector = checkNonEmptyArgument(signingDetails.getDkimSelector(), "dkimSelector");
-			// InputStream is managed by Dkim library
-			// InputStream is managed by SimpleJavaMail user
-			final DkimSigner dkimSigner = new DkimSigner(signingDetails.getDkimSigningDomain(), dkimSelector, new ByteArrayInputStream(signingDetails.getDkimPrivateKeyData()));
-			dkimSigner.setIdentity(checkNonEmptyArgument(signingDetails.getFromRecipient(), "fromRecipient").getAddress());
-			dkimSigner.setHeaderCanonicalization(Canonicalization.RELAXED);
-			dkimSigner.setBodyCanonicalization(Canonicalization.RELAXED);
-			dkimSigner.setSigningAlgorithm(SigningAlgorithm.SHA256_WITH_RSA);
-			dkimSigner.setLengthParam(true);
-			dkimSigner.setZParam(false);
-			return new DkimMessage(messageToSign, dkimSigner);
-		} catch (IOException | NoSuchAlgorithmException | InvalidKeySpecException | MessagingException e) {
+			final byte[] privateKeyData = checkNonEmptyArgument(signingDetails.getDkimPrivateKeyData(), "dkimPrivateKeyData");
+			final String signingIdentity = format("%s|%s|%s", signingDetails.getDkimSigningDomain(), dkimSelector, fingerprint(privateKeyData));
+			final RSAPrivateKey privateKey = PRIVATE_KEY_CACHE.computeIfAbsent(signingIdentity, key -> readPrivateKey(privateKeyData));
+			final String identity = checkNonEmptyArgument(signingDetails.getFromRecipient(), "fromRecipient").getAddress();
+			return new StreamingDkimMessage(messageToSign, signingDetails.getDkimSigningDomain(), dkimSelector, identity, privateKey);
+		} catch (GeneralSecurityException e) {
 			throw new org.simplejavamail.internal.dkimsupport.DKIMSigningException(org.simplejavamail.internal.dkimsupport.DKIMSigningException.ERROR_SIGNING_DKIM_INVALID_DOMAINKEY, e);
 		}
 	}
+
+	@NotNull
+	private static String fingerprint(final byte[] privateKeyData)
+			throws NoSuchAlgorithmException {
+		return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(privateKeyData));
+	}
+
+	/**
+	 * Same as {@link DkimSigner#DkimSigner(String, String, java.io.InputStream)} does with the key data.
+	 */
+	@NotNull
+	private static RSAPrivateKey readPrivateKey(final byte[] privateKeyData)
+			throws NoSuchAlgorithmException, InvalidKeySpecException {
+		return (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(privateKeyData));
+	}
 }
\ No newline at end of file
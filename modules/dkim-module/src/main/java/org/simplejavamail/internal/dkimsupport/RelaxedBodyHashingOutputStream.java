@@ -0,0 +1,93 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.utils.mail.dkim.Canonicalization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Hashes a message body as it is written, using the DKIM "relaxed" body canonicalization, so the body hash can be computed without holding
+ * the body in memory. The number of canonicalized bytes is counted for the {@code l=} tag.
+ * <p>
+ * The body is canonicalized line by line with {@link Canonicalization#RELAXED}, the same canonicalization {@code DkimSigner} applies to the
+ * body as a whole. Only empty lines need special care, as they are only part of the canonicalized body if a non-empty line follows. Line
+ * endings are normalized to CRLF first, the same way the SMTP transport does when sending, so CR, LF and CRLF all end a line.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc6376#section-3.4.4">RFC 6376, 3.4.4: The "relaxed" Body Canonicalization Algorithm</a>
+ */
+class RelaxedBodyHashingOutputStream extends OutputStream {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+
+	@NotNull private final MessageDigest digest;
+	@NotNull private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+	private long length;
+	private int pendingEmptyLines;
+	private boolean previousWasCR;
+
+	RelaxedBodyHashingOutputStream(@NotNull final MessageDigest digest) {
+		this.digest = digest;
+	}
+
+	@Override
+	public void write(final int b) {
+		if (b == '\n' && previousWasCR) {
+			previousWasCR = false;
+		} else if (b == '\r' || b == '\n') {
+			previousWasCR = b == '\r';
+			completeLine();
+		} else {
+			previousWasCR = false;
+			line.write(b);
+		}
+	}
+
+	@Override
+	public void write(@NotNull final byte[] b, final int off, final int len) {
+		for (int i = off; i < off + len; i++) {
+			write(b[i]);
+		}
+	}
+
+	/**
+	 * Completes the last line if it hasn't ended yet and returns the body hash. Trailing empty lines are ignored. Should be called once, after the
+	 * whole body has been written.
+	 */
+	@NotNull
+	byte[] finish() {
+		if (line.size() > 0) {
+			completeLine();
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * @return The length of the canonicalized body, as hashed so far.
+	 */
+	long getLength() {
+		return length;
+	}
+
+	private void completeLine() {
+		// ISO-8859-1 maps every byte to the char with the same value and back, so non-ASCII bytes are hashed as they are
+		final String canonicalLine = Canonicalization.RELAXED.canonicalizeBody(new String(line.toByteArray(), ISO_8859_1) + "\r\n");
+		line.reset();
+		if (canonicalLine.isEmpty()) {
+			pendingEmptyLines++;
+		} else {
+			for (; pendingEmptyLines > 0; pendingEmptyLines--) {
+				update(CRLF);
+			}
+			update(canonicalLine.getBytes(ISO_8859_1));
+		}
+	}
+
+	private void update(final byte[] b) {
+		digest.update(b);
+		length += b.length;
+	}
+}
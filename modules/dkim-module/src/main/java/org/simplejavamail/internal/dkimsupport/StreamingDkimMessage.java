@@ -0,0 +1,272 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.mail.Header;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
+import org.simplejavamail.utils.mail.dkim.Canonicalization;
+import org.simplejavamail.utils.mail.dkim.SigningAlgorithm;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.ofNullable;
+
+/**
+ * A DKIM signed message that doesn't hold the message in memory while it is being sent. Where {@code DkimMessage} copies the message and
+ * canonicalizes its encoded body as a String to compute the body hash, this message delegates to the message to sign and writes it twice: first
+ * through a hashing stream to compute the body hash, then to the actual output, following the DKIM-Signature header that was created from that
+ * hash.
+ * <p>
+ * Signs the same way {@link DKIMSigner} used to configure {@code DkimSigner}: {@link SigningAlgorithm#SHA256_WITH_RSA}, with
+ * {@link Canonicalization#RELAXED} canonicalization for both headers and body, with the body length and without the copied header fields.
+ * {@code DkimSigner} can only sign a body it is given as a String, so the signature header is put together here, the same way it does.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc6376">RFC 6376: DomainKeys Identified Mail (DKIM) Signatures</a>
+ */
+public class StreamingDkimMessage extends ImmutableDelegatingSMTPMessage {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+	private static final int MAX_HEADER_LINE_LENGTH = 67;
+	private static final SigningAlgorithm SIGNING_ALGORITHM = SigningAlgorithm.SHA256_WITH_RSA;
+	private static final Canonicalization CANONICALIZATION = Canonicalization.RELAXED;
+
+	/**
+	 * The headers {@code DkimSigner} signs by default, which it doesn't expose.
+	 */
+	private static final Set<String> HEADERS_TO_SIGN = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+	static {
+		HEADERS_TO_SIGN.addAll(Arrays.asList("Content-Description", "Content-ID", "Content-Type", "Content-Transfer-Encoding", "Cc", "Date", "From",
+				"In-Reply-To", "List-Subscribe", "List-Post", "List-Owner", "List-Id", "List-Archive", "List-Help", "List-Unsubscribe", "MIME-Version",
+				"Message-ID", "Resent-Sender", "Resent-Cc", "Resent-Date", "Resent-To", "Reply-To", "References", "Resent-Message-ID", "Resent-From",
+				"Sender", "Subject", "To"));
+	}
+
+	@NotNull private final String signingDomain;
+	@NotNull private final String selector;
+	@NotNull private final String identity;
+	@NotNull private final RSAPrivateKey privateKey;
+
+	StreamingDkimMessage(@NotNull final MimeMessage message, @NotNull final String signingDomain, @NotNull final String selector,
+			@NotNull final String identity, @NotNull final RSAPrivateKey privateKey) {
+		super(message, message instanceof SMTPMessage ? ((SMTPMessage) message).getEnvelopeFrom() : null);
+		this.signingDomain = signingDomain;
+		this.selector = selector;
+		this.identity = identity;
+		this.privateKey = privateKey;
+	}
+
+	@Override
+	public void writeTo(final OutputStream os)
+			throws IOException, MessagingException {
+		writeTo(os, null);
+	}
+
+	/**
+	 * Writes the DKIM-Signature header followed by the message itself. The message is written once to compute the body hash and once more to the
+	 * output, so it's never buffered. The first pass saves the message's changes if that didn't happen yet, so both passes write the same.
+	 */
+	@Override
+	public void writeTo(final OutputStream os, final String[] ignoreList)
+			throws IOException, MessagingException {
+		final RelaxedBodyHashingOutputStream bodyHashingStream = new RelaxedBodyHashingOutputStream(newDigest());
+		getDelegate().writeTo(new HeaderSkippingOutputStream(bodyHashingStream));
+		final byte[] bodyHash = bodyHashingStream.finish();
+
+		os.write(createSignatureHeader(bodyHash, bodyHashingStream.getLength()).getBytes(UTF_8));
+		os.write(CRLF);
+		getDelegate().writeTo(os, ignoreList);
+	}
+
+	@NotNull
+	private String createSignatureHeader(@NotNull final byte[] bodyHash, final long bodyLength)
+			throws MessagingException {
+		final List<Header> signedHeaders = collectHeadersToSign();
+
+		final Map<String, String> tags = new LinkedHashMap<>();
+		tags.put("v", "1");
+		tags.put("a", SIGNING_ALGORITHM.getDkimNotation());
+		tags.put("q", "dns/txt");
+		tags.put("c", CANONICALIZATION.getType() + "/" + CANONICALIZATION.getType());
+		tags.put("t", String.valueOf(ofNullable(getSentDate()).orElseGet(Date::new).getTime() / 1000));
+		tags.put("s", selector);
+		tags.put("d", signingDomain);
+		tags.put("i", dkimQuotedPrintable(identity));
+		tags.put("h", joinHeaderNames(signedHeaders));
+		tags.put("l", String.valueOf(bodyLength));
+		tags.put("bh", Base64.getEncoder().encodeToString(bodyHash));
+
+		final StringBuilder header = new StringBuilder("DKIM-Signature:");
+		int lineLength = header.length();
+		for (final Map.Entry<String, String> tag : tags.entrySet()) {
+			final String tagSpec = format("%s=%s;", tag.getKey(), tag.getValue());
+			if (lineLength + 1 + tagSpec.length() > MAX_HEADER_LINE_LENGTH) {
+				header.append("\r\n\t");
+				lineLength = 1;
+			} else {
+				header.append(' ');
+				lineLength++;
+			}
+			header.append(tagSpec);
+			lineLength += tagSpec.length();
+		}
+		header.append("\r\n\tb=");
+
+		// the signature covers the signed headers and the DKIM-Signature header itself, with an empty b= tag
+		final StringBuilder signedData = new StringBuilder();
+		for (final Header signedHeader : signedHeaders) {
+			signedData.append(CANONICALIZATION.canonicalizeHeader(signedHeader.getName(), signedHeader.getValue())).append("\r\n");
+		}
+		signedData.append(CANONICALIZATION.canonicalizeHeader("DKIM-Signature", header.substring("DKIM-Signature:".length())));
+
+		return header.append(fold(Base64.getEncoder().encodeToString(sign(signedData.toString())), "b=".length() + 1)).toString();
+	}
+
+	/**
+	 * @return The headers to sign, with multiple occurrences of the same header listed bottom-up, which is how verifiers pick them.
+	 */
+	@NotNull
+	private List<Header> collectHeadersToSign()
+			throws MessagingException {
+		final List<Header> signedHeaders = new ArrayList<>();
+		for (final Enumeration<Header> headers = getAllHeaders(); headers.hasMoreElements(); ) {
+			final Header header = headers.nextElement();
+			if (HEADERS_TO_SIGN.contains(header.getName())) {
+				signedHeaders.add(header);
+			}
+		}
+		if (signedHeaders.stream().noneMatch(header -> header.getName().equalsIgnoreCase("From"))) {
+			throw new MessagingException("Could not find mandatory header for DKIM signing: From");
+		}
+		Collections.reverse(signedHeaders);
+		return signedHeaders;
+	}
+
+	@NotNull
+	private byte[] sign(@NotNull final String signedData)
+			throws MessagingException {
+		try {
+			final Signature signature = Signature.getInstance(SIGNING_ALGORITHM.getJavaNotation());
+			signature.initSign(privateKey);
+			signature.update(signedData.getBytes(UTF_8));
+			return signature.sign();
+		} catch (final GeneralSecurityException e) {
+			throw new MessagingException("Failed to sign message with DKIM", e);
+		}
+	}
+
+	@NotNull
+	private static MessageDigest newDigest()
+			throws MessagingException {
+		try {
+			return MessageDigest.getInstance(SIGNING_ALGORITHM.getHashNotation());
+		} catch (final GeneralSecurityException e) {
+			throw new MessagingException("Failed to sign message with DKIM", e);
+		}
+	}
+
+	@NotNull
+	private static String joinHeaderNames(@NotNull final List<Header> headers) {
+		final StringBuilder names = new StringBuilder();
+		for (final Header header : headers) {
+			names.append(names.length() > 0 ? ":" : "").append(header.getName());
+		}
+		return names.toString();
+	}
+
+	/**
+	 * @see <a href="https://tools.ietf.org/html/rfc6376#section-2.11">RFC 6376, 2.11: DKIM-Quoted-Printable</a>
+	 */
+	@NotNull
+	private static String dkimQuotedPrintable(@NotNull final String value) {
+		final StringBuilder encoded = new StringBuilder();
+		for (final byte b : value.getBytes(UTF_8)) {
+			if (b > ' ' && b < 0x7F && b != ';' && b != '=') {
+				encoded.append((char) b);
+			} else {
+				encoded.append(format("=%02X", b & 0xFF));
+			}
+		}
+		return encoded.toString();
+	}
+
+	@NotNull
+	private static String fold(@NotNull final String value, final int firstLineOffset) {
+		final StringBuilder folded = new StringBuilder();
+		int start = 0;
+		int lineLength = firstLineOffset;
+		while (value.length() - start > MAX_HEADER_LINE_LENGTH - lineLength) {
+			final int end = start + MAX_HEADER_LINE_LENGTH - lineLength;
+			folded.append(value, start, end).append("\r\n\t");
+			start = end;
+			lineLength = 1;
+		}
+		return folded.append(value.substring(start)).toString();
+	}
+
+	/**
+	 * Any 8bit body content would be converted after it has been hashed, invalidating the signature.
+	 */
+	@Override
+	public boolean getAllow8bitMIME() {
+		return false;
+	}
+
+	/**
+	 * Passes on only what comes after the empty line that ends the header section, as written by {@link MimeMessage#writeTo(OutputStream)}.
+	 */
+	private static class HeaderSkippingOutputStream extends FilterOutputStream {
+		private boolean inBody;
+		private int lineLength;
+
+		HeaderSkippingOutputStream(@NotNull final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int b)
+				throws IOException {
+			if (inBody) {
+				out.write(b);
+			} else if (b == '\n') {
+				inBody = lineLength == 0;
+				lineLength = 0;
+			} else if (b != '\r') {
+				lineLength++;
+			}
+		}
+
+		@Override
+		public void write(@NotNull final byte[] b, final int off, final int len)
+				throws IOException {
+			int i = off;
+			while (!inBody && i < off + len) {
+				write(b[i++]);
+			}
+			if (i < off + len) {
+				out.write(b, i, off + len - i);
+			}
+		}
+	}
+}
@@ -5,6 +5,8 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.SharedByteArrayInputStream;
+import jakarta.mail.util.SharedFileInputStream;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.CalendarMethod;
@@ -13,16 +15,23 @@ import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.OriginalSmimeDetails;
 import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
+import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.internal.outlooksupport.model.EmailFromOutlookMessage;
 import org.simplejavamail.api.internal.outlooksupport.model.OutlookMessage;
 import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.converter.internal.ByteBufferSharedInputStream;
 import org.simplejavamail.converter.internal.InternalEmailConverterImpl;
+import org.simplejavamail.converter.internal.OutlookMsgBatchConversion;
+import org.simplejavamail.converter.internal.mailbox.MaildirFolder;
+import org.simplejavamail.converter.internal.mailbox.MboxEscapingOutputStream;
+import org.simplejavamail.converter.internal.mailbox.MboxFile;
 import org.simplejavamail.converter.internal.mimemessage.MimeDataSource;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageParser.ParsedMimeMessageComponents;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageTemplate;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.email.internal.EmailPopulatingBuilderFactoryImpl;
 import org.simplejavamail.email.internal.EmailStartingBuilderImpl;
@@ -30,25 +39,36 @@ import org.simplejavamail.email.internal.InternalEmailPopulatingBuilder;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode.PLAIN;
 import static org.simplejavamail.internal.moduleloader.ModuleLoader.loadSmimeModule;
 import static org.simplejavamail.internal.util.MiscUtil.extractCID;
-import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToString;
 import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
 import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
 import static org.simplejavamail.internal.util.Preconditions.verifyNonnullOrEmpty;
 
@@ -112,7 +132,9 @@ public final class EmailConverter {
 	 * @param mimeMessage The MimeMessage from which to create the {@link Email}.
 	 * @param pkcs12Config Private key store for decrypting S/MIME encrypted attachments
 	 *                        (only needed when the message is encrypted rather than just signed).
-	 * @param fetchAttachmentData When false only the names of the attachments are retrieved but no data
+	 * @param fetchAttachmentData When false only the names of the attachments are retrieved but no data. The attachments' data sources then read
+	 *                            and decode the MIME part's content on demand instead, which for a message parsed from a file (or other {@link
+	 *                            jakarta.mail.internet.SharedInputStream}) is a view on the original data rather than a copy.
 	 */
 	@NotNull
 	public static EmailPopulatingBuilder mimeMessageToEmailBuilder(@NotNull final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
@@ -193,6 +215,41 @@ public final class EmailConverter {
 		return decryptAttachments(result.getEmailBuilder(), result.getOutlookMessage(), pkcs12Config);
 	}
 
+	/**
+	 * Delegates to {@link #outlookMsgsToEmails(Stream, Executor, int, Pkcs12Config)}, using the common {@link ForkJoinPool} with twice as many
+	 * conversions in flight as there are processors.
+	 */
+	@NotNull
+	public static Stream<MsgConversionResult> outlookMsgsToEmails(@NotNull final Stream<Path> msgFiles) {
+		return outlookMsgsToEmails(msgFiles, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors() * 2, null);
+	}
+
+	/**
+	 * Converts a batch of Outlook messages in parallel (see {@link #outlookMsgToEmail(File, Pkcs12Config)}), returning the results in order of
+	 * completion as they are consumed. Each result holds either the email or the exception that prevented converting that file, so a broken file
+	 * doesn't end the batch. The throughput is logged once the batch is done.
+	 * <p>
+	 * The files are taken from <code>msgFiles</code> only as capacity frees up, so memory use is bounded by <code>maxConcurrentConversions</code>
+	 * rather than by the size of the batch. Closing the returned stream cancels conversions in flight and closes <code>msgFiles</code>.
+	 *
+	 * @param executor                 Runs the conversions.
+	 * @param maxConcurrentConversions How many files may be converted (or waiting to be consumed) at the same time.
+	 * @param pkcs12Config             Private key store for decrypting S/MIME encrypted attachments
+	 *                                    (only needed when the messages are encrypted rather than just signed).
+	 */
+	@NotNull
+	public static Stream<MsgConversionResult> outlookMsgsToEmails(@NotNull final Stream<Path> msgFiles, @NotNull final Executor executor,
+			final int maxConcurrentConversions, @Nullable final Pkcs12Config pkcs12Config) {
+		checkNonEmptyArgument(msgFiles, "msgFiles");
+		checkNonEmptyArgument(executor, "executor");
+		assumeTrue(maxConcurrentConversions > 0, "maxConcurrentConversions must be positive");
+		final OutlookMsgBatchConversion conversion = new OutlookMsgBatchConversion(msgFiles.iterator(),
+				msgFile -> outlookMsgToEmail(msgFile.toFile(), pkcs12Config), executor, maxConcurrentConversions);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(conversion, Spliterator.NONNULL), false)
+				.onClose(conversion::close)
+				.onClose(msgFiles::close);
+	}
+
 	/**
 	 * Delegates to {@link #outlookMsgToEmail(InputStream, Pkcs12Config)}.
 	 */
@@ -230,6 +287,17 @@ public final class EmailConverter {
 		return fromMsgBuilder;
 	}
 
+	/**
+	 * Makes converting S/MIME signed / encrypted messages decrypt and verify their S/MIME attachments in parallel on the given executor, which helps
+	 * when messages carry several of them. The executor applies to all conversions from then on.
+	 *
+	 * @param executor Runs the decryption and verification of the attachments, or {@code null} to process them one after another on the converting
+	 *                 thread again (the default).
+	 */
+	public static void setSmimeAttachmentDecryptionExecutor(@Nullable final Executor executor) {
+		loadSmimeModule().setAttachmentDecryptionExecutor(executor);
+	}
+
 	private static EmailPopulatingBuilder decryptAttachments(final EmailPopulatingBuilder emailBuilder, final OutlookMessage outlookMessage, @Nullable final Pkcs12Config pkcs12Config) {
 		if (ModuleLoader.smimeModuleAvailable()) {
 			SmimeParseResult smimeParseResult = loadSmimeModule().decryptAttachments(emailBuilder.getAttachments(), outlookMessage, pkcs12Config);
@@ -282,7 +350,7 @@ public final class EmailConverter {
 	}
 
 	/**
-	 * Delegates to {@link #emlToEmailBuilder(InputStream, Pkcs12Config)} with the full string value read from the given <code>InputStream</code>.
+	 * Delegates to {@link #emlToEmailBuilder(InputStream, Pkcs12Config)}.
 	 */
 	@NotNull
 	public static Email emlToEmail(@NotNull final InputStream emlInputStream, @Nullable final Pkcs12Config pkcs12Config) {
@@ -321,6 +389,30 @@ public final class EmailConverter {
 		return emlToEmailBuilder(emlFile, pkcs12Config).buildEmail();
 	}
 
+	/**
+	 * Delegates to {@link #emlToEmail(Path, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static Email emlToEmail(@NotNull final Path emlFile) {
+		return emlToEmail(emlFile, null);
+	}
+
+	/**
+	 * Delegates to {@link #emlToEmailBuilder(Path, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static Email emlToEmail(@NotNull final Path emlFile, @Nullable final Pkcs12Config pkcs12Config) {
+		return emlToEmailBuilder(emlFile, pkcs12Config).buildEmail();
+	}
+
+	/**
+	 * Delegates to {@link #emlToEmailBuilder(Path, Pkcs12Config, boolean)}.
+	 */
+	@NotNull
+	public static Email emlToEmail(@NotNull final Path emlFile, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
+		return emlToEmailBuilder(emlFile, pkcs12Config, fetchAttachmentData).buildEmail();
+	}
+
 	/**
 	 * Delegates to {@link #emlToEmailBuilder(File, Pkcs12Config)}.
 	 */
@@ -337,6 +429,42 @@ public final class EmailConverter {
 		return mimeMessageToEmailBuilder(emlToMimeMessage(emlFile), pkcs12Config);
 	}
 
+	/**
+	 * Delegates to {@link #emlToEmailBuilder(Path, Pkcs12Config, boolean)}.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final File emlFile, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
+		return emlToEmailBuilder(checkNonEmptyArgument(emlFile, "emlFile").toPath(), pkcs12Config, fetchAttachmentData);
+	}
+
+	/**
+	 * Delegates to {@link #emlToEmailBuilder(Path, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final Path emlFile) {
+		return emlToEmailBuilder(emlFile, null);
+	}
+
+	/**
+	 * Delegates to {@link #emlToMimeMessage(Path)} and then {@link #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final Path emlFile, @Nullable final Pkcs12Config pkcs12Config) {
+		return mimeMessageToEmailBuilder(emlToMimeMessage(emlFile), pkcs12Config);
+	}
+
+	/**
+	 * Delegates to {@link #emlToMimeMessage(Path)} and then {@link #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config, boolean)}.
+	 * <p>
+	 * With <code>fetchAttachmentData</code> false, the attachments and embedded images are lazy views on the memory-mapped file, which are only read
+	 * and decoded when their data is actually used. Parsing then mostly costs reading the headers and finding the MIME boundaries, regardless of the
+	 * size of the attachments.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final Path emlFile, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
+		return mimeMessageToEmailBuilder(emlToMimeMessage(emlFile), pkcs12Config, fetchAttachmentData);
+	}
+
 	/**
 	 * Delegates to {@link #emlToEmailBuilder(InputStream, Pkcs12Config)}.
 	 */
@@ -346,16 +474,13 @@ public final class EmailConverter {
 	}
 
 	/**
-	 * Delegates to {@link #emlToEmail(String)} with the full string value read from the given <code>InputStream</code>.
+	 * Delegates to {@link #emlToMimeMessage(InputStream, Session)} using a dummy {@link Session} instance and passes the result to {@link
+	 * #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config)}. The stream's bytes are parsed as is, rather than being decoded to a string first.
 	 */
 	@NotNull
 	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final InputStream emlInputStream, @Nullable final Pkcs12Config pkcs12Config) {
-		try {
-			String emlStr = readInputStreamToString(checkNonEmptyArgument(emlInputStream, "emlInputStream"), UTF_8);
-			return emlToEmailBuilder(emlStr, pkcs12Config);
-		} catch (IOException e) {
-			throw new EmailConverterException(EmailConverterException.ERROR_READING_EML_INPUTSTREAM, e);
-		}
+		final MimeMessage mimeMessage = emlToMimeMessage(checkNonEmptyArgument(emlInputStream, "emlInputStream"), createDummySession());
+		return mimeMessageToEmailBuilder(mimeMessage, pkcs12Config);
 	}
 
 	/**
@@ -455,6 +580,55 @@ public final class EmailConverter {
 		}
 	}
 
+	/**
+	 * Delegates to {@link #compileEmailTemplate(Email, Session)}, using a new empty {@link Session} instance.
+	 */
+	@NotNull
+	public static MimeMessageTemplate compileEmailTemplate(@NotNull final Email template) {
+		return compileEmailTemplate(checkNonEmptyArgument(template, "template"), createDummySession());
+	}
+
+	/**
+	 * Delegates to {@link #compileEmailTemplate(Email, Session, EmailGovernance)}, without governance.
+	 */
+	@NotNull
+	public static MimeMessageTemplate compileEmailTemplate(@NotNull final Email template, @NotNull final Session session) {
+		return compileEmailTemplate(template, session, EmailGovernance.NO_GOVERNANCE);
+	}
+
+	/**
+	 * Compiles an email for a mail merge: the MIME structure, the encoded attachments and embedded images and the shared headers are built once,
+	 * after which {@link #emailToMimeMessage(Email, MimeMessageTemplate)} produces emails copied from the template (with other recipients,
+	 * subject or texts) by adding only what varies. To produce emails the way a mailer does, pass its {@link org.simplejavamail.api.mailer.Mailer#getSession()}
+	 * and {@link org.simplejavamail.api.mailer.Mailer#getEmailGovernance()}.
+	 *
+	 * @see MimeMessageTemplate
+	 */
+	@NotNull
+	public static MimeMessageTemplate compileEmailTemplate(@NotNull final Email template, @NotNull final Session session, @NotNull final EmailGovernance emailGovernance) {
+		try {
+			return MimeMessageTemplate.compile(
+					checkNonEmptyArgument(template, "template"),
+					checkNonEmptyArgument(emailGovernance, "emailGovernance"),
+					checkNonEmptyArgument(session, "session"));
+		} catch (MessagingException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Refer to {@link MimeMessageTemplate#produceMimeMessage(Email)}.
+	 */
+	@NotNull
+	public static MimeMessage emailToMimeMessage(@NotNull final Email email, @NotNull final MimeMessageTemplate template) {
+		try {
+			return checkNonEmptyArgument(template, "template").produceMimeMessage(checkNonEmptyArgument(email, "email"));
+		} catch (UnsupportedEncodingException | MessagingException e) {
+			// this should never happen, so we don't acknowledge this exception (and simply bubble up)
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * Delegates to {@link MimeMessageProducerHelper#produceMimeMessage(Email, EmailGovernance, Session)} with empty S/MIME signing store.
 	 */
@@ -479,14 +653,50 @@ public final class EmailConverter {
 	}
 
 	/**
-	 * Delegates to {@link #emlToMimeMessage(InputStream, Session)}.
+	 * Delegates to {@link #emlToMimeMessage(Path, Session)}.
 	 */
 	public static MimeMessage emlToMimeMessage(@NotNull final File emlFile, @NotNull final Session session) {
-		try {
-			return emlToMimeMessage(new FileInputStream(checkNonEmptyArgument(emlFile, "emlFile")), session);
-		} catch (final FileNotFoundException e) {
+		return emlToMimeMessage(checkNonEmptyArgument(emlFile, "emlFile").toPath(), session);
+	}
+
+	/**
+	 * Delegates to {@link #emlToMimeMessage(Path, Session)}, using {@link #createDummySession()}.
+	 */
+	@NotNull
+	public static MimeMessage emlToMimeMessage(@NotNull final Path emlFile) {
+		return emlToMimeMessage(emlFile, createDummySession());
+	}
+
+	/**
+	 * Memory-maps the file and parses it with {@link #emlToMimeMessage(InputStream, Session)}, using a {@link jakarta.mail.internet.SharedInputStream}
+	 * so that the body parts refer to their range of the mapped file, rather than each getting a copy of their content on the heap. Files too large
+	 * to be mapped in one go (over 2GB) are read through a {@link SharedFileInputStream} instead, which gives the same on-demand access.
+	 * <p>
+	 * <strong>Note:</strong> the file stays mapped (or open, for large files) until the resulting message is garbage collected, as there is no way to
+	 * unmap a file explicitly. Until then, Windows refuses to delete or overwrite the file. If that is a problem, parse the file with
+	 * {@link #emlToMimeMessage(InputStream, Session)} from a regular {@link java.io.FileInputStream} instead, which reads the whole message into memory.
+	 */
+	@NotNull
+	public static MimeMessage emlToMimeMessage(@NotNull final Path emlFile, @NotNull final Session session) {
+		return emlToMimeMessage(emlFile, session, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxMappedSize Files larger than this are read through a {@link SharedFileInputStream} rather than memory-mapped.
+	 */
+	@NotNull
+	static MimeMessage emlToMimeMessage(@NotNull final Path emlFile, @NotNull final Session session, final long maxMappedSize) {
+		checkNonEmptyArgument(emlFile, "emlFile");
+		final InputStream emlStream;
+		try (FileChannel channel = FileChannel.open(emlFile, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			emlStream = size <= maxMappedSize
+					? new ByteBufferSharedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size))
+					: new SharedFileInputStream(emlFile.toFile());
+		} catch (final IOException e) {
 			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_FILE, e.getMessage()), e);
 		}
+		return emlToMimeMessage(emlStream, session);
 	}
 
 	/**
@@ -499,6 +709,9 @@ public final class EmailConverter {
 
 	/**
 	 * Relies on JavaMail's native parser of EML data, {@link MimeMessage#MimeMessage(Session, InputStream)}.
+	 * <p>
+	 * If the stream is a {@link jakarta.mail.internet.SharedInputStream}, such as {@link jakarta.mail.util.SharedFileInputStream}, the body parts are
+	 * read from the stream on demand, rather than being copied into memory.
 	 *
 	 * @see MimeMessage#MimeMessage(Session, InputStream)
 	 */
@@ -519,13 +732,14 @@ public final class EmailConverter {
 	}
 
 	/**
-	 * Relies on JavaMail's native parser of EML data, {@link MimeMessage#MimeMessage(Session, InputStream)}.
+	 * Relies on JavaMail's native parser of EML data, {@link MimeMessage#MimeMessage(Session, InputStream)}. The EML's bytes are shared by the body parts,
+	 * rather than copied for each of them.
 	 */
 	public static MimeMessage emlToMimeMessage(@NotNull final String eml, @NotNull final Session session) {
 		checkNonEmptyArgument(session, "session");
 		checkNonEmptyArgument(eml, "eml");
 		try {
-			return new MimeMessage(session, new ByteArrayInputStream(eml.getBytes(UTF_8)));
+			return new MimeMessage(session, new SharedByteArrayInputStream(eml.getBytes(UTF_8)));
 		} catch (final MessagingException e) {
 			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_STREAM, e.getMessage()), e);
 		}
@@ -623,6 +837,117 @@ public final class EmailConverter {
 		return emailToEML(outlookMsgToEmail(outlookMsgInputStream, pkcs12Config));
 	}
 
+	/*
+		Mailboxes (mbox and Maildir)
+	 */
+
+	/**
+	 * Delegates to {@link #mboxToEmails(Path, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static Stream<Email> mboxToEmails(@NotNull final Path mboxFile) {
+		return mboxToEmails(mboxFile, null);
+	}
+
+	/**
+	 * Splits the mbox file (mboxrd) into its messages and returns a stream that parses them one by one as they are consumed. The file is
+	 * memory-mapped and only scanned for the {@code From } lines up front, so memory use doesn't depend on the size of the mailbox.
+	 * <p>
+	 * Message lines starting with {@code From } after any number of {@code >} are unescaped by removing one {@code >}, as mboxrd prescribes. An
+	 * mboxo file (which only escapes lines starting with {@code From } itself) can be read as well, except that message lines that originally
+	 * started with {@code >From } lose their first {@code >}, as mboxo doesn't distinguish these from escaped lines.
+	 * <p>
+	 * The stream splits evenly, so calling {@link Stream#parallel()} parses the messages in parallel on the common {@link
+	 * java.util.concurrent.ForkJoinPool} (or the pool the terminal operation is invoked from).
+	 *
+	 * @param pkcs12Config Private key store for decrypting S/MIME encrypted attachments
+	 *                        (only needed when messages are encrypted rather than just signed).
+	 */
+	@NotNull
+	public static Stream<Email> mboxToEmails(@NotNull final Path mboxFile, @Nullable final Pkcs12Config pkcs12Config) {
+		checkNonEmptyArgument(mboxFile, "mboxFile");
+		final List<ByteBuffer> messages;
+		try {
+			messages = MboxFile.splitMessages(mboxFile, MboxFile.MAX_WINDOW_SIZE);
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.ERROR_READING_MBOX, e.getMessage()), e);
+		}
+		return messages.stream()
+				.map(message -> mimeMessageToEmail(emlToMimeMessage(MboxFile.openMessage(message), createDummySession()), pkcs12Config));
+	}
+
+	/**
+	 * Delegates to {@link #maildirToEmails(Path, Pkcs12Config)}.
+	 */
+	@NotNull
+	public static Stream<Email> maildirToEmails(@NotNull final Path maildir) {
+		return maildirToEmails(maildir, null);
+	}
+
+	/**
+	 * Lists the messages in the Maildir's {@code new} and {@code cur} folders and returns a stream that parses them one by one as they are consumed
+	 * (see {@link #emlToEmail(Path, Pkcs12Config)}), ordered by file name.
+	 * <p>
+	 * Like {@link #mboxToEmails(Path, Pkcs12Config)}, the stream can be made {@link Stream#parallel() parallel}.
+	 *
+	 * @param pkcs12Config Private key store for decrypting S/MIME encrypted attachments
+	 *                        (only needed when messages are encrypted rather than just signed).
+	 */
+	@NotNull
+	public static Stream<Email> maildirToEmails(@NotNull final Path maildir, @Nullable final Pkcs12Config pkcs12Config) {
+		checkNonEmptyArgument(maildir, "maildir");
+		final List<Path> messages;
+		try {
+			messages = MaildirFolder.listMessages(maildir);
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.ERROR_READING_MAILDIR, e.getMessage()), e);
+		}
+		return messages.stream()
+				.map(message -> emlToEmail(message, pkcs12Config));
+	}
+
+	/**
+	 * Appends the emails to the mbox file (mboxrd), creating it if it doesn't exist. The emails are converted and written one at a time, so a
+	 * (lazily produced) stream of any size can be written with {@code emailsToMbox(stream::iterator, mboxFile)}.
+	 * <p>
+	 * Each message's {@code From } line uses the email's from-address and sent date, defaulting to {@code MAILER-DAEMON} and the current time.
+	 */
+	public static void emailsToMbox(@NotNull final Iterable<Email> emails, @NotNull final Path mboxFile) {
+		checkNonEmptyArgument(emails, "emails");
+		checkNonEmptyArgument(mboxFile, "mboxFile");
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(mboxFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+			for (final Email email : emails) {
+				final Recipient fromRecipient = email.getFromRecipient();
+				MboxFile.writeFromLine(out,
+						fromRecipient != null ? fromRecipient.getAddress() : "MAILER-DAEMON",
+						email.getSentDate() != null ? email.getSentDate() : new Date());
+				final MboxEscapingOutputStream messageOut = new MboxEscapingOutputStream(out);
+				emailToMimeMessage(email).writeTo(messageOut);
+				messageOut.finish();
+				out.write('\n');
+			}
+		} catch (IOException | MessagingException e) {
+			throw new EmailConverterException(format(EmailConverterException.ERROR_WRITING_MBOX, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Delivers the emails to the Maildir's {@code new} folder, creating the Maildir if it doesn't exist. The emails are converted and written one at a
+	 * time, so a (lazily produced) stream of any size can be written with {@code emailsToMaildir(stream::iterator, maildir)}.
+	 */
+	public static void emailsToMaildir(@NotNull final Iterable<Email> emails, @NotNull final Path maildir) {
+		checkNonEmptyArgument(emails, "emails");
+		checkNonEmptyArgument(maildir, "maildir");
+		try {
+			MaildirFolder.createFolders(maildir);
+			for (final Email email : emails) {
+				MaildirFolder.deliver(maildir, emailToMimeMessage(email));
+			}
+		} catch (IOException | MessagingException e) {
+			throw new EmailConverterException(format(EmailConverterException.ERROR_WRITING_MAILDIR, e.getMessage()), e);
+		}
+	}
+
 	/*
 		Helpers
 	 */
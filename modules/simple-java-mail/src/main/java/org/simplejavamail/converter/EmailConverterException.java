@@ -10,7 +10,10 @@ class EmailConverterException extends MailException {
 	
 	static final String PARSE_ERROR_EML_FROM_FILE = "Error parsing EML data from file: %s";
 	static final String PARSE_ERROR_EML_FROM_STREAM = "Error parsing EML data from input stream: %s";
-	static final String ERROR_READING_EML_INPUTSTREAM = "Error reading EML string from given InputStream";
+	static final String ERROR_READING_MBOX = "Error reading mbox file: %s";
+	static final String ERROR_WRITING_MBOX = "Error writing mbox file: %s";
+	static final String ERROR_READING_MAILDIR = "Error reading Maildir: %s";
+	static final String ERROR_WRITING_MAILDIR = "Error writing to Maildir: %s";
 
 	EmailConverterException(final String message, final Exception cause) {
 		super(message, cause);
@@ -0,0 +1,28 @@
+package org.simplejavamail.converter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of converting a single Outlook message in a batch (see {@link EmailConverter#outlookMsgsToEmails(java.util.stream.Stream)}): either
+ * the email, or the error that prevented converting it, so one broken file doesn't fail the whole batch.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class MsgConversionResult {
+	@NotNull private final Path msgFile;
+	@Nullable private final Email email;
+	@Nullable private final Exception error;
+	private final long conversionTimeNanos;
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
@@ -0,0 +1,92 @@
+package org.simplejavamail.converter.internal;
+
+import jakarta.mail.internet.SharedInputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link SharedInputStream} over a {@link ByteBuffer}, typically a memory-mapped file. JavaMail lets the parts of a MIME message parsed from a
+ * shared stream refer to their range of the stream, rather than copying their content, so the buffer is the only copy of the message.
+ * <p>
+ * Note: the casts to {@link Buffer} keep this compatible with Java 8, where the {@code ByteBuffer} overrides of these methods don't exist.
+ */
+public class ByteBufferSharedInputStream extends InputStream implements SharedInputStream {
+
+	/**
+	 * This stream's data, from position zero up to the limit.
+	 */
+	@NotNull private final ByteBuffer buffer;
+	private int mark;
+
+	public ByteBufferSharedInputStream(@NotNull final ByteBuffer buffer) {
+		this.buffer = buffer.slice();
+	}
+
+	@Override
+	public int read() {
+		return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+	}
+
+	@Override
+	public int read(@NotNull final byte[] b, final int off, final int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (!buffer.hasRemaining()) {
+			return -1;
+		}
+		final int n = Math.min(len, buffer.remaining());
+		buffer.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+		((Buffer) buffer).position(buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return buffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(final int readlimit) {
+		mark = buffer.position();
+	}
+
+	@Override
+	public synchronized void reset() {
+		((Buffer) buffer).position(mark);
+	}
+
+	@Override
+	public long getPosition() {
+		return buffer.position();
+	}
+
+	/**
+	 * @see SharedInputStream#newStream(long, long)
+	 */
+	@Override
+	@NotNull
+	public InputStream newStream(final long start, final long end) {
+		if (start < 0) {
+			throw new IllegalArgumentException("start < 0");
+		}
+		final ByteBuffer range = buffer.duplicate();
+		((Buffer) range).limit(end == -1 ? buffer.limit() : (int) end);
+		((Buffer) range).position((int) start);
+		return new ByteBufferSharedInputStream(range);
+	}
+}
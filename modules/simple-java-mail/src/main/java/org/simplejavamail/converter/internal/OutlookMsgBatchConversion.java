@@ -0,0 +1,121 @@
+package org.simplejavamail.converter.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.converter.MsgConversionResult;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Converts Outlook messages on an executor while the results are consumed, in order of completion. At most a fixed number of conversions is in
+ * flight at any time, so a source of any size can be converted with bounded memory, and failures are returned as results rather than thrown.
+ * <p>
+ * Logs the throughput once all messages have been converted.
+ */
+public class OutlookMsgBatchConversion implements Iterator<MsgConversionResult>, AutoCloseable {
+
+	private static final Logger LOGGER = getLogger(OutlookMsgBatchConversion.class);
+
+	@NotNull private final Iterator<Path> msgFiles;
+	@NotNull private final Function<Path, Email> converter;
+	@NotNull private final CompletionService<MsgConversionResult> completionService;
+	private final int maxConcurrentConversions;
+	private final Set<Future<MsgConversionResult>> inFlight = new HashSet<>();
+
+	private final long startNanos = System.nanoTime();
+	private long converted;
+	private long failed;
+	private boolean reported;
+
+	public OutlookMsgBatchConversion(@NotNull final Iterator<Path> msgFiles, @NotNull final Function<Path, Email> converter,
+			@NotNull final Executor executor, final int maxConcurrentConversions) {
+		this.msgFiles = msgFiles;
+		this.converter = converter;
+		this.completionService = new ExecutorCompletionService<>(executor);
+		this.maxConcurrentConversions = maxConcurrentConversions;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (inFlight.size() < maxConcurrentConversions && msgFiles.hasNext()) {
+			final Path msgFile = msgFiles.next();
+			inFlight.add(completionService.submit(() -> convert(msgFile)));
+		}
+		if (inFlight.isEmpty()) {
+			reportThroughput();
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public MsgConversionResult next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			final Future<MsgConversionResult> completed = completionService.take();
+			inFlight.remove(completed);
+			final MsgConversionResult result = completed.get();
+			if (result.isSuccess()) {
+				converted++;
+			} else {
+				failed++;
+			}
+			return result;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			close();
+			throw new IllegalStateException("Interrupted while waiting for Outlook messages to be converted", e);
+		} catch (final ExecutionException e) {
+			// convert() doesn't throw exceptions, so this can only be an Error
+			throw new IllegalStateException("Error converting Outlook message", e.getCause());
+		}
+	}
+
+	@NotNull
+	private MsgConversionResult convert(@NotNull final Path msgFile) {
+		final long start = System.nanoTime();
+		try {
+			return new MsgConversionResult(msgFile, converter.apply(msgFile), null, System.nanoTime() - start);
+		} catch (final Exception e) {
+			LOGGER.debug("failed to convert Outlook message {}", msgFile, e);
+			return new MsgConversionResult(msgFile, null, e, System.nanoTime() - start);
+		}
+	}
+
+	private void reportThroughput() {
+		if (!reported) {
+			reported = true;
+			final double seconds = Math.max(System.nanoTime() - startNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+			LOGGER.info(format("converted %s Outlook messages (%s failed) in %.1f seconds, %.1f messages/second",
+					converted + failed, failed, seconds, (converted + failed) / seconds));
+		}
+	}
+
+	/**
+	 * Cancels the conversions still in flight.
+	 */
+	@Override
+	public void close() {
+		for (final Future<MsgConversionResult> future : inFlight) {
+			future.cancel(true);
+		}
+		inFlight.clear();
+	}
+}
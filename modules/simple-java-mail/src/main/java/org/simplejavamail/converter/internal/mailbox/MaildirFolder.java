@@ -0,0 +1,104 @@
+package org.simplejavamail.converter.internal.mailbox;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Reads and writes Maildir folders: one file per message, delivered by writing it to {@code tmp} first and then moving it to {@code new}, so
+ * readers never see a partially written message.
+ *
+ * @see <a href="https://cr.yp.to/proto/maildir.html">Maildir specification</a>
+ */
+public final class MaildirFolder {
+
+	private static final AtomicLong DELIVERY_COUNTER = new AtomicLong();
+	private static final String HOSTNAME = determineHostname();
+
+	private MaildirFolder() {
+	}
+
+	/**
+	 * @return The message files in {@code new} and {@code cur}, ordered by file name (which starts with the delivery time).
+	 */
+	@NotNull
+	public static List<Path> listMessages(@NotNull final Path maildir)
+			throws IOException {
+		final List<Path> messages = new ArrayList<>();
+		for (final String folder : new String[]{ "new", "cur" }) {
+			final Path folderPath = maildir.resolve(folder);
+			if (Files.isDirectory(folderPath)) {
+				try (DirectoryStream<Path> files = Files.newDirectoryStream(folderPath)) {
+					for (final Path file : files) {
+						if (Files.isRegularFile(file) && !file.getFileName().toString().startsWith(".")) {
+							messages.add(file);
+						}
+					}
+				}
+			}
+		}
+		messages.sort(Comparator.comparing(file -> file.getFileName().toString()));
+		return messages;
+	}
+
+	public static void createFolders(@NotNull final Path maildir)
+			throws IOException {
+		Files.createDirectories(maildir.resolve("tmp"));
+		Files.createDirectories(maildir.resolve("new"));
+		Files.createDirectories(maildir.resolve("cur"));
+	}
+
+	/**
+	 * Delivers the message to {@code new}, assuming the folders exist (see {@link #createFolders(Path)}).
+	 *
+	 * @return The delivered message file.
+	 */
+	@NotNull
+	public static Path deliver(@NotNull final Path maildir, @NotNull final MimeMessage message)
+			throws IOException, MessagingException {
+		final String uniqueName = determineUniqueName();
+		final Path tmpFile = maildir.resolve("tmp").resolve(uniqueName);
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmpFile, StandardOpenOption.CREATE_NEW))) {
+			message.writeTo(out);
+		} catch (IOException | MessagingException e) {
+			Files.deleteIfExists(tmpFile);
+			throw e;
+		}
+		return Files.move(tmpFile, maildir.resolve("new").resolve(uniqueName), StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@NotNull
+	private static String determineUniqueName() {
+		final long now = System.currentTimeMillis();
+		return format("%d.M%dR%xQ%d.%s", now / 1000, (now % 1000) * 1000, ThreadLocalRandom.current().nextInt() & Integer.MAX_VALUE,
+				DELIVERY_COUNTER.incrementAndGet(), HOSTNAME);
+	}
+
+	@NotNull
+	private static String determineHostname() {
+		try {
+			// as per the specification, these characters are encoded in the unique name
+			return InetAddress.getLocalHost().getHostName().replace("/", "\\057").replace(":", "\\072");
+		} catch (final UnknownHostException e) {
+			return "localhost";
+		}
+	}
+}
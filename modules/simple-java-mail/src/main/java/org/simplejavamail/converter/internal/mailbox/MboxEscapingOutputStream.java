@@ -0,0 +1,96 @@
+package org.simplejavamail.converter.internal.mailbox;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.simplejavamail.converter.internal.mailbox.MboxFile.FROM_;
+
+/**
+ * Escapes a single message for an mbox file while it is being written, by prefixing lines that start with {@code From } (after any number of
+ * {@code >}) with another {@code >}. Since that is only known once the start of a line has been seen, the start of each line is held back until
+ * it either matches or doesn't.
+ * <p>
+ * Call {@link #finish()} after the message has been written; {@link #close()} is not passed on, as the mbox file holds more messages.
+ */
+public class MboxEscapingOutputStream extends FilterOutputStream {
+
+	private boolean atLineStart = true;
+	private int heldBackQuotes;
+	private int heldBackFromLength;
+
+	public MboxEscapingOutputStream(@NotNull final OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(final int b)
+			throws IOException {
+		if (atLineStart) {
+			if (heldBackFromLength == 0 && b == '>') {
+				heldBackQuotes++;
+				return;
+			}
+			if (b == FROM_[heldBackFromLength]) {
+				if (++heldBackFromLength == FROM_.length) {
+					out.write('>');
+					writeHeldBack();
+				}
+				return;
+			}
+			writeHeldBack();
+		}
+		out.write(b);
+		atLineStart = b == '\n';
+	}
+
+	@Override
+	public void write(@NotNull final byte[] b, final int off, final int len)
+			throws IOException {
+		int chunkStart = off;
+		final int end = off + len;
+		for (int i = off; i < end; i++) {
+			if (atLineStart) {
+				out.write(b, chunkStart, i - chunkStart);
+				write(b[i]);
+				chunkStart = i + 1;
+			} else if (b[i] == '\n') {
+				atLineStart = true;
+			}
+		}
+		out.write(b, chunkStart, end - chunkStart);
+	}
+
+	/**
+	 * Writes what was held back of the last line and makes sure the message ends with a line break.
+	 */
+	public void finish()
+			throws IOException {
+		if (atLineStart && heldBackQuotes + heldBackFromLength == 0) {
+			return;
+		}
+		writeHeldBack();
+		out.write('\n');
+		atLineStart = true;
+	}
+
+	private void writeHeldBack()
+			throws IOException {
+		for (int i = 0; i < heldBackQuotes; i++) {
+			out.write('>');
+		}
+		out.write(FROM_, 0, heldBackFromLength);
+		heldBackQuotes = 0;
+		heldBackFromLength = 0;
+		atLineStart = false;
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		finish();
+		flush();
+	}
+}
@@ -0,0 +1,171 @@
+package org.simplejavamail.converter.internal.mailbox;
+
+import jakarta.mail.util.SharedByteArrayInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.converter.internal.ByteBufferSharedInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static java.lang.String.format;
+
+/**
+ * Reads and writes mbox files in the mboxrd flavour: each message is preceded by a {@code From } line and followed by an empty line, and message
+ * lines starting with {@code From } (after any number of {@code >}) are escaped with an extra {@code >}.
+ * <p>
+ * Reading memory-maps the file and only scans it for the {@code From } lines, so the messages are views on the mapped file rather than copies.
+ */
+public final class MboxFile {
+
+	/**
+	 * A mapped buffer can't exceed this, so larger files are mapped in windows of at most this size.
+	 */
+	public static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+	static final byte[] FROM_ = "From ".getBytes(StandardCharsets.US_ASCII);
+
+	private MboxFile() {
+	}
+
+	/**
+	 * Splits the mbox file into its messages, still in their escaped form (see {@link #openMessage(ByteBuffer)}).
+	 *
+	 * @param maxWindowSize The maximum size of a mapped part of the file, which is also the maximum size of a single message.
+	 */
+	@NotNull
+	public static List<ByteBuffer> splitMessages(@NotNull final Path mboxFile, final int maxWindowSize)
+			throws IOException {
+		final List<ByteBuffer> messages = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(mboxFile, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			long windowStart = 0;
+			while (windowStart < size) {
+				final int windowSize = (int) Math.min(size - windowStart, maxWindowSize);
+				final boolean lastWindow = windowStart + windowSize == size;
+				final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+				final List<Integer> separators = findSeparators(window);
+				if (separators.isEmpty() || separators.get(0) != 0) {
+					throw new IOException("not an mbox file, expected a From line at offset " + windowStart);
+				}
+				// in all but the last window, the last message may continue in the next window
+				final int completeMessages = lastWindow ? separators.size() : separators.size() - 1;
+				if (completeMessages == 0) {
+					throw new IOException(format("message at offset %s is larger than the maximum of %s bytes", windowStart, maxWindowSize));
+				}
+				for (int i = 0; i < completeMessages; i++) {
+					final int end = i + 1 < separators.size() ? separators.get(i + 1) : windowSize;
+					messages.add(extractMessage(window, separators.get(i), end));
+				}
+				windowStart += lastWindow ? windowSize : separators.get(completeMessages);
+			}
+		}
+		return messages;
+	}
+
+	@NotNull
+	private static List<Integer> findSeparators(@NotNull final ByteBuffer window) {
+		final List<Integer> separators = new ArrayList<>();
+		final int limit = window.limit();
+		for (int i = 0; i < limit; i++) {
+			if ((i == 0 || window.get(i - 1) == '\n') && startsWith(window, i, FROM_)) {
+				separators.add(i);
+			}
+		}
+		return separators;
+	}
+
+	/**
+	 * @return The message between the {@code From } line and the empty line that separates it from the next message.
+	 */
+	@NotNull
+	private static ByteBuffer extractMessage(@NotNull final ByteBuffer window, final int start, final int end) {
+		int contentStart = start;
+		while (contentStart < end && window.get(contentStart++) != '\n') {
+			// skip the From line
+		}
+		int contentEnd = end;
+		if (contentEnd > contentStart && window.get(contentEnd - 1) == '\n') {
+			contentEnd--;
+		}
+		final ByteBuffer message = window.duplicate();
+		((Buffer) message).limit(contentEnd);
+		((Buffer) message).position(contentStart);
+		return message.slice();
+	}
+
+	/**
+	 * @return The message with its {@code >From } lines unescaped, as a {@link jakarta.mail.internet.SharedInputStream} that only copies the message
+	 * if it contains escaped lines.
+	 */
+	@NotNull
+	public static InputStream openMessage(@NotNull final ByteBuffer message) {
+		if (!containsEscapedLines(message)) {
+			return new ByteBufferSharedInputStream(message);
+		}
+		final ByteArrayOutputStream unescaped = new ByteArrayOutputStream(message.remaining());
+		final int limit = message.limit();
+		for (int i = message.position(); i < limit; i++) {
+			if (!(isLineStart(message, i) && isEscapedFromLine(message, i))) {
+				unescaped.write(message.get(i));
+			}
+		}
+		return new SharedByteArrayInputStream(unescaped.toByteArray());
+	}
+
+	private static boolean containsEscapedLines(@NotNull final ByteBuffer message) {
+		for (int i = message.position(); i < message.limit(); i++) {
+			if (isLineStart(message, i) && isEscapedFromLine(message, i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isLineStart(@NotNull final ByteBuffer message, final int i) {
+		return i == message.position() || message.get(i - 1) == '\n';
+	}
+
+	private static boolean isEscapedFromLine(@NotNull final ByteBuffer message, final int lineStart) {
+		int i = lineStart;
+		while (i < message.limit() && message.get(i) == '>') {
+			i++;
+		}
+		return i > lineStart && startsWith(message, i, FROM_);
+	}
+
+	private static boolean startsWith(@NotNull final ByteBuffer buffer, final int offset, final byte[] prefix) {
+		if (offset + prefix.length > buffer.limit()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (buffer.get(offset + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the {@code From } line that starts a message, in the traditional {@code asctime} format, in UTC.
+	 */
+	public static void writeFromLine(@NotNull final OutputStream out, @NotNull final String envelopeSender, @NotNull final Date date)
+			throws IOException {
+		final SimpleDateFormat asctime = new SimpleDateFormat("EEE MMM dd HH:mm:ss yyyy", Locale.US);
+		asctime.setTimeZone(TimeZone.getTimeZone("UTC"));
+		out.write(format("From %s %s\n", envelopeSender, asctime.format(date)).getBytes(StandardCharsets.US_ASCII));
+	}
+}
@@ -0,0 +1,460 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.activation.DataSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.Session;
+import jakarta.mail.internet.ContentDisposition;
+import jakarta.mail.internet.MimeUtility;
+import jakarta.mail.internet.ParameterList;
+import jakarta.mail.util.SharedByteArrayInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
+
+/**
+ * A MimeMessage without a content object graph: rather than a tree of {@code MimeMultipart} and {@code MimeBodyPart} instances, each with their
+ * own headers and {@code DataHandler}, it keeps the email's texts and attachment resources and writes the MIME structure for them directly to the
+ * stream it is written to, which is the transport's socket stream when sending. Texts and attachments are encoded while writing, using buffers
+ * reused per thread. Attachments held by the mailer's {@link EncodedAttachmentCache} are written as cached. The structure around the texts is a
+ * {@link Skeleton}, which a {@link MimeMessageTemplate} compiles once for all messages of a mail merge.
+ * <p>
+ * The message's own headers (subject, recipients, custom headers, etc.) are regular MimeMessage headers. Its content is only materialized when
+ * asked for with {@link #getContentStream()}, for example when the message is parsed again.
+ *
+ * @see DirectMimeMessageProducer
+ */
+final class DirectMimeMessage extends SMTPMessage {
+
+	private static final String DEFAULT_ATTACHMENT_ENCODING = "base64";
+	private static final byte[] CRLF = { '\r', '\n' };
+	private static final AtomicLong BOUNDARY_COUNTER = new AtomicLong();
+
+	private static final ThreadLocal<byte[]> COPY_BUFFER = ThreadLocal.withInitial(() -> new byte[8192]);
+	private static final ThreadLocal<ByteBuffer> TEXT_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(8192));
+	private static final ThreadLocal<CharsetEncoder> TEXT_ENCODER = ThreadLocal.withInitial(() -> StandardCharsets.UTF_8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+	@Nullable private final String messageId;
+	@NotNull private final List<TextContent> texts;
+	@NotNull private final Skeleton skeleton;
+	@Nullable private final String alternativeBoundary;
+	@Nullable private final String relatedBoundary;
+	@Nullable private final String mixedBoundary;
+
+	/**
+	 * @param skeleton The structure around the texts, which must {@link Skeleton#fits(List) fit} the texts.
+	 */
+	DirectMimeMessage(@NotNull final Session session, @Nullable final String messageId, @NotNull final List<TextContent> texts,
+			@NotNull final Skeleton skeleton) {
+		super(session);
+		assumeTrue(skeleton.fits(texts), "skeleton doesn't fit the texts");
+		this.messageId = messageId;
+		this.texts = texts;
+		this.skeleton = skeleton;
+		this.alternativeBoundary = skeleton.alternativeBoundary;
+		this.relatedBoundary = skeleton.relatedBoundary;
+		this.mixedBoundary = skeleton.mixedBoundary;
+	}
+
+	@NotNull
+	private static String createBoundary() {
+		return "----=_Part_" + BOUNDARY_COUNTER.getAndIncrement() + "_" + System.nanoTime();
+	}
+
+	/**
+	 * Instead of deriving the content headers from a DataHandler, which this message doesn't have, they follow from the email's structure.
+	 */
+	@Override
+	protected void updateHeaders()
+			throws MessagingException {
+		setHeader("MIME-Version", "1.0");
+		if (mixedBoundary != null) {
+			setHeader("Content-Type", multipartType("mixed", mixedBoundary));
+			removeHeader("Content-Transfer-Encoding");
+		} else {
+			setRelatedContentHeaders();
+		}
+		updateMessageID();
+	}
+
+	private void setRelatedContentHeaders()
+			throws MessagingException {
+		if (relatedBoundary != null) {
+			setHeader("Content-Type", multipartType("related", relatedBoundary));
+			removeHeader("Content-Transfer-Encoding");
+		} else if (alternativeBoundary != null) {
+			setHeader("Content-Type", multipartType("alternative", alternativeBoundary));
+			removeHeader("Content-Transfer-Encoding");
+		} else {
+			setHeader("Content-Type", texts.get(0).contentType);
+			setHeader("Content-Transfer-Encoding", texts.get(0).transferEncoding);
+		}
+	}
+
+	@Override
+	protected void updateMessageID()
+			throws MessagingException {
+		if (valueNullOrEmpty(messageId)) {
+			super.updateMessageID();
+		} else {
+			setHeader("Message-ID", messageId);
+		}
+	}
+
+	@Override
+	public void writeTo(final OutputStream os)
+			throws IOException, MessagingException {
+		writeTo(os, null);
+	}
+
+	@Override
+	public void writeTo(final OutputStream os, final String[] ignoreList)
+			throws IOException, MessagingException {
+		if (!saved) {
+			saveChanges();
+		}
+		for (final Enumeration<String> headerLines = getNonMatchingHeaderLines(ignoreList); headerLines.hasMoreElements(); ) {
+			writeLine(os, headerLines.nextElement());
+		}
+		os.write(CRLF);
+		writeContent(os);
+		os.flush();
+	}
+
+	/**
+	 * Only used when the content is asked for explicitly, since normally the content is written directly with {@link #writeTo(OutputStream)}.
+	 */
+	@Override
+	protected InputStream getContentStream()
+			throws MessagingException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try {
+			writeContent(content);
+		} catch (IOException e) {
+			throw new MessagingException("Error writing message content", e);
+		}
+		return new SharedByteArrayInputStream(content.toByteArray());
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return "MimeMessage<id:" + super.getMessageID() + ", subject:" + super.getSubject() + ">";
+		} catch (MessagingException e) {
+			throw new IllegalStateException("should not reach here");
+		}
+	}
+
+	private void writeContent(@NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		if (mixedBoundary != null) {
+			writeBoundary(os, mixedBoundary);
+			writeRelatedContentPart(os);
+			skeleton.writeAttachments(os);
+			os.write(CRLF);
+			writeClosingBoundary(os, mixedBoundary);
+		} else {
+			writeRelatedContent(os);
+		}
+	}
+
+	private void writeRelatedContentPart(@NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		if (relatedBoundary != null) {
+			writeLine(os, "Content-Type: " + multipartType("related", relatedBoundary));
+			os.write(CRLF);
+		} else if (alternativeBoundary != null) {
+			writeLine(os, "Content-Type: " + multipartType("alternative", alternativeBoundary));
+			os.write(CRLF);
+		}
+		writeRelatedContent(os);
+	}
+
+	private void writeRelatedContent(@NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		if (relatedBoundary != null) {
+			writeBoundary(os, relatedBoundary);
+			if (alternativeBoundary != null) {
+				writeLine(os, "Content-Type: " + multipartType("alternative", alternativeBoundary));
+				os.write(CRLF);
+			}
+			writeAlternativeContent(os);
+			skeleton.writeEmbeddedImages(os);
+			os.write(CRLF);
+			writeClosingBoundary(os, relatedBoundary);
+		} else {
+			writeAlternativeContent(os);
+		}
+	}
+
+	/**
+	 * Writes either the multipart/alternative content, or the content of the one text part if there's just one. A single text part nested in a
+	 * multipart gets its own headers, unless it is the message itself, where the headers were written as part of the message headers.
+	 */
+	private void writeAlternativeContent(@NotNull final OutputStream os)
+			throws IOException, MessagingException {
+		if (alternativeBoundary != null) {
+			for (final TextContent text : texts) {
+				writeBoundary(os, alternativeBoundary);
+				writeTextPart(os, text);
+				os.write(CRLF);
+			}
+			writeClosingBoundary(os, alternativeBoundary);
+		} else if (relatedBoundary != null || mixedBoundary != null) {
+			writeTextPart(os, texts.get(0));
+		} else {
+			writeText(os, texts.get(0));
+		}
+	}
+
+	private static void writeTextPart(@NotNull final OutputStream os, @NotNull final TextContent text)
+			throws IOException, MessagingException {
+		writeLine(os, "Content-Type: " + text.contentType);
+		writeLine(os, "Content-Transfer-Encoding: " + text.transferEncoding);
+		os.write(CRLF);
+		writeText(os, text);
+	}
+
+	/**
+	 * Encodes the text as UTF-8 in chunks, so the text isn't copied into a byte array of its own first.
+	 */
+	private static void writeText(@NotNull final OutputStream os, @NotNull final TextContent text)
+			throws IOException, MessagingException {
+		final OutputStream encodedOut = MimeUtility.encode(os, text.transferEncoding);
+		final CharsetEncoder encoder = TEXT_ENCODER.get().reset();
+		final ByteBuffer buffer = TEXT_BUFFER.get();
+		final CharBuffer chars = CharBuffer.wrap(text.text);
+		buffer.clear();
+		while (encoder.encode(chars, buffer, true).isOverflow()) {
+			encodedOut.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+		while (encoder.flush(buffer).isOverflow()) {
+			encodedOut.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+		encodedOut.write(buffer.array(), 0, buffer.position());
+		// only flushed, like JavaMail does, since closing would close the transport's stream as well
+		encodedOut.flush();
+	}
+
+	/**
+	 * Writes the same headers as {@link MimeMessageHelper} sets for attachments. Unless the attachment forces a transfer encoding, it is encoded as
+	 * base64, rather than reading the data an extra time to determine the best encoding like JavaMail does.
+	 */
+	private static void writeAttachmentPart(@NotNull final OutputStream os, @NotNull final AttachmentResource attachmentResource,
+			@NotNull final String dispositionType, @Nullable final EncodedAttachmentCache attachmentCache)
+			throws IOException, MessagingException {
+		final EncodedAttachmentCache.EncodedAttachment cachedAttachment = attachmentCache != null ? attachmentCache.lookup(attachmentResource) : null;
+		final String transferEncoding = cachedAttachment != null
+				? cachedAttachment.getEncoding()
+				: attachmentResource.getContentTransferEncoding() != null
+						? attachmentResource.getContentTransferEncoding().getEncoder()
+						: DEFAULT_ATTACHMENT_ENCODING;
+
+		final String resourceName = MimeMessageHelper.determineResourceName(attachmentResource, true);
+		final String fileName = MimeMessageHelper.determineResourceName(attachmentResource, false);
+		final ParameterList contentTypeParameters = new ParameterList();
+		contentTypeParameters.set("filename", fileName);
+		contentTypeParameters.set("name", fileName);
+		final ParameterList dispositionParameters = new ParameterList();
+		dispositionParameters.set("filename", fileName);
+
+		writeHeader(os, "Content-Type", attachmentResource.getDataSource().getContentType() + contentTypeParameters);
+		writeHeader(os, "Content-Transfer-Encoding", transferEncoding);
+		writeHeader(os, "Content-Disposition", new ContentDisposition(dispositionType, dispositionParameters).toString());
+		writeHeader(os, "Content-ID", format("<%s>", resourceName));
+		if (attachmentResource.getDescription() != null) {
+			writeHeader(os, "Content-Description", attachmentResource.getDescription());
+		}
+		os.write(CRLF);
+
+		if (cachedAttachment != null) {
+			cachedAttachment.writeTo(os, COPY_BUFFER.get());
+		} else {
+			writeEncodedData(os, attachmentResource.getDataSource(), transferEncoding);
+		}
+	}
+
+	private static void writeEncodedData(@NotNull final OutputStream os, @NotNull final DataSource dataSource, @NotNull final String transferEncoding)
+			throws IOException, MessagingException {
+		final OutputStream encodedOut = MimeUtility.encode(os, transferEncoding);
+		final byte[] buffer = COPY_BUFFER.get();
+		try (InputStream is = dataSource.getInputStream()) {
+			for (int len; (len = is.read(buffer)) > 0; ) {
+				encodedOut.write(buffer, 0, len);
+			}
+		}
+		encodedOut.flush();
+	}
+
+	@NotNull
+	private static String multipartType(@NotNull final String subType, @NotNull final String boundary) {
+		return MimeUtility.fold(14, "multipart/" + subType + "; boundary=\"" + boundary + "\"");
+	}
+
+	private static void writeHeader(@NotNull final OutputStream os, @NotNull final String name, @NotNull final String value)
+			throws IOException {
+		writeLine(os, name + ": " + MimeUtility.fold(name.length() + 2, value));
+	}
+
+	private static void writeBoundary(@NotNull final OutputStream os, @NotNull final String boundary)
+			throws IOException {
+		writeLine(os, "--" + boundary);
+	}
+
+	private static void writeClosingBoundary(@NotNull final OutputStream os, @NotNull final String boundary)
+			throws IOException {
+		writeLine(os, "--" + boundary + "--");
+	}
+
+	/**
+	 * Header values are already encoded to ASCII where needed, unless the session allows UTF-8 in headers, so UTF-8 covers both.
+	 */
+	private static void writeLine(@NotNull final OutputStream os, @NotNull final String line)
+			throws IOException {
+		os.write(line.getBytes(StandardCharsets.UTF_8));
+		os.write(CRLF);
+	}
+
+	/**
+	 * The MIME structure around the texts: the multipart boundaries, and the embedded images and attachments written between them. Normally a
+	 * skeleton serves a single message and encodes its parts while the message is written. A {@link #compile() compiled} skeleton has its parts
+	 * encoded in advance, outside the heap, and writes the same bytes for every message that shares it.
+	 */
+	static final class Skeleton {
+		@Nullable private final String alternativeBoundary;
+		@Nullable private final String relatedBoundary;
+		@Nullable private final String mixedBoundary;
+		@NotNull private final List<AttachmentResource> embeddedImages;
+		@NotNull private final List<AttachmentResource> attachments;
+		@Nullable private final EncodedAttachmentCache attachmentCache;
+		@Nullable private final ByteBuffer compiledEmbeddedImages;
+		@Nullable private final ByteBuffer compiledAttachments;
+
+		/**
+		 * @param alternativeTexts Whether the texts are more than one, so they need a multipart/alternative of their own.
+		 */
+		Skeleton(final boolean alternativeTexts, @NotNull final List<AttachmentResource> embeddedImages,
+				@NotNull final List<AttachmentResource> attachments, @Nullable final EncodedAttachmentCache attachmentCache) {
+			this.alternativeBoundary = alternativeTexts ? createBoundary() : null;
+			this.relatedBoundary = !embeddedImages.isEmpty() ? createBoundary() : null;
+			this.mixedBoundary = !attachments.isEmpty() ? createBoundary() : null;
+			this.embeddedImages = embeddedImages;
+			this.attachments = attachments;
+			this.attachmentCache = attachmentCache;
+			this.compiledEmbeddedImages = null;
+			this.compiledAttachments = null;
+		}
+
+		private Skeleton(@NotNull final Skeleton skeleton, @Nullable final ByteBuffer compiledEmbeddedImages, @Nullable final ByteBuffer compiledAttachments) {
+			this.alternativeBoundary = skeleton.alternativeBoundary;
+			this.relatedBoundary = skeleton.relatedBoundary;
+			this.mixedBoundary = skeleton.mixedBoundary;
+			this.embeddedImages = skeleton.embeddedImages;
+			this.attachments = skeleton.attachments;
+			this.attachmentCache = null;
+			this.compiledEmbeddedImages = compiledEmbeddedImages;
+			this.compiledAttachments = compiledAttachments;
+		}
+
+		/**
+		 * @return A skeleton with the same boundaries, which writes the embedded images and attachments as they are encoded now.
+		 */
+		@NotNull
+		Skeleton compile()
+				throws IOException, MessagingException {
+			return new Skeleton(this,
+					relatedBoundary != null ? compileParts(embeddedImages, relatedBoundary, Part.INLINE) : null,
+					mixedBoundary != null ? compileParts(attachments, mixedBoundary, Part.ATTACHMENT) : null);
+		}
+
+		@NotNull
+		private ByteBuffer compileParts(@NotNull final List<AttachmentResource> parts, @NotNull final String boundary, @NotNull final String dispositionType)
+				throws IOException, MessagingException {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			writeParts(out, parts, boundary, dispositionType, null);
+			final ByteBuffer compiledParts = ByteBuffer.allocateDirect(out.size());
+			compiledParts.put(out.toByteArray());
+			compiledParts.flip();
+			return compiledParts;
+		}
+
+		boolean fits(@NotNull final List<TextContent> texts) {
+			return !texts.isEmpty() && (texts.size() > 1) == (alternativeBoundary != null);
+		}
+
+		private void writeEmbeddedImages(@NotNull final OutputStream os)
+				throws IOException, MessagingException {
+			writeParts(os, embeddedImages, relatedBoundary, Part.INLINE, compiledEmbeddedImages);
+		}
+
+		private void writeAttachments(@NotNull final OutputStream os)
+				throws IOException, MessagingException {
+			writeParts(os, attachments, mixedBoundary, Part.ATTACHMENT, compiledAttachments);
+		}
+
+		private void writeParts(@NotNull final OutputStream os, @NotNull final List<AttachmentResource> parts, @Nullable final String boundary,
+				@NotNull final String dispositionType, @Nullable final ByteBuffer compiledParts)
+				throws IOException, MessagingException {
+			if (compiledParts != null) {
+				writeBuffer(os, compiledParts);
+			} else {
+				for (final AttachmentResource part : parts) {
+					os.write(CRLF);
+					writeBoundary(os, boundary);
+					writeAttachmentPart(os, part, dispositionType, attachmentCache);
+				}
+			}
+		}
+
+		/**
+		 * Copies the buffer through a duplicate, so messages sharing the skeleton can be written at the same time.
+		 */
+		private static void writeBuffer(@NotNull final OutputStream os, @NotNull final ByteBuffer buffer)
+				throws IOException {
+			final ByteBuffer content = buffer.duplicate();
+			final byte[] copyBuffer = COPY_BUFFER.get();
+			while (content.hasRemaining()) {
+				final int len = Math.min(copyBuffer.length, content.remaining());
+				content.get(copyBuffer, 0, len);
+				os.write(copyBuffer, 0, len);
+			}
+		}
+	}
+
+	/**
+	 * One of the email's texts (plain text, HTML or calendar), with the content type and transfer encoding it is written with.
+	 */
+	static final class TextContent {
+		@NotNull private final String text;
+		@NotNull private final String contentType;
+		@NotNull private final String transferEncoding;
+
+		TextContent(@NotNull final String text, @NotNull final String contentType, @NotNull final String transferEncoding) {
+			this.text = text;
+			this.contentType = contentType;
+			this.transferEncoding = transferEncoding;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.internal.moduleloader.ModuleLoader;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Optional.ofNullable;
+import static org.simplejavamail.internal.util.MiscUtil.orOther;
+import static org.simplejavamail.internal.util.MiscUtil.orOtherList;
+import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+
+/**
+ * Alternative to the {@link SpecializedMimeMessageProducer}s, which produces a {@link DirectMimeMessage}: the same MIME structure, but written
+ * straight to the output stream rather than built as a JavaMail object graph first.
+ * <p>
+ * Only takes emails that need no further processing of the produced message's content: emails that are signed or encrypted with S/MIME, signed with
+ * DKIM or that forward another email are left to the regular producers, as are attachments of a composite type (nested messages and multiparts),
+ * which JavaMail restricts the transfer encoding of.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDirectMimeWriting(Boolean)
+ */
+final class DirectMimeMessageProducer {
+
+	private static final String CHARACTER_ENCODING = StandardCharsets.UTF_8.name();
+
+	private DirectMimeMessageProducer() {
+	}
+
+	static boolean compatibleWithEmail(@NotNull final Email email, @NotNull final EmailGovernance governance) {
+		if (ModuleLoader.smimeModuleAvailable() && (email.getPkcs12ConfigForSmimeSigning() != null
+				|| governance.getPkcs12ConfigForSmimeSigning() != null
+				|| email.getX509CertificateForSmimeEncryption() != null)) {
+			return false;
+		}
+		return valueNullOrEmpty(email.getDkimSigningDomain())
+				&& orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getEmailToForward) == null
+				&& !determineTexts(email, governance).isEmpty()
+				&& noCompositeTypes(orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getEmbeddedImages))
+				&& noCompositeTypes(orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getAttachments));
+	}
+
+	private static boolean noCompositeTypes(@NotNull final List<AttachmentResource> attachmentResources) {
+		for (final AttachmentResource attachmentResource : attachmentResources) {
+			if (EncodedAttachmentCache.isCompositeType(attachmentResource.getDataSource().getContentType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the same headers as {@link SpecializedMimeMessageProducer#populateMimeMessage(Email, EmailGovernance, Session, EncodedAttachmentCache)},
+	 * but leaves the content to be written by the message itself.
+	 */
+	@NotNull
+	static MimeMessage produceMimeMessage(@NotNull final Email email, @NotNull final EmailGovernance governance, @NotNull final Session session,
+			@Nullable final EncodedAttachmentCache attachmentCache)
+			throws MessagingException, UnsupportedEncodingException {
+		final List<DirectMimeMessage.TextContent> texts = determineTexts(email, governance);
+		return produceMimeMessage(email, governance, session, texts, createSkeleton(email, governance, texts, attachmentCache));
+	}
+
+	@NotNull
+	static DirectMimeMessage.Skeleton createSkeleton(@NotNull final Email email, @NotNull final EmailGovernance governance,
+			@NotNull final List<DirectMimeMessage.TextContent> texts, @Nullable final EncodedAttachmentCache attachmentCache) {
+		return new DirectMimeMessage.Skeleton(texts.size() > 1,
+				orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getEmbeddedImages),
+				orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getAttachments), attachmentCache);
+	}
+
+	@NotNull
+	static DirectMimeMessage produceMimeMessage(@NotNull final Email email, @NotNull final EmailGovernance governance, @NotNull final Session session,
+			@NotNull final List<DirectMimeMessage.TextContent> texts, @NotNull final DirectMimeMessage.Skeleton skeleton)
+			throws MessagingException, UnsupportedEncodingException {
+		final DirectMimeMessage message = new DirectMimeMessage(session, email.getId(), texts, skeleton);
+
+		MimeMessageHelper.setSubject(email, governance, message);
+		MimeMessageHelper.setFrom(email, governance, message);
+		MimeMessageHelper.setReplyTo(email, governance, message);
+		MimeMessageHelper.setRecipients(email, governance, message);
+		MimeMessageHelper.setHeaders(email, governance, message);
+		message.setSentDate(ofNullable(email.getSentDate()).orElse(new Date()));
+
+		val bounceToRecipient = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getBounceToRecipient);
+		if (bounceToRecipient != null) {
+			// display name not applicable: https://tools.ietf.org/html/rfc5321#section-4.1.2
+			message.setEnvelopeFrom(bounceToRecipient.getAddress());
+		}
+		return message;
+	}
+
+	/**
+	 * @return The plain text, HTML and calendar texts in the order {@link MimeMessageHelper#setTexts(Email, EmailGovernance, jakarta.mail.internet.MimeMultipart)}
+	 * adds them.
+	 */
+	@NotNull
+	static List<DirectMimeMessage.TextContent> determineTexts(@NotNull final Email email, @NotNull final EmailGovernance governance) {
+		final String transferEncoding = email.getContentTransferEncoding().getEncoder();
+		final List<DirectMimeMessage.TextContent> texts = new ArrayList<>(3);
+		val plainText = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getPlainText);
+		if (plainText != null) {
+			texts.add(new DirectMimeMessage.TextContent(plainText, "text/plain; charset=" + CHARACTER_ENCODING, transferEncoding));
+		}
+		val htmlText = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getHTMLText);
+		if (htmlText != null) {
+			texts.add(new DirectMimeMessage.TextContent(htmlText, "text/html; charset=\"" + CHARACTER_ENCODING + "\"", transferEncoding));
+		}
+		val calendarText = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getCalendarText);
+		val calendarMethod = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getCalendarMethod);
+		if (calendarText != null && calendarMethod != null) {
+			texts.add(new DirectMimeMessage.TextContent(calendarText,
+					"text/calendar; charset=\"" + CHARACTER_ENCODING + "\"; method=\"" + calendarMethod + "\"", transferEncoding));
+		}
+		return texts;
+	}
+}
@@ -0,0 +1,291 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.ContentTransferEncoding;
+import org.simplejavamail.converter.internal.ByteBufferSharedInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
+
+/**
+ * Keeps attachments in their transfer encoded form, for attachments that are sent with many emails, such as a brochure attached to every email of
+ * a campaign. Normally JavaMail reads and encodes an attachment again for every email it writes. Cached attachments are encoded once, kept outside
+ * the heap and written to every next email as they are.
+ * <p>
+ * Attachments are recognized by a hash of their content (along with their content type and forced transfer encoding), so emails don't need to share
+ * the data source: an attachment that is added to every email as a new byte array is recognized just the same. Recognizing an attachment reads its
+ * data once, which is still a lot cheaper than encoding it. Attachments larger than the cache are left alone, without reading them at all if
+ * their size is known up front. The least recently used attachments are evicted when the encoded attachments together exceed the maximum size.
+ * <p>
+ * Each mailer has its own cache, sized by {@link org.simplejavamail.api.mailer.MailerGenericBuilder#withAttachmentEncodingCacheSize(Integer)}.
+ */
+public final class EncodedAttachmentCache {
+
+	private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+	private final Map<Key, EncodedAttachment> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final long maxBytes;
+	private long cachedBytes;
+	private volatile boolean sealed;
+
+	/**
+	 * @param maxBytes The total size of the encoded attachments the cache may hold.
+	 */
+	public EncodedAttachmentCache(final long maxBytes) {
+		assumeTrue(maxBytes > 0, "maxBytes must be positive");
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return A body part that writes the cached encoded content of the attachment, or {@code null} if the cache doesn't take this attachment.
+	 * The caller still needs to set the other headers.
+	 */
+	@Nullable
+	MimeBodyPart createBodyPart(@NotNull final AttachmentResource attachmentResource)
+			throws MessagingException {
+		final EncodedAttachment encodedAttachment = lookup(attachmentResource);
+		return encodedAttachment != null ? encodedAttachment.createBodyPart() : null;
+	}
+
+	/**
+	 * Stops the cache from taking attachments it doesn't hold yet, while it keeps serving the ones it does.
+	 */
+	void seal() {
+		sealed = true;
+	}
+
+	/**
+	 * @return The cached encoded attachment, encoding and caching it first if needed, or {@code null} if the cache doesn't take this attachment.
+	 */
+	@Nullable
+	EncodedAttachment lookup(@NotNull final AttachmentResource attachmentResource)
+			throws MessagingException {
+		final DataSource dataSource = attachmentResource.getDataSource();
+		if (isCompositeType(dataSource.getContentType()) || determineKnownSize(dataSource) > maxBytes) {
+			return null;
+		}
+		final Key key = createKey(attachmentResource);
+		if (key == null) {
+			return null;
+		}
+		EncodedAttachment encodedAttachment;
+		synchronized (entries) {
+			encodedAttachment = entries.get(key);
+		}
+		if (encodedAttachment == null) {
+			if (sealed) {
+				return null;
+			}
+			encodedAttachment = encode(attachmentResource, maxBytes);
+			if (encodedAttachment == null) {
+				return null;
+			}
+			cache(key, encodedAttachment);
+		}
+		return encodedAttachment;
+	}
+
+	private void cache(@NotNull final Key key, @NotNull final EncodedAttachment encodedAttachment) {
+		final long size = encodedAttachment.content.capacity();
+		synchronized (entries) {
+			final EncodedAttachment replaced = entries.put(key, encodedAttachment);
+			cachedBytes += size - (replaced != null ? replaced.content.capacity() : 0);
+			final Iterator<EncodedAttachment> leastRecentlyUsed = entries.values().iterator();
+			while (cachedBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+				cachedBytes -= leastRecentlyUsed.next().content.capacity();
+				leastRecentlyUsed.remove();
+			}
+		}
+	}
+
+	/**
+	 * @return The size of the data source's content if it can be known without reading it, or else -1.
+	 */
+	private static long determineKnownSize(@NotNull final DataSource dataSource) {
+		return dataSource instanceof FileDataSource ? ((FileDataSource) dataSource).getFile().length() : -1;
+	}
+
+	/**
+	 * Reads the attachment's content to compute its hash.
+	 *
+	 * @return The key of the attachment, or {@code null} if its content is larger than the cache, which makes its encoded form larger as well.
+	 */
+	@Nullable
+	private Key createKey(@NotNull final AttachmentResource attachmentResource)
+			throws MessagingException {
+		final MessageDigest digest = newContentDigest();
+		long size = 0;
+		try (InputStream is = attachmentResource.getDataSource().getInputStream()) {
+			final byte[] buffer = new byte[8192];
+			for (int len; (len = is.read(buffer)) > 0; ) {
+				size += len;
+				if (size > maxBytes) {
+					return null;
+				}
+				digest.update(buffer, 0, len);
+			}
+		} catch (IOException e) {
+			throw new MessagingException("Error reading attachment " + attachmentResource.getName(), e);
+		}
+		return new Key(digest.digest(), attachmentResource);
+	}
+
+	@NotNull
+	private static MessageDigest newContentDigest() {
+		try {
+			return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(CONTENT_HASH_ALGORITHM + " is a mandatory algorithm of every Java platform", e);
+		}
+	}
+
+	/**
+	 * Encodes the attachment the way JavaMail would when writing it: with the forced transfer encoding, or else the encoding JavaMail deems best for
+	 * the data.
+	 *
+	 * @return The encoded attachment, or {@code null} if its encoded content turned out to be larger than the given maximum.
+	 */
+	@Nullable
+	static EncodedAttachment encode(@NotNull final AttachmentResource attachmentResource, final long maxBytes)
+			throws MessagingException {
+		final DataSource dataSource = attachmentResource.getDataSource();
+		final String encoding = attachmentResource.getContentTransferEncoding() != null
+				? attachmentResource.getContentTransferEncoding().getEncoder()
+				: MimeUtility.getEncoding(dataSource);
+		final ByteArrayOutputStream encodedContent = new ByteArrayOutputStream();
+		try (InputStream is = dataSource.getInputStream()) {
+			// only flushed, like JavaMail does, since closing would end the encoded content with an extra line break
+			final OutputStream os = MimeUtility.encode(encodedContent, encoding);
+			final byte[] buffer = new byte[8192];
+			for (int len; (len = is.read(buffer)) > 0; ) {
+				os.write(buffer, 0, len);
+				if (encodedContent.size() > maxBytes) {
+					return null;
+				}
+			}
+			os.flush();
+		} catch (IOException e) {
+			throw new MessagingException("Error encoding attachment " + attachmentResource.getName(), e);
+		}
+		if (encodedContent.size() > maxBytes) {
+			return null;
+		}
+		final ByteBuffer content = ByteBuffer.allocateDirect(encodedContent.size());
+		((Buffer) content.put(encodedContent.toByteArray())).flip();
+		return new EncodedAttachment(encoding, content);
+	}
+
+	/**
+	 * JavaMail restricts the transfer encoding of nested messages and multiparts, so those are left to JavaMail.
+	 */
+	static boolean isCompositeType(@NotNull final String contentType) {
+		final String type = contentType.toLowerCase(Locale.ROOT);
+		return type.startsWith("multipart/") || type.startsWith("message/");
+	}
+
+	int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * The encoding chosen for an attachment depends on its content type as well as its content, so both are part of the key.
+	 */
+	private static final class Key {
+		@NotNull private final byte[] contentHash;
+		@NotNull private final String contentType;
+		@Nullable private final ContentTransferEncoding contentTransferEncoding;
+
+		private Key(@NotNull final byte[] contentHash, @NotNull final AttachmentResource attachmentResource) {
+			this.contentHash = contentHash;
+			this.contentType = attachmentResource.getDataSource().getContentType();
+			this.contentTransferEncoding = attachmentResource.getContentTransferEncoding();
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) o;
+			return Arrays.equals(other.contentHash, contentHash)
+					&& other.contentType.equals(contentType)
+					&& other.contentTransferEncoding == contentTransferEncoding;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * Arrays.hashCode(contentHash) + contentType.hashCode()) + Objects.hashCode(contentTransferEncoding);
+		}
+	}
+
+	static final class EncodedAttachment {
+		@NotNull private final String encoding;
+		/**
+		 * The encoded content, from position zero up to the limit. Only read through duplicates, so it can be shared between threads.
+		 */
+		@NotNull private final ByteBuffer content;
+
+		private EncodedAttachment(@NotNull final String encoding, @NotNull final ByteBuffer content) {
+			this.encoding = encoding;
+			this.content = content;
+		}
+
+		@NotNull
+		MimeBodyPart createBodyPart()
+				throws MessagingException {
+			return new EncodedBodyPart(this);
+		}
+
+		@NotNull
+		String getEncoding() {
+			return encoding;
+		}
+
+		/**
+		 * Writes the encoded content through the given buffer, which the caller can reuse.
+		 */
+		void writeTo(@NotNull final OutputStream os, @NotNull final byte[] buffer)
+				throws IOException {
+			final ByteBuffer remaining = content.duplicate();
+			while (remaining.hasRemaining()) {
+				final int len = Math.min(buffer.length, remaining.remaining());
+				remaining.get(buffer, 0, len);
+				os.write(buffer, 0, len);
+			}
+		}
+	}
+
+	/**
+	 * A body part with already encoded content. Since it has no data handler of its own, JavaMail writes its content without encoding it again.
+	 */
+	private static final class EncodedBodyPart extends MimeBodyPart {
+		private EncodedBodyPart(@NotNull final EncodedAttachment encodedAttachment)
+				throws MessagingException {
+			this.contentStream = new ByteBufferSharedInputStream(encodedAttachment.content.duplicate());
+			setHeader("Content-Transfer-Encoding", encodedAttachment.encoding);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.internet.MimeUtility;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The headers of the email defaults and overrides of an {@link EmailGovernance}, encoded and folded once and reused for every email produced with
+ * that governance, since for large default header sets (List-Unsubscribe, tracking headers and such) encoding them for every email adds up.
+ * <p>
+ * Governance instances are recognized by identity and only weakly referenced, so the encoded headers don't outlive their mailer.
+ */
+final class EncodedGovernanceHeaders {
+
+	private static final String CHARACTER_ENCODING = StandardCharsets.UTF_8.name();
+	private static final Map<EmailGovernance, EncodedGovernanceHeaders> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+	@NotNull private final Map<String, List<String>> defaultHeaders;
+	@NotNull private final Map<String, List<String>> overrideHeaders;
+
+	private EncodedGovernanceHeaders(@NotNull final Map<String, List<String>> defaultHeaders, @NotNull final Map<String, List<String>> overrideHeaders) {
+		this.defaultHeaders = defaultHeaders;
+		this.overrideHeaders = overrideHeaders;
+	}
+
+	@NotNull
+	static EncodedGovernanceHeaders of(@NotNull final EmailGovernance governance)
+			throws UnsupportedEncodingException {
+		EncodedGovernanceHeaders encodedHeaders = CACHE.get(governance);
+		if (encodedHeaders == null) {
+			// encoding is idempotent, so there is no harm in two threads racing to cache it
+			encodedHeaders = new EncodedGovernanceHeaders(encodeHeaders(governance.getEmailDefaults()), encodeHeaders(governance.getEmailOverrides()));
+			CACHE.put(governance, encodedHeaders);
+		}
+		return encodedHeaders;
+	}
+
+	@NotNull
+	private static Map<String, List<String>> encodeHeaders(@Nullable final Email email)
+			throws UnsupportedEncodingException {
+		if (email == null || email.getHeaders().isEmpty()) {
+			return emptyMap();
+		}
+		final Map<String, List<String>> encodedHeaders = new LinkedHashMap<>();
+		for (final Map.Entry<String, Collection<String>> header : email.getHeaders().entrySet()) {
+			encodedHeaders.put(header.getKey(), encodeHeaderValues(header.getKey(), header.getValue()));
+		}
+		return encodedHeaders;
+	}
+
+	/**
+	 * Since we're not using a high-level JavaMail method, the JavaMail library says we need to do some encoding and 'folding' manually, to get the
+	 * value right for the headers (see {@link MimeUtility}).
+	 */
+	@NotNull
+	static List<String> encodeHeaderValues(@NotNull final String headerName, @NotNull final Collection<String> headerValues)
+			throws UnsupportedEncodingException {
+		final List<String> foldedHeaderValues = new ArrayList<>(headerValues.size());
+		for (final String headerValue : headerValues) {
+			final String headerValueEncoded = MimeUtility.encodeText(headerValue, CHARACTER_ENCODING, null);
+			foldedHeaderValues.add(MimeUtility.fold(headerName.length() + 2, headerValueEncoded));
+		}
+		return unmodifiableList(foldedHeaderValues);
+	}
+
+	@NotNull
+	Map<String, List<String>> getDefaultHeaders() {
+		return defaultHeaders;
+	}
+
+	@NotNull
+	Map<String, List<String>> getOverrideHeaders() {
+		return overrideHeaders;
+	}
+}
@@ -16,6 +16,7 @@ import jakarta.mail.internet.MimeUtility;
 import jakarta.mail.internet.ParameterList;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.AttachmentResource;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.Recipient;
@@ -25,9 +26,9 @@ import org.simplejavamail.internal.util.NamedDataSource;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -179,13 +180,14 @@ public class MimeMessageHelper {
 	 *
 	 * @param email            The message in which the embedded images are defined.
 	 * @param multipartRelated The branch in the email structure in which we'll stuff the embedded images.
-	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String)}
+	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String, EncodedAttachmentCache)}
 	 */
-	static void setEmbeddedImages(@NotNull final Email email, final EmailGovernance governance, final MimeMultipart multipartRelated)
+	static void setEmbeddedImages(@NotNull final Email email, final EmailGovernance governance, final MimeMultipart multipartRelated,
+			@Nullable final EncodedAttachmentCache attachmentCache)
 			throws MessagingException {
 		val attachmentResources = orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getEmbeddedImages);
 		for (final AttachmentResource embeddedImage : attachmentResources) {
-			multipartRelated.addBodyPart(getBodyPartFromDatasource(embeddedImage, Part.INLINE));
+			multipartRelated.addBodyPart(getBodyPartFromDatasource(embeddedImage, Part.INLINE, attachmentCache));
 		}
 	}
 
@@ -195,13 +197,14 @@ public class MimeMessageHelper {
 	 *
 	 * @param email         The message in which the attachments are defined.
 	 * @param multipartRoot The branch in the email structure in which we'll stuff the attachments.
-	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String)}
+	 * @throws MessagingException See {@link MimeMultipart#addBodyPart(BodyPart)} and {@link #getBodyPartFromDatasource(AttachmentResource, String, EncodedAttachmentCache)}
 	 */
-	static void setAttachments(@NotNull final Email email, final EmailGovernance governance, final MimeMultipart multipartRoot)
+	static void setAttachments(@NotNull final Email email, final EmailGovernance governance, final MimeMultipart multipartRoot,
+			@Nullable final EncodedAttachmentCache attachmentCache)
 			throws MessagingException {
 		val attachmentResources = orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getAttachments);
 		for (final AttachmentResource attachment : attachmentResources) {
-			multipartRoot.addBodyPart(getBodyPartFromDatasource(attachment, Part.ATTACHMENT));
+			multipartRoot.addBodyPart(getBodyPartFromDatasource(attachment, Part.ATTACHMENT, attachmentCache));
 		}
 	}
 
@@ -221,17 +224,26 @@ public class MimeMessageHelper {
 	 */
 	static void setHeaders(@NotNull final Email email, final EmailGovernance governance, final Message message)
 			throws UnsupportedEncodingException, MessagingException {
-		val collectedHeaders = new HashMap<String, Collection<String>>();
-		if (governance.getEmailDefaults() != null) {
-			addOrOverrideHeaders(collectedHeaders, governance.getEmailDefaults().getHeaders());
+		// the governance headers are encoded and folded once per governance, only the email's own headers are encoded here
+		val governanceHeaders = EncodedGovernanceHeaders.of(governance);
+		/*
+			we don't merge header values that have the same key from defaults or overrides;
+			instead, we assume the use will always want to override the entire header
+		 */
+		val collectedHeaders = new HashMap<String, List<String>>();
+		governanceHeaders.getDefaultHeaders().forEach(collectedHeaders::put);
+		for (final Map.Entry<String, Collection<String>> header : email.getHeaders().entrySet()) {
+			// no need to encode headers that are overridden anyway
+			final List<String> overrideHeader = governanceHeaders.getOverrideHeaders().get(header.getKey());
+			collectedHeaders.put(header.getKey(), overrideHeader != null
+					? overrideHeader
+					: EncodedGovernanceHeaders.encodeHeaderValues(header.getKey(), header.getValue()));
 		}
-		addOrOverrideHeaders(collectedHeaders, email.getHeaders());
-		if (governance.getEmailOverrides() != null) {
-			addOrOverrideHeaders(collectedHeaders, governance.getEmailOverrides().getHeaders());
-		}
-		// add headers (for raw message headers we need to 'fold' them using MimeUtility
-		for (final Map.Entry<String, Collection<String>> header : collectedHeaders.entrySet()) {
-			setHeader(message, header);
+		governanceHeaders.getOverrideHeaders().forEach(collectedHeaders::put);
+		for (final Map.Entry<String, List<String>> header : collectedHeaders.entrySet()) {
+			for (final String foldedHeaderValue : header.getValue()) {
+				message.addHeader(header.getKey(), foldedHeaderValue);
+			}
 		}
 
 		val useDispositionNotificationTo = orOther(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getUseDispositionNotificationTo);
@@ -249,46 +261,33 @@ public class MimeMessageHelper {
 		}
 	}
 
-	private static void addOrOverrideHeaders(HashMap<String, Collection<String>> collectedHeaders, @NotNull Map<String, Collection<String>> headers) {
-		headers.forEach((headerKey, headerValues) -> {
-			collectedHeaders.putIfAbsent(headerKey, new ArrayList<>());
-			/*
-				we don't merge header values that have the same key from defaults or overrides;
-				instead, we assume the use will always want to override the entire header
-			 */
-			collectedHeaders.get(headerKey).clear();
-			collectedHeaders.get(headerKey).addAll(headerValues);
-		});
-	}
-
-	private static void setHeader(Message message, Map.Entry<String, Collection<String>> header) throws UnsupportedEncodingException, MessagingException {
-		for (final String headerValue : header.getValue()) {
-			final String headerName = header.getKey();
-			final String headerValueEncoded = MimeUtility.encodeText(headerValue, CHARACTER_ENCODING, null);
-			final String foldedHeaderValue = MimeUtility.fold(headerName.length() + 2, headerValueEncoded);
-			message.addHeader(header.getKey(), foldedHeaderValue);
-		}
-	}
-
 	/**
 	 * Helper method which generates a {@link BodyPart} from an {@link AttachmentResource} (from its {@link DataSource}) and a disposition type
 	 * ({@link Part#INLINE} or {@link Part#ATTACHMENT}). With this the attachment data can be converted into objects that fit in the email structure.
 	 * <p>
 	 * For every attachment and embedded image a header needs to be set.
+	 * <p>
+	 * If the mailer caches encoded attachments, the attachment is taken from the {@link EncodedAttachmentCache}, so it isn't encoded again for
+	 * every email.
 	 *
 	 * @param attachmentResource An object that describes the attachment and contains the actual content data.
 	 * @param dispositionType    The type of attachment, {@link Part#INLINE} or {@link Part#ATTACHMENT} .
+	 * @param attachmentCache    Optional cache of encoded attachments.
 	 *
 	 * @return An object with the attachment data read for placement in the email structure.
 	 * @throws MessagingException All BodyPart setters.
 	 */
-	private static BodyPart getBodyPartFromDatasource(final AttachmentResource attachmentResource, final String dispositionType)
+	private static BodyPart getBodyPartFromDatasource(final AttachmentResource attachmentResource, final String dispositionType,
+			@Nullable final EncodedAttachmentCache attachmentCache)
 			throws MessagingException {
-		final BodyPart attachmentPart = new MimeBodyPart();
+		final BodyPart encodedAttachmentPart = attachmentCache != null ? attachmentCache.createBodyPart(attachmentResource) : null;
+		final BodyPart attachmentPart = encodedAttachmentPart != null ? encodedAttachmentPart : new MimeBodyPart();
 		// setting headers isn't working nicely using the javax mail API, so let's do that manually
 		final String resourceName = determineResourceName(attachmentResource, true);
 		final String fileName = determineResourceName(attachmentResource, false);
-		attachmentPart.setDataHandler(new DataHandler(new NamedDataSource(fileName, attachmentResource.getDataSource())));
+		if (encodedAttachmentPart == null) {
+			attachmentPart.setDataHandler(new DataHandler(new NamedDataSource(fileName, attachmentResource.getDataSource())));
+		}
 		attachmentPart.setFileName(fileName);
 		final String contentType = attachmentResource.getDataSource().getContentType();
 		ParameterList pl = new ParameterList();
@@ -122,6 +122,10 @@ public final class MimeMessageParser {
 
 	/**
 	 * Extracts the content of a MimeMessage recursively.
+	 *
+	 * @param fetchAttachmentData Whether to copy the attachments and embedded images into memory. If false, their data sources read and decode the
+	 *                            content of their MIME part when needed, which for a message parsed from a {@link jakarta.mail.internet.SharedInputStream}
+	 *                            (such as a file) means the data isn't copied at all during parsing.
 	 */
 	public static ParsedMimeMessageComponents parseMimeMessage(@NotNull final MimeMessage mimeMessage, boolean fetchAttachmentData) {
 		final ParsedMimeMessageComponents parsedComponents = new ParsedMimeMessageComponents();
@@ -14,7 +14,7 @@ class MimeMessageProducerAlternative extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MimeMultipart multipartRootAlternative = new MimeMultipart("alternative");
 		MimeMessageHelper.setTexts(email, emailGovernance, multipartRootAlternative);
 		message.setContent(multipartRootAlternative);
@@ -3,6 +3,7 @@ package org.simplejavamail.converter.internal.mimemessage;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 
@@ -35,9 +36,28 @@ public final class MimeMessageProducerHelper {
 	}
 	
 	public static MimeMessage produceMimeMessage(final Email email, EmailGovernance emailGovernance, final Session session) throws UnsupportedEncodingException, MessagingException {
+		return produceMimeMessage(email, emailGovernance, session, false, null);
+	}
+
+	/**
+	 * @param directWriting   Whether to produce a message that writes its content directly when the email allows for it.
+	 * @param attachmentCache Optional cache from which the attachments and embedded images are taken in their encoded form.
+	 * @see DirectMimeMessageProducer
+	 * @see EncodedAttachmentCache
+	 */
+	public static MimeMessage produceMimeMessage(final Email email, EmailGovernance emailGovernance, final Session session, final boolean directWriting,
+			@Nullable final EncodedAttachmentCache attachmentCache)
+			throws UnsupportedEncodingException, MessagingException {
+		if (directWriting && DirectMimeMessageProducer.compatibleWithEmail(email, emailGovernance)) {
+			return DirectMimeMessageProducer.produceMimeMessage(email, emailGovernance, session, attachmentCache);
+		}
+		return findProducer(email).populateMimeMessage(email, emailGovernance, session, attachmentCache);
+	}
+
+	static SpecializedMimeMessageProducer findProducer(final Email email) {
 		for (SpecializedMimeMessageProducer mimeMessageProducer : mimeMessageProducers) {
 			if (mimeMessageProducer.compatibleWithEmail(email)) {
-				return mimeMessageProducer.populateMimeMessage(email, emailGovernance, session);
+				return mimeMessageProducer;
 			}
 		}
 		throw new IllegalStateException("no compatible SpecializedMimeMessageProducer found for email");
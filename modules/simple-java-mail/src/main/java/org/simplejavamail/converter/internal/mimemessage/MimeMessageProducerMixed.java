@@ -14,11 +14,11 @@ class MimeMessageProducerMixed extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MimeMultipart multipartRootMixed = new MimeMultipart("mixed");
 		MimeMessageHelper.setTexts(email, emailGovernance, multipartRootMixed);
 		MimeMessageHelper.configureForwarding(email, emailGovernance, multipartRootMixed);
-		MimeMessageHelper.setAttachments(email, emailGovernance, multipartRootMixed);
+		MimeMessageHelper.setAttachments(email, emailGovernance, multipartRootMixed, attachmentCache);
 		message.setContent(multipartRootMixed);
 	}
 }
\ No newline at end of file
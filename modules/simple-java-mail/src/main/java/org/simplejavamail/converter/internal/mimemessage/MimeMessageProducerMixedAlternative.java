@@ -16,12 +16,12 @@ class MimeMessageProducerMixedAlternative extends SpecializedMimeMessageProducer
 	
 	@SuppressWarnings("Duplicates")
 	@Override
-	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, emailGovernance, multipartStructureWrapper.multipartAlternativeMessages);
 		MimeMessageHelper.configureForwarding(email, emailGovernance, multipartStructureWrapper.multipartRootMixed);
-		MimeMessageHelper.setAttachments(email, emailGovernance, multipartStructureWrapper.multipartRootMixed);
+		MimeMessageHelper.setAttachments(email, emailGovernance, multipartStructureWrapper.multipartRootMixed, attachmentCache);
 		
 		message.setContent(multipartStructureWrapper.multipartRootMixed);
 	}
@@ -16,13 +16,13 @@ class MimeMessageProducerMixedRelated extends SpecializedMimeMessageProducer {
 	
 	@SuppressWarnings("Duplicates")
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MultipartStructureWrapper multipartStructureWrapper = new MultipartStructureWrapper();
 		
 		MimeMessageHelper.setTexts(email, emailGovernance, multipartStructureWrapper.multipartRelated);
 		MimeMessageHelper.configureForwarding(email, emailGovernance, multipartStructureWrapper.multipartRootMixed);
-		MimeMessageHelper.setEmbeddedImages(email, emailGovernance, multipartStructureWrapper.multipartRelated);
-		MimeMessageHelper.setAttachments(email, emailGovernance, multipartStructureWrapper.multipartRootMixed);
+		MimeMessageHelper.setEmbeddedImages(email, emailGovernance, multipartStructureWrapper.multipartRelated, attachmentCache);
+		MimeMessageHelper.setAttachments(email, emailGovernance, multipartStructureWrapper.multipartRootMixed, attachmentCache);
 		
 		message.setContent(multipartStructureWrapper.multipartRootMixed);
 	}
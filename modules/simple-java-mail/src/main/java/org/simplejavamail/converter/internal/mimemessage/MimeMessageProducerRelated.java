@@ -14,10 +14,10 @@ class MimeMessageProducerRelated extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MimeMultipart multipartRootRelated = new MimeMultipart("related");
 		MimeMessageHelper.setTexts(email, emailGovernance, multipartRootRelated);
-		MimeMessageHelper.setEmbeddedImages(email, emailGovernance, multipartRootRelated);
+		MimeMessageHelper.setEmbeddedImages(email, emailGovernance, multipartRootRelated, attachmentCache);
 		message.setContent(multipartRootRelated);
 	}
 }
\ No newline at end of file
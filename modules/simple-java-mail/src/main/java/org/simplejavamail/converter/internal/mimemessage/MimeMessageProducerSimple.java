@@ -24,7 +24,7 @@ class MimeMessageProducerSimple extends SpecializedMimeMessageProducer {
 	}
 	
 	@Override
-	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance) throws MessagingException {
+	public void populateMimeMessageMultipartStructure(MimeMessage message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException {
 		MimeMessageHelper.setTexts(email, emailGovernance, message);
 	}
 }
\ No newline at end of file
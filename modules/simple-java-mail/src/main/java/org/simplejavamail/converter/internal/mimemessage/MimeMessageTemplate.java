@@ -0,0 +1,163 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.Header;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.ofNullable;
+import static org.simplejavamail.internal.util.MiscUtil.orOther;
+import static org.simplejavamail.internal.util.MiscUtil.orOtherList;
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+
+/**
+ * A template email compiled for a mail merge, where many emails are copied from the template (see
+ * {@link org.simplejavamail.email.EmailBuilder#copying(Email)}) that differ from it only in their id, recipients, subject, texts and sent date.
+ * <p>
+ * Compiling builds what the emails share once: the MIME structure with its boundaries, the embedded images and attachments in their transfer
+ * encoded form (kept outside the heap) and the header block with the sender, reply-to, custom and governance headers. Producing the next email
+ * only adds the parts that vary and writes the rest as compiled, so the rest of each email is taken from the template, whatever the email itself
+ * holds. An email whose texts need another structure than the template's (such as HTML only, where the template also has plain text) is
+ * produced as usual.
+ * <p>
+ * Templates that are signed or encrypted with S/MIME, signed with DKIM, forward an email or have attachments of a composite type can't be written
+ * that way (see {@link DirectMimeMessageProducer}). For those, compiling selects the {@link SpecializedMimeMessageProducer} and encodes the
+ * attachments and embedded images once, so that producing the next email still rebuilds its structure and headers, but not its attachments.
+ * <p>
+ * A compiled template can produce emails from multiple threads.
+ */
+public final class MimeMessageTemplate {
+
+	/**
+	 * The headers that {@link #produceMimeMessage(Email)} sets per email, or that the message sets itself when it is saved.
+	 */
+	private static final String[] PER_EMAIL_HEADERS = { "Subject", "To", "Cc", "Bcc", "Date", "Message-ID", "MIME-Version", "Content-Type",
+			"Content-Transfer-Encoding" };
+
+	@NotNull private final EmailGovernance emailGovernance;
+	@NotNull private final Session session;
+	@NotNull private final SpecializedMimeMessageProducer producer;
+	@Nullable private final DirectMimeMessage.Skeleton skeleton;
+	@NotNull private final List<Header> headers;
+	@Nullable private final String envelopeFrom;
+	@Nullable private final EncodedAttachmentCache encodedAttachments;
+
+	private MimeMessageTemplate(@NotNull final EmailGovernance emailGovernance, @NotNull final Session session,
+			@NotNull final SpecializedMimeMessageProducer producer, @Nullable final DirectMimeMessage.Skeleton skeleton,
+			@NotNull final List<Header> headers, @Nullable final String envelopeFrom, @Nullable final EncodedAttachmentCache encodedAttachments) {
+		this.emailGovernance = emailGovernance;
+		this.session = session;
+		this.producer = producer;
+		this.skeleton = skeleton;
+		this.headers = headers;
+		this.envelopeFrom = envelopeFrom;
+		this.encodedAttachments = encodedAttachments;
+	}
+
+	/**
+	 * @param template        The email from which the emails of the mail merge will be copied.
+	 * @param emailGovernance The governance applied to every produced email, which also contributes attachments, embedded images and headers.
+	 * @param session         The session for every produced email.
+	 */
+	@NotNull
+	public static MimeMessageTemplate compile(@NotNull final Email template, @NotNull final EmailGovernance emailGovernance, @NotNull final Session session)
+			throws MessagingException {
+		checkNonEmptyArgument(template, "template");
+		final SpecializedMimeMessageProducer producer = MimeMessageProducerHelper.findProducer(template);
+		if (DirectMimeMessageProducer.compatibleWithEmail(template, emailGovernance)) {
+			return compileSkeleton(template, emailGovernance, session, producer);
+		}
+
+		// sized to hold all of the template's attachments, so none of them is evicted, and sealed so it holds nothing else
+		final EncodedAttachmentCache encodedAttachments = new EncodedAttachmentCache(Long.MAX_VALUE);
+		for (final AttachmentResource attachmentResource : orOtherList(template, emailGovernance.getEmailDefaults(), emailGovernance.getEmailOverrides(), Email::getEmbeddedImages)) {
+			encodedAttachments.lookup(attachmentResource);
+		}
+		for (final AttachmentResource attachmentResource : orOtherList(template, emailGovernance.getEmailDefaults(), emailGovernance.getEmailOverrides(), Email::getAttachments)) {
+			encodedAttachments.lookup(attachmentResource);
+		}
+		encodedAttachments.seal();
+		return new MimeMessageTemplate(emailGovernance, session, producer, null, Collections.emptyList(), null, encodedAttachments);
+	}
+
+	/**
+	 * Produces the template's own message from a compiled skeleton, and keeps the headers it shares with every email.
+	 */
+	@NotNull
+	private static MimeMessageTemplate compileSkeleton(@NotNull final Email template, @NotNull final EmailGovernance emailGovernance,
+			@NotNull final Session session, @NotNull final SpecializedMimeMessageProducer producer)
+			throws MessagingException {
+		final List<DirectMimeMessage.TextContent> texts = DirectMimeMessageProducer.determineTexts(template, emailGovernance);
+		final DirectMimeMessage.Skeleton skeleton;
+		final MimeMessage message;
+		try {
+			skeleton = DirectMimeMessageProducer.createSkeleton(template, emailGovernance, texts, null).compile();
+			message = DirectMimeMessageProducer.produceMimeMessage(template, emailGovernance, session, texts, skeleton);
+		} catch (IOException e) {
+			throw new MessagingException("Error encoding the template's attachments", e);
+		}
+		final List<Header> headers = unmodifiableList(Collections.list(message.getNonMatchingHeaders(PER_EMAIL_HEADERS)));
+		val bounceToRecipient = orOther(template, emailGovernance.getEmailDefaults(), emailGovernance.getEmailOverrides(), Email::getBounceToRecipient);
+		return new MimeMessageTemplate(emailGovernance, session, producer, skeleton, headers,
+				bounceToRecipient != null ? bounceToRecipient.getAddress() : null, null);
+	}
+
+	/**
+	 * Produces a MimeMessage for an email copied from the template, with the structure, attachments, embedded images and shared headers as
+	 * compiled.
+	 *
+	 * @param email An email copied from the template, usually with other recipients and personalised texts.
+	 */
+	@NotNull
+	public MimeMessage produceMimeMessage(@NotNull final Email email)
+			throws UnsupportedEncodingException, MessagingException {
+		checkNonEmptyArgument(email, "email");
+		if (skeleton != null) {
+			final List<DirectMimeMessage.TextContent> texts = DirectMimeMessageProducer.determineTexts(email, emailGovernance);
+			if (!skeleton.fits(texts)) {
+				return DirectMimeMessageProducer.produceMimeMessage(email, emailGovernance, session, null);
+			}
+			final DirectMimeMessage message = new DirectMimeMessage(session, email.getId(), texts, skeleton);
+			for (final Header header : headers) {
+				// the values are kept as they were encoded and folded for the template
+				message.addHeader(header.getName(), header.getValue());
+			}
+			MimeMessageHelper.setSubject(email, emailGovernance, message);
+			MimeMessageHelper.setRecipients(email, emailGovernance, message);
+			message.setSentDate(ofNullable(email.getSentDate()).orElse(new Date()));
+			if (envelopeFrom != null) {
+				message.setEnvelopeFrom(envelopeFrom);
+			}
+			return message;
+		}
+		final SpecializedMimeMessageProducer emailProducer = producer.compatibleWithEmail(email) ? producer : MimeMessageProducerHelper.findProducer(email);
+		return emailProducer.populateMimeMessage(email, emailGovernance, session, encodedAttachments);
+	}
+
+	/**
+	 * @return Whether the template is written from a compiled structure and header block, rather than produced per email.
+	 */
+	boolean isCompiledStructure() {
+		return skeleton != null;
+	}
+
+	/**
+	 * @return The number of distinct attachments and embedded images this template encoded in advance for producing emails per email.
+	 */
+	int encodedAttachmentCount() {
+		return encodedAttachments != null ? encodedAttachments.size() : 0;
+	}
+}
@@ -5,9 +5,11 @@ import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
 
 import java.io.UnsupportedEncodingException;
 import java.util.Date;
@@ -39,7 +41,10 @@ public abstract class SpecializedMimeMessageProducer {
 	 */
 	abstract boolean compatibleWithEmail(@NotNull Email email);
 	
-	final MimeMessage populateMimeMessage(final Email email, final EmailGovernance emailGovernance, @NotNull Session session)
+	/**
+	 * @param attachmentCache Optional cache from which the attachments and embedded images are taken in their encoded form.
+	 */
+	final MimeMessage populateMimeMessage(final Email email, final EmailGovernance emailGovernance, @NotNull Session session, @Nullable EncodedAttachmentCache attachmentCache)
 			throws MessagingException, UnsupportedEncodingException {
 		checkArgumentNotEmpty(email, "email is missing");
 		checkArgumentNotEmpty(session, "session is needed, it cannot be attached later");
@@ -70,7 +75,7 @@ public abstract class SpecializedMimeMessageProducer {
 		MimeMessageHelper.setReplyTo(email, emailGovernance, message);
 		MimeMessageHelper.setRecipients(email, emailGovernance, message);
 		
-		populateMimeMessageMultipartStructure(message, email, emailGovernance);
+		populateMimeMessageMultipartStructure(message, email, emailGovernance, attachmentCache);
 		
 		MimeMessageHelper.setHeaders(email, emailGovernance, message);
 		message.setSentDate(ofNullable(email.getSentDate()).orElse(new Date()));
@@ -98,7 +103,7 @@ public abstract class SpecializedMimeMessageProducer {
 		return message;
 	}
 
-	abstract void populateMimeMessageMultipartStructure(MimeMessage  message, Email email, EmailGovernance emailGovernance) throws MessagingException;
+	abstract void populateMimeMessageMultipartStructure(MimeMessage  message, Email email, EmailGovernance emailGovernance, EncodedAttachmentCache attachmentCache) throws MessagingException;
 	
 	
 	static boolean emailContainsMixedContent(@NotNull Email email) {
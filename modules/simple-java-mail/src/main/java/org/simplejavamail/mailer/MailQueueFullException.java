@@ -0,0 +1,19 @@
+package org.simplejavamail.mailer;
+
+import org.simplejavamail.MailException;
+
+/**
+ * Thrown when an async send is refused because the executor's work queue is full.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+ * @see org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy#FAIL
+ */
+@SuppressWarnings("serial")
+public class MailQueueFullException extends MailException {
+
+	static final String QUEUE_FULL = "Unable to queue email for async sending, reason: the executor's work queue is full";
+
+	public MailQueueFullException(final Throwable cause) {
+		super(QUEUE_FULL, cause);
+	}
+}
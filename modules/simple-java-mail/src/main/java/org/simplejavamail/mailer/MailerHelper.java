@@ -14,6 +14,7 @@ import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.slf4j.Logger;
 
+import java.security.cert.X509Certificate;
 import java.util.Collection;
 import java.util.Map;
 
@@ -236,4 +237,43 @@ public class MailerHelper {
 		return ModuleLoader.loadSmimeModule()
 				.signAndOrEncryptEmail(session, messageToProtect, emailContainingSmimeDetails, defaultSmimeSigningStore);
 	}
+
+	/**
+	 * Encrypts the message for several recipients at once, so the content is encrypted only once, no matter the number of recipients.
+	 *
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#encryptMessage(Session, MimeMessage, Collection)
+	 */
+	@SuppressWarnings("unused")
+	public static MimeMessage encryptMessageWithSmime(@Nullable final Session session, @NotNull final MimeMessage messageToProtect, @NotNull final Collection<X509Certificate> certificates) {
+		return ModuleLoader.loadSmimeModule().encryptMessage(session, messageToProtect, certificates);
+	}
+
+	/**
+	 * Decrypts the S/MIME private key from the keystore ahead of time, so signing emails with it doesn't have to. Mailers do this automatically for
+	 * their default S/MIME signing keystore. Unlike with mailers, a keystore that can't be decrypted results in an exception here.
+	 *
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#preloadSmimeKey(Pkcs12Config)
+	 */
+	@SuppressWarnings("unused")
+	public static void preloadSmimeKey(@NotNull final Pkcs12Config pkcs12Config) {
+		ModuleLoader.loadSmimeModule().preloadSmimeKey(pkcs12Config);
+	}
+
+	/**
+	 * @return The number of times signing an email with S/MIME found the decrypted private key in the cache, for monitoring purposes.
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#getSmimeKeyCacheHits()
+	 */
+	@SuppressWarnings("unused")
+	public static long getSmimeKeyCacheHits() {
+		return ModuleLoader.loadSmimeModule().getSmimeKeyCacheHits();
+	}
+
+	/**
+	 * @return The number of times signing an email with S/MIME had to decrypt the private key from its keystore, for monitoring purposes.
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#getSmimeKeyCacheMisses()
+	 */
+	@SuppressWarnings("unused")
+	public static long getSmimeKeyCacheMisses() {
+		return ModuleLoader.loadSmimeModule().getSmimeKeyCacheMisses();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package org.simplejavamail.mailer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.MailerMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MailerMetrics} that publishes to a Micrometer {@link MeterRegistry}. Requires {@code io.micrometer:micrometer-core} on the classpath.
+ * <p>
+ * Registers the following meters, all with the tags given in the constructor:
+ * <ul>
+ *     <li>{@value #VALIDATION}, {@value #MIME_MESSAGE_PRODUCTION}, {@value #TRANSPORT_CLAIM} and {@value #SMTP_TRANSFER} timers</li>
+ *     <li>{@value #MESSAGE_SIZE} distribution summary in bytes</li>
+ *     <li>{@value #EMAILS_SENT} counter, and {@value #EMAILS_FAILED} counter tagged with the {@code exception} that caused the failure</li>
+ *     <li>{@value #ASYNC_QUEUE_DEPTH} gauge, which only holds a weak reference to the mailer</li>
+ * </ul>
+ * When multiple mailers publish to the same registry, give each its own tags to tell their queue depths apart.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+ */
+public class MicrometerMailerMetrics implements MailerMetrics {
+
+	public static final String VALIDATION = "simplejavamail.validation";
+	public static final String MIME_MESSAGE_PRODUCTION = "simplejavamail.mimemessage.production";
+	public static final String TRANSPORT_CLAIM = "simplejavamail.transport.claim";
+	public static final String SMTP_TRANSFER = "simplejavamail.smtp.transfer";
+	public static final String MESSAGE_SIZE = "simplejavamail.message.size";
+	public static final String EMAILS_SENT = "simplejavamail.emails.sent";
+	public static final String EMAILS_FAILED = "simplejavamail.emails.failed";
+	public static final String ASYNC_QUEUE_DEPTH = "simplejavamail.async.queue.depth";
+
+	@NotNull private final MeterRegistry registry;
+	@NotNull private final Tags tags;
+	@NotNull private final Timer validation;
+	@NotNull private final Timer mimeMessageProduction;
+	@NotNull private final Timer transportClaim;
+	@NotNull private final Timer smtpTransfer;
+	@NotNull private final DistributionSummary messageSize;
+	@NotNull private final Counter emailsSent;
+
+	public MicrometerMailerMetrics(@NotNull final MeterRegistry registry) {
+		this(registry, Tags.empty());
+	}
+
+	public MicrometerMailerMetrics(@NotNull final MeterRegistry registry, @NotNull final Iterable<Tag> tags) {
+		this.registry = registry;
+		this.tags = Tags.of(tags);
+		this.validation = Timer.builder(VALIDATION).description("Time spent validating emails").tags(this.tags).register(registry);
+		this.mimeMessageProduction = Timer.builder(MIME_MESSAGE_PRODUCTION).description("Time spent producing MIME messages").tags(this.tags).register(registry);
+		this.transportClaim = Timer.builder(TRANSPORT_CLAIM).description("Time spent waiting for an SMTP connection").tags(this.tags).register(registry);
+		this.smtpTransfer = Timer.builder(SMTP_TRANSFER).description("Time spent transferring messages to the SMTP server").tags(this.tags).register(registry);
+		this.messageSize = DistributionSummary.builder(MESSAGE_SIZE).description("Size of messages transferred to the SMTP server").baseUnit("bytes")
+				.tags(this.tags).register(registry);
+		this.emailsSent = Counter.builder(EMAILS_SENT).description("Emails sent successfully").tags(this.tags).register(registry);
+	}
+
+	@Override
+	public void recordValidation(final long durationNanos) {
+		validation.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordMimeMessageProduction(final long durationNanos) {
+		mimeMessageProduction.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordTransportClaim(final long durationNanos) {
+		transportClaim.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordSmtpTransfer(final long durationNanos) {
+		smtpTransfer.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void recordMessageSize(final long sizeBytes) {
+		messageSize.record(sizeBytes);
+	}
+
+	@Override
+	public void emailSent() {
+		emailsSent.increment();
+	}
+
+	@Override
+	public void emailFailed(@NotNull final Throwable cause) {
+		// the registry returns the existing counter for a known exception type
+		Counter.builder(EMAILS_FAILED).description("Emails that could not be sent")
+				.tags(tags).tag("exception", cause.getClass().getSimpleName())
+				.register(registry)
+				.increment();
+	}
+
+	@Override
+	public void monitorAsyncQueueDepth(@NotNull final Mailer mailer) {
+		Gauge.builder(ASYNC_QUEUE_DEPTH, mailer, Mailer::getAsyncQueueDepth).description("Emails waiting to be sent asynchronously")
+				.tags(tags).register(registry);
+	}
+
+	@Override
+	public String toString() {
+		return "MicrometerMailerMetrics{registry=" + registry.getClass().getSimpleName() + ", tags=" + tags + "}";
+	}
+}
@@ -46,6 +46,13 @@ public abstract class AbstractProxyServerSyncingClosure implements Runnable {
 
 	abstract void executeClosure();
 
+	/**
+	 * For when the closure won't be run after all (for example because the executor refused it), so it doesn't keep the proxy server running.
+	 */
+	void abandon() {
+		shutDownProxyServerIfRunningAndCurrentBatchCompleted();
+	}
+
 	private void startProxyServerIfNeeded() {
 		if (proxyServer != null) {
 			synchronized (proxyServer) {
@@ -16,6 +16,10 @@ class MailerException extends MailException {
 	static final String GENERIC_ERROR = "Failed to send email [%s], reason: Third party error";
 	static final String INVALID_ENCODING = "Failed to send email [%s], reason: Encoding not accepted";
 	static final String UNKNOWN_ERROR = "Failed to send email [%s], reason: Unknown error";
+	static final String ERROR_SPOOLING = "Failed to spool email [%s]";
+	static final String ERROR_OPENING_SPOOL = "Unable to open spool directory %s";
+	static final String INTERRUPTED_BULK_SEND = "Interrupted while waiting for in-flight emails to be processed";
+	static final String INTERRUPTED_RATE_LIMITING = "Interrupted while waiting for the send rate limit";
 
 	MailerException(@SuppressWarnings("SameParameterValue") final String message) {
 		super(message);
@@ -8,11 +8,15 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.CustomMailer;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
+import org.simplejavamail.api.mailer.MailerMetrics;
+import org.simplejavamail.api.mailer.NoOpMailerMetrics;
+import org.simplejavamail.api.mailer.config.DomainLimits;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 
 import java.io.File;
@@ -21,7 +25,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
@@ -89,6 +95,18 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@NotNull
 	private Integer proxyBridgePort;
 	
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeBufferSize(Integer)
+	 */
+	@NotNull
+	private Integer proxyBridgeBufferSize;
+	
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeMaxConnections(Integer)
+	 */
+	@NotNull
+	private Integer proxyBridgeMaxConnections;
+	
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
 	 */
@@ -147,6 +165,29 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@NotNull
 	private Integer threadPoolKeepAliveTime;
 
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	@NotNull
+	private Integer threadPoolQueueCapacity;
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)
+	 */
+	@NotNull
+	private ThreadPoolOverflowPolicy threadPoolOverflowPolicy;
+
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	private boolean virtualThreads;
+
+	/**
+	 * @see MailerGenericBuilder#withSpoolDirectory(File)
+	 */
+	@Nullable
+	private File spoolDirectory;
+
 	/**
 	 * @see MailerGenericBuilder#withClusterKey(UUID)
 	 */
@@ -183,6 +224,60 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@NotNull
 	private LoadBalancingStrategy connectionPoolLoadBalancingStrategy;
 
+	/**
+	 * @see MailerGenericBuilder#withBulkSendBatchSize(Integer)
+	 */
+	@NotNull
+	private Integer bulkSendBatchSize;
+
+	/**
+	 * @see MailerGenericBuilder#withBulkSendMaxInFlight(Integer)
+	 */
+	@NotNull
+	private Integer bulkSendMaxInFlight;
+
+	/**
+	 * @see MailerGenericBuilder#withSendRetries(Integer)
+	 */
+	@NotNull
+	private Integer sendRetries;
+
+	/**
+	 * @see MailerGenericBuilder#withSendRetryDelayMillis(Integer)
+	 */
+	@NotNull
+	private Integer sendRetryDelayMillis;
+
+	/**
+	 * @see MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+	 */
+	@NotNull
+	private Integer maxConnectionsPerDomain;
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	@NotNull
+	private Integer maxMessagesPerSecondPerDomain;
+
+	/**
+	 * @see MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+	 */
+	@NotNull
+	private final Map<String, DomainLimits> domainLimits = new HashMap<>();
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+	 */
+	@NotNull
+	private Integer maxMessagesPerSecond;
+
+	/**
+	 * @see MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+	 */
+	@NotNull
+	private Integer clusterMaxMessagesPerSecond;
+
 	/**
 	 * @see MailerGenericBuilder#trustingSSLHosts(String...)
 	 */
@@ -210,11 +305,33 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	private boolean transportModeLoggingOnly;
 
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	private boolean smtpPipelining;
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeWriting(Boolean)
+	 */
+	private boolean directMimeWriting;
+
+	/**
+	 * @see MailerGenericBuilder#withAttachmentEncodingCacheSize(Integer)
+	 */
+	@NotNull
+	private Integer attachmentEncodingCacheSize;
+
 	/**
 	 * @see MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
 	@Nullable
 	private CustomMailer customMailer;
+
+	/**
+	 * @see MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+	 */
+	@NotNull
+	private MailerMetrics mailerMetrics = NoOpMailerMetrics.INSTANCE;
 	
 	/**
 	 * Sets defaults configured for proxy host, proxy port, proxy username, proxy password and proxy bridge port (used in authenticated proxy).
@@ -237,6 +354,8 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 
 		this.proxyPort 								= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.PROXY_PORT, DEFAULT_PROXY_PORT));
 		this.proxyBridgePort 						= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.PROXY_SOCKS5BRIDGE_PORT, DEFAULT_PROXY_BRIDGE_PORT));
+		this.proxyBridgeBufferSize 					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.PROXY_SOCKS5BRIDGE_BUFFER_SIZE, DEFAULT_PROXY_BRIDGE_BUFFER_SIZE));
+		this.proxyBridgeMaxConnections 				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.PROXY_SOCKS5BRIDGE_MAX_CONNECTIONS, DEFAULT_PROXY_BRIDGE_MAX_CONNECTIONS));
 		this.disableAllClientValidation				= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.DISABLE_ALL_CLIENTVALIDATION, DEFAULT_DISABLE_ALL_CLIENTVALIDATION));
 		this.debugLogging 							= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.JAVAXMAIL_DEBUG, DEFAULT_JAVAXMAIL_DEBUG));
 		this.sessionTimeout 						= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_SESSION_TIMEOUT_MILLIS, DEFAULT_SESSION_TIMEOUT_MILLIS));
@@ -244,12 +363,31 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		this.verifyingServerIdentity 				= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.DEFAULT_VERIFY_SERVER_IDENTITY, DEFAULT_VERIFY_SERVER_IDENTITY));
 		this.threadPoolSize 						= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_POOL_SIZE, DEFAULT_POOL_SIZE));
 		this.threadPoolKeepAliveTime 				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_POOL_KEEP_ALIVE_TIME, DEFAULT_POOL_KEEP_ALIVE_TIME));
+		this.threadPoolQueueCapacity 				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_POOL_QUEUE_CAPACITY, DEFAULT_POOL_QUEUE_CAPACITY));
+		this.threadPoolOverflowPolicy 				= verifyNonnullOrEmpty(valueOrProperty(null, Property.DEFAULT_POOL_OVERFLOW_POLICY, ThreadPoolOverflowPolicy.valueOf(DEFAULT_POOL_OVERFLOW_POLICY)));
+		this.virtualThreads 						= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.DEFAULT_VIRTUAL_THREADS, DEFAULT_VIRTUAL_THREADS));
 		this.connectionPoolCoreSize 				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_CONNECTIONPOOL_CORE_SIZE, DEFAULT_CONNECTIONPOOL_CORE_SIZE));
 		this.connectionPoolMaxSize 					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_CONNECTIONPOOL_MAX_SIZE, DEFAULT_CONNECTIONPOOL_MAX_SIZE));
 		this.connectionPoolClaimTimeoutMillis 		= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_CONNECTIONPOOL_CLAIMTIMEOUT_MILLIS, DEFAULT_CONNECTIONPOOL_CLAIMTIMEOUT_MILLIS));
 		this.connectionPoolExpireAfterMillis 		= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_CONNECTIONPOOL_EXPIREAFTER_MILLIS, DEFAULT_CONNECTIONPOOL_EXPIREAFTER_MILLIS));
 		this.connectionPoolLoadBalancingStrategy	= verifyNonnullOrEmpty(valueOrProperty(null, Property.DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY, LoadBalancingStrategy.valueOf(DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY)));
 		this.transportModeLoggingOnly 				= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.TRANSPORT_MODE_LOGGING_ONLY, DEFAULT_TRANSPORT_MODE_LOGGING_ONLY));
+		this.smtpPipelining 						= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.SMTP_PIPELINING, DEFAULT_SMTP_PIPELINING));
+		this.directMimeWriting 						= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.DIRECT_MIME_WRITING, DEFAULT_DIRECT_MIME_WRITING));
+		this.attachmentEncodingCacheSize 			= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.ATTACHMENT_ENCODING_CACHE_SIZE, DEFAULT_ATTACHMENT_ENCODING_CACHE_SIZE));
+		this.bulkSendBatchSize 						= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_BULK_SEND_BATCH_SIZE, DEFAULT_BULK_SEND_BATCH_SIZE));
+		this.bulkSendMaxInFlight 					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_BULK_SEND_MAX_IN_FLIGHT, DEFAULT_BULK_SEND_MAX_IN_FLIGHT));
+		this.sendRetries 							= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_SEND_RETRIES, DEFAULT_SEND_RETRIES));
+		this.sendRetryDelayMillis 					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_SEND_RETRY_DELAY_MILLIS, DEFAULT_SEND_RETRY_DELAY_MILLIS));
+		this.maxConnectionsPerDomain 				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_MAX_CONNECTIONS_PER_DOMAIN, DEFAULT_MAX_CONNECTIONS_PER_DOMAIN));
+		this.maxMessagesPerSecondPerDomain 			= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN, DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN));
+		this.maxMessagesPerSecond 					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_MAX_MESSAGES_PER_SECOND, DEFAULT_MAX_MESSAGES_PER_SECOND));
+		this.clusterMaxMessagesPerSecond 			= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND, DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND));
+
+		final String spoolDirectory = valueOrPropertyAsString(null, Property.DEFAULT_SPOOL_DIRECTORY, null);
+		if (spoolDirectory != null) {
+			this.spoolDirectory = new File(spoolDirectory);
+		}
 
 		final String trustedHosts = valueOrPropertyAsString(null, Property.DEFAULT_TRUSTED_HOSTS, null);
 		if (trustedHosts != null) {
@@ -273,7 +411,8 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	ProxyConfig buildProxyConfig() {
 		validateProxy();
-		return new ProxyConfigImpl(getProxyHost(), getProxyPort(), getProxyUsername(), getProxyPassword(), getProxyBridgePort());
+		return new ProxyConfigImpl(getProxyHost(), getProxyPort(), getProxyUsername(), getProxyPassword(), getProxyBridgePort(),
+				getProxyBridgeBufferSize(), getProxyBridgeMaxConnections());
 	}
 	
 	private void validateProxy() {
@@ -289,6 +428,12 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 			if (!valueNullOrEmpty(proxyUsername) && valueNullOrEmpty(proxyBridgePort)) {
 				throw new IllegalArgumentException("Cannot authenticate with proxy if no proxy bridge port is configured");
 			}
+			if (proxyBridgeBufferSize <= 0) {
+				throw new IllegalArgumentException("Proxy bridge buffer size must be positive");
+			}
+			if (proxyBridgeMaxConnections <= 0) {
+				throw new IllegalArgumentException("Proxy bridge max connections must be positive");
+			}
 		}
 	}
 
@@ -323,7 +468,21 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 				isVerifyingServerIdentity(),
 				getExecutorService() != null ? getExecutorService() : determineDefaultExecutorService(),
 				isExecutorServiceUserProvided(),
-				getCustomMailer());
+				getCustomMailer(),
+				getBulkSendBatchSize(),
+				getBulkSendMaxInFlight(),
+				isSmtpPipelining(),
+				getSpoolDirectory(),
+				getSendRetries(),
+				getSendRetryDelayMillis(),
+				getMaxConnectionsPerDomain(),
+				getMaxMessagesPerSecondPerDomain(),
+				new HashMap<>(getDomainLimits()),
+				getMaxMessagesPerSecond(),
+				getClusterMaxMessagesPerSecond(),
+				getMailerMetrics(),
+				isDirectMimeWriting(),
+				getAttachmentEncodingCacheSize());
 	}
 	
 	/**
@@ -399,6 +558,24 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		this.proxyBridgePort = proxyBridgePort;
 		return (T) this;
 	}
+	
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeBufferSize(Integer)
+	 */
+	@Override
+	public T withProxyBridgeBufferSize(@NotNull final Integer proxyBridgeBufferSize) {
+		this.proxyBridgeBufferSize = proxyBridgeBufferSize;
+		return (T) this;
+	}
+	
+	/**
+	 * @see MailerGenericBuilder#withProxyBridgeMaxConnections(Integer)
+	 */
+	@Override
+	public T withProxyBridgeMaxConnections(@NotNull final Integer proxyBridgeMaxConnections) {
+		this.proxyBridgeMaxConnections = proxyBridgeMaxConnections;
+		return (T) this;
+	}
 
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
@@ -545,6 +722,42 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	@Override
+	public T withThreadPoolQueueCapacity(@NotNull final Integer threadPoolQueueCapacity) {
+		this.threadPoolQueueCapacity = threadPoolQueueCapacity;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy)
+	 */
+	@Override
+	public T withThreadPoolOverflowPolicy(@NotNull final ThreadPoolOverflowPolicy threadPoolOverflowPolicy) {
+		this.threadPoolOverflowPolicy = threadPoolOverflowPolicy;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	@Override
+	public T withVirtualThreads(@NotNull final Boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withSpoolDirectory(File)
+	 */
+	@Override
+	public T withSpoolDirectory(@NotNull final File spoolDirectory) {
+		this.spoolDirectory = spoolDirectory;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withClusterKey(UUID)
 	 */
@@ -599,6 +812,87 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withBulkSendBatchSize(Integer)
+	 */
+	@Override
+	public T withBulkSendBatchSize(@NotNull final Integer bulkSendBatchSize) {
+		this.bulkSendBatchSize = bulkSendBatchSize;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withBulkSendMaxInFlight(Integer)
+	 */
+	@Override
+	public T withBulkSendMaxInFlight(@NotNull final Integer bulkSendMaxInFlight) {
+		this.bulkSendMaxInFlight = bulkSendMaxInFlight;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withSendRetries(Integer)
+	 */
+	@Override
+	public T withSendRetries(@NotNull final Integer sendRetries) {
+		this.sendRetries = sendRetries;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withSendRetryDelayMillis(Integer)
+	 */
+	@Override
+	public T withSendRetryDelayMillis(@NotNull final Integer sendRetryDelayMillis) {
+		this.sendRetryDelayMillis = sendRetryDelayMillis;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+	 */
+	@Override
+	public T withMaxConnectionsPerDomain(@NotNull final Integer maxConnectionsPerDomain) {
+		this.maxConnectionsPerDomain = maxConnectionsPerDomain;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	@Override
+	public T withMaxMessagesPerSecondPerDomain(@NotNull final Integer maxMessagesPerSecondPerDomain) {
+		this.maxMessagesPerSecondPerDomain = maxMessagesPerSecondPerDomain;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+	 */
+	@Override
+	public T withDomainLimits(@NotNull final String domain, @NotNull final Integer maxConnections, @NotNull final Integer maxMessagesPerSecond) {
+		this.domainLimits.put(domain.toLowerCase(Locale.ROOT), new DomainLimits(maxConnections, maxMessagesPerSecond));
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+	 */
+	@Override
+	public T withMaxMessagesPerSecond(@NotNull final Integer maxMessagesPerSecond) {
+		this.maxMessagesPerSecond = maxMessagesPerSecond;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+	 */
+	@Override
+	public T withClusterMaxMessagesPerSecond(@NotNull final Integer clusterMaxMessagesPerSecond) {
+		this.clusterMaxMessagesPerSecond = clusterMaxMessagesPerSecond;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)
 	 */
@@ -607,6 +901,33 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		this.transportModeLoggingOnly = transportModeLoggingOnly;
 		return (T) this;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	@Override
+	public T withSmtpPipelining(@NotNull final Boolean smtpPipelining) {
+		this.smtpPipelining = smtpPipelining;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withDirectMimeWriting(Boolean)
+	 */
+	@Override
+	public T withDirectMimeWriting(@NotNull final Boolean directMimeWriting) {
+		this.directMimeWriting = directMimeWriting;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withAttachmentEncodingCacheSize(Integer)
+	 */
+	@Override
+	public T withAttachmentEncodingCacheSize(@NotNull final Integer attachmentEncodingCacheSize) {
+		this.attachmentEncodingCacheSize = attachmentEncodingCacheSize;
+		return (T) this;
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#trustingSSLHosts(String...)
@@ -679,6 +1000,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+	 */
+	@Override
+	public T withMailerMetrics(@NotNull final MailerMetrics mailerMetrics) {
+		this.mailerMetrics = mailerMetrics;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#resetDisableAllClientValidations()
 	 */
@@ -731,7 +1061,8 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@NotNull
 	private ExecutorService determineDefaultExecutorService() {
 		return (ModuleLoader.batchModuleAvailable())
-				? ModuleLoader.loadBatchModule().createDefaultExecutorService(getThreadPoolSize(), getThreadPoolKeepAliveTime())
+				? ModuleLoader.loadBatchModule().createDefaultExecutorService(getThreadPoolSize(), getThreadPoolKeepAliveTime(),
+						getThreadPoolQueueCapacity(), getThreadPoolOverflowPolicy(), isVirtualThreads())
 				: Executors.newSingleThreadExecutor();
 	}
 
@@ -751,6 +1082,39 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return withThreadPoolKeepAliveTime(DEFAULT_POOL_KEEP_ALIVE_TIME);
 	}
 
+	/**
+	 * @see MailerGenericBuilder#resetThreadPoolQueueCapacity()
+	 */
+	@Override
+	public T resetThreadPoolQueueCapacity() {
+		return withThreadPoolQueueCapacity(DEFAULT_POOL_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetThreadPoolOverflowPolicy()
+	 */
+	@Override
+	public T resetThreadPoolOverflowPolicy() {
+		return withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy.valueOf(DEFAULT_POOL_OVERFLOW_POLICY));
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetVirtualThreads()
+	 */
+	@Override
+	public T resetVirtualThreads() {
+		return withVirtualThreads(DEFAULT_VIRTUAL_THREADS);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetSpoolDirectory()
+	 */
+	@Override
+	public T resetSpoolDirectory() {
+		this.spoolDirectory = null;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#resetClusterKey()
 	 */
@@ -799,6 +1163,78 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return this.withConnectionPoolLoadBalancingStrategy(LoadBalancingStrategy.valueOf(DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY));
 	}
 
+	/**
+	 * @see MailerGenericBuilder#resetBulkSendBatchSize()
+	 */
+	@Override
+	public T resetBulkSendBatchSize() {
+		return this.withBulkSendBatchSize(DEFAULT_BULK_SEND_BATCH_SIZE);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetBulkSendMaxInFlight()
+	 */
+	@Override
+	public T resetBulkSendMaxInFlight() {
+		return this.withBulkSendMaxInFlight(DEFAULT_BULK_SEND_MAX_IN_FLIGHT);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetSendRetries()
+	 */
+	@Override
+	public T resetSendRetries() {
+		return this.withSendRetries(DEFAULT_SEND_RETRIES);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetSendRetryDelayMillis()
+	 */
+	@Override
+	public T resetSendRetryDelayMillis() {
+		return this.withSendRetryDelayMillis(DEFAULT_SEND_RETRY_DELAY_MILLIS);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetMaxConnectionsPerDomain()
+	 */
+	@Override
+	public T resetMaxConnectionsPerDomain() {
+		return this.withMaxConnectionsPerDomain(DEFAULT_MAX_CONNECTIONS_PER_DOMAIN);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetMaxMessagesPerSecondPerDomain()
+	 */
+	@Override
+	public T resetMaxMessagesPerSecondPerDomain() {
+		return this.withMaxMessagesPerSecondPerDomain(DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetMaxMessagesPerSecond()
+	 */
+	@Override
+	public T resetMaxMessagesPerSecond() {
+		return this.withMaxMessagesPerSecond(DEFAULT_MAX_MESSAGES_PER_SECOND);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetClusterMaxMessagesPerSecond()
+	 */
+	@Override
+	public T resetClusterMaxMessagesPerSecond() {
+		return this.withClusterMaxMessagesPerSecond(DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetMailerMetrics()
+	 */
+	@Override
+	public T resetMailerMetrics() {
+		return this.withMailerMetrics(NoOpMailerMetrics.INSTANCE);
+	}
+
 	/**
 	 * @see MailerGenericBuilder#resetTransportModeLoggingOnly()
 	 */
@@ -806,6 +1242,30 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public T resetTransportModeLoggingOnly() {
 		return withTransportModeLoggingOnly(DEFAULT_TRANSPORT_MODE_LOGGING_ONLY);
 	}
+
+	/**
+	 * @see MailerGenericBuilder#resetSmtpPipelining()
+	 */
+	@Override
+	public T resetSmtpPipelining() {
+		return withSmtpPipelining(DEFAULT_SMTP_PIPELINING);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetDirectMimeWriting()
+	 */
+	@Override
+	public T resetDirectMimeWriting() {
+		return withDirectMimeWriting(DEFAULT_DIRECT_MIME_WRITING);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetAttachmentEncodingCacheSize()
+	 */
+	@Override
+	public T resetAttachmentEncodingCacheSize() {
+		return withAttachmentEncodingCacheSize(DEFAULT_ATTACHMENT_ENCODING_CACHE_SIZE);
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#clearProxy()
@@ -813,7 +1273,9 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	@Override
 	public T clearProxy() {
 		return (T) withProxy(null, null, null, null)
-				.withProxyBridgePort(DEFAULT_PROXY_BRIDGE_PORT);
+				.withProxyBridgePort(DEFAULT_PROXY_BRIDGE_PORT)
+				.withProxyBridgeBufferSize(DEFAULT_PROXY_BRIDGE_BUFFER_SIZE)
+				.withProxyBridgeMaxConnections(DEFAULT_PROXY_BRIDGE_MAX_CONNECTIONS);
 	}
 
 	/**
@@ -868,6 +1330,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		properties.clear();
 		return (T) this;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#clearDomainLimits()
+	 */
+	@Override
+	public T clearDomainLimits() {
+		domainLimits.clear();
+		return (T) this;
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#isAsync()
@@ -921,6 +1392,24 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public Integer getProxyBridgePort() {
 		return proxyBridgePort;
 	}
+	
+	/**
+	 * @see MailerGenericBuilder#getProxyBridgeBufferSize()
+	 */
+	@Override
+	@NotNull
+	public Integer getProxyBridgeBufferSize() {
+		return proxyBridgeBufferSize;
+	}
+	
+	/**
+	 * @see MailerGenericBuilder#getProxyBridgeMaxConnections()
+	 */
+	@Override
+	@NotNull
+	public Integer getProxyBridgeMaxConnections() {
+		return proxyBridgeMaxConnections;
+	}
 
 	/**
 	 * @see MailerGenericBuilder#isDebugLogging()
@@ -1018,6 +1507,41 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return threadPoolKeepAliveTime;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#getThreadPoolQueueCapacity()
+	 */
+	@Override
+	@NotNull
+	public Integer getThreadPoolQueueCapacity() {
+		return threadPoolQueueCapacity;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getThreadPoolOverflowPolicy()
+	 */
+	@Override
+	@NotNull
+	public ThreadPoolOverflowPolicy getThreadPoolOverflowPolicy() {
+		return threadPoolOverflowPolicy;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#isVirtualThreads()
+	 */
+	@Override
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSpoolDirectory()
+	 */
+	@Override
+	@Nullable
+	public File getSpoolDirectory() {
+		return spoolDirectory;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#getClusterKey()
 	 */
@@ -1072,6 +1596,87 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return connectionPoolLoadBalancingStrategy;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#getBulkSendBatchSize()
+	 */
+	@Override
+	@NotNull
+	public Integer getBulkSendBatchSize() {
+		return bulkSendBatchSize;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getBulkSendMaxInFlight()
+	 */
+	@Override
+	@NotNull
+	public Integer getBulkSendMaxInFlight() {
+		return bulkSendMaxInFlight;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSendRetries()
+	 */
+	@Override
+	@NotNull
+	public Integer getSendRetries() {
+		return sendRetries;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSendRetryDelayMillis()
+	 */
+	@Override
+	@NotNull
+	public Integer getSendRetryDelayMillis() {
+		return sendRetryDelayMillis;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getMaxConnectionsPerDomain()
+	 */
+	@Override
+	@NotNull
+	public Integer getMaxConnectionsPerDomain() {
+		return maxConnectionsPerDomain;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getMaxMessagesPerSecondPerDomain()
+	 */
+	@Override
+	@NotNull
+	public Integer getMaxMessagesPerSecondPerDomain() {
+		return maxMessagesPerSecondPerDomain;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getDomainLimits()
+	 */
+	@Override
+	@NotNull
+	public Map<String, DomainLimits> getDomainLimits() {
+		return domainLimits;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getMaxMessagesPerSecond()
+	 */
+	@Override
+	@NotNull
+	public Integer getMaxMessagesPerSecond() {
+		return maxMessagesPerSecond;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getClusterMaxMessagesPerSecond()
+	 */
+	@Override
+	@NotNull
+	public Integer getClusterMaxMessagesPerSecond() {
+		return clusterMaxMessagesPerSecond;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#getSslHostsToTrust()
 	 */
@@ -1104,6 +1709,31 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public boolean isTransportModeLoggingOnly() {
 		return transportModeLoggingOnly;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#isSmtpPipelining()
+	 */
+	@Override
+	public boolean isSmtpPipelining() {
+		return smtpPipelining;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#isDirectMimeWriting()
+	 */
+	@Override
+	public boolean isDirectMimeWriting() {
+		return directMimeWriting;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getAttachmentEncodingCacheSize()
+	 */
+	@Override
+	@NotNull
+	public Integer getAttachmentEncodingCacheSize() {
+		return attachmentEncodingCacheSize;
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#getProperties()
@@ -1122,4 +1752,13 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public CustomMailer getCustomMailer() {
 		return customMailer;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @see MailerGenericBuilder#getMailerMetrics()
+	 */
+	@Override
+	@NotNull
+	public MailerMetrics getMailerMetrics() {
+		return mailerMetrics;
+	}
+}
@@ -1,15 +1,20 @@
 package org.simplejavamail.mailer.internal;
 
 import com.sanctionco.jmail.EmailValidator;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
 import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.internal.batchsupport.MailSpool;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.ServerConfig;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
@@ -17,17 +22,35 @@ import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
+import org.simplejavamail.mailer.MailQueueFullException;
 import org.simplejavamail.mailer.MailerHelper;
+import org.simplejavamail.mailer.internal.util.DomainRouter;
+import org.simplejavamail.mailer.internal.util.PipeliningSMTPTransport;
+import org.simplejavamail.mailer.internal.util.SendRateLimiter;
 import org.simplejavamail.mailer.internal.util.SmtpAuthenticator;
+import org.simplejavamail.mailer.internal.util.SmtpFailureClassifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_OAUTH2;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.findStrategyForSession;
@@ -93,6 +116,32 @@ public class MailerImpl implements Mailer {
 	@NotNull
 	private final ProxyConfig proxyConfig;
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSpoolDirectory(java.io.File)
+	 */
+	@Nullable
+	private final MailSpool spool;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+	 */
+	@NotNull
+	private final SendRateLimiter rateLimiter;
+
+	/**
+	 * The router of the mailer's cluster, if the cluster has per-domain limits at the moment this mailer joined it.
+	 *
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+	 */
+	@Nullable
+	private final DomainRouter domainRouter;
+
+	/**
+	 * Makes sure cluster-wide resources are released only once, no matter how often the connection pool is shut down.
+	 */
+	private final AtomicBoolean clusterResourcesReleased = new AtomicBoolean();
+
 	MailerImpl(@NotNull final MailerFromSessionBuilderImpl fromSessionBuilder) {
 		this(null,
 				null,
@@ -125,7 +174,12 @@ public class MailerImpl implements Mailer {
 		TransportStrategy effectiveTransportStrategy = ofNullable(transportStrategy).orElse(findStrategyForSession(session));
 		this.proxyServer = configureSessionWithProxy(proxyConfig, operationalConfig, session, effectiveTransportStrategy);
 		initSession(session, operationalConfig, emailGovernance, effectiveTransportStrategy);
+		this.domainRouter = DomainRouter.registerToCluster(operationalConfig);
 		initCluster(session, operationalConfig);
+		preloadSmimeSigningKey(emailGovernance);
+		this.rateLimiter = new SendRateLimiter(operationalConfig);
+		this.spool = openSpoolIfConfigured(operationalConfig);
+		operationalConfig.getMailerMetrics().monitorAsyncQueueDepth(this);
 	}
 
 	/**
@@ -194,10 +248,26 @@ public class MailerImpl implements Mailer {
 		configureSessionWithTimeout(session, operationalConfig.getSessionTimeout(), transportStrategy);
 		configureTrustedHosts(session, operationalConfig, transportStrategy);
 		configureServerIdentityVerification(session, operationalConfig, transportStrategy);
+		configureSmtpPipelining(session, operationalConfig);
 
 		SessionBasedEmailToMimeMessageConverter.primeSession(session, operationalConfig, emailGovernance);
 	}
 
+	/**
+	 * Decrypts the default S/MIME signing key now, rather than while sending the first email. A keystore that can't be decrypted doesn't fail
+	 * creating the mailer: the problem is logged here and reported again by every email that is signed with it.
+	 */
+	static private void preloadSmimeSigningKey(@NotNull final EmailGovernance emailGovernance) {
+		final Pkcs12Config pkcs12Config = emailGovernance.getPkcs12ConfigForSmimeSigning();
+		if (pkcs12Config != null && ModuleLoader.smimeModuleAvailable()) {
+			try {
+				ModuleLoader.loadSmimeModule().preloadSmimeKey(pkcs12Config);
+			} catch (final RuntimeException e) {
+				LOGGER.warn("Could not preload the default S/MIME signing key {}, emails signed with it will fail", pkcs12Config, e);
+			}
+		}
+	}
+
 	/**
 	 * Configures the {@link Session} with the same timeout for socket connection timeout, read and write timeout.
 	 */
@@ -241,6 +311,18 @@ public class MailerImpl implements Mailer {
 		}
 	}
 
+	/**
+	 * Registers the {@link PipeliningSMTPTransport} with the Session and makes it the transport for both the <em>smtp</em> and <em>smtps</em> protocols.
+	 */
+	static private void configureSmtpPipelining(@NotNull final Session session, @NotNull final OperationalConfig operationalConfig) {
+		if (operationalConfig.isSmtpPipelining()) {
+			for (final String protocol : new String[]{ "smtp", "smtps" }) {
+				session.addProvider(new Provider(Provider.Type.TRANSPORT, protocol, PipeliningSMTPTransport.class.getName(), "Simple Java Mail", null));
+				session.getProperties().setProperty("mail." + protocol + ".class", PipeliningSMTPTransport.class.getName());
+			}
+		}
+	}
+
 	/**
 	 * If a {@link ProxyConfig} was provided with a host address, then the appropriate properties are set on the {@link Session}, overriding any SOCKS
 	 * properties already there.
@@ -297,6 +379,23 @@ public class MailerImpl implements Mailer {
 		}
 	}
 
+	@Nullable
+	private MailSpool openSpoolIfConfigured(@NotNull final OperationalConfig operationalConfig) {
+		final File spoolDirectory = operationalConfig.getSpoolDirectory();
+		if (spoolDirectory == null || operationalConfig.isTransportModeLoggingOnly() || operationalConfig.getCustomMailer() != null) {
+			return null;
+		}
+		try {
+			return ModuleLoader.loadBatchModule().openSpool(spoolDirectory, operationalConfig.getThreadPoolSize(),
+					operationalConfig.getSendRetries(), operationalConfig.getSendRetryDelayMillis(), spoolEntry -> {
+				SendMailClosure.acquireRatePermit(rateLimiter);
+				new SendSpooledMailClosure(operationalConfig, session, spoolEntry, proxyServer, smtpConnectionCounter).run();
+			});
+		} catch (final IOException e) {
+			throw new MailerException(format(MailerException.ERROR_OPENING_SPOOL, spoolDirectory), e);
+		}
+	}
+
 	/**
 	 * @see Mailer#testConnection()
 	 */
@@ -337,31 +436,242 @@ public class MailerImpl implements Mailer {
 	@NotNull
 	public final CompletableFuture<Void> sendMail(final Email email, @SuppressWarnings("SameParameterValue") final boolean async) {
 		if (validate(email)) {
-			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, proxyServer, operationalConfig.isTransportModeLoggingOnly(),
-					smtpConnectionCounter);
-
+			if (async && spool != null) {
+				return spoolMail(email);
+			}
 			if (!async) {
-				sendMailClosure.run();
+				newSendMailClosure(email).run();
 				return CompletableFuture.completedFuture(null);
-			} else
-				return ModuleLoader.batchModuleAvailable()
-						? ModuleLoader.loadBatchModule()
-							.executeAsync(operationalConfig.getExecutorService(), "sendMail process", sendMailClosure)
-						: AsyncOperationHelper
-							.executeAsync(operationalConfig.getExecutorService(), "sendMail process", sendMailClosure);
+			} else if (operationalConfig.getSendRetries() <= 0) {
+				return executeAsync("sendMail process", newSendMailClosure(email));
+			} else {
+				final CompletableFuture<Void> result = new CompletableFuture<>();
+				retryOnTransientFailure(email, executeAsync("sendMail process", newSendMailClosure(email)), result, 1);
+				return result;
+			}
 		}
 		throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
 	}
 
+	@NotNull
+	private SendMailClosure newSendMailClosure(@NotNull final Email email) {
+		return new SendMailClosure(operationalConfig, session, email, rateLimiter, proxyServer, operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
+	}
+
+	/**
+	 * Completes the result with the outcome of the given attempt, unless the attempt failed transiently and retries are left, in which case the
+	 * email is handed to the executor again after a backoff delay. Each retry uses its own closure, so that the connection bookkeeping of the
+	 * failed attempt is done with by the time the retry runs.
+	 *
+	 * @see SmtpFailureClassifier
+	 */
+	private void retryOnTransientFailure(@NotNull final Email email, @NotNull final CompletableFuture<Void> attempt, @NotNull final CompletableFuture<Void> result,
+			final int retry) {
+		attempt.whenComplete((r, t) -> {
+			if (t == null || retry > operationalConfig.getSendRetries() || !SmtpFailureClassifier.isTransient(t)) {
+				completeResult(result, t);
+			} else {
+				final long delayMillis = SendScheduler.backoffDelayMillis(operationalConfig.getSendRetryDelayMillis(), retry);
+				LOGGER.warn("transient failure sending email {}, retry {} of {} in {}ms: {}", email.getId(), retry, operationalConfig.getSendRetries(), delayMillis, t.getMessage());
+				SendScheduler.schedule(delayMillis, TimeUnit.MILLISECONDS, () -> {
+					try {
+						retryOnTransientFailure(email, executeAsync("sendMail retry process", newSendMailClosure(email)), result, retry + 1);
+					} catch (final RuntimeException e) {
+						result.completeExceptionally(e);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * @return The future the batch should complete for the given email, which is the email's result itself unless failed sends are retried.
+	 */
+	@NotNull
+	private CompletableFuture<Void> retryingBatchResult(@NotNull final Email email, @NotNull final CompletableFuture<Void> result) {
+		if (operationalConfig.getSendRetries() <= 0) {
+			return result;
+		}
+		final CompletableFuture<Void> firstAttempt = new CompletableFuture<>();
+		retryOnTransientFailure(email, firstAttempt, result, 1);
+		return firstAttempt;
+	}
+
+	/**
+	 * Produces the MIME message right away and persists it in the spool, from where it is sent by the spool's delivery threads.
+	 */
+	@NotNull
+	private CompletableFuture<Void> spoolMail(@NotNull final Email email) {
+		try {
+			final MimeMessage message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
+			final byte[] spoolEntry;
+			try {
+				spoolEntry = SendSpooledMailClosure.toSpoolEntry(message);
+			} finally {
+				SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+			}
+			return requireNonNull(spool).enqueue(spoolEntry);
+		} catch (final MessagingException | IOException e) {
+			throw new MailerException(format(MailerException.ERROR_SPOOLING, email.getId()), e);
+		}
+	}
+
+	/**
+	 * @see Mailer#sendMails(Stream)
+	 */
+	@Override
+	@NotNull
+	public final List<CompletableFuture<Void>> sendMails(@NotNull final Stream<Email> emails) {
+		return sendMails((Iterable<Email>) emails::iterator);
+	}
+
+	/**
+	 * @see Mailer#sendMails(Iterable)
+	 */
+	@Override
+	@NotNull
+	public final List<CompletableFuture<Void>> sendMails(@NotNull final Iterable<Email> emails) {
+		final List<CompletableFuture<Void>> results = new ArrayList<>();
+		sendMailsInBatches(emails, (email, result) -> results.add(result));
+		return results;
+	}
+
+	/**
+	 * @see Mailer#sendMails(Stream, BiConsumer)
+	 */
+	@Override
+	public final void sendMails(@NotNull final Stream<Email> emails, @NotNull final BiConsumer<Email, Throwable> resultHandler) {
+		sendMails((Iterable<Email>) emails::iterator, resultHandler);
+	}
+
+	/**
+	 * @see Mailer#sendMails(Iterable, BiConsumer)
+	 */
+	@Override
+	public final void sendMails(@NotNull final Iterable<Email> emails, @NotNull final BiConsumer<Email, Throwable> resultHandler) {
+		sendMailsInBatches(emails, (email, result) -> result.whenComplete((r, t) -> resultHandler.accept(email, t)));
+	}
+
+	/**
+	 * @param resultRegistrar Receives every email's result as soon as it is created, before the email is sent.
+	 */
+	private void sendMailsInBatches(@NotNull final Iterable<Email> emails, @NotNull final BiConsumer<Email, CompletableFuture<Void>> resultRegistrar) {
+		final boolean async = operationalConfig.isAsync();
+		final boolean transportReusable = !operationalConfig.isTransportModeLoggingOnly() && operationalConfig.getCustomMailer() == null && spool == null;
+		final int batchSize = Math.max(1, Math.min(operationalConfig.getBulkSendBatchSize(), operationalConfig.getBulkSendMaxInFlight()));
+		final Semaphore inFlightPermits = new Semaphore(Math.max(1, operationalConfig.getBulkSendMaxInFlight()));
+
+		List<Email> batch = new ArrayList<>(batchSize);
+		List<CompletableFuture<Void>> batchResults = new ArrayList<>(batchSize);
+
+		for (final Email email : emails) {
+			final CompletableFuture<Void> result = new CompletableFuture<>();
+			resultRegistrar.accept(email, result);
+			if (async) {
+				acquireInFlightPermit(inFlightPermits);
+				result.whenComplete((r, t) -> inFlightPermits.release());
+			}
+			try {
+				if (!transportReusable) {
+					// no Transport involved (or the spool decides on that), so nothing to gain from batching
+					sendMail(email, async).whenComplete((r, t) -> completeResult(result, t));
+					continue;
+				}
+				validate(email);
+			} catch (final MailException e) {
+				result.completeExceptionally(e);
+				continue;
+			}
+			batch.add(email);
+			batchResults.add(async ? retryingBatchResult(email, result) : result);
+			if (batch.size() == batchSize) {
+				sendBatch(batch, batchResults, async);
+				batch = new ArrayList<>(batchSize);
+				batchResults = new ArrayList<>(batchSize);
+			}
+		}
+		if (!batch.isEmpty()) {
+			sendBatch(batch, batchResults, async);
+		}
+	}
+
+	private void sendBatch(@NotNull final List<Email> batch, @NotNull final List<CompletableFuture<Void>> batchResults, final boolean async) {
+		final SendMailsClosure sendMailsClosure = new SendMailsClosure(operationalConfig, session, batch, batchResults, rateLimiter, proxyServer, smtpConnectionCounter);
+		if (!async) {
+			try {
+				sendMailsClosure.run();
+			} catch (final RuntimeException e) {
+				failUnfinishedResults(batchResults, e);
+			}
+		} else {
+			try {
+				executeAsync("sendMails process", sendMailsClosure)
+						.whenComplete((r, t) -> failUnfinishedResults(batchResults, t));
+			} catch (final MailQueueFullException e) {
+				failUnfinishedResults(batchResults, e);
+			}
+		}
+	}
+
+	/**
+	 * Hands the closure to the executor, translating the executor refusing it (because its queue is full) into a {@link MailQueueFullException}.
+	 */
+	@NotNull
+	private CompletableFuture<Void> executeAsync(@NotNull final String processName, @NotNull final AbstractProxyServerSyncingClosure closure) {
+		try {
+			return ModuleLoader.batchModuleAvailable()
+					? ModuleLoader.loadBatchModule()
+						.executeAsync(operationalConfig.getExecutorService(), processName, closure)
+					: AsyncOperationHelper
+						.executeAsync(operationalConfig.getExecutorService(), processName, closure);
+		} catch (final RejectedExecutionException e) {
+			closure.abandon();
+			throw new MailQueueFullException(e);
+		}
+	}
+
+	private static void acquireInFlightPermit(@NotNull final Semaphore inFlightPermits) {
+		try {
+			inFlightPermits.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MailerException(MailerException.INTERRUPTED_BULK_SEND, e);
+		}
+	}
+
+	private static void completeResult(@NotNull final CompletableFuture<Void> result, @Nullable final Throwable t) {
+		if (t == null) {
+			result.complete(null);
+		} else {
+			result.completeExceptionally(t);
+		}
+	}
+
+	/**
+	 * Safety net for when a batch didn't get to process all its emails (for example because the proxy bridging server failed to start).
+	 */
+	private static void failUnfinishedResults(@NotNull final List<CompletableFuture<Void>> batchResults, @Nullable final Throwable t) {
+		if (t != null) {
+			for (final CompletableFuture<Void> result : batchResults) {
+				result.completeExceptionally(t);
+			}
+		}
+	}
+
 	/**
 	 * @see Mailer#validate(Email)
 	 */
 	@Override
 	public boolean validate(@NotNull final Email email)
 			throws MailException {
-		return operationalConfig.isDisableAllClientValidation() ?
-				MailerHelper.validateLenient(email, emailGovernance.getEmailValidator()) :
-				MailerHelper.validate(email, emailGovernance.getEmailValidator());
+		final long start = System.nanoTime();
+		try {
+			return operationalConfig.isDisableAllClientValidation() ?
+					MailerHelper.validateLenient(email, emailGovernance.getEmailValidator()) :
+					MailerHelper.validate(email, emailGovernance.getEmailValidator());
+		} finally {
+			operationalConfig.getMailerMetrics().recordValidation(System.nanoTime() - start);
+		}
 	}
 
 	/**
@@ -369,12 +679,35 @@ public class MailerImpl implements Mailer {
 	 */
 	@Override
 	public Future<?> shutdownConnectionPool() {
+		if (spool != null) {
+			spool.close();
+		}
 		if (!operationalConfig.isExecutorServiceIsUserProvided()) {
 			operationalConfig.getExecutorService().shutdown();
 		}
+		if (clusterResourcesReleased.compareAndSet(false, true)) {
+			rateLimiter.unregister();
+			if (domainRouter != null) {
+				domainRouter.unregister();
+			}
+		}
 		return ModuleLoader.loadBatchModule().shutdownConnectionPools(session);
 	}
 
+	/**
+	 * @see Mailer#getAsyncQueueDepth()
+	 */
+	@Override
+	public int getAsyncQueueDepth() {
+		if (spool != null) {
+			return spool.size();
+		}
+		final ExecutorService executorService = operationalConfig.getExecutorService();
+		return executorService instanceof ThreadPoolExecutor
+				? ((ThreadPoolExecutor) executorService).getQueue().size()
+				: -1;
+	}
+
 	@Override
 	public String toString() {
 		return "MailerImpl {"
@@ -6,10 +6,14 @@ import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.MailerMetrics;
+import org.simplejavamail.api.mailer.config.DomainLimits;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 
+import java.io.File;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -128,4 +132,77 @@ class OperationalConfigImpl implements OperationalConfig {
 	 */
 	@Nullable
 	private final CustomMailer customMailer;
-}
\ No newline at end of file
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withBulkSendBatchSize(Integer)
+	 */
+	private final int bulkSendBatchSize;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withBulkSendMaxInFlight(Integer)
+	 */
+	private final int bulkSendMaxInFlight;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	private final boolean smtpPipelining;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSpoolDirectory(File)
+	 */
+	@Nullable
+	private final File spoolDirectory;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSendRetries(Integer)
+	 */
+	private final int sendRetries;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSendRetryDelayMillis(Integer)
+	 */
+	private final int sendRetryDelayMillis;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+	 */
+	private final int maxConnectionsPerDomain;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxMessagesPerSecondPerDomain(Integer)
+	 */
+	private final int maxMessagesPerSecondPerDomain;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+	 */
+	@NotNull
+	private final Map<String, DomainLimits> domainLimits;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+	 */
+	private final int maxMessagesPerSecond;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+	 */
+	private final int clusterMaxMessagesPerSecond;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMailerMetrics(MailerMetrics)
+	 */
+	@NotNull
+	private final MailerMetrics mailerMetrics;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDirectMimeWriting(Boolean)
+	 */
+	private final boolean directMimeWriting;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withAttachmentEncodingCacheSize(Integer)
+	 */
+	private final int attachmentEncodingCacheSize;
+}
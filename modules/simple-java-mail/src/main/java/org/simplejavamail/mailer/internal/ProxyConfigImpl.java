@@ -19,6 +19,8 @@ class ProxyConfigImpl implements ProxyConfig {
 	@Nullable private final String username;
 	@Nullable private final String password;
 	@Nullable private final Integer proxyBridgePort;
+	@Nullable private final Integer proxyBridgeBufferSize;
+	@Nullable private final Integer proxyBridgeMaxConnections;
 	
 	@Override
 	public boolean requiresProxy() {
@@ -8,12 +8,14 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.SendRateLimiter;
 import org.simplejavamail.mailer.internal.util.TransportRunner;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static org.simplejavamail.mailer.internal.MailerException.GENERIC_ERROR;
+import static org.simplejavamail.mailer.internal.MailerException.INTERRUPTED_RATE_LIMITING;
 import static org.simplejavamail.mailer.internal.MailerException.UNKNOWN_ERROR;
 
 /**
@@ -27,30 +29,38 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 	@NotNull private final OperationalConfig operationalConfig;
 	@NotNull private final Session session;
 	@NotNull private final Email email;
+	@NotNull private final SendRateLimiter rateLimiter;
 	private final boolean transportModeLoggingOnly;
 
-	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @Nullable AnonymousSocks5Server proxyServer,
-					boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
+	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @NotNull SendRateLimiter rateLimiter,
+					@Nullable AnonymousSocks5Server proxyServer, boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
 		super(smtpConnectionCounter, proxyServer);
 		this.operationalConfig = operationalConfig;
 		this.session = session;
 		this.email = email;
+		this.rateLimiter = rateLimiter;
 		this.transportModeLoggingOnly = transportModeLoggingOnly;
 	}
 
 	@Override
 	public void executeClosure() {
 		LOGGER.trace("sending email...");
+		acquireRatePermit(rateLimiter);
 		try {
 			if (transportModeLoggingOnly) {
-				SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
+				SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email));
 				LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending...");
 			} else if (operationalConfig.getCustomMailer() != null) {
 				val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
-				operationalConfig.getCustomMailer().sendMessage(operationalConfig, session, email, message);
+				try {
+					operationalConfig.getCustomMailer().sendMessage(operationalConfig, session, email, message);
+				} finally {
+					SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+				}
 			} else {
-				TransportRunner.sendMessage(operationalConfig.getClusterKey(), session, email);
+				TransportRunner.sendMessage(operationalConfig.getClusterKey(), operationalConfig.getMailerMetrics(), session, email);
 			}
+			operationalConfig.getMailerMetrics().emailSent();
 		} catch (final MessagingException e) {
 			handleException(e, GENERIC_ERROR);
 		} catch (final Exception e) {
@@ -58,8 +68,21 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 		}
 	}
 
+	/**
+	 * Waits for the send rate limits in the current thread, which is the executor's thread for async sends.
+	 */
+	static void acquireRatePermit(@NotNull final SendRateLimiter rateLimiter) {
+		try {
+			rateLimiter.acquire();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MailerException(INTERRUPTED_RATE_LIMITING, e);
+		}
+	}
+
 	private void handleException(final Exception e, String errorMsg) {
 		LOGGER.trace("Failed to send email {}\n{}", email.getId(), email);
+		operationalConfig.getMailerMetrics().emailFailed(e);
 		throw new MailerException(format(errorMsg, email.getId()), e);
 	}
 }
\ No newline at end of file
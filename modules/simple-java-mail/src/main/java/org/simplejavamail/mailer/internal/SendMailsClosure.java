@@ -0,0 +1,66 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.SendRateLimiter;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+import org.simplejavamail.mailer.internal.util.TransportRunner.BulkSendResultHandler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static org.simplejavamail.mailer.internal.MailerException.GENERIC_ERROR;
+import static org.simplejavamail.mailer.internal.MailerException.UNKNOWN_ERROR;
+
+/**
+ * Like {@link SendMailClosure}, but sends a batch of emails over a single claimed Transport (for as long as the Transport doesn't fail), completing
+ * the individual email's {@link CompletableFuture} as each email is processed.
+ *
+ * @see org.simplejavamail.api.mailer.Mailer#sendMails(Iterable)
+ */
+class SendMailsClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final List<Email> emails;
+	@NotNull private final List<CompletableFuture<Void>> results;
+	@NotNull private final SendRateLimiter rateLimiter;
+
+	SendMailsClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull List<Email> emails, @NotNull List<CompletableFuture<Void>> results,
+			@NotNull SendRateLimiter rateLimiter, @Nullable AnonymousSocks5Server proxyServer, @NotNull AtomicInteger smtpConnectionCounter) {
+		super(smtpConnectionCounter, proxyServer);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.emails = emails;
+		this.results = results;
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending batch of {} emails...", emails.size());
+		TransportRunner.sendMessages(operationalConfig.getClusterKey(), operationalConfig.getMailerMetrics(), session, emails, rateLimiter, new BulkSendResultHandler() {
+			@Override
+			public void emailSent(final int emailIndex) {
+				operationalConfig.getMailerMetrics().emailSent();
+				results.get(emailIndex).complete(null);
+			}
+
+			@Override
+			public void emailFailed(final int emailIndex, @NotNull final Exception cause) {
+				final Email email = emails.get(emailIndex);
+				LOGGER.trace("Failed to send email {}\n{}", email.getId(), email);
+				operationalConfig.getMailerMetrics().emailFailed(cause);
+				final String errorMsg = cause instanceof MessagingException ? GENERIC_ERROR : UNKNOWN_ERROR;
+				results.get(emailIndex).completeExceptionally(new MailerException(format(errorMsg, email.getId()), cause));
+			}
+		});
+	}
+}
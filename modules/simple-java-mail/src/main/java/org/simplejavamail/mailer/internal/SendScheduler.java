@@ -0,0 +1,67 @@
+package org.simplejavamail.mailer.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.internal.util.concurrent.NonBlockingSubmitterThread;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds on to sends that failed transiently until their retry is due, after which they are handed to the mailer's executor again. The delay
+ * backs off exponentially with each retry, with some jitter so retries of many failed sends don't all hit the server at once. Waiting for the
+ * send rate limit doesn't happen here, but on the executor thread that is about to send (see {@link SendMailClosure}).
+ * <p>
+ * Waiting retries don't occupy any sending threads or connections: a single daemon thread, shared by all mailers, only wakes up to submit the retries
+ * that are due. Since that thread must never wait for one mailer's full work queue, a send that doesn't fit in the queue of an executor with the
+ * {@link org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy#BLOCK BLOCK} policy is handed back and submitted again a little later.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSendRetries(Integer)
+ */
+final class SendScheduler {
+
+	/**
+	 * Keeps the delay from overflowing; at the default initial delay this caps the delay at about 18 hours.
+	 */
+	private static final int MAX_BACKOFF_DOUBLINGS = 16;
+
+	/**
+	 * How long a send waits before it is submitted again, after it didn't fit in the executor's work queue.
+	 */
+	private static final long QUEUE_FULL_RESUBMIT_DELAY_MILLIS = 50;
+
+	private static ScheduledExecutorService scheduler;
+
+	private SendScheduler() {
+	}
+
+	static void schedule(final long delay, @NotNull final TimeUnit unit, @NotNull final Runnable send) {
+		getScheduler().schedule(send, delay, unit);
+	}
+
+	/**
+	 * @return The initial delay doubled for every earlier retry, randomized between half and the full delay (so called <em>equal jitter</em>).
+	 */
+	static long backoffDelayMillis(final int initialDelayMillis, final int retry) {
+		final long delay = (long) Math.max(0, initialDelayMillis) << Math.min(Math.max(0, retry - 1), MAX_BACKOFF_DOUBLINGS);
+		return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	@NotNull
+	private static synchronized ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+				final Thread thread = new NonBlockingSubmitterThread(runnable, "Simple Java Mail send scheduler") {
+					@Override
+					public void deferSubmission(@NotNull final Runnable submission) {
+						schedule(QUEUE_FULL_RESUBMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS, submission);
+					}
+				};
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return scheduler;
+	}
+}
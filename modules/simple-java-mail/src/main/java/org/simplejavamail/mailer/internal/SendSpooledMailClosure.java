@@ -0,0 +1,88 @@
+package org.simplejavamail.mailer.internal;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.SharedByteArrayInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static org.simplejavamail.mailer.internal.MailerException.GENERIC_ERROR;
+import static org.simplejavamail.mailer.internal.MailerException.UNKNOWN_ERROR;
+
+/**
+ * Like {@link SendMailClosure}, but sends a MIME message that was taken from the spool, rather than producing one from an Email.
+ * <p>
+ * A spool entry is the envelope sender (used for bounces, empty if none) followed by the MIME message as it would be written to the server.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSpoolDirectory(java.io.File)
+ */
+class SendSpooledMailClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final byte[] spoolEntry;
+
+	SendSpooledMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull byte[] spoolEntry,
+			@Nullable AnonymousSocks5Server proxyServer, @NotNull AtomicInteger smtpConnectionCounter) {
+		super(smtpConnectionCounter, proxyServer);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.spoolEntry = spoolEntry;
+	}
+
+	@NotNull
+	static byte[] toSpoolEntry(@NotNull final MimeMessage message)
+			throws IOException, MessagingException {
+		final String envelopeFrom = message instanceof SMTPMessage ? ((SMTPMessage) message).getEnvelopeFrom() : null;
+		final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(entry);
+		out.writeUTF(envelopeFrom != null ? envelopeFrom : "");
+		message.writeTo(out);
+		out.flush();
+		return entry.toByteArray();
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending spooled email...");
+		String messageId = null;
+		try {
+			final MimeMessage message = fromSpoolEntry();
+			messageId = message.getMessageID();
+			TransportRunner.sendMessage(operationalConfig.getClusterKey(), operationalConfig.getMailerMetrics(), session, message);
+			operationalConfig.getMailerMetrics().emailSent();
+		} catch (final MessagingException e) {
+			operationalConfig.getMailerMetrics().emailFailed(e);
+			throw new MailerException(format(GENERIC_ERROR, messageId), e);
+		} catch (final Exception e) {
+			operationalConfig.getMailerMetrics().emailFailed(e);
+			throw new MailerException(format(UNKNOWN_ERROR, messageId), e);
+		}
+	}
+
+	@NotNull
+	private MimeMessage fromSpoolEntry()
+			throws IOException, MessagingException {
+		final String envelopeFrom = new DataInputStream(new ByteArrayInputStream(spoolEntry)).readUTF();
+		// writeUTF writes the length in two bytes, followed by the encoded string
+		final int headerLength = 2 + ((spoolEntry[0] & 0xff) << 8 | spoolEntry[1] & 0xff);
+		final SMTPMessage message = new SMTPMessage(session, new SharedByteArrayInputStream(spoolEntry, headerLength, spoolEntry.length - headerLength));
+		if (!envelopeFrom.isEmpty()) {
+			message.setEnvelopeFrom(envelopeFrom);
+		}
+		return message;
+	}
+}
@@ -1,25 +1,35 @@
 package org.simplejavamail.mailer.internal;
 
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.converter.internal.mimemessage.EncodedAttachmentCache;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
 import org.simplejavamail.mailer.internal.util.SessionLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.String.format;
 import static org.simplejavamail.converter.EmailConverter.mimeMessageToEML;
+import static org.simplejavamail.internal.util.MiscUtil.orOtherList;
 import static org.simplejavamail.mailer.internal.MailerException.INVALID_ENCODING;
 
 /**
@@ -30,7 +40,6 @@ import static org.simplejavamail.mailer.internal.MailerException.INVALID_ENCODIN
  * that both the operational connection and the emails being sent through a specific SMTP server are managed by the Mailer responsible
  * for this SMTP server configuration (data being email defaults defined on Mailer level).
  */
-@RequiredArgsConstructor
 @EqualsAndHashCode
 @ToString
 public class SessionBasedEmailToMimeMessageConverter {
@@ -42,6 +51,20 @@ public class SessionBasedEmailToMimeMessageConverter {
     private final Session session;
     private final OperationalConfig operationalConfig;
     private final EmailGovernance emailGovernance;
+    /**
+     * Shared by all emails the mailer sends, so attachments sent with many emails are encoded once.
+     */
+    @Nullable
+    private final EncodedAttachmentCache attachmentCache;
+
+    private SessionBasedEmailToMimeMessageConverter(Session session, OperationalConfig operationalConfig, EmailGovernance emailGovernance) {
+        this.session = session;
+        this.operationalConfig = operationalConfig;
+        this.emailGovernance = emailGovernance;
+        this.attachmentCache = operationalConfig.getAttachmentEncodingCacheSize() > 0
+                ? new EncodedAttachmentCache(operationalConfig.getAttachmentEncodingCacheSize())
+                : null;
+    }
 
     public static void primeSession(Session session, OperationalConfig operationalConfig, EmailGovernance emailGovernance) {
         session.getProperties().put(MIMEMESSAGE_CONVERTER_KEY, new SessionBasedEmailToMimeMessageConverter(session, operationalConfig, emailGovernance));
@@ -57,13 +80,47 @@ public class SessionBasedEmailToMimeMessageConverter {
         return mimeMessageConverter.convertAndLogMimeMessage(email);
     }
 
+    /**
+     * Releases what the message produced by {@link #convertAndLogMimeMessage(Session, Email)} holds on to once it has been sent, such as the
+     * temporary file of a large S/MIME signed message. Looks through the messages it wraps, as a DKIM signed message does.
+     */
+    public static void releaseMimeMessage(@NotNull final MimeMessage message) {
+        MimeMessage releasedMessage = message;
+        while (releasedMessage instanceof ImmutableDelegatingSMTPMessage) {
+            releasedMessage = ((ImmutableDelegatingSMTPMessage) releasedMessage).getDelegate();
+        }
+        if (releasedMessage instanceof Closeable) {
+            try {
+                ((Closeable) releasedMessage).close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to release resources of sent message", e);
+            }
+        }
+    }
+
+    /**
+     * @return The recipients the given session's converter will address the email to, so they can be known before a Transport is claimed.
+     */
+    @NotNull
+    public static List<Address> determineRecipients(Session session, final Email email) throws MessagingException {
+        val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        val governance = mimeMessageConverter.emailGovernance;
+        final List<Address> recipients = new ArrayList<>();
+        for (final Recipient recipient : orOtherList(email, governance.getEmailDefaults(), governance.getEmailOverrides(), Email::getRecipients)) {
+            recipients.add(new InternetAddress(recipient.getAddress()));
+        }
+        return recipients;
+    }
+
     @NotNull
     private MimeMessage convertAndLogMimeMessage(final Email email) throws MessagingException {
+        final long start = System.nanoTime();
         // fill and send wrapped mime message parts
-        val message = convertMimeMessage(email, session, emailGovernance);
+        val message = convertMimeMessage(email);
 
         SessionLogger.logSession(session, operationalConfig.isAsync(), "mail");
         message.saveChanges(); // some headers and id's will be set for this specific message
+        operationalConfig.getMailerMetrics().recordMimeMessageProduction(System.nanoTime() - start);
         //noinspection deprecation
         email.internalSetId(message.getMessageID());
 
@@ -71,9 +128,10 @@ public class SessionBasedEmailToMimeMessageConverter {
         return message;
     }
 
-    static private MimeMessage convertMimeMessage(final Email email, final Session session, final EmailGovernance emailGovernance) throws MessagingException {
+    private MimeMessage convertMimeMessage(final Email email)
+            throws MessagingException {
         try {
-            return MimeMessageProducerHelper.produceMimeMessage(email, emailGovernance, session);
+            return MimeMessageProducerHelper.produceMimeMessage(email, emailGovernance, session, operationalConfig.isDirectMimeWriting(), attachmentCache);
         } catch (UnsupportedEncodingException e) {
             LOGGER.trace("Failed to send email {}\n{}", email.getId(), email);
             throw new MailerException(format(INVALID_ENCODING, email.getId()), e);
@@ -36,7 +36,7 @@ class TestConnectionClosure extends AbstractProxyServerSyncingClosure {
 			if (operationalConfig.getCustomMailer() != null) {
 				operationalConfig.getCustomMailer().testConnection(operationalConfig, session);
 			} else {
-				TransportRunner.connect(operationalConfig.getClusterKey(), session);
+				TransportRunner.connect(operationalConfig.getClusterKey(), operationalConfig.getMailerMetrics(), session);
 			}
 		} catch (final MessagingException e) {
 			throw new MailerException(MailerException.ERROR_CONNECTING_SMTP_SERVER, e);
@@ -0,0 +1,69 @@
+package org.simplejavamail.mailer.internal.util;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes of a message while the transport writes it to the SMTP server, so the message doesn't have to be written an extra time just to
+ * determine its size. The envelope and SMTP options of the original message are retained.
+ */
+class ByteCountingMessage extends ImmutableDelegatingSMTPMessage {
+
+	private volatile long bytesWritten = -1;
+
+	ByteCountingMessage(@NotNull final MimeMessage delegate) {
+		super(delegate, delegate instanceof SMTPMessage ? ((SMTPMessage) delegate).getEnvelopeFrom() : null);
+	}
+
+	@Override
+	public void writeTo(final OutputStream os)
+			throws IOException, MessagingException {
+		final CountingOutputStream countingStream = new CountingOutputStream(os);
+		super.writeTo(countingStream);
+		bytesWritten = countingStream.count;
+	}
+
+	@Override
+	public void writeTo(final OutputStream os, final String[] ignoreList)
+			throws IOException, MessagingException {
+		final CountingOutputStream countingStream = new CountingOutputStream(os);
+		super.writeTo(countingStream, ignoreList);
+		bytesWritten = countingStream.count;
+	}
+
+	/**
+	 * @return The number of bytes of the last time the message was written completely, or -1 if it wasn't written yet.
+	 */
+	long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+		private long count;
+
+		private CountingOutputStream(@NotNull final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int b)
+				throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(@NotNull final byte[] b, final int off, final int len)
+				throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
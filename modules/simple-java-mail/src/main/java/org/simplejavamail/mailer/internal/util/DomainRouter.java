@@ -0,0 +1,228 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.config.DomainLimits;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Applies the concurrency and rate limits of the recipient domains of a message. The permits of all the message's domains are claimed before a
+ * transport is claimed, after which the message is sent once to all its recipients, rather than once per domain.
+ * <p>
+ * Routers are kept per cluster, so that all mailers in a cluster share the limits. The first mailer registered to a cluster determines its limits,
+ * and the router is removed once all mailers registered to it have shut down.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxConnectionsPerDomain(Integer)
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDomainLimits(String, Integer, Integer)
+ */
+public class DomainRouter {
+
+	private static final Logger LOGGER = getLogger(DomainRouter.class);
+
+	private static final Map<UUID, DomainRouter> ROUTERS_BY_CLUSTER = new ConcurrentHashMap<>();
+
+	@NotNull private final UUID clusterKey;
+	@NotNull private final DomainLimits defaultLimits;
+	@NotNull private final Map<String, DomainLimits> domainLimits;
+	@NotNull private final Map<String, DomainThrottle> throttles = new ConcurrentHashMap<>();
+	/**
+	 * Only updated while computing the router's entry in {@link #ROUTERS_BY_CLUSTER}, which the map does atomically.
+	 */
+	private int registeredMailers;
+
+	private DomainRouter(@NotNull final UUID clusterKey, @NotNull final DomainLimits defaultLimits, @NotNull final Map<String, DomainLimits> domainLimits) {
+		this.clusterKey = clusterKey;
+		this.defaultLimits = defaultLimits;
+		this.domainLimits = domainLimits;
+	}
+
+	/**
+	 * Creates a router for the mailer's cluster if the mailer has per-domain limits configured and the cluster doesn't have a router yet.
+	 *
+	 * @return The router the mailer is registered to, which it should {@link #unregister()} from when it shuts down, or {@code null} if the cluster
+	 * has no per-domain limits (yet).
+	 */
+	@Nullable
+	public static DomainRouter registerToCluster(@NotNull final OperationalConfig operationalConfig) {
+		final DomainLimits defaultLimits = new DomainLimits(operationalConfig.getMaxConnectionsPerDomain(), operationalConfig.getMaxMessagesPerSecondPerDomain());
+		final boolean limited = isLimited(defaultLimits) || !operationalConfig.getDomainLimits().isEmpty();
+		return ROUTERS_BY_CLUSTER.compute(operationalConfig.getClusterKey(), (clusterKey, existingRouter) -> {
+			DomainRouter router = existingRouter;
+			if (router == null) {
+				if (!limited) {
+					return null;
+				}
+				router = new DomainRouter(clusterKey, defaultLimits, operationalConfig.getDomainLimits());
+			} else if (limited) {
+				LOGGER.warn("Per-domain limits are already configured by the first Mailer instance in cluster {}, ignoring the limits from {}",
+						clusterKey, operationalConfig);
+			}
+			router.registeredMailers++;
+			return router;
+		});
+	}
+
+	/**
+	 * Removes the router from its cluster once the last mailer registered to it has unregistered.
+	 */
+	public void unregister() {
+		ROUTERS_BY_CLUSTER.computeIfPresent(clusterKey, (key, router) -> router != this || --registeredMailers > 0 ? router : null);
+	}
+
+	/**
+	 * @return The router of the given cluster, or {@code null} if no mailer in the cluster has per-domain limits configured.
+	 */
+	@Nullable
+	public static DomainRouter forCluster(@NotNull final UUID clusterKey) {
+		return ROUTERS_BY_CLUSTER.get(clusterKey);
+	}
+
+	/**
+	 * Claims a connection slot and a send rate permit of every recipient domain, waiting where needed. Domains are claimed in alphabetical order,
+	 * so that threads claiming overlapping domains can't deadlock.
+	 *
+	 * @return The claimed permits, which must be {@link DomainPermits#release() released} once the message was sent.
+	 */
+	@NotNull
+	public DomainPermits acquirePermits(@NotNull final Collection<Address> recipients)
+			throws MessagingException {
+		final DomainPermits permits = new DomainPermits();
+		try {
+			for (final String domain : determineDomains(recipients)) {
+				final DomainThrottle throttle = throttleFor(domain);
+				throttle.acquireConnection();
+				permits.claimedConnections.add(throttle);
+				throttle.acquireSendRate();
+			}
+		} catch (final InterruptedException e) {
+			permits.release();
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for the limits of the recipient domains", e);
+		}
+		return permits;
+	}
+
+	/**
+	 * Like {@link #acquirePermits(Collection)}, but without waiting.
+	 *
+	 * @return The claimed permits, or {@code null} if any domain is at its limit, in which case no connection slots are claimed. Send rate permits
+	 * that were available for domains before that domain are used up regardless.
+	 */
+	@Nullable
+	public DomainPermits tryAcquirePermits(@NotNull final Collection<Address> recipients) {
+		final DomainPermits permits = new DomainPermits();
+		for (final String domain : determineDomains(recipients)) {
+			final DomainThrottle throttle = throttleFor(domain);
+			if (!throttle.tryAcquireConnection()) {
+				permits.release();
+				return null;
+			}
+			permits.claimedConnections.add(throttle);
+			if (!throttle.tryAcquireSendRate()) {
+				permits.release();
+				return null;
+			}
+		}
+		return permits;
+	}
+
+	@NotNull
+	private static SortedSet<String> determineDomains(@NotNull final Collection<Address> recipients) {
+		final SortedSet<String> domains = new TreeSet<>();
+		for (final Address recipient : recipients) {
+			domains.add(determineDomain(recipient));
+		}
+		return domains;
+	}
+
+	@NotNull
+	static String determineDomain(@NotNull final Address recipient) {
+		final String address = recipient instanceof InternetAddress ? ((InternetAddress) recipient).getAddress() : recipient.toString();
+		final int at = address != null ? address.lastIndexOf('@') : -1;
+		return at >= 0 ? address.substring(at + 1).toLowerCase(Locale.ROOT) : "";
+	}
+
+	@NotNull
+	private DomainThrottle throttleFor(@NotNull final String domain) {
+		return throttles.computeIfAbsent(domain, d -> {
+			final DomainLimits limits = domainLimits.get(d);
+			return new DomainThrottle(limits != null ? limits : defaultLimits);
+		});
+	}
+
+	private static boolean isLimited(@NotNull final DomainLimits limits) {
+		return limits.getMaxConnections() > 0 || limits.getMaxMessagesPerSecond() > 0;
+	}
+
+	/**
+	 * The connection slots claimed for a message's recipient domains. Send rate permits don't need releasing.
+	 */
+	public static class DomainPermits {
+		@NotNull private final List<DomainThrottle> claimedConnections = new ArrayList<>();
+
+		public void release() {
+			for (final DomainThrottle throttle : claimedConnections) {
+				throttle.releaseConnection();
+			}
+			claimedConnections.clear();
+		}
+	}
+
+	/**
+	 * Applies the limits of a single domain.
+	 */
+	private static class DomainThrottle {
+		@Nullable private final Semaphore connections;
+		@Nullable private final TokenBucket messages;
+
+		DomainThrottle(@NotNull final DomainLimits limits) {
+			this.connections = limits.getMaxConnections() > 0 ? new Semaphore(limits.getMaxConnections(), true) : null;
+			this.messages = limits.getMaxMessagesPerSecond() > 0 ? new TokenBucket(limits.getMaxMessagesPerSecond(), limits.getMaxMessagesPerSecond()) : null;
+		}
+
+		void acquireConnection()
+				throws InterruptedException {
+			if (connections != null) {
+				connections.acquire();
+			}
+		}
+
+		boolean tryAcquireConnection() {
+			return connections == null || connections.tryAcquire();
+		}
+
+		void releaseConnection() {
+			if (connections != null) {
+				connections.release();
+			}
+		}
+
+		void acquireSendRate()
+				throws InterruptedException {
+			if (messages != null) {
+				messages.acquire();
+			}
+		}
+
+		boolean tryAcquireSendRate() {
+			return messages == null || messages.tryAcquire();
+		}
+	}
+}
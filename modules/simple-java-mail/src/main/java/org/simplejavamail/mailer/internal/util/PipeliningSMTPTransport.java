@@ -0,0 +1,152 @@
+package org.simplejavamail.mailer.internal.util;
+
+import com.sun.mail.smtp.SMTPMessage;
+import com.sun.mail.smtp.SMTPTransport;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+import jakarta.mail.event.TransportEvent;
+import jakarta.mail.internet.InternetAddress;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * SMTP transport that pipelines the envelope's recipients (RFC 2920) when the server advertises the PIPELINING extension: all RCPT TO commands are
+ * written in one go, after which the responses are read back in order. Without pipelining, JavaMail waits for the server's response to each
+ * recipient before sending the next one, paying a network round trip per recipient.
+ * <p>
+ * Only the happy path is pipelined. If the server rejects any of the recipients, the envelope is reset and replayed the regular way, so that
+ * JavaMail's own handling of failed recipients (<em>mail.smtp.sendpartial</em>, {@link jakarta.mail.SendFailedException} details, etc.) applies
+ * unchanged.
+ * <p>
+ * Installed on the Session with the <em>mail.smtp.class</em> and <em>mail.smtps.class</em> properties.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSmtpPipelining(Boolean)
+ */
+public class PipeliningSMTPTransport extends SMTPTransport {
+
+	private static final Logger LOGGER = getLogger(PipeliningSMTPTransport.class);
+
+	@NotNull
+	private final String protocol;
+
+	/**
+	 * The message currently being sent and its recipients.
+	 */
+	@Nullable
+	private Message message;
+	@Nullable
+	private Address[] addresses;
+
+	/**
+	 * Whether the recipients of the message currently being sent were all accepted in one pipelined batch, in which case JavaMail's own
+	 * bookkeeping of sent / unsent addresses was bypassed.
+	 */
+	private boolean recipientsPipelined;
+
+	@SuppressWarnings("unused")
+	public PipeliningSMTPTransport(@NotNull final Session session, @Nullable final URLName urlname) {
+		this(session, urlname, urlname != null ? urlname.getProtocol() : "smtp");
+	}
+
+	private PipeliningSMTPTransport(@NotNull final Session session, @Nullable final URLName urlname, @NotNull final String protocol) {
+		super(session, urlname, protocol, "smtps".equals(protocol));
+		this.protocol = protocol;
+	}
+
+	@Override
+	public synchronized void sendMessage(final Message message, final Address[] addresses)
+			throws MessagingException {
+		this.message = message;
+		this.addresses = addresses;
+		try {
+			super.sendMessage(message, addresses);
+		} finally {
+			this.message = null;
+			this.addresses = null;
+			this.recipientsPipelined = false;
+		}
+	}
+
+	@Override
+	protected void rcptTo()
+			throws MessagingException {
+		recipientsPipelined = false;
+		if (!shouldPipelineRecipients()) {
+			super.rcptTo();
+			return;
+		}
+
+		final String dsnNotify = determineDsnNotify();
+		for (final Address address : addresses) {
+			sendCommand(rcptToCommand((InternetAddress) address, dsnNotify));
+		}
+		boolean allRecipientsAccepted = true;
+		for (int i = 0; i < addresses.length; i++) {
+			final int returnCode = readServerResponse();
+			allRecipientsAccepted &= returnCode == 250 || returnCode == 251;
+		}
+
+		if (allRecipientsAccepted) {
+			LOGGER.trace("pipelined {} recipients", addresses.length);
+			recipientsPipelined = true;
+		} else {
+			LOGGER.debug("server rejected one or more pipelined recipients, replaying envelope without pipelining...");
+			simpleCommand("RSET");
+			mailFrom();
+			super.rcptTo();
+		}
+	}
+
+	/**
+	 * When recipients were pipelined, JavaMail's own bookkeeping doesn't know about the addresses the message was sent to, so fill them in.
+	 */
+	@Override
+	protected void notifyTransportListeners(final int type, final Address[] validSent, final Address[] validUnsent, final Address[] invalid, final Message msg) {
+		if (recipientsPipelined && type == TransportEvent.MESSAGE_DELIVERED) {
+			super.notifyTransportListeners(type, addresses, null, null, msg);
+		} else {
+			super.notifyTransportListeners(type, validSent, validUnsent, invalid, msg);
+		}
+	}
+
+	/**
+	 * @return Whether the server supports pipelining. Overridable for testing against servers that accept pipelined commands without advertising it.
+	 */
+	protected boolean serverSupportsPipelining() {
+		return supportsExtension("PIPELINING");
+	}
+
+	private boolean shouldPipelineRecipients() {
+		if (addresses == null || addresses.length < 2 || getReportSuccess() || !serverSupportsPipelining()) {
+			return false;
+		}
+		// message specific DSN options are not accessible from here, so leave those to JavaMail
+		if (message instanceof SMTPMessage && ((SMTPMessage) message).getNotifyOptions() != 0) {
+			return false;
+		}
+		for (final Address address : addresses) {
+			if (!(address instanceof InternetAddress) || ((InternetAddress) address).isGroup()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Nullable
+	private String determineDsnNotify() {
+		return supportsExtension("DSN") ? session.getProperty("mail." + protocol + ".dsn.notify") : null;
+	}
+
+	@NotNull
+	private static String rcptToCommand(@NotNull final InternetAddress address, @Nullable final String dsnNotify) {
+		final String rawAddress = address.getAddress();
+		final String normalizedAddress = rawAddress.startsWith("<") || rawAddress.endsWith(">") ? rawAddress : "<" + rawAddress + ">";
+		return "RCPT TO:" + normalizedAddress + (dsnNotify != null ? " NOTIFY=" + dsnNotify : "");
+	}
+}
@@ -0,0 +1,118 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Applies the send rate limits of a mailer: its own limit and the limit of its cluster, each backed by a {@link TokenBucket}. The cluster's
+ * bucket is looked up on every send, so that it also applies to mailers that were created before the mailer that configured it.
+ * <p>
+ * The cluster's bucket is removed once all mailers that joined the cluster after it was created have {@link #unregister() unregistered}.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMaxMessagesPerSecond(Integer)
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withClusterMaxMessagesPerSecond(Integer)
+ */
+public class SendRateLimiter {
+
+	private static final Logger LOGGER = getLogger(SendRateLimiter.class);
+
+	private static final Map<UUID, ClusterBucket> BUCKETS_BY_CLUSTER = new ConcurrentHashMap<>();
+
+	@NotNull private final UUID clusterKey;
+	@Nullable private final TokenBucket mailerBucket;
+	/**
+	 * Whether the cluster had a bucket when this mailer joined it, in which case this mailer holds a claim on the bucket.
+	 */
+	private boolean registeredToClusterBucket;
+
+	public SendRateLimiter(@NotNull final OperationalConfig operationalConfig) {
+		this(operationalConfig, System::nanoTime);
+	}
+
+	/**
+	 * @param nanoClock The time source for the mailer's bucket, and for the cluster's bucket if this mailer is the one to create it.
+	 */
+	SendRateLimiter(@NotNull final OperationalConfig operationalConfig, @NotNull final LongSupplier nanoClock) {
+		this.clusterKey = operationalConfig.getClusterKey();
+		final int maxMessagesPerSecond = operationalConfig.getMaxMessagesPerSecond();
+		this.mailerBucket = maxMessagesPerSecond > 0 ? new TokenBucket(maxMessagesPerSecond, maxMessagesPerSecond, nanoClock) : null;
+		final int clusterMaxMessagesPerSecond = operationalConfig.getClusterMaxMessagesPerSecond();
+		BUCKETS_BY_CLUSTER.compute(clusterKey, (key, existingBucket) -> {
+			ClusterBucket clusterBucket = existingBucket;
+			if (clusterBucket == null) {
+				if (clusterMaxMessagesPerSecond <= 0) {
+					return null;
+				}
+				clusterBucket = new ClusterBucket(new TokenBucket(clusterMaxMessagesPerSecond, clusterMaxMessagesPerSecond, nanoClock));
+			} else if (clusterMaxMessagesPerSecond > 0) {
+				LOGGER.warn("Send rate limit is already configured by the first Mailer instance in cluster {}, ignoring the limit from {}", key, operationalConfig);
+			}
+			clusterBucket.registeredMailers++;
+			registeredToClusterBucket = true;
+			return clusterBucket;
+		});
+	}
+
+	/**
+	 * Releases this mailer's claim on the cluster's bucket, removing the bucket once no registered mailer is left.
+	 */
+	public void unregister() {
+		if (registeredToClusterBucket) {
+			registeredToClusterBucket = false;
+			BUCKETS_BY_CLUSTER.computeIfPresent(clusterKey, (key, clusterBucket) -> --clusterBucket.registeredMailers > 0 ? clusterBucket : null);
+		}
+	}
+
+	/**
+	 * Takes the next free permit from both the mailer's and the cluster's bucket.
+	 *
+	 * @return The number of nanoseconds until the send is allowed, or zero if it's allowed right away.
+	 * @see TokenBucket#reserve()
+	 */
+	public long reserve() {
+		final ClusterBucket clusterBucket = BUCKETS_BY_CLUSTER.get(clusterKey);
+		final long mailerWaitNanos = mailerBucket != null ? mailerBucket.reserve() : 0;
+		final long clusterWaitNanos = clusterBucket != null ? clusterBucket.bucket.reserve() : 0;
+		return Math.max(mailerWaitNanos, clusterWaitNanos);
+	}
+
+	/**
+	 * Takes the next free permit from both buckets, waiting until the send is allowed.
+	 */
+	public void acquire()
+			throws InterruptedException {
+		final long waitNanos = reserve();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * @return Whether the given cluster currently has a send rate limit.
+	 */
+	static boolean clusterLimited(@NotNull final UUID clusterKey) {
+		return BUCKETS_BY_CLUSTER.containsKey(clusterKey);
+	}
+
+	private static class ClusterBucket {
+		@NotNull private final TokenBucket bucket;
+		/**
+		 * Only updated while computing the bucket's entry in {@link #BUCKETS_BY_CLUSTER}, which the map does atomically.
+		 */
+		private int registeredMailers;
+
+		ClusterBucket(@NotNull final TokenBucket bucket) {
+			this.bucket = bucket;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package org.simplejavamail.mailer.internal.util;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.smtp.SMTPSenderFailedException;
+import com.sun.mail.util.MailConnectException;
+import jakarta.mail.Address;
+import jakarta.mail.SendFailedException;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Tells failures that are likely to go away by themselves (and so are worth retrying) apart from failures that will keep failing.
+ * <p>
+ * Transient are SMTP replies in the 4xx range, connections that could not be made and connections that were reset or timed out. Permanent are
+ * SMTP replies in the 5xx range and everything else, such as failed authentication or unknown hosts. If the server accepted the message for some
+ * of the recipients already, the failure is never considered transient, since sending it again would deliver it twice to those recipients.
+ */
+public class SmtpFailureClassifier {
+
+	private SmtpFailureClassifier() {
+	}
+
+	/**
+	 * Walks the cause chain (which includes the {@link jakarta.mail.MessagingException#getNextException() next exceptions}) of the given failure.
+	 *
+	 * @return Whether any cause indicates a transient failure and none indicates a permanent one.
+	 */
+	public static boolean isTransient(@Nullable final Throwable failure) {
+		boolean transientCauseFound = false;
+		final Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Throwable cause = failure; cause != null && visited.add(cause); cause = cause.getCause()) {
+			if (cause instanceof SendFailedException && isNotEmpty(((SendFailedException) cause).getValidSentAddresses())) {
+				return false;
+			}
+			final int returnCode = determineReturnCode(cause);
+			if (returnCode >= 500) {
+				return false;
+			} else if (returnCode >= 400 || cause instanceof MailConnectException || cause instanceof SocketException || cause instanceof SocketTimeoutException) {
+				transientCauseFound = true;
+			}
+		}
+		return transientCauseFound;
+	}
+
+	private static int determineReturnCode(final Throwable cause) {
+		if (cause instanceof SMTPSendFailedException) {
+			return ((SMTPSendFailedException) cause).getReturnCode();
+		} else if (cause instanceof SMTPAddressFailedException) {
+			return ((SMTPAddressFailedException) cause).getReturnCode();
+		} else if (cause instanceof SMTPSenderFailedException) {
+			return ((SMTPSenderFailedException) cause).getReturnCode();
+		}
+		return -1;
+	}
+
+	private static boolean isNotEmpty(@Nullable final Address[] addresses) {
+		return addresses != null && addresses.length > 0;
+	}
+}
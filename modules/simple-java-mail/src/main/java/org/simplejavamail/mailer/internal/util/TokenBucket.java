@@ -0,0 +1,87 @@
+package org.simplejavamail.mailer.internal.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket that hands out a fixed number of permits per second, allowing bursts up to the bucket's capacity.
+ * <p>
+ * Rather than counting tokens, the bucket tracks the moment at which it will be full again (known as the <em>theoretical arrival time</em> of
+ * the generic cell rate algorithm), which can be updated with a single compare-and-set. Callers that find the bucket empty aren't rejected:
+ * they reserve the next free permit and learn how long they have to wait for it.
+ */
+public class TokenBucket {
+
+	private final long nanosPerPermit;
+	private final long burstNanos;
+	private final AtomicLong nextFreeNanos;
+	private final LongSupplier nanoClock;
+
+	/**
+	 * @param permitsPerSecond The rate at which permits become available.
+	 * @param capacity         The number of permits that can be taken at once after a quiet period.
+	 */
+	public TokenBucket(final int permitsPerSecond, final int capacity) {
+		this(permitsPerSecond, capacity, System::nanoTime);
+	}
+
+	/**
+	 * @param nanoClock The time source, in nanoseconds like {@link System#nanoTime()}, which tests replace to control the passing of time.
+	 */
+	TokenBucket(final int permitsPerSecond, final int capacity, final LongSupplier nanoClock) {
+		this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+		this.burstNanos = (Math.max(1, capacity) - 1) * nanosPerPermit;
+		this.nanoClock = nanoClock;
+		// start with a full bucket
+		this.nextFreeNanos = new AtomicLong(nanoClock.getAsLong() - burstNanos - nanosPerPermit);
+	}
+
+	/**
+	 * Takes the next free permit, which may lie in the future.
+	 *
+	 * @return The number of nanoseconds until the permit becomes available, or zero if it's available right away.
+	 */
+	public long reserve() {
+		while (true) {
+			final long now = nanoClock.getAsLong();
+			final long nextFree = nextFreeNanos.get();
+			final long earliestFree = now - burstNanos;
+			final long permitNanos = nextFree - earliestFree > 0 ? nextFree : earliestFree;
+			if (nextFreeNanos.compareAndSet(nextFree, permitNanos + nanosPerPermit)) {
+				return Math.max(0, permitNanos - now);
+			}
+		}
+	}
+
+	/**
+	 * Takes a permit only if one is available right away.
+	 *
+	 * @return Whether a permit was taken.
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			final long now = nanoClock.getAsLong();
+			final long nextFree = nextFreeNanos.get();
+			final long earliestFree = now - burstNanos;
+			final long permitNanos = nextFree - earliestFree > 0 ? nextFree : earliestFree;
+			if (permitNanos - now > 0) {
+				return false;
+			}
+			if (nextFreeNanos.compareAndSet(nextFree, permitNanos + nanosPerPermit)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Takes the next free permit, waiting until it becomes available.
+	 */
+	public void acquire()
+			throws InterruptedException {
+		final long waitNanos = reserve();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+}
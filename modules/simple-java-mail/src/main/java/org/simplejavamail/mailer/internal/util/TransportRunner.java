@@ -3,17 +3,28 @@ package org.simplejavamail.mailer.internal.util;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.mailer.MailerMetrics;
+import org.simplejavamail.api.mailer.NoOpMailerMetrics;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.modules.BatchModule;
 import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
+import org.simplejavamail.mailer.internal.util.DomainRouter.DomainPermits;
 import org.slf4j.Logger;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -31,30 +42,187 @@ public class TransportRunner {
 	/**
 	 * NOTE: only in case batch-module is *not* in use, the {@link Session} passed in here is garuanteed to be used to send this message.
 	 */
-	public static void sendMessage(@NotNull final UUID clusterKey, final Session session, @NotNull Email email)
+	public static void sendMessage(@NotNull final UUID clusterKey, @NotNull final MailerMetrics metrics, final Session session, @NotNull Email email)
 			throws MessagingException {
-		runOnSessionTransport(clusterKey, session, false, (transport, actualSessionUsed) -> {
-			val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
-			transport.sendMessage(message, message.getAllRecipients());
-			LOGGER.trace("...email sent");
-		});
+		final DomainRouter domainRouter = DomainRouter.forCluster(clusterKey);
+		final DomainPermits domainPermits = domainRouter != null
+				? domainRouter.acquirePermits(SessionBasedEmailToMimeMessageConverter.determineRecipients(session, email))
+				: null;
+		try {
+			runOnSessionTransport(clusterKey, metrics, session, false, (transport, actualSessionUsed) -> {
+				val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
+				try {
+					sendToAllRecipients(metrics, transport, message);
+				} finally {
+					SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+				}
+				LOGGER.trace("...email sent");
+			});
+		} finally {
+			releaseDomainPermits(domainPermits);
+		}
 	}
 
-	public static void connect(@NotNull UUID clusterKey, final Session session)
+	/**
+	 * Sends an already produced message, such as one taken from the spool.
+	 */
+	public static void sendMessage(@NotNull final UUID clusterKey, @NotNull final MailerMetrics metrics, final Session session, @NotNull final MimeMessage message)
 			throws MessagingException {
-		runOnSessionTransport(clusterKey, session, true, (transport, actualSessionUsed) -> {
+		final DomainRouter domainRouter = DomainRouter.forCluster(clusterKey);
+		final DomainPermits domainPermits = domainRouter != null ? domainRouter.acquirePermits(asList(message.getAllRecipients())) : null;
+		try {
+			runOnSessionTransport(clusterKey, metrics, session, false, (transport, actualSessionUsed) -> {
+				sendToAllRecipients(metrics, transport, message);
+				LOGGER.trace("...email sent");
+			});
+		} finally {
+			releaseDomainPermits(domainPermits);
+		}
+	}
+
+	/**
+	 * Sends multiple emails, reusing a claimed transport for consecutive emails rather than claiming a transport per email.
+	 * <p>
+	 * If an email fails to send, the transport it was sent on is discarded (which in case of the batch-module means it is invalidated in the connection
+	 * pool) and the remaining emails are sent using a new transport. An email that fails to convert to a MIME message doesn't affect the transport.
+	 * Every email's outcome is reported to the given {@link BulkSendResultHandler}, by the email's index in the given list. That includes emails that
+	 * fail for reasons unrelated to the email itself; if the list's iterator fails, the emails it didn't return are all reported as failed.
+	 * <p>
+	 * Each email takes a permit from the given rate limiter, and if the cluster has per-domain limits, from its recipient domains as well. If an
+	 * email has to wait for any of these limits, the transport is released rather than kept while waiting, and the email is then sent first on the
+	 * next transport.
+	 */
+	public static void sendMessages(@NotNull final UUID clusterKey, @NotNull final MailerMetrics metrics, final Session session, @NotNull final List<Email> emails,
+			@NotNull final SendRateLimiter rateLimiter, @NotNull final BulkSendResultHandler resultHandler) {
+		final DomainRouter domainRouter = DomainRouter.forCluster(clusterKey);
+		final BulkSendProgress progress = new BulkSendProgress(emails.iterator());
+		while (progress.heldBackEmail != null || progress.hasRemainingEmails()) {
+			if (progress.heldBackEmail == null) {
+				try {
+					// the limits for the first email on a transport are waited for before claiming the transport
+					progress.holdBack(progress.takeNextEmail(), rateLimiter.reserve());
+				} catch (final RuntimeException e) {
+					progress.failUnreportedEmails(emails.size(), resultHandler, e);
+					continue;
+				}
+			}
+			try {
+				progress.awaitHeldBackEmailLimits(domainRouter, session);
+			} catch (final MessagingException e) {
+				progress.heldBackEmail = null;
+				resultHandler.emailFailed(progress.nextEmailIndex++, e);
+				continue;
+			}
+			final AtomicBoolean transportObtained = new AtomicBoolean();
+			final AtomicBoolean emailInProgress = new AtomicBoolean();
+			try {
+				runOnSessionTransport(clusterKey, metrics, session, false, (transport, actualSessionUsed) -> {
+					transportObtained.set(true);
+					while (progress.heldBackEmail != null || progress.hasRemainingEmails()) {
+						final Email email;
+						final DomainPermits domainPermits;
+						if (progress.heldBackEmail != null) {
+							email = progress.heldBackEmail;
+							domainPermits = progress.heldBackPermits;
+							progress.heldBackEmail = null;
+							progress.heldBackPermits = null;
+						} else {
+							email = progress.takeNextEmail();
+							final long rateLimitWaitNanos = rateLimiter.reserve();
+							if (rateLimitWaitNanos > 0) {
+								// release the transport while waiting for the send rate limit
+								progress.holdBack(email, rateLimitWaitNanos);
+								return;
+							}
+							try {
+								domainPermits = domainRouter != null
+										? domainRouter.tryAcquirePermits(SessionBasedEmailToMimeMessageConverter.determineRecipients(session, email))
+										: null;
+							} catch (final MessagingException e) {
+								resultHandler.emailFailed(progress.nextEmailIndex++, e);
+								continue;
+							}
+							if (domainRouter != null && domainPermits == null) {
+								// release the transport while waiting for the recipient domains' limits
+								progress.holdBack(email, 0);
+								return;
+							}
+						}
+						try {
+							final MimeMessage message;
+							try {
+								message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
+							} catch (final Exception e) {
+								// nothing was sent yet, so the transport is still fine to use for the next email
+								resultHandler.emailFailed(progress.nextEmailIndex++, e);
+								continue;
+							}
+							emailInProgress.set(true);
+							try {
+								sendToAllRecipients(metrics, transport, message);
+							} finally {
+								SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+							}
+						} finally {
+							releaseDomainPermits(domainPermits);
+						}
+						LOGGER.trace("...email sent");
+						emailInProgress.set(false);
+						resultHandler.emailSent(progress.nextEmailIndex++);
+					}
+				});
+			} catch (final Exception e) {
+				if (emailInProgress.get()) {
+					resultHandler.emailFailed(progress.nextEmailIndex++, e);
+				} else if (!transportObtained.get()) {
+					// no connection at all, so there is no use trying the remaining emails
+					releaseDomainPermits(progress.heldBackPermits);
+					progress.failRemainingEmails(emails.size(), resultHandler, e);
+				} else if (!progress.failUnreportedEmails(emails.size(), resultHandler, e)) {
+					// every email taken so far has its outcome, so the transport failed while it was being released
+					LOGGER.warn("Error releasing the transport after sending, the emails sent on it are unaffected", e);
+				}
+			}
+		}
+	}
+
+	private static void releaseDomainPermits(@Nullable final DomainPermits domainPermits) {
+		if (domainPermits != null) {
+			domainPermits.release();
+		}
+	}
+
+	private static void sendToAllRecipients(@NotNull final MailerMetrics metrics, @NotNull final Transport transport, @NotNull final MimeMessage message)
+			throws MessagingException {
+		// JavaMail doesn't keep track of the number of bytes sent, so unless nobody is interested, they are counted while the message is written
+		final ByteCountingMessage countingMessage = metrics instanceof NoOpMailerMetrics ? null : new ByteCountingMessage(message);
+		final long start = System.nanoTime();
+		transport.sendMessage(countingMessage != null ? countingMessage : message, message.getAllRecipients());
+		metrics.recordSmtpTransfer(System.nanoTime() - start);
+		// a transport that didn't actually write the message (as a stubbed transport might) leaves nothing to record
+		if (countingMessage != null && countingMessage.getBytesWritten() >= 0) {
+			metrics.recordMessageSize(countingMessage.getBytesWritten());
+		}
+	}
+
+	public static void connect(@NotNull UUID clusterKey, @NotNull final MailerMetrics metrics, final Session session)
+			throws MessagingException {
+		runOnSessionTransport(clusterKey, metrics, session, true, (transport, actualSessionUsed) -> {
 			// the fact that we reached here means a connection was made successfully
 			LOGGER.debug("...connection successful");
 		});
 	}
 
-	private static void runOnSessionTransport(@NotNull UUID clusterKey, Session session, final boolean stickySession, TransportRunnable runnable)
+	private static void runOnSessionTransport(@NotNull UUID clusterKey, @NotNull MailerMetrics metrics, Session session, final boolean stickySession,
+			TransportRunnable runnable)
 			throws MessagingException {
 		if (ModuleLoader.batchModuleAvailable()) {
-			sendUsingConnectionPool(ModuleLoader.loadBatchModule(), clusterKey, session, stickySession, runnable);
+			sendUsingConnectionPool(ModuleLoader.loadBatchModule(), clusterKey, metrics, session, stickySession, runnable);
 		} else {
+			final long start = System.nanoTime();
 			try (Transport transport = session.getTransport()) {
 				TransportConnectionHelper.connectTransport(transport, session);
+				metrics.recordTransportClaim(System.nanoTime() - start);
 				runnable.run(transport, session);
 			} finally {
 				LOGGER.trace("closing transport");
@@ -62,9 +230,12 @@ public class TransportRunner {
 		}
 	}
 
-	private static void sendUsingConnectionPool(@NotNull BatchModule batchModule, @NotNull UUID clusterKey, Session session, boolean stickySession, TransportRunnable runnable)
+	private static void sendUsingConnectionPool(@NotNull BatchModule batchModule, @NotNull UUID clusterKey, @NotNull MailerMetrics metrics, Session session,
+			boolean stickySession, TransportRunnable runnable)
 			throws MessagingException {
+		final long start = System.nanoTime();
 		LifecycleDelegatingTransport delegatingTransport = batchModule.acquireTransport(clusterKey, session, stickySession);
+		metrics.recordTransportClaim(System.nanoTime() - start);
 		try {
 			runnable.run(delegatingTransport.getTransport(), delegatingTransport.getSessionUsedToObtainTransport());
 		} catch (final Throwable t) {
@@ -75,8 +246,111 @@ public class TransportRunner {
 		delegatingTransport.signalTransportUsed();
 	}
 
+	/**
+	 * Receives the outcome for each individual email sent with {@link #sendMessages(UUID, MailerMetrics, Session, List, SendRateLimiter, BulkSendResultHandler)}.
+	 */
+	public interface BulkSendResultHandler {
+		void emailSent(int emailIndex);
+		void emailFailed(int emailIndex, @NotNull Exception cause);
+	}
+
+	/**
+	 * Keeps track of a bulk send across the transports it is spread over. Only used by the thread running the bulk send.
+	 */
+	private static class BulkSendProgress {
+		@NotNull private final Iterator<Email> remainingEmails;
+		/**
+		 * Set when taking the next email failed, after which the remaining emails can't be taken in order anymore.
+		 */
+		private boolean remainingEmailsUnavailable;
+		private int takenEmailCount;
+		/**
+		 * The index of the next email to report the outcome of, which trails {@link #takenEmailCount} while an email is being processed.
+		 */
+		private int nextEmailIndex;
+		/**
+		 * An email taken from the remaining emails, but not sent yet because it had to wait for the send rate limit or its recipient domains' limits.
+		 */
+		@Nullable private Email heldBackEmail;
+		private long heldBackUntilNanos;
+		@Nullable private DomainPermits heldBackPermits;
+
+		BulkSendProgress(@NotNull final Iterator<Email> remainingEmails) {
+			this.remainingEmails = remainingEmails;
+		}
+
+		boolean hasRemainingEmails() {
+			return !remainingEmailsUnavailable && remainingEmails.hasNext();
+		}
+
+		@NotNull
+		Email takeNextEmail() {
+			try {
+				final Email email = remainingEmails.next();
+				takenEmailCount++;
+				return email;
+			} catch (final RuntimeException e) {
+				remainingEmailsUnavailable = true;
+				throw e;
+			}
+		}
+
+		/**
+		 * Reports the email that was taken but didn't get an outcome because of the given failure, or if the remaining emails can't be taken
+		 * anymore, all of them. A held back email is left alone, since it is still sent on the next transport.
+		 *
+		 * @return Whether any email was reported as failed.
+		 */
+		boolean failUnreportedEmails(final int emailCount, @NotNull final BulkSendResultHandler resultHandler, @NotNull final Exception cause) {
+			if (remainingEmailsUnavailable) {
+				failRemainingEmails(emailCount, resultHandler, cause);
+				return true;
+			}
+			final boolean emailLost = nextEmailIndex < takenEmailCount - (heldBackEmail != null ? 1 : 0);
+			if (emailLost) {
+				resultHandler.emailFailed(nextEmailIndex++, cause);
+			}
+			return emailLost;
+		}
+
+		/**
+		 * Reports every email without an outcome as failed, the held back email included, after which no more emails are taken.
+		 */
+		void failRemainingEmails(final int emailCount, @NotNull final BulkSendResultHandler resultHandler, @NotNull final Exception cause) {
+			remainingEmailsUnavailable = true;
+			heldBackEmail = null;
+			while (nextEmailIndex < emailCount) {
+				resultHandler.emailFailed(nextEmailIndex++, cause);
+			}
+		}
+
+		void holdBack(@NotNull final Email email, final long rateLimitWaitNanos) {
+			heldBackEmail = email;
+			heldBackUntilNanos = System.nanoTime() + rateLimitWaitNanos;
+		}
+
+		/**
+		 * Waits until the send rate permit the held back email reserved becomes available, then claims its recipient domains' permits.
+		 */
+		void awaitHeldBackEmailLimits(@Nullable final DomainRouter domainRouter, @NotNull final Session session)
+				throws MessagingException {
+			try {
+				final long waitNanos = heldBackUntilNanos - System.nanoTime();
+				if (waitNanos > 0) {
+					TimeUnit.NANOSECONDS.sleep(waitNanos);
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new MessagingException("Interrupted while waiting for the send rate limit", e);
+			}
+			if (domainRouter != null) {
+				heldBackPermits = domainRouter.acquirePermits(SessionBasedEmailToMimeMessageConverter.determineRecipients(session, requireNonNull(heldBackEmail)));
+			}
+		}
+	}
+
 	public interface TransportRunnable {
 		void run(Transport transport, Session actualSessionUsed)
 				throws MessagingException;
 	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package org.simplejavamail.converter;
 
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.util.ByteArrayDataSource;
 import org.apache.commons.codec.binary.Base64;
 import org.jetbrains.annotations.NotNull;
@@ -10,20 +12,34 @@ import org.simplejavamail.api.email.ContentTransferEncoding;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailAssert;
 import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.email.EmailBuilder;
 import testutil.ConfigLoaderTestHelper;
 import testutil.EmailHelper;
 import testutil.SecureTestDataHelper;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.mail.Message.RecipientType.CC;
 import static jakarta.mail.Message.RecipientType.TO;
 import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.simplejavamail.api.email.ContentTransferEncoding.BIT7;
 import static org.simplejavamail.internal.util.MiscUtil.normalizeNewlines;
@@ -128,6 +144,168 @@ public class EmailConverterTest {
 		assertThat(email.getAttachments()).extracting("name").containsExactly("ForwardedMessage.eml", "ForwardedMessage.eml");
 	}
 	
+	@Test
+	public void testEmlWith8BitNonUtf8ContentFromStreamAndFile()
+			throws IOException {
+		final byte[] eml = ("From: a@b.com\r\n"
+				+ "Subject: latin-1\r\n"
+				+ "Content-Type: text/plain; charset=ISO-8859-1\r\n"
+				+ "Content-Transfer-Encoding: 8bit\r\n"
+				+ "\r\n"
+				+ "caf\u00e9 cr\u00e8me br\u00fbl\u00e9e").getBytes(ISO_8859_1);
+
+		assertThat(EmailConverter.emlToEmail(new ByteArrayInputStream(eml)).getPlainText()).isEqualTo("caf\u00e9 cr\u00e8me br\u00fbl\u00e9e");
+
+		final Path emlFile = Files.createTempFile("latin-1", ".eml");
+		try {
+			Files.write(emlFile, eml);
+			assertThat(EmailConverter.emlToEmail(emlFile).getPlainText()).isEqualTo("caf\u00e9 cr\u00e8me br\u00fbl\u00e9e");
+			assertThat(EmailConverter.emlToEmail(emlFile.toFile()).getPlainText()).isEqualTo("caf\u00e9 cr\u00e8me br\u00fbl\u00e9e");
+		} finally {
+			Files.deleteIfExists(emlFile);
+		}
+	}
+
+	@Test
+	public void testEmlFileTooLargeToMapIsStreamed()
+			throws Exception {
+		final Email original = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("a@b.com")
+				.to("c@d.com")
+				.withPlainText("streamed rather than mapped")
+				.withAttachment("data.txt", "attached".getBytes(UTF_8), "text/plain")
+				.buildEmail();
+
+		final Path emlFile = Files.createTempFile("large", ".eml");
+		try {
+			Files.write(emlFile, EmailConverter.emailToEML(original).getBytes(UTF_8));
+
+			final MimeMessage message = EmailConverter.emlToMimeMessage(emlFile, Session.getInstance(new Properties()), 10);
+			final Email email = EmailConverter.mimeMessageToEmail(message);
+			assertThat(email.getPlainText()).isEqualTo("streamed rather than mapped");
+			assertThat(email.getAttachments().get(0).readAllBytes()).isEqualTo("attached".getBytes(UTF_8));
+		} finally {
+			Files.deleteIfExists(emlFile);
+		}
+	}
+
+	@Test
+	public void testEmlFileWithLazyAttachmentData()
+			throws IOException {
+		final byte[] attachmentData = new byte[100_000];
+		new Random(42).nextBytes(attachmentData);
+		final Email original = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("a@b.com")
+				.to("c@d.com")
+				.withPlainText("see attachment")
+				.withAttachment("data.bin", attachmentData, "application/octet-stream")
+				.buildEmail();
+
+		final Path emlFile = Files.createTempFile("lazy", ".eml");
+		try {
+			Files.write(emlFile, EmailConverter.emailToEML(original).getBytes(UTF_8));
+
+			final Email email = EmailConverter.emlToEmail(emlFile, null, false);
+			assertThat(email.getAttachments()).hasSize(1);
+			final AttachmentResource attachment = email.getAttachments().get(0);
+			assertThat(attachment.getName()).isEqualTo("data.bin");
+			assertThat(attachment.getDataSource()).isNotInstanceOf(ByteArrayDataSource.class);
+			// read on demand, as often as needed
+			assertThat(attachment.readAllBytes()).isEqualTo(attachmentData);
+			assertThat(attachment.readAllBytes()).isEqualTo(attachmentData);
+		} finally {
+			Files.deleteIfExists(emlFile);
+		}
+	}
+
+	@Test
+	public void testMboxRoundTrip()
+			throws IOException {
+		final List<Email> emails = createNumberedEmails(20);
+		final Path mboxFile = Files.createTempFile("test", ".mbox");
+		try {
+			EmailConverter.emailsToMbox(emails.subList(0, 10), mboxFile);
+			// appends
+			EmailConverter.emailsToMbox(emails.subList(10, 20), mboxFile);
+
+			assertThat(EmailConverter.mboxToEmails(mboxFile).map(email -> normalizeNewlines(email.getPlainText())).collect(toList()))
+					.containsExactlyElementsOf(emails.stream().map(Email::getPlainText).collect(toList()));
+			assertThat(EmailConverter.mboxToEmails(mboxFile).parallel().map(Email::getSubject).collect(toList()))
+					.containsExactlyElementsOf(emails.stream().map(Email::getSubject).collect(toList()));
+		} finally {
+			Files.deleteIfExists(mboxFile);
+		}
+	}
+
+	@Test
+	public void testMaildirRoundTrip()
+			throws IOException {
+		final List<Email> emails = createNumberedEmails(5);
+		final Path maildir = Files.createTempDirectory("maildir");
+		try {
+			EmailConverter.emailsToMaildir(emails, maildir);
+
+			assertThat(maildir.resolve("tmp")).isEmptyDirectory();
+			assertThat(EmailConverter.maildirToEmails(maildir).parallel().map(email -> normalizeNewlines(email.getPlainText())).collect(toList()))
+					.containsExactlyInAnyOrderElementsOf(emails.stream().map(Email::getPlainText).collect(toList()));
+		} finally {
+			try (Stream<Path> files = Files.walk(maildir)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	@NotNull
+	private static List<Email> createNumberedEmails(final int count) {
+		final List<Email> emails = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			emails.add(EmailBuilder.ignoringDefaults().startingBlank()
+					.from("sender" + i + "@example.com")
+					.to("recipient@example.com")
+					.withSubject("email " + i)
+					// the From line must be escaped in the mbox
+					.withPlainText("From the desk of sender " + i + "\n\n>From earlier\n")
+					.buildEmail());
+		}
+		return emails;
+	}
+
+	@Test
+	public void testOutlookMsgBatchConversion()
+			throws IOException {
+		final Path brokenMsgFile = Files.createTempFile("broken", ".msg");
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Files.write(brokenMsgFile, "not an Outlook message".getBytes(UTF_8));
+			final List<Path> msgFiles = new ArrayList<>();
+			msgFiles.add(Paths.get(RESOURCE_TEST_MESSAGES, "simple email with TO and CC.msg"));
+			msgFiles.add(brokenMsgFile);
+			msgFiles.add(Paths.get(RESOURCE_TEST_MESSAGES, "HTML mail with replyto and attachment and embedded image.msg"));
+			msgFiles.add(Paths.get(RESOURCE_TEST_MESSAGES, "tst_unicode.msg"));
+			msgFiles.add(Paths.get(RESOURCE_TEST_MESSAGES, "unsent draft.msg"));
+
+			final List<MsgConversionResult> results;
+			try (Stream<MsgConversionResult> resultStream = EmailConverter.outlookMsgsToEmails(msgFiles.stream(), executor, 2, null)) {
+				results = resultStream.collect(toList());
+			}
+
+			assertThat(results).extracting(MsgConversionResult::getMsgFile).containsExactlyInAnyOrderElementsOf(msgFiles);
+			for (final MsgConversionResult result : results) {
+				assertThat(result.isSuccess()).as(result.getMsgFile().toString()).isEqualTo(!result.getMsgFile().equals(brokenMsgFile));
+				assertThat(result.getConversionTimeNanos()).isPositive();
+				if (result.isSuccess()) {
+					assertThat(result.getEmail()).isEqualTo(EmailConverter.outlookMsgToEmail(result.getMsgFile().toFile()));
+				} else {
+					assertThat(result.getEmail()).isNull();
+					assertThat(result.getError()).isNotNull();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			Files.deleteIfExists(brokenMsgFile);
+		}
+	}
+
 	@Test
 	public void testOutlookMessageWithEmptyAttachments() {
 		Email s1 = EmailConverter.outlookMsgToEmail(new File(RESOURCE_TEST_MESSAGES + "/#318 Email with nodata-attachment.msg"));
@@ -0,0 +1,47 @@
+package org.simplejavamail.converter.internal;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToString;
+
+public class ByteBufferSharedInputStreamTest {
+
+	@Test
+	public void testReadAndPosition()
+			throws IOException {
+		final ByteBufferSharedInputStream in = new ByteBufferSharedInputStream(ByteBuffer.wrap("0123456789".getBytes(US_ASCII)));
+		assertThat(in.read()).isEqualTo('0');
+		assertThat(in.skip(2)).isEqualTo(2);
+		assertThat(in.getPosition()).isEqualTo(3);
+		assertThat(in.available()).isEqualTo(7);
+
+		in.mark(0);
+		assertThat(readInputStreamToString(in, US_ASCII)).isEqualTo("3456789");
+		assertThat(in.read()).isEqualTo(-1);
+		assertThat(in.skip(5)).isZero();
+		in.reset();
+		assertThat(in.getPosition()).isEqualTo(3);
+	}
+
+	@Test
+	public void testNewStream()
+			throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap("xx0123456789".getBytes(US_ASCII));
+		buffer.position(2);
+		final ByteBufferSharedInputStream in = new ByteBufferSharedInputStream(buffer);
+		in.skip(5);
+
+		final InputStream range = in.newStream(2, 6);
+		assertThat(readInputStreamToString(range, US_ASCII)).isEqualTo("2345");
+		assertThat(readInputStreamToString(in.newStream(8, -1), US_ASCII)).isEqualTo("89");
+		// the new streams don't affect the original
+		assertThat(in.getPosition()).isEqualTo(5);
+		assertThat(((ByteBufferSharedInputStream) range).getPosition()).isEqualTo(4);
+	}
+}
@@ -0,0 +1,119 @@
+package org.simplejavamail.converter.internal.mailbox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToString;
+
+public class MboxFileTest {
+
+	private static final String MBOX = "From a@b.com Thu Jan 01 00:00:00 1970\n"
+			+ "Subject: one\n"
+			+ "\n"
+			+ "first\n"
+			+ "\n"
+			+ "From c@d.com Thu Jan 01 00:00:00 1970\n"
+			+ "Subject: two\n"
+			+ "\n"
+			+ ">From the start\n"
+			+ ">>From quoted\n"
+			+ " From indented\n"
+			+ "\n"
+			+ "From e@f.com Thu Jan 01 00:00:00 1970\n"
+			+ "Subject: three\n"
+			+ "\n"
+			+ "third\n"
+			+ "\n";
+
+	private Path mboxFile;
+
+	@Before
+	public void setUp()
+			throws IOException {
+		mboxFile = Files.createTempFile("test", ".mbox");
+		Files.write(mboxFile, MBOX.getBytes(US_ASCII));
+	}
+
+	@After
+	public void tearDown()
+			throws IOException {
+		Files.deleteIfExists(mboxFile);
+	}
+
+	@Test
+	public void testSplitMessages()
+			throws IOException {
+		assertThat(readMessages(MboxFile.MAX_WINDOW_SIZE)).containsExactly(
+				"Subject: one\n\nfirst\n",
+				"Subject: two\n\nFrom the start\n>From quoted\n From indented\n",
+				"Subject: three\n\nthird\n");
+	}
+
+	@Test
+	public void testSplitMessagesAcrossWindows()
+			throws IOException {
+		// windows end in the middle of messages and From lines
+		for (int windowSize = 120; windowSize < MBOX.length(); windowSize += 7) {
+			assertThat(readMessages(windowSize)).as("window size %s", windowSize).hasSize(3).endsWith("Subject: three\n\nthird\n");
+		}
+	}
+
+	@Test
+	public void testMessageLargerThanWindow() {
+		assertThatThrownBy(() -> MboxFile.splitMessages(mboxFile, 40))
+				.isInstanceOf(IOException.class)
+				.hasMessage("message at offset 0 is larger than the maximum of 40 bytes");
+	}
+
+	@Test
+	public void testNotAnMboxFile()
+			throws IOException {
+		Files.write(mboxFile, "Subject: eml\n\nbody\n".getBytes(US_ASCII));
+		assertThatThrownBy(() -> MboxFile.splitMessages(mboxFile, MboxFile.MAX_WINDOW_SIZE))
+				.isInstanceOf(IOException.class)
+				.hasMessage("not an mbox file, expected a From line at offset 0");
+	}
+
+	@Test
+	public void testEscapingRoundTrip()
+			throws IOException {
+		final String message = "From the start\r\n>From quoted\r\nFro\r\n>\r\nFrom";
+		final ByteArrayOutputStream mbox = new ByteArrayOutputStream();
+		MboxFile.writeFromLine(mbox, "a@b.com", new Date(0));
+		final MboxEscapingOutputStream escaping = new MboxEscapingOutputStream(mbox);
+		final byte[] bytes = message.getBytes(US_ASCII);
+		// mix the single byte and the array writes
+		escaping.write(bytes[0]);
+		escaping.write(bytes, 1, bytes.length - 1);
+		escaping.finish();
+		mbox.write('\n');
+
+		assertThat(mbox.toString("US-ASCII")).isEqualTo("From a@b.com Thu Jan 01 00:00:00 1970\n"
+				+ ">From the start\r\n>>From quoted\r\nFro\r\n>\r\nFrom\n\n");
+
+		Files.write(mboxFile, mbox.toByteArray());
+		assertThat(readMessages(MboxFile.MAX_WINDOW_SIZE)).containsExactly(message + "\n");
+	}
+
+	private List<String> readMessages(final int windowSize)
+			throws IOException {
+		final List<String> messages = new ArrayList<>();
+		for (final ByteBuffer message : MboxFile.splitMessages(mboxFile, windowSize)) {
+			messages.add(readInputStreamToString(MboxFile.openMessage(message), US_ASCII));
+		}
+		return messages;
+	}
+}
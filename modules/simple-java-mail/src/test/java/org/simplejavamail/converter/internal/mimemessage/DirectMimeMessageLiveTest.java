@@ -0,0 +1,51 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.converter.EmailConverter.mimeMessageToEmail;
+
+public class DirectMimeMessageLiveTest {
+
+	private static final Integer SERVER_PORT = 262;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testMailerWritesMimeMessageDirectlyToTransport()
+			throws Exception {
+		val directMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withDirectMimeWriting(true)
+				.buildMailer();
+		val email = EmailBuilder.startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withSubject("direct writing")
+				.withPlainText("see attached")
+				.withHTMLText("<b>see attached</b>")
+				.withAttachment("notes.txt", "some notes".getBytes(UTF_8), "text/plain")
+				.buildEmail();
+
+		directMailer.sendMail(email);
+
+		val received = mimeMessageToEmail(smtpServerRule.getOnlyMessage().getMimeMessage());
+		assertThat(received.getPlainText()).isEqualTo("see attached");
+		assertThat(received.getHTMLText()).isEqualTo("<b>see attached</b>");
+		assertThat(received.getAttachments()).hasSize(1);
+		assertThat(received.getAttachments().get(0).readAllData(UTF_8)).isEqualTo("some notes");
+	}
+}
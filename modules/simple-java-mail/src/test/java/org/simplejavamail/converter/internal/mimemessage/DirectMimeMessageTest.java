@@ -0,0 +1,152 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.Test;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.CalendarMethod;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DirectMimeMessageTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testPlainTextOnly()
+			throws Exception {
+		assertSameEmailWhenParsed(baseEmail().withPlainText("zoete lente ☀\nline two"));
+	}
+
+	@Test
+	public void testAlternativeTexts()
+			throws Exception {
+		assertSameEmailWhenParsed(baseEmail()
+				.withPlainText("plain")
+				.withHTMLText("<b>html</b>")
+				.withCalendarText(CalendarMethod.REQUEST, "BEGIN:VCALENDAR\nEND:VCALENDAR"));
+	}
+
+	@Test
+	public void testMixedRelatedAlternative()
+			throws Exception {
+		final byte[] brochure = new byte[50_000];
+		new Random(42).nextBytes(brochure);
+		final MimeMessage message = assertSameEmailWhenParsed(baseEmail()
+				.withPlainText("see attached")
+				.withHTMLText("<img src=\"cid:logo\"/> see attached")
+				.withEmbeddedImage("logo", new byte[] { 1, 2, 3 }, "image/png")
+				.withAttachment("brochure.pdf", brochure, "application/pdf", "our brochure")
+				.withAttachment("notes.txt", "some notes".getBytes(UTF_8), "text/plain")
+				.withHeader("X-Campaign", "spring")
+				.withBounceTo("bounces@candyshop.org"));
+
+		assertThat(message).isInstanceOf(DirectMimeMessage.class);
+		assertThat(message.getContentType()).startsWith("multipart/mixed");
+		assertThat(((DirectMimeMessage) message).getEnvelopeFrom()).isEqualTo("bounces@candyshop.org");
+	}
+
+	@Test
+	public void testRelatedSingleText()
+			throws Exception {
+		assertSameEmailWhenParsed(baseEmail()
+				.withHTMLText("<img src=\"cid:logo\"/>")
+				.withEmbeddedImage("logo", new byte[] { 1, 2, 3 }, "image/png"));
+	}
+
+	@Test
+	public void testWrittenFromEncodedAttachmentCache()
+			throws Exception {
+		final ByteArrayDataSource brochureSource = new ByteArrayDataSource(new byte[] { 4, 5, 6 }, "application/pdf");
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(1024 * 1024);
+		assertSameEmailWhenParsed(baseEmail()
+				.withPlainText("see attached")
+				.withAttachment("brochure.pdf", brochureSource), attachmentCache);
+		assertThat(attachmentCache.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testLeavesEmailsThatNeedFurtherProcessingToRegularProducers()
+			throws Exception {
+		final Email forwarding = EmailBuilder.ignoringDefaults().forwarding(baseEmail().withPlainText("original").buildEmail())
+				.from("lollypop@candyshop.org")
+				.to("g.bear@candyshop.org")
+				.withPlainText("forwarded")
+				.buildEmail();
+		assertThat(DirectMimeMessageProducer.compatibleWithEmail(forwarding, EmailGovernance.NO_GOVERNANCE)).isFalse();
+		assertThat(MimeMessageProducerHelper.produceMimeMessage(forwarding, EmailGovernance.NO_GOVERNANCE, SESSION, true, null))
+				.isNotInstanceOf(DirectMimeMessage.class);
+
+		final Email withoutTexts = baseEmail().buildEmail();
+		assertThat(DirectMimeMessageProducer.compatibleWithEmail(withoutTexts, EmailGovernance.NO_GOVERNANCE)).isFalse();
+	}
+
+	private static EmailPopulatingBuilder baseEmail() {
+		return EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.cc("g.bear@candyshop.org")
+				.withSubject("direct writing")
+				.fixingMessageId("<fixed@candyshop.org>");
+	}
+
+	private static MimeMessage assertSameEmailWhenParsed(final EmailPopulatingBuilder emailBuilder)
+			throws Exception {
+		return assertSameEmailWhenParsed(emailBuilder, null);
+	}
+
+	private static MimeMessage assertSameEmailWhenParsed(final EmailPopulatingBuilder emailBuilder, final EncodedAttachmentCache attachmentCache)
+			throws Exception {
+		final Email email = emailBuilder.buildEmail();
+		final MimeMessage regularMessage = MimeMessageProducerHelper.produceMimeMessage(email, EmailGovernance.NO_GOVERNANCE, SESSION, false, null);
+		final MimeMessage directMessage = MimeMessageProducerHelper.produceMimeMessage(email, EmailGovernance.NO_GOVERNANCE, SESSION, true, attachmentCache);
+		assertThat(directMessage).isInstanceOf(DirectMimeMessage.class);
+
+		final Email regular = EmailConverter.emlToEmail(write(regularMessage));
+		final Email direct = EmailConverter.emlToEmail(write(directMessage));
+		assertThat(direct.getSubject()).isEqualTo(regular.getSubject());
+		assertThat(direct.getFromRecipient()).isEqualTo(regular.getFromRecipient());
+		assertThat(direct.getRecipients()).isEqualTo(regular.getRecipients());
+		assertThat(direct.getPlainText()).isEqualTo(regular.getPlainText());
+		assertThat(direct.getHTMLText()).isEqualTo(regular.getHTMLText());
+		assertThat(direct.getCalendarText()).isEqualTo(regular.getCalendarText());
+		assertThat(direct.getCalendarMethod()).isEqualTo(regular.getCalendarMethod());
+		assertThat(direct.getHeaders()).containsAllEntriesOf(email.getHeaders());
+		assertSameAttachments(direct.getEmbeddedImages(), regular.getEmbeddedImages());
+		assertSameAttachments(direct.getAttachments(), regular.getAttachments());
+
+		// the content can also be read back without writing the message first
+		assertThat(EmailConverter.mimeMessageToEmail(directMessage).getPlainText()).isEqualTo(regular.getPlainText());
+		return directMessage;
+	}
+
+	private static void assertSameAttachments(final List<AttachmentResource> actual, final List<AttachmentResource> expected)
+			throws Exception {
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.get(i).getName()).isEqualTo(expected.get(i).getName());
+			assertThat(actual.get(i).getDescription()).isEqualTo(expected.get(i).getDescription());
+			assertThat(actual.get(i).getDataSource().getContentType()).isEqualTo(expected.get(i).getDataSource().getContentType());
+			assertThat(actual.get(i).readAllBytes()).isEqualTo(expected.get(i).readAllBytes());
+		}
+	}
+
+	private static String write(final MimeMessage message)
+			throws Exception {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		message.writeTo(os);
+		return os.toString(UTF_8.name());
+	}
+}
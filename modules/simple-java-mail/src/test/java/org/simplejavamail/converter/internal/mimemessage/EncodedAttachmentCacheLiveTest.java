@@ -0,0 +1,52 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.converter.EmailConverter.mimeMessageToEmail;
+
+public class EncodedAttachmentCacheLiveTest {
+
+	private static final Integer SERVER_PORT = 261;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testMailerReusesEncodedAttachments()
+			throws Exception {
+		val cachingMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withAttachmentEncodingCacheSize(1024 * 1024)
+				.buildMailer();
+		for (final String recipient : asList("c.cane@candyshop.org", "g.bear@candyshop.org")) {
+			cachingMailer.sendMail(EmailBuilder.startingBlank()
+					.from("lollypop@candyshop.org")
+					.to(recipient)
+					.withSubject("our brochure")
+					.withPlainText("see attached")
+					.withAttachment("brochure.txt", "our brochure".getBytes(UTF_8), "text/plain")
+					.buildEmail());
+		}
+
+		assertThat(smtpServerRule.getMessages()).hasSize(2);
+		for (final String recipient : asList("c.cane@candyshop.org", "g.bear@candyshop.org")) {
+			val received = mimeMessageToEmail(smtpServerRule.getMessage(recipient));
+			assertThat(received.getAttachments()).hasSize(1);
+			assertThat(received.getAttachments().get(0).readAllData(UTF_8)).isEqualTo("our brochure");
+		}
+	}
+}
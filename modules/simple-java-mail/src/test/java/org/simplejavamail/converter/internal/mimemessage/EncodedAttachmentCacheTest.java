@@ -0,0 +1,192 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.ContentTransferEncoding;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EncodedAttachmentCacheTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testSharedAttachmentIsEncodedOnce()
+			throws Exception {
+		final byte[] brochure = randomBytes(200_000, 42);
+		final CountingDataSource dataSource = new CountingDataSource(new ByteArrayDataSource(brochure, "application/pdf"));
+		final String uncachedEml = writeEmail(dataSource, null, null);
+
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(1024 * 1024);
+		dataSource.opened.set(0);
+		final String firstEml = writeEmail(dataSource, null, attachmentCache);
+		final int openedForFirstEmail = dataSource.opened.get();
+		final String secondEml = writeEmail(dataSource, null, attachmentCache);
+
+		// after encoding it for the first email, it is only read to recognize it
+		assertThat(openedForFirstEmail).isGreaterThan(1);
+		assertThat(dataSource.opened.get() - openedForFirstEmail).isEqualTo(1);
+		assertThat(attachmentCache.size()).isEqualTo(1);
+		assertThat(withoutVaryingHeaders(firstEml)).isEqualTo(withoutVaryingHeaders(uncachedEml));
+		assertThat(withoutVaryingHeaders(secondEml)).isEqualTo(withoutVaryingHeaders(uncachedEml));
+
+		final Email parsed = EmailConverter.emlToEmail(secondEml);
+		assertThat(parsed.getAttachments()).hasSize(1);
+		assertThat(parsed.getAttachments().get(0).readAllBytes()).isEqualTo(brochure);
+	}
+
+	@Test
+	public void testAttachmentsWithTheSameContentAreRecognized()
+			throws Exception {
+		final byte[] brochure = randomBytes(10_000, 42);
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(1024 * 1024);
+
+		// every email gets its own copy, as when attachments are added as byte arrays
+		writeEmail(new ByteArrayDataSource(brochure.clone(), "application/pdf"), null, attachmentCache);
+		writeEmail(new ByteArrayDataSource(brochure.clone(), "application/pdf"), null, attachmentCache);
+		assertThat(attachmentCache.size()).isEqualTo(1);
+
+		writeEmail(new ByteArrayDataSource(brochure.clone(), "application/octet-stream"), null, attachmentCache);
+		writeEmail(new ByteArrayDataSource(randomBytes(10_000, 43), "application/pdf"), null, attachmentCache);
+		assertThat(attachmentCache.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void testForcedEncodingIsCachedSeparately()
+			throws Exception {
+		final DataSource dataSource = new ByteArrayDataSource("plain text attachment", "text/plain");
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(1024 * 1024);
+
+		assertThat(writeEmail(dataSource, ContentTransferEncoding.BASE_64, attachmentCache)).contains("Content-Transfer-Encoding: base64");
+		assertThat(writeEmail(dataSource, ContentTransferEncoding.QUOTED_PRINTABLE, attachmentCache)).contains("Content-Transfer-Encoding: quoted-printable");
+		assertThat(attachmentCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedAttachmentIsEvicted()
+			throws Exception {
+		// base64 of 3000 bytes takes 4000 characters plus line breaks
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(10_000);
+
+		writeEmail(new ByteArrayDataSource(randomBytes(3000, 1), "application/octet-stream"), null, attachmentCache);
+		writeEmail(new ByteArrayDataSource(randomBytes(3000, 2), "application/octet-stream"), null, attachmentCache);
+		assertThat(attachmentCache.size()).isEqualTo(2);
+		writeEmail(new ByteArrayDataSource(randomBytes(3000, 3), "application/octet-stream"), null, attachmentCache);
+		assertThat(attachmentCache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testAttachmentLargerThanTheCacheIsNotEncoded()
+			throws Exception {
+		final EncodedAttachmentCache attachmentCache = new EncodedAttachmentCache(1000);
+
+		final File file = temporaryFolder.newFile("brochure.pdf");
+		Files.write(file.toPath(), randomBytes(2000, 42));
+		final CountingFileDataSource fileDataSource = new CountingFileDataSource(file);
+		assertThat(attachmentCache.lookup(new AttachmentResource("brochure.pdf", fileDataSource))).isNull();
+		assertThat(fileDataSource.opened).hasValue(0);
+
+		assertThat(attachmentCache.lookup(new AttachmentResource("brochure.pdf", new ByteArrayDataSource(randomBytes(2000, 42), "application/pdf")))).isNull();
+		// base64 of 900 bytes takes 1200 characters
+		assertThat(attachmentCache.lookup(new AttachmentResource("brochure.pdf", new ByteArrayDataSource(randomBytes(900, 42), "application/pdf")))).isNull();
+		assertThat(attachmentCache.size()).isZero();
+	}
+
+	private static byte[] randomBytes(final int size, final long seed) {
+		final byte[] bytes = new byte[size];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static String writeEmail(final DataSource attachment, final ContentTransferEncoding contentTransferEncoding,
+			final EncodedAttachmentCache attachmentCache)
+			throws Exception {
+		final Email email = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withSubject("brochure")
+				.withPlainText("see attached")
+				.withAttachment("brochure", attachment, null, contentTransferEncoding)
+				.fixingMessageId("<fixed@candyshop.org>")
+				.buildEmail();
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(email, EmailGovernance.NO_GOVERNANCE, SESSION, false, attachmentCache);
+		final ByteArrayOutputStream eml = new ByteArrayOutputStream();
+		message.writeTo(eml);
+		return eml.toString("UTF-8");
+	}
+
+	private static String withoutVaryingHeaders(final String eml) {
+		// the boundary's length varies, and with it where the Content-Type header is folded
+		return eml.replaceAll("(?m)^Date: .*$", "").replaceAll("----=_Part_[\\w.]+", "boundary").replaceAll(";\\s+", "; ");
+	}
+
+	private static class CountingDataSource implements DataSource {
+		private final DataSource delegate;
+		private final AtomicInteger opened = new AtomicInteger();
+
+		private CountingDataSource(final DataSource delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public InputStream getInputStream()
+				throws IOException {
+			opened.incrementAndGet();
+			return delegate.getInputStream();
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getContentType() {
+			return delegate.getContentType();
+		}
+
+		@Override
+		public String getName() {
+			return "brochure.pdf";
+		}
+	}
+
+	private static class CountingFileDataSource extends FileDataSource {
+		private final AtomicInteger opened = new AtomicInteger();
+
+		private CountingFileDataSource(final File file) {
+			super(file);
+		}
+
+		@Override
+		public InputStream getInputStream()
+				throws IOException {
+			opened.incrementAndGet();
+			return super.getInputStream();
+		}
+	}
+}
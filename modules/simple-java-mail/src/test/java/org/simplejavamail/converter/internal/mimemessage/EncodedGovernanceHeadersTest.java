@@ -0,0 +1,64 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EncodedGovernanceHeadersTest {
+
+	@Test
+	public void testGovernanceHeadersAreEncodedOnceAndMerged()
+			throws Exception {
+		final Email defaults = EmailBuilder.ignoringDefaults().startingBlank()
+				.withHeader("List-Unsubscribe", "<mailto:unsubscribe@candyshop.org>")
+				.withHeader("X-Campaign", "zoete lente ☀")
+				.withHeader("X-Priority", "3")
+				.buildEmail();
+		final Email overrides = EmailBuilder.ignoringDefaults().startingBlank()
+				.withHeader("X-Mailer", "candyshop mailer")
+				.buildEmail();
+		final EmailGovernance governance = new EmailGovernance(null, null, defaults, overrides);
+
+		final MimeMessage first = produce(governance, "1", "candy mailer");
+		final EncodedGovernanceHeaders encodedHeaders = EncodedGovernanceHeaders.of(governance);
+		final MimeMessage second = produce(governance, "5", "gummy mailer");
+
+		assertThat(EncodedGovernanceHeaders.of(governance)).isSameAs(encodedHeaders);
+		assertThat(encodedHeaders.getDefaultHeaders().get("X-Campaign").get(0)).startsWith("=?UTF-8?");
+		assertThat(first.getHeader("List-Unsubscribe")).containsExactly("<mailto:unsubscribe@candyshop.org>");
+		assertThat(first.getHeader("X-Campaign")).containsExactly(encodedHeaders.getDefaultHeaders().get("X-Campaign").get(0));
+		assertThat(first.getHeader("X-Priority")).containsExactly("1");
+		assertThat(second.getHeader("X-Priority")).containsExactly("5");
+		assertThat(first.getHeader("X-Mailer")).containsExactly("candyshop mailer");
+		assertThat(second.getHeader("X-Mailer")).containsExactly("candyshop mailer");
+	}
+
+	@Test
+	public void testWithoutGovernanceHeaders()
+			throws Exception {
+		final EncodedGovernanceHeaders encodedHeaders = EncodedGovernanceHeaders.of(EmailGovernance.NO_GOVERNANCE);
+		assertThat(encodedHeaders.getDefaultHeaders()).isEmpty();
+		assertThat(encodedHeaders.getOverrideHeaders()).isEmpty();
+		assertThat(produce(EmailGovernance.NO_GOVERNANCE, "2", "candy mailer").getHeader("X-Priority")).containsExactly("2");
+	}
+
+	private static MimeMessage produce(final EmailGovernance governance, final String priority, final String mailer)
+			throws Exception {
+		final Email email = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withSubject("headers")
+				.withPlainText("headers")
+				.withHeader("X-Priority", priority)
+				.withHeader("X-Mailer", mailer)
+				.buildEmail();
+		return MimeMessageProducerHelper.produceMimeMessage(email, governance, Session.getInstance(new Properties()));
+	}
+}
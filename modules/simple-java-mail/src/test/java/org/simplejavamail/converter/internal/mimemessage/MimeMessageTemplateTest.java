@@ -0,0 +1,185 @@
+package org.simplejavamail.converter.internal.mimemessage;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.activation.DataSource;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.Test;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MimeMessageTemplateTest {
+
+	private static final Session SESSION = Session.getInstance(new Properties());
+
+	@Test
+	public void testMailMergeWritesCompiledStructureAndHeaders()
+			throws Exception {
+		final byte[] brochure = new byte[100_000];
+		new Random(42).nextBytes(brochure);
+		final CountingDataSource brochureSource = new CountingDataSource(new ByteArrayDataSource(brochure, "application/pdf"));
+		final CountingDataSource logoSource = new CountingDataSource(new ByteArrayDataSource(new byte[] { 1, 2, 3 }, "image/png"));
+		final Email template = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.withReplyTo("support@candyshop.org")
+				.withSubject("our new brochure")
+				.withPlainText("see attached")
+				.withHTMLText("<img src=\"cid:logo\"/> see attached")
+				.withEmbeddedImage("logo", logoSource)
+				.withAttachment("brochure.pdf", brochureSource)
+				.withHeader("X-Campaign", "spring")
+				.withBounceTo("bounces@candyshop.org")
+				.fixingMessageId("<fixed@candyshop.org>")
+				.buildEmail();
+		final EmailGovernance governance = new EmailGovernance(null, null,
+				EmailBuilder.ignoringDefaults().startingBlank().withHeader("X-Mailer-Policy", "bulk").buildEmail(), null);
+
+		final MimeMessageTemplate compiledTemplate = EmailConverter.compileEmailTemplate(template, SESSION, governance);
+		assertThat(compiledTemplate.isCompiledStructure()).isTrue();
+		final int openedForCompiling = brochureSource.opened.get() + logoSource.opened.get();
+
+		final Email firstEmail = personalise(template, "c.cane@candyshop.org", "Candy");
+		final Email secondEmail = personalise(template, "g.bear@candyshop.org", "Gummy");
+		final MimeMessage secondMessage = EmailConverter.emailToMimeMessage(secondEmail, compiledTemplate);
+		final String firstEml = write(EmailConverter.emailToMimeMessage(firstEmail, compiledTemplate));
+		final String secondEml = write(secondMessage);
+		// the attachments are written as compiled, without reading them again
+		assertThat(brochureSource.opened.get() + logoSource.opened.get()).isEqualTo(openedForCompiling);
+		// every email has the same structure
+		assertThat(boundaries(firstEml)).hasSize(3).isEqualTo(boundaries(secondEml));
+		assertThat(((SMTPMessage) secondMessage).getEnvelopeFrom()).isEqualTo("bounces@candyshop.org");
+
+		final MimeMessage regularMessage = MimeMessageProducerHelper.produceMimeMessage(secondEmail, governance, SESSION, true, null);
+		assertThat(withoutVaryingHeaders(secondEml)).isEqualTo(withoutVaryingHeaders(write(regularMessage)));
+
+		final Email parsed = EmailConverter.emlToEmail(secondEml);
+		assertThat(parsed.getRecipients()).extracting("address").containsExactly("g.bear@candyshop.org");
+		assertThat(parsed.getReplyToRecipient().getAddress()).isEqualTo("support@candyshop.org");
+		assertThat(parsed.getHeaders()).containsKeys("X-Campaign", "X-Mailer-Policy");
+		assertThat(parsed.getPlainText()).contains("Dear Gummy");
+		assertThat(parsed.getAttachments()).hasSize(1);
+		assertThat(parsed.getAttachments().get(0).readAllBytes()).isEqualTo(brochure);
+	}
+
+	@Test
+	public void testEmailWithOtherTextsThanTheTemplateIsProducedAsUsual()
+			throws Exception {
+		final Email template = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.withSubject("your invoice")
+				.withPlainText("see attached")
+				.withAttachment("terms.txt", new ByteArrayDataSource("terms", "text/plain"))
+				.buildEmail();
+		final MimeMessageTemplate compiledTemplate = EmailConverter.compileEmailTemplate(template);
+
+		final Email email = EmailBuilder.ignoringDefaults().copying(template)
+				.to("c.cane@candyshop.org")
+				.withHTMLText("<b>see attached</b>")
+				.buildEmail();
+		final Email parsed = EmailConverter.emlToEmail(write(EmailConverter.emailToMimeMessage(email, compiledTemplate)));
+		assertThat(parsed.getPlainText()).isEqualTo("see attached");
+		assertThat(parsed.getHTMLText()).isEqualTo("<b>see attached</b>");
+		assertThat(parsed.getAttachments()).hasSize(1);
+	}
+
+	@Test
+	public void testTemplateThatCantBeCompiledEncodesItsAttachmentsOnce()
+			throws Exception {
+		final CountingDataSource brochureSource = new CountingDataSource(new ByteArrayDataSource(new byte[] { 1, 2, 3 }, "application/pdf"));
+		final Email forwarded = EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.withPlainText("original")
+				.buildEmail();
+		final Email template = EmailBuilder.ignoringDefaults().forwarding(EmailConverter.emailToMimeMessage(forwarded))
+				.from("lollypop@candyshop.org")
+				.withPlainText("see below")
+				.withAttachment("brochure.pdf", brochureSource)
+				.buildEmail();
+		final MimeMessageTemplate compiledTemplate = EmailConverter.compileEmailTemplate(template);
+		assertThat(compiledTemplate.isCompiledStructure()).isFalse();
+		assertThat(compiledTemplate.encodedAttachmentCount()).isEqualTo(1);
+
+		final Email email = EmailBuilder.ignoringDefaults().copying(template)
+				.to("c.cane@candyshop.org")
+				.withAttachment("invoice.txt", new ByteArrayDataSource("invoice for Candy", "text/plain"))
+				.buildEmail();
+		final Email parsed = EmailConverter.emlToEmail(write(EmailConverter.emailToMimeMessage(email, compiledTemplate)));
+		assertThat(parsed.getAttachments()).extracting("name").contains("brochure.pdf", "invoice.txt");
+		// the cache is sealed: attachments outside the template are encoded as usual
+		assertThat(compiledTemplate.encodedAttachmentCount()).isEqualTo(1);
+	}
+
+	private static Email personalise(final Email template, final String address, final String name) {
+		return EmailBuilder.ignoringDefaults().copying(template)
+				.to(name, address)
+				.withPlainText("Dear " + name + ", see attached")
+				.buildEmail();
+	}
+
+	private static String write(final MimeMessage message)
+			throws Exception {
+		final ByteArrayOutputStream eml = new ByteArrayOutputStream();
+		message.writeTo(eml);
+		return eml.toString("UTF-8");
+	}
+
+	private static Set<String> boundaries(final String eml) {
+		final Set<String> boundaries = new HashSet<>();
+		for (final Matcher matcher = Pattern.compile("----=_Part_[\\w.]+").matcher(eml); matcher.find(); ) {
+			boundaries.add(matcher.group());
+		}
+		return boundaries;
+	}
+
+	private static String withoutVaryingHeaders(final String eml) {
+		return eml.replaceAll("(?m)^Date: .*$", "").replaceAll("----=_Part_[\\w.]+", "boundary");
+	}
+
+	private static class CountingDataSource implements DataSource {
+		private final DataSource delegate;
+		private final AtomicInteger opened = new AtomicInteger();
+
+		private CountingDataSource(final DataSource delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public InputStream getInputStream()
+				throws IOException {
+			opened.incrementAndGet();
+			return delegate.getInputStream();
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getContentType() {
+			return delegate.getContentType();
+		}
+
+		@Override
+		public String getName() {
+			return null;
+		}
+	}
+}
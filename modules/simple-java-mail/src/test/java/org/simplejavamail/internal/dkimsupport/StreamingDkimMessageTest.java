@@ -0,0 +1,124 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.Test;
+import org.simplejavamail.utils.mail.dkim.Canonicalization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingDkimMessageTest {
+
+	private static final String PRIVATE_DER_KEY_BASE64 =
+			"MIICdgIBADANBgkqhkiG9w0BAQEFAASCAmAwggJcAgEAAoGBAMYuC7ZjFBSWJtP6JH8w1deJE+5sLwkUacZcW4MTVQXTM33BzN8Ec64KO1Hk2B9oxkpdunKt"
+					+ "BggwbWMlGU5gGu4PpQ20cdPcfBIkUMlQKaakHPPGNYaF9dQaZIRy8XON6g1sOJGALXtUYX1r5hdDH13kC/YBw9f1Dsi2smrB0qabAgMBAAECgYAdWbBuYJoWum4hssg49hiVhT2ob+k"
+					+ "/ZQCNWhxLe096P18+3rbiyJwBSI6kgEnpzPChDuSQG0PrbpCkwFfRHbafDIPiMi5b6YZkJoFmmOmBHsewS1VdR/phk+aPQV2SoJ0S0FAGZkOnOkagHfmEMSgjZzTpJouu5NU8mwqz8z"
+					+ "/s0QJBAOUnELTMG/Se3Pw4FQ49K49lA81QaMoL63lYIEvc6uSVoJSEcrBFxv5sfJW2LFWs8VIDyTvYzsCjLwZj6nwA3k0CQQDdZgVHX7crlpUxO/cjKtTa/Nq9S6XLv3S6XX3YJJ9/Z"
+					+ "pYpqAWJbbR+8scBgVxS+9NLLeHhlx/EvkaZRdLhwRyHAkEAtr1ThkqrFIXHxt9Wczd20HCG+qlgF5gv3WHYx4bSTx2/pBCHgWjzyxtqst1HN7+l5nicdrxsDJVVv+vYJ7FtlQJAWPgG"
+					+ "Zwgvs3Rvv7k5NwifQOEbhbZAigAGCF5Jk/Ijpi6zaUn7754GSn2FOzWgxDguUKe/fcgdHBLai/1jIRVZQQJAXF2xzWMwP+TmX44QxK52QHVI8mhNzcnH7A311gWns6AbLcuLA9quwjU"
+					+ "YJMRlfXk67lJXCleZL15EpVPrQ34KlA==";
+
+	@Test
+	public void testRelaxedBodyHashMatchesDkimLibrary()
+			throws Exception {
+		final String[] bodies = {
+				"",
+				"\r\n",
+				"\r\n\r\n",
+				"single line without line break",
+				"line\r\n",
+				"  leading, \t inner  and trailing whitespace \t \r\nnext line\r\n",
+				"trailing empty lines\r\n\r\n \r\n\t\r\n\r\n",
+				"mixed\nline\rendings\r\n\n",
+				"\r\n\r\nleading empty lines\r\n",
+		};
+		for (final String body : bodies) {
+			final String expected = Canonicalization.RELAXED.canonicalizeBody(body.replaceAll("\r\n|\r|\n", "\r\n"));
+			final RelaxedBodyHashingOutputStream hashingStream = new RelaxedBodyHashingOutputStream(MessageDigest.getInstance("SHA-256"));
+			final byte[] bytes = body.getBytes(UTF_8);
+			// mix the single byte and the array writes
+			if (bytes.length > 0) {
+				hashingStream.write(bytes[0]);
+				hashingStream.write(bytes, 1, bytes.length - 1);
+			}
+			assertThat(hashingStream.finish()).as(body).isEqualTo(sha256(expected));
+			assertThat(hashingStream.getLength()).as(body).isEqualTo(expected.length());
+		}
+	}
+
+	@Test
+	public void testSignatureVerifiesAgainstWrittenMessage()
+			throws Exception {
+		final MimeMessage message = new MimeMessage((Session) null);
+		message.setFrom(new InternetAddress("lollypop@somemail.com", "lollypop"));
+		message.setRecipient(TO, new InternetAddress("c.cane@candyshop.org"));
+		message.setSubject("hey  there,\t how are you");
+		message.setText("We should meet up! \r\n\r\nThe body is   relaxed \r\n\r\n\r\n");
+		message.saveChanges();
+		final ByteArrayOutputStream unsigned = new ByteArrayOutputStream();
+		message.writeTo(unsigned);
+
+		final RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey) KeyFactory.getInstance("RSA")
+				.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(PRIVATE_DER_KEY_BASE64)));
+		final ByteArrayOutputStream signed = new ByteArrayOutputStream();
+		final StreamingDkimMessage dkimMessage = new StreamingDkimMessage(message, "somemail.com", "select", "lollypop@somemail.com", privateKey);
+		assertThat(dkimMessage.getDelegate()).isSameAs(message);
+		dkimMessage.writeTo(signed);
+
+		final String signedMessage = signed.toString("UTF-8");
+		assertThat(signedMessage).startsWith("DKIM-Signature: v=1; a=rsa-sha256; q=dns/txt; c=relaxed/relaxed;");
+		assertThat(signedMessage).endsWith(unsigned.toString("UTF-8"));
+
+		final MimeMessage received = new MimeMessage(null, new ByteArrayInputStream(signed.toByteArray()));
+		final String signatureHeader = received.getHeader("DKIM-Signature")[0];
+		final Map<String, String> tags = parseTags(signatureHeader);
+		assertThat(tags).containsEntry("d", "somemail.com").containsEntry("s", "select").containsEntry("i", "lollypop@somemail.com");
+
+		final String body = signedMessage.substring(signedMessage.indexOf("\r\n\r\n") + 4);
+		final String canonicalBody = Canonicalization.RELAXED.canonicalizeBody(body);
+		assertThat(tags.get("bh")).isEqualTo(Base64.getEncoder().encodeToString(sha256(canonicalBody)));
+		assertThat(tags.get("l")).isEqualTo(String.valueOf(canonicalBody.length()));
+
+		final StringBuilder signedData = new StringBuilder();
+		for (final String headerName : tags.get("h").split(":")) {
+			signedData.append(Canonicalization.RELAXED.canonicalizeHeader(headerName, received.getHeader(headerName)[0])).append("\r\n");
+		}
+		signedData.append(Canonicalization.RELAXED.canonicalizeHeader("DKIM-Signature", signatureHeader.replaceFirst("(?<=\\sb=)[\\s\\S]*$", "")));
+
+		final PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+		final Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initVerify(publicKey);
+		signature.update(signedData.toString().getBytes(UTF_8));
+		assertThat(signature.verify(Base64.getDecoder().decode(tags.get("b")))).isTrue();
+	}
+
+	private static Map<String, String> parseTags(final String signatureHeader) {
+		final Map<String, String> tags = new HashMap<>();
+		for (final String tag : signatureHeader.replaceAll("\\s+", "").split(";")) {
+			final int separator = tag.indexOf('=');
+			tags.put(tag.substring(0, separator), tag.substring(separator + 1));
+		}
+		return tags;
+	}
+
+	private static byte[] sha256(final String data)
+			throws Exception {
+		return MessageDigest.getInstance("SHA-256").digest(data.getBytes(UTF_8));
+	}
+}
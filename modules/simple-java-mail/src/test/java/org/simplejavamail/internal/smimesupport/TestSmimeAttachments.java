@@ -1,5 +1,6 @@
 package org.simplejavamail.internal.smimesupport;
 
+import jakarta.mail.util.ByteArrayDataSource;
 import lombok.val;
 import org.junit.Test;
 import org.simplejavamail.api.email.AttachmentResource;
@@ -8,6 +9,7 @@ import org.simplejavamail.api.email.EmailAssert;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
 import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
 import org.simplejavamail.converter.EmailConverter;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
@@ -15,9 +17,12 @@ import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 import java.io.File;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.mail.Message.RecipientType.TO;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -183,6 +188,35 @@ public class TestSmimeAttachments {
 		EmailAssert.assertThat(emailWithDefaultMerginBehavior).isEqualTo(emailExpectedFromEml);
 	}
 
+	@Test
+	public void testDecryptAttachmentsInParallel()
+			throws Exception {
+		final Email emailFromSignedEml = EmailConverter.emlToEmailBuilder(new File(RESOURCE_FOLDER + "/SMIME (signed and clear text).eml"))
+				.notMergingSingleSMIMESignedAttachment()
+				.buildEmail();
+		final AttachmentResource signedAttachment = emailFromSignedEml.getAttachments().get(0);
+		final AttachmentResource plainAttachment = new AttachmentResource("plain.txt", new ByteArrayDataSource("plain", "text/plain"));
+		final List<AttachmentResource> attachments = asList(signedAttachment, plainAttachment, signedAttachment, signedAttachment);
+
+		final SMIMESupport smimeSupport = new SMIMESupport();
+		final List<AttachmentDecryptionResult> sequentialResults = smimeSupport.decryptAttachments(attachments, null, emailFromSignedEml.getOriginalSmimeDetails());
+
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			smimeSupport.setAttachmentDecryptionExecutor(executor);
+			final List<AttachmentDecryptionResult> parallelResults = smimeSupport.decryptAttachments(attachments, null, emailFromSignedEml.getOriginalSmimeDetails());
+
+			assertThat(parallelResults).extracting("smimeMode").containsExactly(SmimeMode.SIGNED, SmimeMode.PLAIN, SmimeMode.SIGNED, SmimeMode.SIGNED);
+			for (int i = 0; i < attachments.size(); i++) {
+				// the decrypted messages are dated when they are written
+				assertThat(parallelResults.get(i).getAttachmentResource().readAllData().replaceFirst("Date: .*", ""))
+						.isEqualTo(sequentialResults.get(i).getAttachmentResource().readAllData().replaceFirst("Date: .*", ""));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	private List<AttachmentResource> removeContentTransferEncodingFromAttachments(final EmailPopulatingBuilder builder) {
 		val attachments = builder.getAttachments();
 		builder.clearAttachments();
@@ -0,0 +1,59 @@
+package org.simplejavamail.internal.smimesupport;
+
+import jakarta.mail.internet.MimeMessage;
+import org.bouncycastle.mail.smime.SMIMEEnveloped;
+import org.junit.Test;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerHelper;
+import org.simplejavamail.utils.mail.smime.SmimeKey;
+import org.simplejavamail.utils.mail.smime.SmimeKeyStore;
+import org.simplejavamail.utils.mail.smime.SmimeUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+
+import static demo.ResourceFolderHelper.determineResourceFolder;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.internal.util.MiscUtil.normalizeNewlines;
+import static org.simplejavamail.util.TestDataHelper.loadPkcs12KeyStore;
+
+public class TestSmimeEncryption {
+
+	private static final String RESOURCES_PKCS = determineResourceFolder("simple-java-mail") + "/test/resources/pkcs12";
+
+	@Test
+	public void testEncryptOnceForMultipleRecipients()
+			throws Exception {
+		final MimeMessage message = EmailConverter.emailToMimeMessage(EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withSubject("encrypted for two")
+				.withPlainText("only for the both of us")
+				.buildEmail());
+
+		final MimeMessage encrypted = MailerHelper.encryptMessageWithSmime(null, message,
+				asList(readCertificate("smime_test_user.pem.standard.crt"), readCertificate("ca.crt")));
+
+		assertThat(encrypted.getSubject()).isEqualTo("encrypted for two");
+		assertThat(new SMIMEEnveloped(encrypted).getRecipientInfos().size()).isEqualTo(2);
+
+		final Pkcs12Config pkcs12Config = loadPkcs12KeyStore();
+		final SmimeKey smimeKey = new SmimeKeyStore(new ByteArrayInputStream(pkcs12Config.getPkcs12StoreData()), pkcs12Config.getStorePassword())
+				.getPrivateKey(pkcs12Config.getKeyAlias(), pkcs12Config.getKeyPassword());
+		final MimeMessage decrypted = SmimeUtil.decrypt(null, encrypted, smimeKey);
+		assertThat(normalizeNewlines((String) decrypted.getContent())).isEqualTo("only for the both of us");
+	}
+
+	private static X509Certificate readCertificate(final String fileName)
+			throws Exception {
+		try (InputStream certificate = new FileInputStream(RESOURCES_PKCS + "/" + fileName)) {
+			return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(certificate);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package org.simplejavamail.internal.smimesupport;
+
+import jakarta.mail.Multipart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.Test;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
+import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
+import org.simplejavamail.utils.mail.smime.SmimeUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.simplejavamail.util.TestDataHelper.loadPkcs12KeyStore;
+
+public class TestSmimeSigning {
+
+	@Test
+	public void testSignLargeMessage()
+			throws Exception {
+		final byte[] attachment = new byte[3 * 1024 * 1024];
+		new Random(42).nextBytes(attachment);
+		final MimeMessage message = EmailConverter.emailToMimeMessage(EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withSubject("signed with a large attachment")
+				.withPlainText("see attachment\nwith bare line endings\n")
+				.withAttachment("random.bin", new ByteArrayDataSource(attachment, "application/octet-stream"))
+				.buildEmail());
+
+		final MimeMessage signed = new SMIMESupport().signMessage(null, message, loadPkcs12KeyStore());
+		assertThat(signed).isInstanceOf(Closeable.class);
+		final ByteArrayOutputStream signedBytes = new ByteArrayOutputStream();
+		signed.writeTo(signedBytes);
+		// written once more, as a DKIM signature does
+		final ByteArrayOutputStream rewrittenBytes = new ByteArrayOutputStream();
+		signed.writeTo(rewrittenBytes);
+		assertThat(SmimeUtil.checkSignature(new MimeMessage(null, new ByteArrayInputStream(rewrittenBytes.toByteArray())))).isTrue();
+
+		// the spilled content is closed through the DKIM signature's wrapper once the message was sent
+		SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(new ImmutableDelegatingSMTPMessage(signed, null));
+		assertThatThrownBy(() -> signed.writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+
+		final MimeMessage received = new MimeMessage(null, new ByteArrayInputStream(signedBytes.toByteArray()));
+		assertThat(received.getSubject()).isEqualTo("signed with a large attachment");
+		assertThat(received.getContentType()).startsWith("multipart/signed");
+		assertThat(SmimeUtil.checkSignature(received)).isTrue();
+
+		final Multipart signedContent = (Multipart) SmimeUtil.getSignedContent(received).getContent();
+		assertThat(readFully(signedContent.getBodyPart(1).getInputStream())).isEqualTo(attachment);
+	}
+
+	@Test
+	public void testSpillingOutputStream()
+			throws Exception {
+		final byte[] data = new byte[100];
+		new Random(42).nextBytes(data);
+
+		final SpillingOutputStream inMemory = new SpillingOutputStream(data.length);
+		inMemory.write(data);
+		assertThat(inMemory.isSpilled()).isFalse();
+		assertThat(readFully(inMemory.toSharedInputStream())).isEqualTo(data);
+
+		final SpillingOutputStream spilled = new SpillingOutputStream(data.length - 1);
+		spilled.write(data[0]);
+		spilled.write(data, 1, data.length - 1);
+		assertThat(spilled.isSpilled()).isTrue();
+		assertThat(readFully(spilled.toSharedInputStream())).isEqualTo(data);
+	}
+
+	private static byte[] readFully(final InputStream inputStream)
+			throws Exception {
+		try (InputStream is = inputStream) {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[8192];
+			for (int len; (len = is.read(buffer)) > 0; ) {
+				bytes.write(buffer, 0, len);
+			}
+			return bytes.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package org.simplejavamail.internal.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedCacheTest {
+
+	@Test
+	public void testLoadsOnceAndEvictsLeastRecentlyUsed() {
+		final BoundedCache<String, String> cache = new BoundedCache<>(2);
+		final AtomicInteger loads = new AtomicInteger();
+		final BoundedCache.Loader<String, String, RuntimeException> loader = key -> {
+			loads.incrementAndGet();
+			return key.toUpperCase();
+		};
+
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("A");
+		assertThat(cache.computeIfAbsent("b", loader)).isEqualTo("B");
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("A");
+		assertThat(loads).hasValue(2);
+
+		// b is least recently used now
+		cache.computeIfAbsent("c", loader);
+		assertThat(cache.size()).isEqualTo(2);
+		cache.computeIfAbsent("a", loader);
+		assertThat(loads).hasValue(3);
+		cache.computeIfAbsent("b", loader);
+		assertThat(loads).hasValue(4);
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() {
+		final BoundedCache<String, String> cache = new BoundedCache<>(2);
+		assertThatThrownBy(() -> cache.computeIfAbsent("a", key -> {
+			throw new IOException("failed");
+		})).isInstanceOf(IOException.class);
+		assertThat(cache.size()).isZero();
+		assertThat(cache.computeIfAbsent("a", key -> "A")).isEqualTo("A");
+	}
+
+	@Test
+	public void testIdleEntriesExpire() {
+		final AtomicLong now = new AtomicLong();
+		final BoundedCache<String, String> cache = new BoundedCache<>(2, 1000, now::get);
+		final AtomicInteger loads = new AtomicInteger();
+		final BoundedCache.Loader<String, String, RuntimeException> loader = key -> key + loads.incrementAndGet();
+
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("a1");
+		// using an entry keeps it from expiring
+		now.set(SECONDS.toNanos(1));
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("a1");
+		now.set(SECONDS.toNanos(2));
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("a1");
+		now.set(SECONDS.toNanos(3) + 1);
+		assertThat(cache.computeIfAbsent("a", loader)).isEqualTo("a2");
+	}
+
+	@Test
+	public void testPreloadedValueCountsAsHit() {
+		final BoundedCache<String, String> cache = new BoundedCache<>(2);
+		cache.put("a", "preloaded");
+
+		assertThat(cache.computeIfAbsent("a", key -> "loaded")).isEqualTo("preloaded");
+		assertThat(cache.computeIfAbsent("b", key -> "loaded")).isEqualTo("loaded");
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cache.getMisses()).isEqualTo(1);
+	}
+}
@@ -1,4 +1,4 @@
-package org.simplejavamail.converter.internal.mimemessage;
+package org.simplejavamail.internal.util;
 
 import com.sun.mail.smtp.SMTPMessage;
 import jakarta.activation.DataHandler;
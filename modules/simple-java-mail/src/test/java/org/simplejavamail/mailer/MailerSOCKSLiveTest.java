@@ -52,6 +52,18 @@ public class MailerSOCKSLiveTest {
 		assertSendingEmail(mailer, EmailHelper.createDummyEmailBuilder(true, true, false, false, false, false), false);
 	}
 
+	@Test
+	public void testSOCKSPassthrough_AuthenticatingWithSmallRelayBuffers() throws Exception {
+		Mailer mailer = MailerBuilder
+				.withSMTPServer("localhost", SMTP_SERVER_PORT)
+				.withProxy("localhost", PROXY_SERVER_PORT, "username", "password")
+				.withProxyBridgeBufferSize(16)
+				.withProxyBridgeMaxConnections(1)
+				.buildMailer();
+
+		assertSendingEmail(mailer, EmailHelper.createDummyEmailBuilder(true, true, false, false, false, false), false);
+	}
+
 	private void assertSendingEmail(final Mailer mailer, final EmailPopulatingBuilder originalEmailPopulatingBuilder, boolean async) throws Exception {
 		Email originalEmail = originalEmailPopulatingBuilder.buildEmail();
 
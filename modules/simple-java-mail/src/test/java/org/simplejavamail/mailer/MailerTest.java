@@ -2,6 +2,7 @@ package org.simplejavamail.mailer;
 
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,14 +11,17 @@ import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.mailer.CustomMailer;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolOverflowPolicy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.converter.EmailConverter;
-import org.simplejavamail.converter.internal.mimemessage.ImmutableDelegatingSMTPMessage;
+import org.simplejavamail.internal.batchsupport.concurrent.NonJvmBlockingThreadPoolExecutor;
+import org.simplejavamail.internal.dkimsupport.StreamingDkimMessage;
+import org.simplejavamail.internal.util.ImmutableDelegatingSMTPMessage;
+import org.simplejavamail.internal.util.concurrent.NonBlockingSubmitterThread;
 import org.simplejavamail.mailer.internal.MailerRegularBuilderImpl;
 import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 import org.simplejavamail.util.TestDataHelper;
-import org.simplejavamail.utils.mail.dkim.DkimMessage;
 import testutil.ConfigLoaderTestHelper;
 import testutil.EmailHelper;
 
@@ -26,14 +30,22 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.xml.bind.DatatypeConverter.parseBase64Binary;
 import static java.util.Calendar.APRIL;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -304,7 +316,150 @@ public class MailerTest {
 		MimeMessage mimeMessage = EmailConverter.emailToMimeMessage(emailPopulatingBuilder.buildEmail());
 		// success, signing did not produce an error
 		assertThat(mimeMessage).isInstanceOf(ImmutableDelegatingSMTPMessage.class);
-		assertThat(((ImmutableDelegatingSMTPMessage) mimeMessage).getDelegate()).isInstanceOf(DkimMessage.class);
+		assertThat(((ImmutableDelegatingSMTPMessage) mimeMessage).getDelegate()).isInstanceOf(StreamingDkimMessage.class);
+	}
+
+	@Test
+	public void testVirtualThreadsConfig()
+			throws Exception {
+		final Mailer mailer = MailerBuilder
+				.withSMTPServer("host", 25, null, null)
+				.withVirtualThreads(true)
+				.buildMailer();
+
+		final ExecutorService executorService = mailer.getOperationalConfig().getExecutorService();
+		try {
+			final Thread thread = executorService.submit(Thread::currentThread).get();
+			assertThat(thread.getName()).startsWith("Simple Java Mail async mail sender");
+			// virtual threads are only available from Java 21, otherwise the regular thread pool is used
+			final boolean virtualThreadsSupported = Integer.parseInt(System.getProperty("java.specification.version").replaceFirst("^1\\.", "")) >= 21;
+			assertThat(executorService instanceof NonJvmBlockingThreadPoolExecutor).isNotEqualTo(virtualThreadsSupported);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testThreadPoolQueueCapacityWithFailPolicy()
+			throws Exception {
+		final Mailer mailer = MailerBuilder
+				.withSMTPServer("host", 25, null, null)
+				.clearProxy()
+				.withTransportModeLoggingOnly(true)
+				.withThreadPoolSize(1)
+				.withThreadPoolQueueCapacity(1)
+				.withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy.FAIL)
+				.async()
+				.buildMailer();
+
+		final ExecutorService executorService = mailer.getOperationalConfig().getExecutorService();
+		final CountDownLatch threadOccupied = new CountDownLatch(1);
+		final CountDownLatch releaseThread = new CountDownLatch(1);
+		try {
+			executorService.execute(() -> {
+				threadOccupied.countDown();
+				awaitUninterruptibly(releaseThread);
+			});
+			threadOccupied.await();
+			assertThat(mailer.getAsyncQueueDepth()).isZero();
+
+			final Email email = EmailHelper.createDummyEmailBuilder(true, false, false, true, false, false).buildEmail();
+			final CompletableFuture<Void> queuedSend = mailer.sendMail(email);
+			assertThat(mailer.getAsyncQueueDepth()).isEqualTo(1);
+
+			assertThatThrownBy(() -> mailer.sendMail(email))
+					.isInstanceOf(MailQueueFullException.class)
+					.hasCauseInstanceOf(RejectedExecutionException.class);
+
+			releaseThread.countDown();
+			queuedSend.get();
+			assertThat(mailer.getAsyncQueueDepth()).isZero();
+		} finally {
+			releaseThread.countDown();
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testRateLimitedSendsCountTowardThreadPoolQueueCapacity()
+			throws Exception {
+		final Mailer mailer = MailerBuilder
+				.withSMTPServer("host", 25, null, null)
+				.clearProxy()
+				.withTransportModeLoggingOnly(true)
+				.withThreadPoolSize(1)
+				.withThreadPoolQueueCapacity(1)
+				.withThreadPoolOverflowPolicy(ThreadPoolOverflowPolicy.FAIL)
+				.withMaxMessagesPerSecond(1)
+				.async()
+				.buildMailer();
+
+		final Email email = EmailHelper.createDummyEmailBuilder(true, false, false, true, false, false).buildEmail();
+		try {
+			mailer.sendMail(email).get();
+			// the thread picks this one up and waits for the rate limit in the meantime
+			final CompletableFuture<Void> waitingSend = mailer.sendMail(email);
+			while (mailer.getAsyncQueueDepth() > 0) {
+				Thread.sleep(10);
+			}
+			final CompletableFuture<Void> queuedSend = mailer.sendMail(email);
+			assertThat(mailer.getAsyncQueueDepth()).isEqualTo(1);
+
+			assertThatThrownBy(() -> mailer.sendMail(email))
+					.isInstanceOf(MailQueueFullException.class)
+					.hasCauseInstanceOf(RejectedExecutionException.class);
+
+			waitingSend.get();
+			queuedSend.get();
+			assertThat(mailer.getAsyncQueueDepth()).isZero();
+		} finally {
+			mailer.shutdownConnectionPool();
+		}
+	}
+
+	@Test
+	public void testThreadPoolQueueCapacityWithBlockPolicyHandsBackSubmissionsOfNonBlockingThreads()
+			throws Exception {
+		final NonJvmBlockingThreadPoolExecutor executorService = new NonJvmBlockingThreadPoolExecutor(1, 1, 1, ThreadPoolOverflowPolicy.BLOCK);
+		final CountDownLatch threadOccupied = new CountDownLatch(1);
+		final CountDownLatch releaseThread = new CountDownLatch(1);
+		try {
+			executorService.execute(() -> {
+				threadOccupied.countDown();
+				awaitUninterruptibly(releaseThread);
+			});
+			threadOccupied.await();
+			executorService.execute(() -> {});
+
+			final CountDownLatch deferredTaskRan = new CountDownLatch(1);
+			final List<Runnable> deferredSubmissions = new ArrayList<>();
+			final Thread submitter = new NonBlockingSubmitterThread(() -> executorService.execute(deferredTaskRan::countDown), "submitter") {
+				@Override
+				public void deferSubmission(@NotNull final Runnable submission) {
+					deferredSubmissions.add(submission);
+				}
+			};
+			submitter.start();
+			submitter.join(SECONDS.toMillis(5));
+
+			assertThat(submitter.isAlive()).isFalse();
+			assertThat(deferredSubmissions).hasSize(1);
+
+			releaseThread.countDown();
+			deferredSubmissions.get(0).run();
+			assertThat(deferredTaskRan.await(5, SECONDS)).isTrue();
+		} finally {
+			releaseThread.countDown();
+			executorService.shutdown();
+		}
+	}
+
+	private static void awaitUninterruptibly(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	@Test
@@ -373,7 +528,7 @@ public class MailerTest {
 		MimeMessage mimeMessage = EmailConverter.emailToMimeMessage(emailPopulatingBuilder.buildEmail());
 		// success, signing did not produce an error
 		assertThat(mimeMessage).isInstanceOf(ImmutableDelegatingSMTPMessage.class);
-		assertThat(((ImmutableDelegatingSMTPMessage) mimeMessage).getDelegate()).isInstanceOf(DkimMessage.class);
+		assertThat(((ImmutableDelegatingSMTPMessage) mimeMessage).getDelegate()).isInstanceOf(StreamingDkimMessage.class);
 	}
 	
 	@Test
@@ -0,0 +1,68 @@
+package org.simplejavamail.mailer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import testutil.ConfigLoaderTestHelper;
+import testutil.FailingSMTPTransport;
+import testutil.testrules.SmtpServerRule;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class MicrometerMailerMetricsLiveTest {
+
+	private static final Integer SERVER_PORT = 257;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	private SimpleMeterRegistry registry;
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		registry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	public void testRecordsMetrics() {
+		val meteredMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withMailerMetrics(new MicrometerMailerMetrics(registry))
+				.buildMailer();
+
+		meteredMailer.sendMail(createEmailWithThreeRecipients());
+		meteredMailer.sendMails(asList(createEmailWithThreeRecipients(), createEmailWithThreeRecipients()));
+
+		assertThat(registry.get(MicrometerMailerMetrics.EMAILS_SENT).counter().count()).isEqualTo(3);
+		assertThat(registry.get(MicrometerMailerMetrics.VALIDATION).timer().count()).isEqualTo(3);
+		assertThat(registry.get(MicrometerMailerMetrics.MIME_MESSAGE_PRODUCTION).timer().count()).isEqualTo(3);
+		assertThat(registry.get(MicrometerMailerMetrics.SMTP_TRANSFER).timer().count()).isEqualTo(3);
+		// the bulk send reuses the transport
+		assertThat(registry.get(MicrometerMailerMetrics.TRANSPORT_CLAIM).timer().count()).isEqualTo(2);
+		assertThat(registry.get(MicrometerMailerMetrics.MESSAGE_SIZE).summary().count()).isEqualTo(3);
+		assertThat(registry.get(MicrometerMailerMetrics.MESSAGE_SIZE).summary().totalAmount()).isGreaterThan(0);
+		assertThat(registry.get(MicrometerMailerMetrics.ASYNC_QUEUE_DEPTH).gauge().value()).isZero();
+		assertThat(registry.find(MicrometerMailerMetrics.EMAILS_FAILED).counter()).isNull();
+	}
+
+	@Test
+	public void testRecordsFailuresByExceptionType()
+			throws Exception {
+		val meteredMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withSendRetries(3)
+				.withSendRetryDelayMillis(10)
+				.withMailerMetrics(new MicrometerMailerMetrics(registry))
+				.async()
+				.buildMailer();
+		FailingSMTPTransport.installOn(meteredMailer.getSession(), 451, 1);
+
+		meteredMailer.sendMail(createEmailWithThreeRecipients()).get();
+
+		assertThat(registry.get(MicrometerMailerMetrics.EMAILS_FAILED).tag("exception", "SMTPSendFailedException").counter().count()).isEqualTo(1);
+		assertThat(registry.get(MicrometerMailerMetrics.EMAILS_SENT).counter().count()).isEqualTo(1);
+	}
+}
@@ -3,6 +3,7 @@ package org.simplejavamail.mailer.internal;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Before;
 import org.junit.Test;
+import org.simplejavamail.api.mailer.MailerGenericBuilder;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.mailer.MailerBuilder;
@@ -28,7 +29,7 @@ public class MailerBuilderProxyConfigTest {
 	@Test
 	public void NoArgconstructor_WithoutConfigFile_WithoutHost() {
 		ConfigLoaderTestHelper.clearConfigProperties();
-		ProxyConfig emptyProxyConfig = new ProxyConfigImpl(null, null, null, null, null);
+		ProxyConfig emptyProxyConfig = new ProxyConfigImpl(null, null, null, null, null, null, null);
 		verifyProxyConfig(emptyProxyConfig, null, null, null, null, null);
 		assertThat(emptyProxyConfig.requiresProxy()).isFalse();
 		assertThat(emptyProxyConfig.requiresAuthentication()).isFalse();
@@ -84,6 +85,47 @@ public class MailerBuilderProxyConfigTest {
 		}
 	}
 
+	@Test
+	public void testProxyBridgeRelaySettings() {
+		ProxyConfig defaultProxyConfig = MailerBuilder.withSMTPServer("host", 1234).buildMailer().getProxyConfig();
+		assertThat(defaultProxyConfig.getProxyBridgeBufferSize()).isEqualTo(MailerGenericBuilder.DEFAULT_PROXY_BRIDGE_BUFFER_SIZE);
+		assertThat(defaultProxyConfig.getProxyBridgeMaxConnections()).isEqualTo(MailerGenericBuilder.DEFAULT_PROXY_BRIDGE_MAX_CONNECTIONS);
+
+		String s = "simplejavamail.proxy.socks5bridge.buffersize=4096\n"
+				+ "simplejavamail.proxy.socks5bridge.maxconnections=10\n";
+		ConfigLoader.loadProperties(new ByteArrayInputStream(s.getBytes()), true);
+		ProxyConfig propertiesProxyConfig = MailerBuilder.withSMTPServer("host", 1234).buildMailer().getProxyConfig();
+		assertThat(propertiesProxyConfig.getProxyBridgeBufferSize()).isEqualTo(4096);
+		assertThat(propertiesProxyConfig.getProxyBridgeMaxConnections()).isEqualTo(10);
+
+		ProxyConfig builderProxyConfig = MailerBuilder.withSMTPServer("host", 1234)
+				.withProxyBridgeBufferSize(512)
+				.withProxyBridgeMaxConnections(2)
+				.buildMailer().getProxyConfig();
+		assertThat(builderProxyConfig.getProxyBridgeBufferSize()).isEqualTo(512);
+		assertThat(builderProxyConfig.getProxyBridgeMaxConnections()).isEqualTo(2);
+	}
+
+	@Test
+	public void testProxyBridgeRelaySettingsMustBePositive() {
+		try {
+			MailerBuilder.withSMTPServer("host", 1234)
+					.withProxyBridgeBufferSize(0)
+					.buildMailer();
+			fail("IllegalArgumentException expected for buffer size");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage()).containsIgnoringCase("buffer size");
+		}
+		try {
+			MailerBuilder.withSMTPServer("host", 1234)
+					.withProxyBridgeMaxConnections(-1)
+					.buildMailer();
+			fail("IllegalArgumentException expected for max connections");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage()).containsIgnoringCase("max connections");
+		}
+	}
+
 	@SuppressWarnings("SameParameterValue")
 	private void verifyProxyConfig(ProxyConfig proxyConfig,
 								   @Nullable String host,
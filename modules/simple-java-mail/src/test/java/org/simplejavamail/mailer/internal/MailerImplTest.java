@@ -8,7 +8,11 @@ import org.junit.Test;
 import org.simplejavamail.MailException;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerHelper;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,6 +27,7 @@ import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTPS;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_OAUTH2;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_TLS;
+import static demo.ResourceFolderHelper.determineResourceFolder;
 import static org.simplejavamail.util.TestDataHelper.loadPkcs12KeyStore;
 import static testutil.EmailHelper.createDummyOperationalConfig;
 
@@ -31,6 +36,7 @@ public class MailerImplTest {
 	private Session session;
 	
 	private static final List<String> EMPTY_LIST = Collections.emptyList();
+	private static final String RESOURCES_PKCS = determineResourceFolder("simple-java-mail") + "/test/resources/pkcs12";
 	
 	@Before
 	public void setup() {
@@ -122,6 +128,37 @@ public class MailerImplTest {
 		assertThat(mailer.getEmailGovernance().getPkcs12ConfigForSmimeSigning().getKeyPassword()).isEqualTo("letmein".toCharArray());
 	}
 
+	@Test
+	public void testSmimeSigningKeyIsPreloadedWhenCreatingMailer() {
+		final EmailGovernance emailGovernance = new EmailGovernance(null, loadPkcs12KeyStore(), null, null);
+		new MailerImpl(null, SMTP, emailGovernance, createEmptyProxyConfig(), session, createDummyOperationalConfig(EMPTY_LIST, true, false));
+
+		final long hitsBefore = MailerHelper.getSmimeKeyCacheHits();
+		EmailConverter.emailToMimeMessage(EmailBuilder.startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.withPlainText("signed")
+				.signWithSmime(loadPkcs12KeyStore())
+				.buildEmail());
+		assertThat(MailerHelper.getSmimeKeyCacheHits()).isGreaterThan(hitsBefore);
+	}
+
+	@Test
+	public void testUndecryptableSmimeSigningKeyDoesNotFailCreatingMailer() {
+		final Pkcs12Config wrongPassword = Pkcs12Config.builder()
+				.pkcs12Store(RESOURCES_PKCS + "/smime_keystore.pkcs12")
+				.storePassword("wrong")
+				.keyAlias("smime_test_user_alias")
+				.keyPassword("wrong")
+				.build();
+		final EmailGovernance emailGovernance = new EmailGovernance(null, wrongPassword, null, null);
+
+		final Mailer mailer = new MailerImpl(null, SMTP, emailGovernance, createEmptyProxyConfig(), session, createDummyOperationalConfig(EMPTY_LIST, true, false));
+
+		assertThat(mailer.getEmailGovernance().getPkcs12ConfigForSmimeSigning()).isSameAs(wrongPassword);
+		assertThatThrownBy(() -> MailerHelper.preloadSmimeKey(wrongPassword)).hasMessageContaining("Couldn't initialize SmimeKeyStore");
+	}
+
 	@NotNull
 	private List<String> asList(String... args) {
 		return Arrays.asList(args);
@@ -129,6 +166,6 @@ public class MailerImplTest {
 
 	@NotNull
 	private ProxyConfig createEmptyProxyConfig() {
-		return new ProxyConfigImpl(null, null, null, null, null);
+		return new ProxyConfigImpl(null, null, null, null, null, null, null);
 	}
 }
\ No newline at end of file
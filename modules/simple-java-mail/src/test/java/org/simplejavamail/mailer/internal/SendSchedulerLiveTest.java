@@ -0,0 +1,79 @@
+package org.simplejavamail.mailer.internal;
+
+import com.sun.mail.smtp.SMTPSendFailedException;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.FailingSMTPTransport;
+import testutil.testrules.SmtpServerRule;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class SendSchedulerLiveTest {
+
+	private static final Integer SERVER_PORT = 256;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testRetriesTransientFailures()
+			throws Exception {
+		val retryingMailer = createFailingMailer(451, 2);
+
+		retryingMailer.sendMail(createEmailWithThreeRecipients()).get();
+
+		assertThat(FailingSMTPTransport.getAttempts()).isEqualTo(3);
+		assertThat(smtpServerRule.getMessages()).hasSize(3);
+	}
+
+	@Test
+	public void testRetriesTransientFailuresOfIndividualEmailsInBulkSend()
+			throws Exception {
+		val retryingMailer = createFailingMailer(451, 1);
+
+		val results = retryingMailer.sendMails(asList(createEmailWithThreeRecipients(), createEmailWithThreeRecipients()));
+		CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+
+		assertThat(FailingSMTPTransport.getAttempts()).isEqualTo(3);
+		assertThat(smtpServerRule.getMessages()).hasSize(6);
+	}
+
+	@Test
+	public void testDoesNotRetryPermanentFailures() {
+		val retryingMailer = createFailingMailer(550, 1);
+
+		assertThatThrownBy(() -> retryingMailer.sendMail(createEmailWithThreeRecipients()).get())
+				.isInstanceOf(ExecutionException.class)
+				.hasRootCauseInstanceOf(SMTPSendFailedException.class);
+		assertThat(FailingSMTPTransport.getAttempts()).isEqualTo(1);
+		assertThat(smtpServerRule.getMessages()).isEmpty();
+	}
+
+	@NotNull
+	private static Mailer createFailingMailer(final int returnCode, final int failures) {
+		val retryingMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withSendRetries(3)
+				.withSendRetryDelayMillis(10)
+				.async()
+				.buildMailer();
+		FailingSMTPTransport.installOn(retryingMailer.getSession(), returnCode, failures);
+		return retryingMailer;
+	}
+}
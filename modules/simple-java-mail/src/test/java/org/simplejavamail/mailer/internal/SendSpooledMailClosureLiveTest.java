@@ -0,0 +1,47 @@
+package org.simplejavamail.mailer.internal;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class SendSpooledMailClosureLiveTest {
+
+	private static final Integer SERVER_PORT = 260;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testSpoolsAsyncEmailsBeforeSendingThem()
+			throws Exception {
+		val spoolingMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withSpoolDirectory(temporaryFolder.newFolder("spool"))
+				.async()
+				.buildMailer();
+		try {
+			spoolingMailer.sendMail(createEmailWithThreeRecipients()).get();
+
+			assertThat(smtpServerRule.getMessages()).hasSize(3);
+			assertThat(smtpServerRule.getMessage("c@candyshop.org").getHeader("Bcc")).isNull();
+			assertThat(spoolingMailer.getAsyncQueueDepth()).isZero();
+		} finally {
+			spoolingMailer.shutdownConnectionPool();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package org.simplejavamail.mailer.internal.util;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.Test;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteCountingMessageTest {
+
+	@Test
+	public void testCountsBytesWhileWriting()
+			throws Exception {
+		final MimeMessage message = EmailConverter.emailToMimeMessage(EmailBuilder.ignoringDefaults().startingBlank()
+				.from("lollypop@candyshop.org")
+				.to("c.cane@candyshop.org")
+				.bcc("g.bear@candyshop.org")
+				.withSubject("counted")
+				.withPlainText("count me")
+				.withBounceTo("bounces@candyshop.org")
+				.buildEmail());
+		final ByteCountingMessage countingMessage = new ByteCountingMessage(message);
+		assertThat(countingMessage.getBytesWritten()).isEqualTo(-1);
+		assertThat(countingMessage.getEnvelopeFrom()).isEqualTo("bounces@candyshop.org");
+
+		final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+		countingMessage.writeTo(sent, new String[] { "Bcc" });
+
+		assertThat(countingMessage.getBytesWritten()).isEqualTo(sent.size());
+		assertThat(sent.toString("UTF-8")).contains("count me").doesNotContain("Bcc:");
+	}
+
+	@Test
+	public void testKeepsNoEnvelopeFromForPlainMessages()
+			throws Exception {
+		final MimeMessage message = new MimeMessage((Session) null);
+		message.setText("plain");
+		assertThat(new ByteCountingMessage(message)).isInstanceOf(SMTPMessage.class);
+		assertThat(new ByteCountingMessage(message).getEnvelopeFrom()).isNull();
+	}
+}
@@ -0,0 +1,56 @@
+package org.simplejavamail.mailer.internal.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.simplejavamail.mailer.MicrometerMailerMetrics;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class DomainRouterLiveTest {
+
+	private static final Integer SERVER_PORT = 258;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testTransfersMessageOnceForAllRecipientDomains() {
+		val registry = new SimpleMeterRegistry();
+		val limitedMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withMailerMetrics(new MicrometerMailerMetrics(registry))
+				.withMaxConnectionsPerDomain(1)
+				.withDomainLimits("sweets.org", 1, 10)
+				.buildMailer();
+		val email = EmailBuilder.copying(createEmailWithThreeRecipients())
+				.clearRecipients()
+				.to("a@candyshop.org")
+				.cc("b@sweets.org")
+				.bcc("c@Sweets.org")
+				.buildEmail();
+
+		try {
+			limitedMailer.sendMail(email);
+			limitedMailer.sendMails(asList(email, email));
+		} finally {
+			limitedMailer.shutdownConnectionPool();
+		}
+
+		assertThat(smtpServerRule.getMessages()).hasSize(9);
+		assertThat(registry.get(MicrometerMailerMetrics.SMTP_TRANSFER).timer().count()).isEqualTo(3);
+		assertThat(registry.get(MicrometerMailerMetrics.TRANSPORT_CLAIM).timer().count()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,99 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Address;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.Before;
+import org.junit.Test;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.simplejavamail.mailer.internal.util.DomainRouter.DomainPermits;
+import testutil.ConfigLoaderTestHelper;
+
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DomainRouterTest {
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testNoRouterWithoutLimits() {
+		final Mailer mailer = MailerBuilder.withSMTPServer("localhost", 25).buildMailer();
+		assertThat(DomainRouter.forCluster(mailer.getOperationalConfig().getClusterKey())).isNull();
+	}
+
+	@Test
+	public void testPermitsOfAllRecipientDomainsAreClaimed()
+			throws Exception {
+		final DomainRouter router = createRouter(UUID.randomUUID());
+
+		final DomainPermits permits = router.acquirePermits(asList(address("a@candyshop.org"), address("b@Sweets.org")));
+
+		// sweets.org allows one connection, candyshop.org two
+		assertThat(router.tryAcquirePermits(singletonList(address("c@sweets.org")))).isNull();
+		final DomainPermits secondCandyshopPermits = router.tryAcquirePermits(singletonList(address("d@CandyShop.org")));
+		assertThat(secondCandyshopPermits).isNotNull();
+		assertThat(router.tryAcquirePermits(singletonList(address("e@candyshop.org")))).isNull();
+		assertThat(router.tryAcquirePermits(asList(address("f@other.org"), address("g@sweets.org")))).isNull();
+		// the failed attempt didn't keep the slot it got for other.org
+		final DomainPermits otherPermits = router.tryAcquirePermits(singletonList(address("h@other.org")));
+		assertThat(otherPermits).isNotNull();
+		assertThat(router.tryAcquirePermits(singletonList(address("i@other.org")))).isNotNull();
+
+		permits.release();
+		secondCandyshopPermits.release();
+		otherPermits.release();
+		assertThat(router.tryAcquirePermits(asList(address("c@sweets.org"), address("e@candyshop.org")))).isNotNull();
+	}
+
+	@Test
+	public void testRouterIsRemovedOnceAllMailersInTheClusterShutDown() {
+		final UUID clusterKey = UUID.randomUUID();
+		final Mailer limitingMailer = MailerBuilder.withSMTPServer("localhost", 25)
+				.withClusterKey(clusterKey)
+				.withMaxConnectionsPerDomain(2)
+				.buildMailer();
+		final Mailer otherMailer = MailerBuilder.withSMTPServer("localhost", 25)
+				.withClusterKey(clusterKey)
+				.buildMailer();
+		final DomainRouter router = DomainRouter.forCluster(clusterKey);
+		assertThat(router).isNotNull();
+
+		limitingMailer.shutdownConnectionPool();
+		limitingMailer.shutdownConnectionPool();
+		assertThat(DomainRouter.forCluster(clusterKey)).isSameAs(router);
+
+		otherMailer.shutdownConnectionPool();
+		assertThat(DomainRouter.forCluster(clusterKey)).isNull();
+	}
+
+	@Test
+	public void testDetermineDomain()
+			throws Exception {
+		assertThat(DomainRouter.determineDomain(new InternetAddress("Lolly Pop <lol.pop@Some.Mail.com>"))).isEqualTo("some.mail.com");
+		assertThat(DomainRouter.determineDomain(new InternetAddress("\"a@b\"@candyshop.org"))).isEqualTo("candyshop.org");
+		assertThat(DomainRouter.determineDomain(new InternetAddress("postmaster", false))).isEmpty();
+	}
+
+	private static Address address(final String address)
+			throws Exception {
+		return new InternetAddress(address);
+	}
+
+	private static DomainRouter createRouter(final UUID clusterKey) {
+		final Mailer mailer = MailerBuilder.withSMTPServer("localhost", 25)
+				.withClusterKey(clusterKey)
+				.withMaxConnectionsPerDomain(2)
+				.withDomainLimits("sweets.org", 1, 100)
+				.buildMailer();
+		final DomainRouter router = DomainRouter.forCluster(mailer.getOperationalConfig().getClusterKey());
+		assertThat(router).isNotNull();
+		return router;
+	}
+}
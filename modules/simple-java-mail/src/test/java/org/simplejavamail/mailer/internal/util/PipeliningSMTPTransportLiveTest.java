@@ -0,0 +1,51 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.RecordingPipeliningSMTPTransport;
+import testutil.testrules.SmtpServerRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class PipeliningSMTPTransportLiveTest {
+
+	private static final Integer SERVER_PORT = 255;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	private Mailer pipeliningMailer;
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		pipeliningMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withSmtpPipelining(true)
+				.buildMailer();
+	}
+
+	@Test
+	public void testFallsBackWhenNotAdvertised() {
+		pipeliningMailer.sendMail(createEmailWithThreeRecipients());
+
+		assertThat(smtpServerRule.getMessages()).hasSize(3);
+		assertThat(pipeliningMailer.getSession().getProperty("mail.smtp.class")).isEqualTo(PipeliningSMTPTransport.class.getName());
+	}
+
+	@Test
+	public void testSendsRecipientsInOneGo() {
+		// Wiser doesn't advertise PIPELINING, but handles pipelined commands just fine
+		RecordingPipeliningSMTPTransport.installOn(pipeliningMailer.getSession());
+
+		pipeliningMailer.sendMail(createEmailWithThreeRecipients());
+
+		assertThat(smtpServerRule.getMessages()).hasSize(3);
+		assertThat(String.join("|", RecordingPipeliningSMTPTransport.getSentCommands()))
+				.contains("RCPT TO:<a@candyshop.org>|RCPT TO:<b@candyshop.org>|RCPT TO:<c@candyshop.org>|READ|READ|READ");
+	}
+}
@@ -0,0 +1,86 @@
+package org.simplejavamail.mailer.internal.util;
+
+import lombok.val;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+/**
+ * The exact pacing is covered by {@link SendRateLimiterTest} and {@link TokenBucketTest}, these only verify that no emails are lost along the way.
+ */
+public class SendRateLimiterLiveTest {
+
+	private static final Integer SERVER_PORT = 259;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+	}
+
+	@Test
+	public void testAsyncSendsAllEmailsUnderRateLimit()
+			throws Exception {
+		val rateLimitedMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withMaxMessagesPerSecond(2)
+				.async()
+				.buildMailer();
+
+		final List<CompletableFuture<Void>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			results.add(rateLimitedMailer.sendMail(createEmailWithThreeRecipients()));
+		}
+		CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+
+		assertThat(smtpServerRule.getMessages()).hasSize(12);
+	}
+
+	@Test
+	public void testRateLimitedBulkSendSendsAllEmails()
+			throws Exception {
+		val rateLimitedMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withMaxMessagesPerSecond(2)
+				.withBulkSendBatchSize(10)
+				.async()
+				.buildMailer();
+
+		final List<CompletableFuture<Void>> results = rateLimitedMailer.sendMails(asList(createEmailWithThreeRecipients(), createEmailWithThreeRecipients(),
+				createEmailWithThreeRecipients(), createEmailWithThreeRecipients()));
+		CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+
+		assertThat(smtpServerRule.getMessages()).hasSize(12);
+	}
+
+	@Test
+	public void testMailersInRateLimitedClusterSendAllEmails() {
+		val clusterKey = UUID.randomUUID();
+		val unlimitedMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withClusterKey(clusterKey)
+				.buildMailer();
+		val limitingMailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT)
+				.withClusterKey(clusterKey)
+				.withClusterMaxMessagesPerSecond(2)
+				.buildMailer();
+
+		unlimitedMailer.sendMail(createEmailWithThreeRecipients());
+		limitingMailer.sendMail(createEmailWithThreeRecipients());
+		unlimitedMailer.sendMail(createEmailWithThreeRecipients());
+		limitingMailer.sendMail(createEmailWithThreeRecipients());
+
+		assertThat(smtpServerRule.getMessages()).hasSize(12);
+	}
+}
@@ -0,0 +1,109 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.junit.Test;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SendRateLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	@Test
+	public void testUnlimitedMailerNeverWaits() {
+		final SendRateLimiter limiter = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 0, 0));
+		for (int i = 0; i < 100; i++) {
+			assertThat(limiter.reserve()).isZero();
+		}
+	}
+
+	@Test
+	public void testMailerLimit() {
+		final SendRateLimiter limiter = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 1, 0));
+		final long[] waits = { limiter.reserve(), limiter.reserve() };
+		assertThat(waits[0]).isZero();
+		assertThat(waits[1]).isPositive();
+	}
+
+	@Test
+	public void testMailerLimitAllowsBurstOfOneSecondThenSpacesSends() {
+		final SendRateLimiter limiter = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 2, 0), clock::get);
+
+		final long[] waits = { limiter.reserve(), limiter.reserve(), limiter.reserve(), limiter.reserve() };
+		assertThat(waits).containsExactly(0, 0, TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1));
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+	}
+
+	@Test
+	public void testClusterLimitSpacesSendsOfAllMailersInCluster() {
+		final UUID clusterKey = UUID.randomUUID();
+		final SendRateLimiter unlimited = new SendRateLimiter(operationalConfig(clusterKey, 0, 0), clock::get);
+		final SendRateLimiter limiting = new SendRateLimiter(operationalConfig(clusterKey, 0, 2), clock::get);
+
+		final long[] waits = { unlimited.reserve(), limiting.reserve(), unlimited.reserve(), limiting.reserve() };
+		assertThat(waits).containsExactly(0, 0, TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Test
+	public void testStricterOfMailerAndClusterLimitApplies() {
+		final SendRateLimiter limiter = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 1, 4), clock::get);
+
+		final long[] waits = { limiter.reserve(), limiter.reserve(), limiter.reserve() };
+		assertThat(waits).containsExactly(0, TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(2));
+	}
+
+	@Test
+	public void testClusterLimitIsSharedAndFirstConfigurationWins() {
+		final UUID clusterKey = UUID.randomUUID();
+		final SendRateLimiter unlimited = new SendRateLimiter(operationalConfig(clusterKey, 0, 0));
+		final SendRateLimiter limiting = new SendRateLimiter(operationalConfig(clusterKey, 0, 1));
+		final SendRateLimiter ignored = new SendRateLimiter(operationalConfig(clusterKey, 0, 1000));
+
+		final long[] waits = { unlimited.reserve(), limiting.reserve(), ignored.reserve() };
+		assertThat(waits[0]).isZero();
+		assertThat(waits[1]).isPositive();
+		assertThat(waits[2]).isGreaterThan(waits[1]);
+	}
+
+	@Test
+	public void testOtherClustersAreNotAffected() {
+		final SendRateLimiter limiting = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 0, 1));
+		final SendRateLimiter other = new SendRateLimiter(operationalConfig(UUID.randomUUID(), 0, 0));
+		limiting.reserve();
+		assertThat(limiting.reserve()).isPositive();
+		assertThat(other.reserve()).isZero();
+	}
+
+	@Test
+	public void testClusterLimitIsRemovedOnceAllRegisteredMailersUnregistered() {
+		final UUID clusterKey = UUID.randomUUID();
+		final SendRateLimiter unregistered = new SendRateLimiter(operationalConfig(clusterKey, 0, 0));
+		final SendRateLimiter limiting = new SendRateLimiter(operationalConfig(clusterKey, 0, 1));
+		final SendRateLimiter registered = new SendRateLimiter(operationalConfig(clusterKey, 0, 0));
+
+		// the mailer that joined before the limit was configured has no claim on it
+		unregistered.unregister();
+		limiting.unregister();
+		limiting.unregister();
+		assertThat(SendRateLimiter.clusterLimited(clusterKey)).isTrue();
+
+		registered.unregister();
+		assertThat(SendRateLimiter.clusterLimited(clusterKey)).isFalse();
+	}
+
+	private static OperationalConfig operationalConfig(final UUID clusterKey, final int maxMessagesPerSecond, final int clusterMaxMessagesPerSecond) {
+		final OperationalConfig operationalConfig = mock(OperationalConfig.class);
+		when(operationalConfig.getClusterKey()).thenReturn(clusterKey);
+		when(operationalConfig.getMaxMessagesPerSecond()).thenReturn(maxMessagesPerSecond);
+		when(operationalConfig.getClusterMaxMessagesPerSecond()).thenReturn(clusterMaxMessagesPerSecond);
+		return operationalConfig;
+	}
+}
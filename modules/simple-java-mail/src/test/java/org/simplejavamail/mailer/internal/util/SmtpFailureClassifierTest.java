@@ -0,0 +1,73 @@
+package org.simplejavamail.mailer.internal.util;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.util.MailConnectException;
+import com.sun.mail.util.SocketConnectException;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.simplejavamail.mailer.internal.util.SmtpFailureClassifier.isTransient;
+
+public class SmtpFailureClassifierTest {
+
+	@Test
+	public void testSmtpReplyCodes() {
+		assertThat(isTransient(new SMTPSendFailedException("DATA", 451, "451 greylisted", null, null, null, null))).isTrue();
+		assertThat(isTransient(new SMTPSendFailedException("DATA", 554, "554 rejected", null, null, null, null))).isFalse();
+		assertThat(isTransient(failedRecipients(450))).isTrue();
+		assertThat(isTransient(failedRecipients(550))).isFalse();
+	}
+
+	@Test
+	public void testConnectionFailures() {
+		assertThat(isTransient(new MailConnectException(new SocketConnectException("refused", new ConnectException(), "localhost", 25, 1000)))).isTrue();
+		assertThat(isTransient(new MessagingException("IOException while sending message", new SocketException("Connection reset")))).isTrue();
+		assertThat(isTransient(new MessagingException("Exception reading response", new SocketTimeoutException("Read timed out")))).isTrue();
+		assertThat(isTransient(new MessagingException("Unknown SMTP host", new UnknownHostException("nowhere")))).isFalse();
+		assertThat(isTransient(new AuthenticationFailedException("535 authentication failed"))).isFalse();
+	}
+
+	@Test
+	public void testCauseChainIsFollowed() {
+		final Exception wrapped = new RuntimeException("Failed to send email", new SMTPSendFailedException("MAIL", 421, "421 service not available", null, null, null, null));
+		assertThat(isTransient(new CompletionException(wrapped))).isTrue();
+		assertThat(isTransient(new RuntimeException("unknown"))).isFalse();
+		assertThat(isTransient(null)).isFalse();
+	}
+
+	@Test
+	public void testPartiallySentMessageIsNeverTransient()
+			throws Exception {
+		final Address[] sent = { new InternetAddress("a@candyshop.org") };
+		assertThat(isTransient(new SendFailedException("partially sent", failedRecipients(450), sent, null, null))).isFalse();
+	}
+
+	@Test
+	public void testAnyPermanentCauseWins()
+			throws Exception {
+		final SMTPAddressFailedException permanent = new SMTPAddressFailedException(new InternetAddress("b@candyshop.org"), "RCPT", 550, "550 no such user");
+		permanent.setNextException(new SMTPAddressFailedException(new InternetAddress("a@candyshop.org"), "RCPT", 450, "450 mailbox busy"));
+		assertThat(isTransient(new SendFailedException("Invalid Addresses", permanent))).isFalse();
+	}
+
+	private static SendFailedException failedRecipients(final int returnCode) {
+		try {
+			return new SendFailedException("Invalid Addresses",
+					new SMTPAddressFailedException(new InternetAddress("a@candyshop.org"), "RCPT", returnCode, returnCode + " recipient refused"));
+		} catch (final Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	@Test
+	public void testBurstUpToCapacityThenSpacedOut() {
+		final TokenBucket bucket = new TokenBucket(1, 3, clock::get);
+
+		final long[] waits = new long[5];
+		for (int i = 0; i < waits.length; i++) {
+			waits[i] = bucket.reserve();
+		}
+
+		assertThat(waits).containsExactly(0, 0, 0, TimeUnit.SECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(2));
+	}
+
+	@Test
+	public void testPermitsBecomeAvailableAgainOverTime() {
+		final TokenBucket bucket = new TokenBucket(100, 1, clock::get);
+
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+		assertThat(bucket.reserve()).isZero();
+	}
+
+	@Test
+	public void testQuietPeriodRefillsNoMoreThanCapacity() {
+		final TokenBucket bucket = new TokenBucket(2, 2, clock::get);
+
+		clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+	}
+
+	@Test
+	public void testTryAcquireDoesNotReserveFuturePermits() {
+		final TokenBucket bucket = new TokenBucket(1, 2, clock::get);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+		assertThat(bucket.tryAcquire()).isFalse();
+		// the failed attempts didn't push the next free permit further into the future
+		assertThat(bucket.reserve()).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+	}
+}
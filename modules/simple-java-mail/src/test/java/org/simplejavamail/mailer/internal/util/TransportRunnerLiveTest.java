@@ -0,0 +1,152 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.simplejavamail.mailer.internal.util.TransportRunner.BulkSendResultHandler;
+import testutil.ConfigLoaderTestHelper;
+import testutil.testrules.SmtpServerRule;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static testutil.EmailHelper.createEmailWithThreeRecipients;
+
+public class TransportRunnerLiveTest {
+
+	private static final Integer SERVER_PORT = 254;
+
+	@Rule
+	public final SmtpServerRule smtpServerRule = new SmtpServerRule(SERVER_PORT, null, null);
+
+	private Mailer mailer;
+
+	@Before
+	public void setup() {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		mailer = MailerBuilder.withSMTPServer("localhost", SERVER_PORT).buildMailer();
+	}
+
+	@Test
+	public void testBulkSendReusesTransportAndCompletesEachEmail()
+			throws ExecutionException, InterruptedException {
+		final List<Email> emails = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			emails.add(EmailBuilder.startingBlank()
+					.from("lollypop", "lol.pop@somemail.com")
+					.to("C. Cane", "candycane@candyshop.org")
+					.withSubject("bulk email " + i)
+					.withPlainText("We should meet up!")
+					.buildEmail());
+		}
+		emails.add(EmailBuilder.startingBlank()
+				.to("C. Cane", "candycane@candyshop.org")
+				.withSubject("invalid email without sender")
+				.buildEmail());
+
+		final List<CompletableFuture<Void>> results = mailer.sendMails(emails);
+
+		assertThat(results).hasSize(6);
+		for (int i = 0; i < 5; i++) {
+			results.get(i).get();
+		}
+		assertThat(results.get(5)).isCompletedExceptionally();
+		assertThat(smtpServerRule.getMessages()).hasSize(5);
+	}
+
+	@Test
+	public void testBulkSendStreamsResultsAndSkipsEmailsThatFailToConvert() {
+		final Email unconvertibleEmail = EmailBuilder.startingBlank()
+				.from("lollypop", "lol.pop@somemail.com")
+				.to("C. Cane", "candycane@candyshop.org")
+				.withSubject("email with a malformed attachment type")
+				.withPlainText("We should meet up!")
+				.withAttachment("broken", new byte[] { 1, 2, 3 }, "malformed")
+				.buildEmail();
+		final List<Email> emails = asList(createEmailWithThreeRecipients(), unconvertibleEmail, createEmailWithThreeRecipients());
+
+		final List<Throwable> outcomes = new ArrayList<>();
+		mailer.sendMails(emails.stream(), (email, failure) -> outcomes.add(failure));
+
+		assertThat(outcomes).hasSize(3);
+		assertThat(outcomes.get(0)).isNull();
+		assertThat(outcomes.get(1)).isInstanceOf(MailException.class);
+		assertThat(outcomes.get(2)).isNull();
+		assertThat(smtpServerRule.getMessages()).hasSize(6);
+	}
+
+	@Test
+	public void testEmailsAfterFailingIteratorAreReportedAsFailed() {
+		final List<Email> emails = new ArrayList<Email>() {
+			@NotNull
+			@Override
+			public Iterator<Email> iterator() {
+				final Iterator<Email> iterator = super.iterator();
+				return new Iterator<Email>() {
+					private int taken;
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Email next() {
+						if (taken++ == 1) {
+							throw new ConcurrentModificationException("list changed while sending");
+						}
+						return iterator.next();
+					}
+				};
+			}
+		};
+		for (final String recipient : new String[] { "a@candyshop.org", "b@candyshop.org", "c@candyshop.org" }) {
+			emails.add(EmailBuilder.startingBlank().from("lollypop@candyshop.org").to(recipient).withPlainText("hi").buildEmail());
+		}
+
+		final RecordingResultHandler resultHandler = new RecordingResultHandler();
+		final SendRateLimiter rateLimiter = new SendRateLimiter(mailer.getOperationalConfig());
+		try {
+			TransportRunner.sendMessages(mailer.getOperationalConfig().getClusterKey(), mailer.getOperationalConfig().getMailerMetrics(),
+					mailer.getSession(), emails, rateLimiter, resultHandler);
+		} finally {
+			rateLimiter.unregister();
+			mailer.shutdownConnectionPool();
+		}
+
+		assertThat(resultHandler.outcomes).containsExactly(
+				entry(0, "sent"),
+				entry(1, "failed: list changed while sending"),
+				entry(2, "failed: list changed while sending"));
+		assertThat(smtpServerRule.getMessages()).hasSize(1);
+	}
+
+	private static class RecordingResultHandler implements BulkSendResultHandler {
+		private final Map<Integer, String> outcomes = new TreeMap<>();
+
+		@Override
+		public void emailSent(final int emailIndex) {
+			outcomes.put(emailIndex, "sent");
+		}
+
+		@Override
+		public void emailFailed(final int emailIndex, @NotNull final Exception cause) {
+			outcomes.put(emailIndex, "failed: " + cause.getMessage());
+		}
+	}
+}
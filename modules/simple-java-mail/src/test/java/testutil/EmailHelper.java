@@ -5,14 +5,19 @@ import org.assertj.core.util.Lists;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.CalendarMethod;
+import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.MailerMetrics;
+import org.simplejavamail.api.mailer.NoOpMailerMetrics;
+import org.simplejavamail.api.mailer.config.DomainLimits;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.email.internal.InternalEmailPopulatingBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
@@ -20,7 +25,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -107,6 +114,20 @@ public class EmailHelper {
 		return internalBuilder;
 	}
 
+	/**
+	 * @return A plain text email with one recipient of each type, all in the same domain.
+	 */
+	public static Email createEmailWithThreeRecipients() {
+		return EmailBuilder.startingBlank()
+				.from("lollypop", "lol.pop@somemail.com")
+				.to("a@candyshop.org")
+				.cc("b@candyshop.org")
+				.bcc("c@candyshop.org")
+				.withSubject("email with three recipients")
+				.withPlainText("We should meet up!")
+				.buildEmail();
+	}
+
 	public static EmailPopulatingBuilder readOutlookMessage(final String filePath) {
 		InputStream resourceAsStream = EmailHelper.class.getClassLoader().getResourceAsStream(filePath);
 		return outlookMsgToEmailBuilder(checkNonEmptyArgument(resourceAsStream, "resourceAsStream")).getEmailBuilder();
@@ -140,7 +161,21 @@ public class EmailHelper {
 				/*16*/verifyServerIdentity,
 				/*17*/newSingleThreadExecutor(),
 				/*18*/false,
-				/*19*/null);
+				/*19*/null,
+				/*20*/10,
+				/*21*/1000,
+				/*22*/false,
+				/*23*/null,
+				/*24*/0,
+				/*25*/1000,
+				/*26*/0,
+				/*27*/0,
+				/*28*/new HashMap<>(),
+				/*29*/0,
+				/*30*/0,
+				/*31*/NoOpMailerMetrics.INSTANCE,
+				/*32*/false,
+				/*33*/0);
 	}
 
 	@NotNull
@@ -165,7 +200,21 @@ public class EmailHelper {
 			/*16*/final boolean verifyingServerIdentity,
 			/*17*/@NotNull final ExecutorService executorService,
 			/*18*/final boolean isExecutorServiceUserProvided,
-			/*19*/@Nullable final CustomMailer customMailer) {
+			/*19*/@Nullable final CustomMailer customMailer,
+			/*20*/final int bulkSendBatchSize,
+			/*21*/final int bulkSendMaxInFlight,
+			/*22*/final boolean smtpPipelining,
+			/*23*/@Nullable final File spoolDirectory,
+			/*24*/final int sendRetries,
+			/*25*/final int sendRetryDelayMillis,
+			/*26*/final int maxConnectionsPerDomain,
+			/*27*/final int maxMessagesPerSecondPerDomain,
+			/*28*/@NotNull final Map<String, DomainLimits> domainLimits,
+			/*29*/final int maxMessagesPerSecond,
+			/*30*/final int clusterMaxMessagesPerSecond,
+			/*31*/@NotNull final MailerMetrics mailerMetrics,
+			/*32*/final boolean directMimeWriting,
+			/*33*/final int attachmentEncodingCacheSize) {
 		try {
 			Constructor<?> constructor = Class.forName("org.simplejavamail.mailer.internal.OperationalConfigImpl").getDeclaredConstructors()[0];
 			constructor.setAccessible(true);
@@ -189,7 +238,21 @@ public class EmailHelper {
 					/*16*/verifyingServerIdentity,
 					/*17*/executorService,
 					/*18*/isExecutorServiceUserProvided,
-					/*19*/customMailer);
+					/*19*/customMailer,
+					/*20*/bulkSendBatchSize,
+					/*21*/bulkSendMaxInFlight,
+					/*22*/smtpPipelining,
+					/*23*/spoolDirectory,
+					/*24*/sendRetries,
+					/*25*/sendRetryDelayMillis,
+					/*26*/maxConnectionsPerDomain,
+					/*27*/maxMessagesPerSecondPerDomain,
+					/*28*/domainLimits,
+					/*29*/maxMessagesPerSecond,
+					/*30*/clusterMaxMessagesPerSecond,
+					/*31*/mailerMetrics,
+					/*32*/directMimeWriting,
+					/*33*/attachmentEncodingCacheSize);
 		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
 			throw new AssertionError(e.getMessage(), e);
 		}
@@ -0,0 +1,57 @@
+package testutil;
+
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.smtp.SMTPTransport;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rejects the first few messages with the configured SMTP return code, the way a greylisting (4xx) or rejecting (5xx) server would.
+ */
+public class FailingSMTPTransport extends SMTPTransport {
+
+	private static final AtomicInteger RETURN_CODE = new AtomicInteger();
+	private static final AtomicInteger FAILURES_LEFT = new AtomicInteger();
+	private static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+	public FailingSMTPTransport(final Session session, final URLName urlname) {
+		super(session, urlname);
+	}
+
+	/**
+	 * Makes the session use this transport for SMTP, rejecting the next {@code failures} messages with {@code returnCode}, and forgets the attempts
+	 * counted so far.
+	 */
+	public static void installOn(@NotNull final Session session, final int returnCode, final int failures) {
+		session.addProvider(new Provider(Provider.Type.TRANSPORT, "smtp", FailingSMTPTransport.class.getName(), "test", null));
+		session.getProperties().setProperty("mail.smtp.class", FailingSMTPTransport.class.getName());
+		RETURN_CODE.set(returnCode);
+		FAILURES_LEFT.set(failures);
+		ATTEMPTS.set(0);
+	}
+
+	/**
+	 * @return The number of messages offered to this transport, rejected or not.
+	 */
+	public static int getAttempts() {
+		return ATTEMPTS.get();
+	}
+
+	@Override
+	public synchronized void sendMessage(final Message message, final Address[] addresses)
+			throws MessagingException {
+		ATTEMPTS.incrementAndGet();
+		if (FAILURES_LEFT.getAndDecrement() > 0) {
+			final int returnCode = RETURN_CODE.get();
+			throw new SMTPSendFailedException("DATA", returnCode, returnCode + " rejected by test transport", null, null, null, null);
+		}
+		super.sendMessage(message, addresses);
+	}
+}
@@ -0,0 +1,60 @@
+package testutil;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.mailer.internal.util.PipeliningSMTPTransport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pipelines regardless of what the server advertises and records the commands sent and responses read.
+ */
+public class RecordingPipeliningSMTPTransport extends PipeliningSMTPTransport {
+
+	private static final List<String> SENT_COMMANDS = new CopyOnWriteArrayList<>();
+
+	public RecordingPipeliningSMTPTransport(final Session session, final URLName urlname) {
+		super(session, urlname);
+	}
+
+	/**
+	 * Makes the session use this transport for SMTP, and forgets the commands recorded so far.
+	 */
+	public static void installOn(@NotNull final Session session) {
+		session.addProvider(new Provider(Provider.Type.TRANSPORT, "smtp", RecordingPipeliningSMTPTransport.class.getName(), "test", null));
+		session.getProperties().setProperty("mail.smtp.class", RecordingPipeliningSMTPTransport.class.getName());
+		SENT_COMMANDS.clear();
+	}
+
+	/**
+	 * @return The commands sent, with a "READ" entry for every response read.
+	 */
+	@NotNull
+	public static List<String> getSentCommands() {
+		return new ArrayList<>(SENT_COMMANDS);
+	}
+
+	@Override
+	protected boolean serverSupportsPipelining() {
+		return true;
+	}
+
+	@Override
+	protected void sendCommand(final String cmd)
+			throws MessagingException {
+		SENT_COMMANDS.add(cmd);
+		super.sendCommand(cmd);
+	}
+
+	@Override
+	protected int readServerResponse()
+			throws MessagingException {
+		SENT_COMMANDS.add("READ");
+		return super.readServerResponse();
+	}
+}
@@ -1,5 +1,8 @@
 package org.simplejavamail.internal.smimesupport;
 
+import com.sun.mail.smtp.SMTPMessage;
+import com.sun.mail.util.CRLFOutputStream;
+import jakarta.mail.Header;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
@@ -10,21 +13,36 @@ import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import jakarta.mail.internet.MimePart;
 import jakarta.mail.util.ByteArrayDataSource;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.cms.AttributeTable;
+import org.bouncycastle.asn1.cms.IssuerAndSerialNumber;
+import org.bouncycastle.asn1.smime.SMIMECapabilitiesAttribute;
+import org.bouncycastle.asn1.smime.SMIMECapability;
+import org.bouncycastle.asn1.smime.SMIMECapabilityVector;
+import org.bouncycastle.asn1.smime.SMIMEEncryptionKeyPreferenceAttribute;
 import org.bouncycastle.asn1.x500.RDN;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x500.style.BCStyle;
 import org.bouncycastle.asn1.x500.style.IETFUtils;
 import org.bouncycastle.cert.X509CertificateHolder;
-import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
+import org.bouncycastle.cms.CMSAlgorithm;
 import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.RecipientInfoGenerator;
 import org.bouncycastle.cms.SignerId;
 import org.bouncycastle.cms.SignerInformation;
 import org.bouncycastle.cms.SignerInformationVerifier;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
 import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
+import org.bouncycastle.cms.jcajce.JceCMSContentEncryptorBuilder;
+import org.bouncycastle.cms.jcajce.JceKeyTransRecipientInfoGenerator;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.mail.smime.SMIMEEnvelopedGenerator;
 import org.bouncycastle.mail.smime.SMIMEException;
 import org.bouncycastle.mail.smime.SMIMESigned;
+import org.bouncycastle.mail.smime.SMIMESignedGenerator;
 import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.OutputEncryptor;
 import org.bouncycastle.util.Store;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,6 +60,7 @@ import org.simplejavamail.internal.modules.SMIMEModule;
 import org.simplejavamail.internal.smimesupport.builder.SmimeParseResultBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 import org.simplejavamail.internal.smimesupport.model.SmimeDetailsImpl;
+import org.simplejavamail.internal.util.BoundedCache;
 import org.simplejavamail.utils.mail.smime.SmimeKey;
 import org.simplejavamail.utils.mail.smime.SmimeKeyStore;
 import org.simplejavamail.utils.mail.smime.SmimeState;
@@ -51,23 +70,36 @@ import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.Security;
-import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_DETERMINING_SMIME_SIGNER;
+import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_ENCRYPTING_MESSAGE;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_EXTRACTING_SIGNEDBY_FROM_SMIME_SIGNED_ATTACHMENT;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_EXTRACTING_SUBJECT_FROM_CERTIFICATE;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_READING_SMIME_CONTENT_TYPE;
+import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_SIGNING_MESSAGE;
+import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_VERIFYING_SMIME_SIGNATURE;
 import static org.simplejavamail.internal.smimesupport.SmimeException.MIMEPART_ASSUMED_SIGNED_ACTUALLY_NOT_SIGNED;
 import static org.simplejavamail.internal.smimesupport.SmimeRecognitionUtil.SMIME_ATTACHMENT_MESSAGE_ID;
 import static org.simplejavamail.internal.smimesupport.SmimeRecognitionUtil.isSmimeContentType;
@@ -81,7 +113,34 @@ public class SMIMESupport implements SMIMEModule {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SMIMESupport.class);
 	private static final List<String> SMIME_MIMETYPES = asList("application/pkcs7-mime", "application/x-pkcs7-mime", "multipart/signed");
-	private static final Map<Pkcs12Config, SmimeKey> SIMPLE_SMIMESTORE_CACHE = new HashMap<>();
+
+	/**
+	 * Canonicalized content up to this size is kept in memory for signing, larger content goes to a temporary file.
+	 */
+	private static final int SPILL_THRESHOLD = 1024 * 1024;
+
+	/**
+	 * Decrypted private keys by keystore, so a keystore isn't decrypted again for every message. Keys don't expire, so a key that is used only now
+	 * and then isn't decrypted again on the send path. Keys of rotated keystores are evicted once 100 other keystores were used since.
+	 */
+	private static final BoundedCache<Pkcs12Config, SmimeKey> SMIME_KEY_CACHE = new BoundedCache<>(100);
+
+	/**
+	 * Recipient info generators by certificate fingerprint, so encrypting for recurring recipients doesn't prepare their certificate again for
+	 * every message. The generators don't keep state between messages, so they are shared between threads.
+	 */
+	private static final BoundedCache<String, RecipientInfoGenerator> RECIPIENT_INFO_GENERATOR_CACHE = new BoundedCache<>(1000, TimeUnit.HOURS.toMillis(1));
+
+	/**
+	 * Signature verifiers by signer certificate fingerprint, so verifying mail from recurring senders doesn't set up a verifier for their certificate
+	 * again for every message. The verifiers create new signature and digest instances for every verification, so they are shared between threads.
+	 */
+	private static final BoundedCache<String, SignerInformationVerifier> SIGNER_VERIFIER_CACHE = new BoundedCache<>(1000, TimeUnit.HOURS.toMillis(1));
+
+	/**
+	 * @see SMIMEModule#setAttachmentDecryptionExecutor(Executor)
+	 */
+	@Nullable private volatile Executor attachmentDecryptionExecutor;
 
 	static {
 		Security.addProvider(new BouncyCastleProvider());
@@ -211,23 +270,53 @@ public class SMIMESupport implements SMIMEModule {
 			@NotNull final List<AttachmentResource> attachments,
 			@Nullable final Pkcs12Config pkcs12Config,
 			@NotNull final OriginalSmimeDetails messageSmimeDetails) {
+		final Executor executor = attachmentDecryptionExecutor;
 		final List<AttachmentDecryptionResult> decryptedAttachments = new ArrayList<>();
-		for (final AttachmentResource attachment : attachments) {
-			if (isSmimeAttachment(attachment)) {
+		if (executor == null || attachments.stream().filter(this::isSmimeAttachment).count() < 2) {
+			for (final AttachmentResource attachment : attachments) {
+				decryptedAttachments.add(decryptAttachment(attachment, pkcs12Config, messageSmimeDetails));
+			}
+		} else {
+			final List<CompletableFuture<AttachmentDecryptionResult>> pendingAttachments = new ArrayList<>();
+			for (final AttachmentResource attachment : attachments) {
+				pendingAttachments.add(CompletableFuture.supplyAsync(() -> decryptAttachment(attachment, pkcs12Config, messageSmimeDetails), executor));
+			}
+			for (final CompletableFuture<AttachmentDecryptionResult> pendingAttachment : pendingAttachments) {
 				try {
-					LOGGER.debug("decrypting S/MIME signed attachment '{}'...", attachment.getName());
-					decryptedAttachments.add(decryptAndUnsignAttachment(attachment, pkcs12Config, messageSmimeDetails));
-				} catch (Exception e) {
-					throw new SmimeException(format(ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT, attachment), e);
+					decryptedAttachments.add(pendingAttachment.join());
+				} catch (CompletionException e) {
+					// decryptAttachment only throws SmimeException, unless the executor rejected the task
+					throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
 				}
-			} else {
-				decryptedAttachments.add(new AttachmentDecryptionResultImpl(SmimeMode.PLAIN, attachment));
 			}
 		}
-
 		return decryptedAttachments;
 	}
 
+	@NotNull
+	private AttachmentDecryptionResult decryptAttachment(
+			@NotNull final AttachmentResource attachment,
+			@Nullable final Pkcs12Config pkcs12Config,
+			@NotNull final OriginalSmimeDetails messageSmimeDetails) {
+		if (isSmimeAttachment(attachment)) {
+			try {
+				LOGGER.debug("decrypting S/MIME signed attachment '{}'...", attachment.getName());
+				return decryptAndUnsignAttachment(attachment, pkcs12Config, messageSmimeDetails);
+			} catch (Exception e) {
+				throw new SmimeException(format(ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT, attachment), e);
+			}
+		}
+		return new AttachmentDecryptionResultImpl(SmimeMode.PLAIN, attachment);
+	}
+
+	/**
+	 * @see SMIMEModule#setAttachmentDecryptionExecutor(Executor)
+	 */
+	@Override
+	public void setAttachmentDecryptionExecutor(@Nullable final Executor executor) {
+		this.attachmentDecryptionExecutor = executor;
+	}
+
 	/**
 	 * @see SMIMEModule#isSmimeAttachment(AttachmentResource)
 	 */
@@ -280,7 +369,7 @@ public class SMIMESupport implements SMIMEModule {
 	@Nullable
 	private AttachmentDecryptionResult getSignedContent(final MimeBodyPart mimeBodyPart)
 			throws MessagingException, IOException {
-		if (SmimeUtil.checkSignature(mimeBodyPart)) {
+		if (checkSignature(mimeBodyPart)) {
 			MimeBodyPart liberatedBodyPart = SmimeUtil.getSignedContent(mimeBodyPart);
 			return new AttachmentDecryptionResultImpl(SmimeMode.SIGNED, handleLiberatedContent(liberatedBodyPart.getContent()));
 		}
@@ -369,7 +458,24 @@ public class SMIMESupport implements SMIMEModule {
 	}
 
 	public boolean verifyValidSignature(@NotNull MimeMessage mimeMessage, @NotNull OriginalSmimeDetails messageSmimeDetails) {
-		return determineStatus(mimeMessage, messageSmimeDetails) != SmimeState.SIGNED || SmimeUtil.checkSignature(mimeMessage);
+		return determineStatus(mimeMessage, messageSmimeDetails) != SmimeState.SIGNED || checkSignature(mimeMessage);
+	}
+
+	/**
+	 * Same as {@link SmimeUtil#checkSignature(MimePart)}, except that the signature verifiers are reused between messages.
+	 */
+	private static boolean checkSignature(@NotNull final MimePart mimePart) {
+		final SMIMESigned smimeSigned = determineSMIMESigned(mimePart);
+		try {
+			for (final SignerInformation signerInformation : smimeSigned.getSignerInfos().getSigners()) {
+				if (!signerInformation.verify(getVerifier(smimeSigned.getCertificates(), signerInformation.getSID()))) {
+					return false;
+				}
+			}
+			return true;
+		} catch (Exception e) {
+			throw new SmimeException(ERROR_VERIFYING_SMIME_SIGNATURE, e);
+		}
 	}
 
 	@NotNull
@@ -398,8 +504,7 @@ public class SMIMESupport implements SMIMEModule {
 			Store certificates = smimeSigned.getCertificates();
 
 			SignerInformation signerInformation = smimeSigned.getSignerInfos().getSigners().iterator().next();
-			X509Certificate certificate = getCertificate(certificates, signerInformation.getSID());
-			SignerInformationVerifier verifier = getVerifier(certificate);
+			SignerInformationVerifier verifier = getVerifier(certificates, signerInformation.getSID());
 			X500Name x500name = verifier.getAssociatedCertificate().getSubject();
 			RDN cn = x500name.getRDNs(BCStyle.CN)[0];
 			return IETFUtils.valueToString(cn.getFirst().getValue());
@@ -409,29 +514,17 @@ public class SMIMESupport implements SMIMEModule {
 	}
 
 	/**
-	 * @deprecated This is duplicate code from SmimeUtil and should be removed once the pull-request has been merged and released
-	 * @see "https://github.com/markenwerk/java-utils-mail-smime/issues/5"
+	 * @return The verifier for the certificate of the given signer, which is looked up in the given certificates.
 	 */
-	@Deprecated
-	private static X509Certificate getCertificate(@SuppressWarnings("rawtypes") Store certificates, SignerId signerId)
-			throws CertificateException {
+	@NotNull
+	private static SignerInformationVerifier getVerifier(@SuppressWarnings("rawtypes") Store certificates, SignerId signerId)
+			throws Exception {
 		@SuppressWarnings({ "unchecked" })
 		X509CertificateHolder certificateHolder = (X509CertificateHolder) certificates.getMatches(signerId).iterator()
 				.next();
-		JcaX509CertificateConverter certificateConverter = new JcaX509CertificateConverter();
-		certificateConverter.setProvider(BouncyCastleProvider.PROVIDER_NAME);
-		return certificateConverter.getCertificate(certificateHolder);
-	}
-
-	/**
-	 * @deprecated This is duplicate code from SmimeUtil and should be removed once the pull-request has been merged and released
-	 * @see "https://github.com/markenwerk/java-utils-mail-smime/issues/5"
-	 */
-	@Deprecated
-	private static SignerInformationVerifier getVerifier(X509Certificate certificate) throws OperatorCreationException {
-		JcaSimpleSignerInfoVerifierBuilder builder = new JcaSimpleSignerInfoVerifierBuilder();
-		builder.setProvider(BouncyCastleProvider.PROVIDER_NAME);
-		return builder.build(certificate);
+		return SIGNER_VERIFIER_CACHE.computeIfAbsent(fingerprint(certificateHolder.getEncoded()), key -> new JcaSimpleSignerInfoVerifierBuilder()
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME)
+				.build(certificateHolder));
 	}
 
 	@NotNull
@@ -452,28 +545,231 @@ public class SMIMESupport implements SMIMEModule {
 		return result;
 	}
 
+	/**
+	 * Produces the same result as {@link SmimeUtil#sign(Session, MimeMessage, SmimeKey)}, except that the canonicalized content isn't copied into
+	 * memory: content larger than {@value #SPILL_THRESHOLD} bytes is kept in a temporary file instead. The signature itself is only computed when
+	 * the message is written, by which time the content is streamed from that file.
+	 * <p>
+	 * In that case the returned message is a {@link FileBackedMessage}, which should be closed once it has been sent, so the file isn't kept open
+	 * until the message is garbage collected.
+	 */
 	@NotNull
 	@Override
 	public MimeMessage signMessage(@Nullable Session session, @NotNull MimeMessage message, @NotNull Pkcs12Config pkcs12Config) {
-		SmimeKey smimeKey = retrieveSmimeKeyFromPkcs12Keystore(pkcs12Config);
-		return SmimeUtil.sign(session, message, smimeKey);
+		final SmimeKey smimeKey = retrieveSmimeKeyFromPkcs12Keystore(pkcs12Config);
+		InputStream sharedContent = null;
+		try {
+			final SpillingOutputStream canonicalContent = canonicalize(extractMimeBodyPart(message));
+			sharedContent = canonicalContent.toSharedInputStream();
+			final MimeMultipart signedContent = createSignedGenerator(smimeKey).generate(new SharedContentMimeBodyPart(sharedContent));
+			final MimeMessage signedMessage = canonicalContent.isSpilled()
+					? new FileBackedMessage(session, sharedContent)
+					: message instanceof SMTPMessage ? new SMTPMessage(session) : new MimeMessage(session);
+			for (final Enumeration<String> headerLines = message.getAllHeaderLines(); headerLines.hasMoreElements(); ) {
+				signedMessage.addHeaderLine(headerLines.nextElement());
+			}
+			signedMessage.setContent(signedContent);
+			return signedMessage;
+		} catch (MessagingException | IOException | GeneralSecurityException | OperatorCreationException | SMIMEException e) {
+			closeQuietly(sharedContent);
+			throw new SmimeException(ERROR_SIGNING_MESSAGE, e);
+		}
+	}
+
+	@NotNull
+	private static MimeBodyPart extractMimeBodyPart(@NotNull final MimeMessage message)
+			throws IOException, MessagingException {
+		final Object content = message.getContent();
+		final UpdatableMimeBodyPart bodyPart = new UpdatableMimeBodyPart();
+		if (content instanceof Multipart) {
+			bodyPart.setContent((Multipart) content);
+		} else {
+			bodyPart.setContent(content, message.getDataHandler().getContentType());
+		}
+		bodyPart.updateHeaders();
+		return bodyPart;
+	}
+
+	/**
+	 * Converts all line endings to CRLF, which the signature is computed over, into a {@link SpillingOutputStream} to parse the part back from.
+	 */
+	@NotNull
+	private static SpillingOutputStream canonicalize(@NotNull final MimeBodyPart bodyPart)
+			throws IOException, MessagingException {
+		final SpillingOutputStream canonicalContent = new SpillingOutputStream(SPILL_THRESHOLD);
+		try (OutputStream os = new CRLFOutputStream(canonicalContent)) {
+			bodyPart.writeTo(os);
+		}
+		return canonicalContent;
+	}
+
+	private static void closeQuietly(@Nullable final Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (final IOException e) {
+				LOGGER.debug("failed to close S/MIME content", e);
+			}
+		}
+	}
+
+	@NotNull
+	private static SMIMESignedGenerator createSignedGenerator(@NotNull final SmimeKey smimeKey)
+			throws GeneralSecurityException, OperatorCreationException {
+		final X509Certificate certificate = smimeKey.getCertificate();
+		final X509Certificate[] certificateChain = smimeKey.getCertificateChain();
+
+		final ASN1EncodableVector signedAttributes = new ASN1EncodableVector();
+		signedAttributes.add(new SMIMEEncryptionKeyPreferenceAttribute(
+				new IssuerAndSerialNumber(X500Name.getInstance(certificate.getIssuerX500Principal().getEncoded()), certificate.getSerialNumber())));
+		final SMIMECapabilityVector capabilities = new SMIMECapabilityVector();
+		capabilities.addCapability(SMIMECapability.dES_EDE3_CBC);
+		capabilities.addCapability(SMIMECapability.rC2_CBC, 128);
+		capabilities.addCapability(SMIMECapability.dES_CBC);
+		signedAttributes.add(new SMIMECapabilitiesAttribute(capabilities));
+
+		final SMIMESignedGenerator generator = new SMIMESignedGenerator();
+		generator.addCertificates(new JcaCertStore(certificateChain != null && certificateChain.length > 0
+				? asList(certificateChain)
+				: singletonList(certificate)));
+		generator.addSignerInfoGenerator(new JcaSimpleSignerInfoGeneratorBuilder()
+				.setSignedAttributeGenerator(new AttributeTable(signedAttributes))
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME)
+				.build("SHA256withRSA", smimeKey.getPrivateKey(), certificate));
+		return generator;
 	}
 
 	@NotNull
 	@Override
 	public MimeMessage encryptMessage(@Nullable Session session, @NotNull MimeMessage message, @NotNull X509Certificate certificate) {
-		return SmimeUtil.encrypt(session, message, certificate);
+		return encryptMessage(session, message, singletonList(certificate));
 	}
 
-	private SmimeKey retrieveSmimeKeyFromPkcs12Keystore(@NotNull Pkcs12Config pkcs12) {
-		if (!SIMPLE_SMIMESTORE_CACHE.containsKey(pkcs12)) {
-			SIMPLE_SMIMESTORE_CACHE.put(pkcs12, produceSmimeKey(pkcs12));
+	/**
+	 * Produces the same result as {@link SmimeUtil#encrypt(Session, MimeMessage, X509Certificate)}, except for the number of recipients. The
+	 * content is encrypted when the message is written, so encrypting a {@link FileBackedMessage} results in another one, which closes the
+	 * original.
+	 *
+	 * @see SMIMEModule#encryptMessage(Session, MimeMessage, Collection)
+	 */
+	@NotNull
+	@Override
+	public MimeMessage encryptMessage(@Nullable final Session session, @NotNull final MimeMessage message, @NotNull final Collection<X509Certificate> certificates) {
+		try {
+			final SMIMEEnvelopedGenerator generator = new SMIMEEnvelopedGenerator();
+			for (final X509Certificate certificate : certificates) {
+				generator.addRecipientInfoGenerator(RECIPIENT_INFO_GENERATOR_CACHE.computeIfAbsent(fingerprint(certificate.getEncoded()),
+						key -> new JceKeyTransRecipientInfoGenerator(certificate).setProvider(BouncyCastleProvider.PROVIDER_NAME)));
+			}
+			final OutputEncryptor encryptor = new JceCMSContentEncryptorBuilder(CMSAlgorithm.DES_EDE3_CBC)
+					.setProvider(BouncyCastleProvider.PROVIDER_NAME)
+					.build();
+			final MimeBodyPart encryptedContent = generator.generate(message, encryptor);
+
+			final MimeMessage encryptedMessage = message instanceof FileBackedMessage
+					? new FileBackedMessage(session, (FileBackedMessage) message)
+					: new MimeMessage(session);
+			copyHeaders(message.getAllHeaders(), encryptedMessage);
+			encryptedMessage.setContent(encryptedContent.getContent(), encryptedContent.getContentType());
+			copyHeaders(encryptedContent.getAllHeaders(), encryptedMessage);
+			encryptedMessage.saveChanges();
+			return encryptedMessage;
+		} catch (MessagingException | IOException | GeneralSecurityException | CMSException | SMIMEException e) {
+			throw new SmimeException(ERROR_ENCRYPTING_MESSAGE, e);
+		}
+	}
+
+	private static void copyHeaders(@NotNull final Enumeration<Header> headers, @NotNull final MimeMessage target)
+			throws MessagingException {
+		while (headers.hasMoreElements()) {
+			final Header header = headers.nextElement();
+			target.setHeader(header.getName(), header.getValue());
 		}
-		return SIMPLE_SMIMESTORE_CACHE.get(pkcs12);
 	}
 
-	private SmimeKey produceSmimeKey(final @NotNull Pkcs12Config pkcs12) {
-		return new SmimeKeyStore(new ByteArrayInputStream(pkcs12.getPkcs12StoreData()), pkcs12.getStorePassword())
+	@NotNull
+	private static String fingerprint(@NotNull final byte[] encodedCertificate)
+			throws GeneralSecurityException {
+		return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(encodedCertificate));
+	}
+
+	/**
+	 * @see SMIMEModule#preloadSmimeKey(Pkcs12Config)
+	 */
+	@Override
+	public void preloadSmimeKey(@NotNull final Pkcs12Config pkcs12Config) {
+		SMIME_KEY_CACHE.put(pkcs12Config, produceSmimeKey(pkcs12Config));
+	}
+
+	/**
+	 * @see SMIMEModule#getSmimeKeyCacheHits()
+	 */
+	@Override
+	public long getSmimeKeyCacheHits() {
+		return SMIME_KEY_CACHE.getHits();
+	}
+
+	/**
+	 * @see SMIMEModule#getSmimeKeyCacheMisses()
+	 */
+	@Override
+	public long getSmimeKeyCacheMisses() {
+		return SMIME_KEY_CACHE.getMisses();
+	}
+
+	private SmimeKey retrieveSmimeKeyFromPkcs12Keystore(@NotNull Pkcs12Config pkcs12) {
+		return SMIME_KEY_CACHE.computeIfAbsent(pkcs12, SMIMESupport::produceSmimeKey);
+	}
+
+	@NotNull
+	private static SmimeKey produceSmimeKey(final @NotNull Pkcs12Config pkcs12) {
+		final SmimeKey smimeKey = new SmimeKeyStore(new ByteArrayInputStream(pkcs12.getPkcs12StoreData()), pkcs12.getStorePassword())
 				.getPrivateKey(pkcs12.getKeyAlias(), pkcs12.getKeyPassword());
+		LOGGER.debug("decrypted S/MIME key '{}' (key cache hits: {}, misses: {})", pkcs12.getKeyAlias(), SMIME_KEY_CACHE.getHits(), SMIME_KEY_CACHE.getMisses());
+		return smimeKey;
+	}
+
+	/**
+	 * Keeps the stream the part was parsed from reachable for as long as the part is. The part itself only references a view on that stream, and a
+	 * {@link jakarta.mail.util.SharedFileInputStream} closes its file for all views once it is garbage collected.
+	 */
+	private static class SharedContentMimeBodyPart extends MimeBodyPart {
+		@SuppressWarnings({"FieldCanBeLocal", "unused"}) @NotNull private final InputStream sharedContent;
+
+		private SharedContentMimeBodyPart(@NotNull final InputStream sharedContent)
+				throws MessagingException {
+			super(sharedContent);
+			this.sharedContent = sharedContent;
+		}
+	}
+
+	/**
+	 * A message whose content is read from a temporary file when it is written, which stays open until the message is closed. Closing is optional:
+	 * the file is closed anyway once the message is garbage collected.
+	 */
+	private static class FileBackedMessage extends SMTPMessage implements Closeable {
+		@NotNull private final Closeable content;
+
+		private FileBackedMessage(@Nullable final Session session, @NotNull final Closeable content) {
+			super(session);
+			this.content = content;
+		}
+
+		@Override
+		public void close()
+				throws IOException {
+			content.close();
+		}
+	}
+
+	/**
+	 * Makes {@link MimeBodyPart#updateHeaders()} available, so the headers are set before the part is written.
+	 */
+	private static class UpdatableMimeBodyPart extends MimeBodyPart {
+		@Override
+		public void updateHeaders()
+				throws MessagingException {
+			super.updateHeaders();
+		}
 	}
-}
\ No newline at end of file
+}
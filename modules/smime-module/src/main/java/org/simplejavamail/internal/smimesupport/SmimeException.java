@@ -17,6 +17,9 @@ class SmimeException extends MailException {
 	static final String ERROR_EXTRACTING_SUBJECT_FROM_CERTIFICATE = "Error extracting subject from certificate to which it was issued";
 	static final String MIMEPART_ASSUMED_SIGNED_ACTUALLY_NOT_SIGNED = "MimePart that was assumed to be S/MIME signed / encrypted actually wasn't: %n\t%s";
 	static final String ERROR_READING_SMIME_CONTENT_TYPE = "Error reading S/MIME Content-Type header from MimeMessage";
+	static final String ERROR_ENCRYPTING_MESSAGE = "Error encrypting MimeMessage with S/MIME";
+	static final String ERROR_SIGNING_MESSAGE = "Error signing MimeMessage with S/MIME";
+	static final String ERROR_VERIFYING_SMIME_SIGNATURE = "Error verifying S/MIME signature";
 
 	SmimeException(@NotNull final String message) {
 		super(checkNonEmptyArgument(message, "message"));
@@ -0,0 +1,112 @@
+package org.simplejavamail.internal.smimesupport;
+
+import jakarta.mail.util.SharedByteArrayInputStream;
+import jakarta.mail.util.SharedFileInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * Keeps written bytes in memory up to a threshold and moves them to a temporary file beyond that, so large message bodies don't have to be held on
+ * the heap. The bytes are read back as a {@link jakarta.mail.internet.SharedInputStream}, from which JavaMail parses a message part without copying
+ * its content.
+ * <p>
+ * The temporary file is deleted as soon as it has been opened for reading. Platforms that don't allow deleting open files keep it until the JVM
+ * exits.
+ */
+class SpillingOutputStream extends OutputStream {
+
+	private final int threshold;
+	@Nullable private ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+	@Nullable private File file;
+	@Nullable private OutputStream fileStream;
+
+	SpillingOutputStream(final int threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void write(final int b)
+			throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(@NotNull final byte[] b, final int off, final int len)
+			throws IOException {
+		if (memory != null && memory.size() + len > threshold) {
+			spill(memory);
+		}
+		if (fileStream != null) {
+			fileStream.write(b, off, len);
+		} else {
+			memory.write(b, off, len);
+		}
+	}
+
+	private void spill(@NotNull final ExposedByteArrayOutputStream memory)
+			throws IOException {
+		file = Files.createTempFile("simple-java-mail-smime-", ".tmp").toFile();
+		fileStream = new BufferedOutputStream(new FileOutputStream(file));
+		memory.writeTo(fileStream);
+		this.memory = null;
+	}
+
+	@Override
+	public void flush()
+			throws IOException {
+		if (fileStream != null) {
+			fileStream.flush();
+		}
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		if (fileStream != null) {
+			fileStream.close();
+		}
+	}
+
+	/**
+	 * @return Whether the written bytes exceeded the threshold and were moved to a temporary file.
+	 */
+	boolean isSpilled() {
+		return file != null;
+	}
+
+	/**
+	 * Closes this stream and returns the written bytes as a {@link jakarta.mail.internet.SharedInputStream}.
+	 */
+	@NotNull
+	InputStream toSharedInputStream()
+			throws IOException {
+		close();
+		if (file == null) {
+			return new SharedByteArrayInputStream(memory.getBuffer(), 0, memory.size());
+		}
+		final SharedFileInputStream inputStream = new SharedFileInputStream(file);
+		if (!file.delete()) {
+			file.deleteOnExit();
+		}
+		return inputStream;
+	}
+
+	/**
+	 * Gives access to the internal buffer, so the bytes don't have to be copied to be read back.
+	 */
+	private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+		@NotNull
+		byte[] getBuffer() {
+			return buf;
+		}
+	}
+}
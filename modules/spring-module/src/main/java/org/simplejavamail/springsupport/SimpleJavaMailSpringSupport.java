@@ -34,6 +34,8 @@ import java.util.Properties;
  * <li>simplejavamail.proxy.username</li>
  * <li>simplejavamail.proxy.password</li>
  * <li>simplejavamail.proxy.socks5bridge.port</li>
+ * <li>simplejavamail.proxy.socks5bridge.buffersize</li>
+ * <li>simplejavamail.proxy.socks5bridge.maxconnections</li>
  * <li>simplejavamail.defaults.content.transfer.encoding</li>
  * <li>simplejavamail.defaults.subject</li>
  * <li>simplejavamail.defaults.from.name</li>
@@ -50,17 +52,32 @@ import java.util.Properties;
  * <li>simplejavamail.defaults.bcc.address</li>
  * <li>simplejavamail.defaults.poolsize</li>
  * <li>simplejavamail.defaults.poolsize.keepalivetime</li>
+ * <li>simplejavamail.defaults.poolsize.queuecapacity</li>
+ * <li>simplejavamail.defaults.poolsize.overflowpolicy</li>
+ * <li>simplejavamail.defaults.virtualthreads</li>
+ * <li>simplejavamail.defaults.spool.directory</li>
  * <li>simplejavamail.defaults.connectionpool.clusterkey.uuid</li>
  * <li>simplejavamail.defaults.connectionpool.coresize</li>
  * <li>simplejavamail.defaults.connectionpool.maxsize</li>
  * <li>simplejavamail.defaults.connectionpool.claimtimeout.millis</li>
  * <li>simplejavamail.defaults.connectionpool.expireafter.millis</li>
  * <li>simplejavamail.defaults.connectionpool.loadbalancing.strategy</li>
+ * <li>simplejavamail.defaults.bulksend.batchsize</li>
+ * <li>simplejavamail.defaults.bulksend.maxinflight</li>
+ * <li>simplejavamail.defaults.sendretries</li>
+ * <li>simplejavamail.defaults.sendretries.delaymillis</li>
+ * <li>simplejavamail.defaults.domainrouting.maxconnections</li>
+ * <li>simplejavamail.defaults.domainrouting.maxmessagespersecond</li>
+ * <li>simplejavamail.defaults.ratelimit.maxmessagespersecond</li>
+ * <li>simplejavamail.defaults.ratelimit.cluster.maxmessagespersecond</li>
  * <li>simplejavamail.defaults.sessiontimeoutmillis</li>
  * <li>simplejavamail.defaults.trustallhosts</li>
  * <li>simplejavamail.defaults.trustedhosts</li>
  * <li>simplejavamail.defaults.verifyserveridentity</li>
  * <li>simplejavamail.transport.mode.logging.only</li>
+ * <li>simplejavamail.smtp.pipelining</li>
+ * <li>simplejavamail.mime.directwriting</li>
+ * <li>simplejavamail.mime.attachmentencodingcachesize</li>
  * <li>simplejavamail.opportunistic.tls</li>
  * <li>simplejavamail.smime.signing.keystore</li>
  * <li>simplejavamail.smime.signing.keystore_password</li>
@@ -105,6 +122,8 @@ public class SimpleJavaMailSpringSupport {
 			@Nullable @Value("${simplejavamail.proxy.username:#{null}}") final String proxyUsername,
 			@Nullable @Value("${simplejavamail.proxy.password:#{null}}") final String proxyPassword,
 			@Nullable @Value("${simplejavamail.proxy.socks5bridge.port:#{null}}") final String proxySocks5bridgePort,
+			@Nullable @Value("${simplejavamail.proxy.socks5bridge.buffersize:#{null}}") final String proxySocks5bridgeBufferSize,
+			@Nullable @Value("${simplejavamail.proxy.socks5bridge.maxconnections:#{null}}") final String proxySocks5bridgeMaxConnections,
 			@Nullable @Value("${simplejavamail.defaults.content.transfer.encoding:#{null}}") final String defaultContentTransferEncoding,
 			@Nullable @Value("${simplejavamail.defaults.subject:#{null}}") final String defaultSubject,
 			@Nullable @Value("${simplejavamail.defaults.from.name:#{null}}") final String defaultFromName,
@@ -121,17 +140,32 @@ public class SimpleJavaMailSpringSupport {
 			@Nullable @Value("${simplejavamail.defaults.bcc.address:#{null}}") final String defaultBccAddress,
 			@Nullable @Value("${simplejavamail.defaults.poolsize:#{null}}") final String defaultPoolsize,
 			@Nullable @Value("${simplejavamail.defaults.poolsize.keepalivetime:#{null}}") final String defaultPoolKeepAlivetime,
+			@Nullable @Value("${simplejavamail.defaults.poolsize.queuecapacity:#{null}}") final String defaultPoolQueueCapacity,
+			@Nullable @Value("${simplejavamail.defaults.poolsize.overflowpolicy:#{null}}") final String defaultPoolOverflowPolicy,
+			@Nullable @Value("${simplejavamail.defaults.virtualthreads:#{null}}") final String defaultVirtualThreads,
+			@Nullable @Value("${simplejavamail.defaults.spool.directory:#{null}}") final String defaultSpoolDirectory,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.clusterkey.uuid:#{null}}") final String defaultConnectionPoolCluterKey,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.coresize:#{null}}") final String defaultConnectionPoolCoreSize,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.maxsize:#{null}}") final String defaultConnectionPoolMaxSize,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.claimtimeout.millis:#{null}}") final String defaultConnectionPoolClaimTimeoutMillis,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.expireafter.millis:#{null}}") final String defaultConnectionPoolExpireAfterMillis,
 			@Nullable @Value("${simplejavamail.defaults.connectionpool.loadbalancing.strategy:#{null}}") final String defaultConnectionPoolLoadBalancingStrategy,
+			@Nullable @Value("${simplejavamail.defaults.bulksend.batchsize:#{null}}") final String defaultBulkSendBatchSize,
+			@Nullable @Value("${simplejavamail.defaults.bulksend.maxinflight:#{null}}") final String defaultBulkSendMaxInFlight,
+			@Nullable @Value("${simplejavamail.defaults.sendretries:#{null}}") final String defaultSendRetries,
+			@Nullable @Value("${simplejavamail.defaults.sendretries.delaymillis:#{null}}") final String defaultSendRetryDelayMillis,
+			@Nullable @Value("${simplejavamail.defaults.domainrouting.maxconnections:#{null}}") final String defaultMaxConnectionsPerDomain,
+			@Nullable @Value("${simplejavamail.defaults.domainrouting.maxmessagespersecond:#{null}}") final String defaultMaxMessagesPerSecondPerDomain,
+			@Nullable @Value("${simplejavamail.defaults.ratelimit.maxmessagespersecond:#{null}}") final String defaultMaxMessagesPerSecond,
+			@Nullable @Value("${simplejavamail.defaults.ratelimit.cluster.maxmessagespersecond:#{null}}") final String defaultClusterMaxMessagesPerSecond,
 			@Nullable @Value("${simplejavamail.defaults.sessiontimeoutmillis:#{null}}") final String defaultSessionTimeoutMillis,
 			@Nullable @Value("${simplejavamail.defaults.trustallhosts:#{null}}") final String defaultTrustAllHosts,
 			@Nullable @Value("${simplejavamail.defaults.trustedhosts:#{null}}") final String defaultTrustedHosts,
 			@Nullable @Value("${simplejavamail.defaults.verifyserveridentity:#{null}}") final String defaultVerifyServerIdentity,
 			@Nullable @Value("${simplejavamail.transport.mode.logging.only:#{null}}") final String defaultTransportModeLoggingOnly,
+			@Nullable @Value("${simplejavamail.smtp.pipelining:#{null}}") final String smtpPipelining,
+			@Nullable @Value("${simplejavamail.mime.directwriting:#{null}}") final String directMimeWriting,
+			@Nullable @Value("${simplejavamail.mime.attachmentencodingcachesize:#{null}}") final String attachmentEncodingCacheSize,
 			@Nullable @Value("${simplejavamail.opportunistic.tls:#{null}}") final String defaultOpportunisticTls,
 			@Nullable @Value("${simplejavamail.smime.signing.keystore:#{null}}") final String smimeSigningKeyStore,
 			@Nullable @Value("${simplejavamail.smime.signing.keystore_password:#{null}}") final String smimeSigningKeyStorePassword,
@@ -162,6 +196,8 @@ public class SimpleJavaMailSpringSupport {
 		setNullableProperty(emailProperties, Property.PROXY_USERNAME.key(), proxyUsername);
 		setNullableProperty(emailProperties, Property.PROXY_PASSWORD.key(), proxyPassword);
 		setNullableProperty(emailProperties, Property.PROXY_SOCKS5BRIDGE_PORT.key(), proxySocks5bridgePort);
+		setNullableProperty(emailProperties, Property.PROXY_SOCKS5BRIDGE_BUFFER_SIZE.key(), proxySocks5bridgeBufferSize);
+		setNullableProperty(emailProperties, Property.PROXY_SOCKS5BRIDGE_MAX_CONNECTIONS.key(), proxySocks5bridgeMaxConnections);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONTENT_TRANSFER_ENCODING.key(), defaultContentTransferEncoding);
 		setNullableProperty(emailProperties, Property.DEFAULT_SUBJECT.key(), defaultSubject);
 		setNullableProperty(emailProperties, Property.DEFAULT_FROM_NAME.key(), defaultFromName);
@@ -178,17 +214,32 @@ public class SimpleJavaMailSpringSupport {
 		setNullableProperty(emailProperties, Property.DEFAULT_BCC_ADDRESS.key(), defaultBccAddress);
 		setNullableProperty(emailProperties, Property.DEFAULT_POOL_SIZE.key(), defaultPoolsize);
 		setNullableProperty(emailProperties, Property.DEFAULT_POOL_KEEP_ALIVE_TIME.key(), defaultPoolKeepAlivetime);
+		setNullableProperty(emailProperties, Property.DEFAULT_POOL_QUEUE_CAPACITY.key(), defaultPoolQueueCapacity);
+		setNullableProperty(emailProperties, Property.DEFAULT_POOL_OVERFLOW_POLICY.key(), defaultPoolOverflowPolicy);
+		setNullableProperty(emailProperties, Property.DEFAULT_VIRTUAL_THREADS.key(), defaultVirtualThreads);
+		setNullableProperty(emailProperties, Property.DEFAULT_SPOOL_DIRECTORY.key(), defaultSpoolDirectory);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_CLUSTER_KEY.key(), defaultConnectionPoolCluterKey);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_CORE_SIZE.key(), defaultConnectionPoolCoreSize);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_MAX_SIZE.key(), defaultConnectionPoolMaxSize);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_CLAIMTIMEOUT_MILLIS.key(), defaultConnectionPoolClaimTimeoutMillis);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_EXPIREAFTER_MILLIS.key(), defaultConnectionPoolExpireAfterMillis);
 		setNullableProperty(emailProperties, Property.DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY.key(), defaultConnectionPoolLoadBalancingStrategy);
+		setNullableProperty(emailProperties, Property.DEFAULT_BULK_SEND_BATCH_SIZE.key(), defaultBulkSendBatchSize);
+		setNullableProperty(emailProperties, Property.DEFAULT_BULK_SEND_MAX_IN_FLIGHT.key(), defaultBulkSendMaxInFlight);
+		setNullableProperty(emailProperties, Property.DEFAULT_SEND_RETRIES.key(), defaultSendRetries);
+		setNullableProperty(emailProperties, Property.DEFAULT_SEND_RETRY_DELAY_MILLIS.key(), defaultSendRetryDelayMillis);
+		setNullableProperty(emailProperties, Property.DEFAULT_MAX_CONNECTIONS_PER_DOMAIN.key(), defaultMaxConnectionsPerDomain);
+		setNullableProperty(emailProperties, Property.DEFAULT_MAX_MESSAGES_PER_SECOND_PER_DOMAIN.key(), defaultMaxMessagesPerSecondPerDomain);
+		setNullableProperty(emailProperties, Property.DEFAULT_MAX_MESSAGES_PER_SECOND.key(), defaultMaxMessagesPerSecond);
+		setNullableProperty(emailProperties, Property.DEFAULT_CLUSTER_MAX_MESSAGES_PER_SECOND.key(), defaultClusterMaxMessagesPerSecond);
 		setNullableProperty(emailProperties, Property.DEFAULT_SESSION_TIMEOUT_MILLIS.key(), defaultSessionTimeoutMillis);
 		setNullableProperty(emailProperties, Property.DEFAULT_TRUST_ALL_HOSTS.key(), defaultTrustAllHosts);
 		setNullableProperty(emailProperties, Property.DEFAULT_TRUSTED_HOSTS.key(), defaultTrustedHosts);
 		setNullableProperty(emailProperties, Property.DEFAULT_VERIFY_SERVER_IDENTITY.key(), defaultVerifyServerIdentity);
 		setNullableProperty(emailProperties, Property.TRANSPORT_MODE_LOGGING_ONLY.key(), defaultTransportModeLoggingOnly);
+		setNullableProperty(emailProperties, Property.SMTP_PIPELINING.key(), smtpPipelining);
+		setNullableProperty(emailProperties, Property.DIRECT_MIME_WRITING.key(), directMimeWriting);
+		setNullableProperty(emailProperties, Property.ATTACHMENT_ENCODING_CACHE_SIZE.key(), attachmentEncodingCacheSize);
 		setNullableProperty(emailProperties, Property.OPPORTUNISTIC_TLS.key(), defaultOpportunisticTls);
 		setNullableProperty(emailProperties, Property.SMIME_SIGNING_KEYSTORE.key(), smimeSigningKeyStore);
 		setNullableProperty(emailProperties, Property.SMIME_SIGNING_KEYSTORE_PASSWORD.key(), smimeSigningKeyStorePassword);